@@ -0,0 +1,29 @@
+package bitecode.modules._benchmarks;
+
+import bitecode.modules._common.eventsourcing.config.EventVersion;
+import bitecode.modules._common.eventsourcing.model.Command;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Command shaped like the module commands (ids, an amount and a few strings), shared by the event sourcing benchmarks.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@EventVersion("v1")
+public class BenchmarkCommand implements Command {
+    private UUID uuid;
+    private Long userId;
+    private BigDecimal amount;
+    private String currency;
+    private String description;
+
+    public static BenchmarkCommand sample() {
+        return new BenchmarkCommand(UUID.randomUUID(), 42L, new BigDecimal("1250.75"), "EUR", "Top up of the user wallet");
+    }
+}
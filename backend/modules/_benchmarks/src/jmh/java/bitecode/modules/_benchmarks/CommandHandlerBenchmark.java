@@ -0,0 +1,131 @@
+package bitecode.modules._benchmarks;
+
+import bitecode.modules._common.eventsourcing.model.AbstractCommandHandler;
+import bitecode.modules._common.eventsourcing.model.Command;
+import bitecode.modules._common.eventsourcing.model.CommandEventEntity;
+import bitecode.modules._common.eventsourcing.model.GenericCommandHandler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Overhead of {@link GenericCommandHandler#handle} and {@link GenericCommandHandler#handleAll} themselves: handler
+ * lookup, hooks and event entity creation, against a repository stub which does no I/O. The handler is not a Spring
+ * proxy, so no transaction is started.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CommandHandlerBenchmark {
+
+    @Param({"50"})
+    private int batchSize;
+
+    private BenchmarkGenericCommandHandler commandHandler;
+    private BenchmarkCommand command;
+    private List<BenchmarkCommand> commands;
+
+    @Setup
+    public void setUp() {
+        commandHandler = new BenchmarkGenericCommandHandler(List.of(new BenchmarkAggregateCommandHandler()), stubRepository());
+        command = BenchmarkCommand.sample();
+        commands = IntStream.range(0, batchSize).mapToObj(i -> BenchmarkCommand.sample()).toList();
+    }
+
+    @Benchmark
+    public Optional<UUID> handle() {
+        return commandHandler.handle(command);
+    }
+
+    @Benchmark
+    public List<UUID> handleAll() {
+        return commandHandler.handleAll(commands);
+    }
+
+    /**
+     * Returns the entities given to {@code save} and {@code saveAll}, and does nothing on {@code flush}: the only
+     * methods the command handler calls.
+     */
+    @SuppressWarnings("unchecked")
+    private static JpaRepository<BenchmarkEventEntity, Long> stubRepository() {
+        return (JpaRepository<BenchmarkEventEntity, Long>) Proxy.newProxyInstance(
+                CommandHandlerBenchmark.class.getClassLoader(),
+                new Class<?>[]{JpaRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "save" -> args[0];
+                    case "saveAll" -> new ArrayList<>((List<?>) args[0]);
+                    case "flush" -> null;
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    record BenchmarkAggregate(UUID uuid, BigDecimal balance) {
+    }
+
+    static class BenchmarkEventEntity extends CommandEventEntity {
+        BenchmarkEventEntity(Command eventData) {
+            super(eventData);
+        }
+    }
+
+    static class BenchmarkAggregateCommandHandler extends AbstractCommandHandler<BenchmarkAggregate, BenchmarkCommand> {
+        @Override
+        public BenchmarkAggregate handle(BenchmarkCommand command, Map<String, Object> params) {
+            params.put("previousBalance", BigDecimal.ZERO);
+            return new BenchmarkAggregate(command.getUuid(), command.getAmount());
+        }
+
+        @Override
+        public Class<BenchmarkCommand> getCommandClass() {
+            return BenchmarkCommand.class;
+        }
+    }
+
+    static class BenchmarkGenericCommandHandler extends GenericCommandHandler<BenchmarkCommand, BenchmarkAggregate,
+            BenchmarkAggregateCommandHandler, BenchmarkEventEntity, UUID> {
+
+        BenchmarkGenericCommandHandler(List<BenchmarkAggregateCommandHandler> commandHandlers,
+                                       JpaRepository<BenchmarkEventEntity, Long> eventRepository) {
+            // no module events are raised, so the outbox is never used
+            super(commandHandlers, eventRepository, null);
+        }
+
+        @Override
+        protected Class<BenchmarkCommand> getGenericCommandTypeClass() {
+            return BenchmarkCommand.class;
+        }
+
+        @Override
+        protected BenchmarkEventEntity toEventEntity(BenchmarkCommand command, BenchmarkAggregate entity,
+                                                     Map<String, Object> params) {
+            return new BenchmarkEventEntity(command);
+        }
+
+        @Override
+        protected UUID toReturnType(BenchmarkAggregate entity) {
+            return entity.uuid();
+        }
+    }
+}
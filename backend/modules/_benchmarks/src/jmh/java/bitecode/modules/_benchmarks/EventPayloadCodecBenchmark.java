@@ -0,0 +1,60 @@
+package bitecode.modules._benchmarks;
+
+import bitecode.modules._common.eventsourcing.codec.CborEventPayloadCodec;
+import bitecode.modules._common.eventsourcing.codec.EventPayloadCodec;
+import bitecode.modules._common.eventsourcing.codec.JsonEventPayloadCodec;
+import bitecode.modules._common.eventsourcing.codec.SmileEventPayloadCodec;
+import bitecode.modules._common.eventsourcing.model.Command;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link EventPayloadCodec} round trip of a versioned command per codec, both directions go through the custom type id
+ * resolver.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventPayloadCodecBenchmark {
+    @Param({JsonEventPayloadCodec.NAME, SmileEventPayloadCodec.NAME, CborEventPayloadCodec.NAME})
+    private String codecName;
+
+    private EventPayloadCodec codec;
+    private Command command;
+    private byte[] payload;
+
+    @Setup
+    public void setUp() {
+        codec = switch (codecName) {
+            case SmileEventPayloadCodec.NAME -> new SmileEventPayloadCodec();
+            case CborEventPayloadCodec.NAME -> new CborEventPayloadCodec();
+            default -> new JsonEventPayloadCodec();
+        };
+        command = BenchmarkCommand.sample();
+        payload = codec.encode(command);
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return codec.encode(command);
+    }
+
+    @Benchmark
+    public Command decode() {
+        return codec.decode(payload);
+    }
+}
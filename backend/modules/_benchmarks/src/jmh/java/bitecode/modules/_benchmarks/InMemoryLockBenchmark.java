@@ -0,0 +1,67 @@
+package bitecode.modules._benchmarks;
+
+import bitecode.modules._common.service.cache.CacheService;
+import bitecode.modules._common.service.locking.InMemoryLock;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link InMemoryLock} lock and unlock cycles from 8 threads over {@code keys} distinct keys: a single key is the worst
+ * case contention, where most attempts are rejected with {@code 423 Locked}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(8)
+@Fork(1)
+public class InMemoryLockBenchmark {
+
+    @Param({"1", "64", "4096"})
+    private int keys;
+
+    @Param({CacheService.CAFFEINE_PROVIDER, CacheService.MEMORY_PROVIDER})
+    private String provider;
+
+    private InMemoryLock lock;
+    private String[] lockKeys;
+
+    @Setup
+    public void setUp() {
+        var cacheService = new CacheService(null, new ObjectMapper(), new SimpleMeterRegistry(), provider, 10_000);
+        lock = new InMemoryLock(cacheService, "benchmark");
+        lockKeys = new String[keys];
+        for (int i = 0; i < keys; i++) {
+            lockKeys[i] = "wallet-" + i;
+        }
+    }
+
+    @Benchmark
+    public boolean lockUnlock() {
+        var key = lockKeys[ThreadLocalRandom.current().nextInt(keys)];
+        try {
+            lock.tryLock(key);
+        } catch (HttpClientErrorException e) {
+            return false;
+        }
+        lock.unlock(key);
+        return true;
+    }
+}
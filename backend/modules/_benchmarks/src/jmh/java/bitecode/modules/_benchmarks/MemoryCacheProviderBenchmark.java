@@ -0,0 +1,69 @@
+package bitecode.modules._benchmarks;
+
+import bitecode.modules._common.service.cache.CachePolicy;
+import bitecode.modules._common.service.cache.provider.memory.MemoryCacheProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link MemoryCacheProvider} reads and writes from 4 threads on a cache prefilled with {@code entries} entries,
+ * bounded at twice that size so puts do not evict.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class MemoryCacheProviderBenchmark {
+    private static final String CACHE_NAME = "benchmark";
+
+    @Param({"10000"})
+    private int entries;
+
+    private MemoryCacheProvider cacheProvider;
+    private String[] cacheKeys;
+
+    @Setup
+    public void setUp() {
+        cacheProvider = new MemoryCacheProvider(2L * entries);
+        cacheProvider.createCache(CACHE_NAME, CachePolicy.<String, Object>builder()
+                .maximumSize(2L * entries)
+                .build());
+        cacheKeys = new String[entries];
+        for (int i = 0; i < entries; i++) {
+            cacheKeys[i] = "key-" + i;
+            cacheProvider.put(CACHE_NAME, cacheKeys[i], i);
+        }
+    }
+
+    @Benchmark
+    public Object getHit() {
+        return cacheProvider.get(CACHE_NAME, cacheKeys[ThreadLocalRandom.current().nextInt(entries)]);
+    }
+
+    @Benchmark
+    public Object getMiss() {
+        return cacheProvider.get(CACHE_NAME, "missing");
+    }
+
+    @Benchmark
+    public void put() {
+        var index = ThreadLocalRandom.current().nextInt(entries);
+        cacheProvider.put(CACHE_NAME, cacheKeys[index], index);
+    }
+}
@@ -0,0 +1,59 @@
+package bitecode.modules._benchmarks;
+
+import bitecode.modules._common.service.outbox.model.entity.OutboxEvent;
+import bitecode.modules._common.service.outbox.model.entity.QOutboxEvent;
+import bitecode.modules._common.util.QueryDslUtils;
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.OrderSpecifier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Sort;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The three {@link QueryDslUtils#toOrderSpecifiers} variants for a typical two property listing sort.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderSpecifiersBenchmark {
+    private Sort sort;
+    private Map<String, Expression<? extends Comparable<?>>> sortableFields;
+
+    @Setup
+    public void setUp() {
+        sort = Sort.by(Sort.Order.desc("availableAt"), Sort.Order.asc("id"));
+        sortableFields = Map.of(
+                "availableAt", QOutboxEvent.outboxEvent.availableAt,
+                "id", QOutboxEvent.outboxEvent.id
+        );
+    }
+
+    @Benchmark
+    public OrderSpecifier<?>[] byEntityClass() {
+        return QueryDslUtils.toOrderSpecifiers(OutboxEvent.class, sort);
+    }
+
+    @Benchmark
+    public OrderSpecifier<?>[] byEntityPath() {
+        return QueryDslUtils.toOrderSpecifiers(QOutboxEvent.outboxEvent, sort);
+    }
+
+    @Benchmark
+    public OrderSpecifier<?>[] bySortableFields() {
+        return QueryDslUtils.toOrderSpecifiers(sort, sortableFields);
+    }
+}
@@ -0,0 +1,102 @@
+package bitecode.modules._benchmarks;
+
+import bitecode.modules._common.config.ThreadExecutorsConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.ArrayList;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A burst of concurrent requests which block for {@code blockingMs} (standing in for an LLM or HTTP call) on the
+ * platform pool and the virtual thread executor of {@link ThreadExecutorsConfig}. {@code VIRTUAL_PINNED} blocks inside
+ * {@code synchronized}, which pins the carrier thread and caps concurrency at the number of carriers.
+ * <p>
+ * {@code requests} stays within the platform pool capacity (100 threads + 500 queued), so the platform mode queues
+ * instead of rejecting.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ThreadModeBenchmark {
+
+    public enum ThreadMode {
+        PLATFORM, VIRTUAL, VIRTUAL_PINNED
+    }
+
+    @Param({"PLATFORM", "VIRTUAL", "VIRTUAL_PINNED"})
+    private ThreadMode mode;
+
+    @Param({"500"})
+    private int requests;
+
+    @Param({"20"})
+    private long blockingMs;
+
+    private AsyncTaskExecutor executor;
+    // one monitor per request, so pinned requests do not contend with each other
+    private Object[] monitors;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        executor = mode == ThreadMode.PLATFORM
+                ? ThreadExecutorsConfig.platformTaskExecutor()
+                : ThreadExecutorsConfig.virtualTaskExecutor();
+        monitors = new Object[requests];
+        for (int i = 0; i < requests; i++) {
+            monitors[i] = new Object();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (executor instanceof ThreadPoolTaskExecutor threadPool) {
+            threadPool.shutdown();
+        }
+    }
+
+    @Benchmark
+    public void blockingRequests() throws Exception {
+        var results = new ArrayList<Future<?>>(requests);
+        for (int i = 0; i < requests; i++) {
+            var monitor = monitors[i];
+            results.add(executor.submit(mode == ThreadMode.VIRTUAL_PINNED
+                    ? () -> blockPinned(monitor)
+                    : this::block));
+        }
+        for (var result : results) {
+            result.get();
+        }
+    }
+
+    private void blockPinned(Object monitor) {
+        synchronized (monitor) {
+            block();
+        }
+    }
+
+    private void block() {
+        try {
+            Thread.sleep(blockingMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
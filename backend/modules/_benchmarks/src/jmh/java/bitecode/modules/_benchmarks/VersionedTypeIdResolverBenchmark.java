@@ -0,0 +1,53 @@
+package bitecode.modules._benchmarks;
+
+import bitecode.modules._common.eventsourcing.config.VersionedTypeIdResolver;
+import com.fasterxml.jackson.databind.DatabindContext;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Type id lookups of {@link VersionedTypeIdResolver} in isolation, once the registry caches are warm.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VersionedTypeIdResolverBenchmark {
+    private VersionedTypeIdResolver resolver;
+    private DatabindContext context;
+    private BenchmarkCommand command;
+    private String id;
+
+    @Setup
+    public void setUp() {
+        resolver = new VersionedTypeIdResolver();
+        context = new ObjectMapper().getSerializerProviderInstance();
+        command = BenchmarkCommand.sample();
+        id = resolver.idFromValue(command);
+    }
+
+    @Benchmark
+    public String idFromValue() {
+        return resolver.idFromValue(command);
+    }
+
+    @Benchmark
+    public JavaType typeFromId() throws IOException {
+        return resolver.typeFromId(context, id);
+    }
+}
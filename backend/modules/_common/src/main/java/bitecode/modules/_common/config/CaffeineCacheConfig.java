@@ -1,5 +1,8 @@
 package bitecode.modules._common.config;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
@@ -8,8 +11,12 @@ import org.springframework.context.annotation.Configuration;
 @Configuration
 public class CaffeineCacheConfig {
     // register caches in each module using CacheManagerCustomizer bean
+    // custom caches should call recordStats() on their builder to have their hit and miss meters filled
     @Bean
-    public CacheManager cacheManager() {
-        return new CaffeineCacheManager();
+    public CacheManager cacheManager(ObjectProvider<CacheManagerCustomizer<CaffeineCacheManager>> customizers) {
+        var cacheManager = new CaffeineCacheManager();
+        cacheManager.setCaffeine(Caffeine.newBuilder().recordStats());
+        customizers.orderedStream().forEach(customizer -> customizer.customize(cacheManager));
+        return cacheManager;
     }
 }
@@ -1,21 +1,37 @@
 package bitecode.modules._common.config;
 
 import bitecode.modules._common.config.flyway.FlywayMigrationModule;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.flywaydb.core.Flyway;
 import org.flywaydb.core.api.exception.FlywayValidateException;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
 import org.springframework.stereotype.Component;
 
+import javax.sql.DataSource;
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class FlywayConfig implements FlywayMigrationStrategy {
     private final List<FlywayMigrationModule> migrations;
+    private final boolean parallel;
+    private final int parallelism;
+
+    public FlywayConfig(List<FlywayMigrationModule> migrations,
+                        @Value("${FLYWAY_MIGRATION_MODE:sequential}") String mode,
+                        @Value("${FLYWAY_MIGRATION_PARALLELISM:4}") int parallelism) {
+        this.migrations = migrations;
+        this.parallel = "parallel".equalsIgnoreCase(mode);
+        this.parallelism = parallelism;
+    }
 
     @Override
     public void migrate(Flyway flyway) {
@@ -25,28 +41,63 @@ public class FlywayConfig implements FlywayMigrationStrategy {
             return;
         }
 
-        migrations.stream()
+        // modules sharing a schema share its history table, so they always run one after another in location order
+        var migrationsBySchema = migrations.stream()
                 .sorted(Comparator.comparing(FlywayMigrationModule::schema)
                         .thenComparing(FlywayMigrationModule::location))
-                .forEach(migration -> {
-                    if (!migration.location().contains(migration.schema())) {
-                        throw new RuntimeException("[Schema,location] pair [%s, %s] do not match!"
-                                .formatted(migration.location(), migration.schema()));
-                    }
-
-                    var migrationConfig = Flyway.configure()
-                            .schemas(migration.schema())
-                            .locations(migration.location())
-                            .dataSource(dataSource)
-                            .load();
-
-                    try {
-                        migrationConfig.migrate();
-                        migrationConfig.validate();
-                    } catch (FlywayValidateException e) {
-                        throw new RuntimeException("Flyway validation failed for schema: %s"
-                                .formatted(migrationConfig.getConfiguration().getSchemas()[0]), e);
-                    }
-                });
+                .collect(Collectors.groupingBy(FlywayMigrationModule::schema, TreeMap::new, Collectors.toList()));
+
+        if (!parallel || migrationsBySchema.size() == 1) {
+            migrationsBySchema.values().forEach(schemaMigrations -> migrateSchema(schemaMigrations, dataSource));
+            return;
+        }
+
+        var startTime = System.currentTimeMillis();
+        try (var executor = Executors.newFixedThreadPool(Math.min(parallelism, migrationsBySchema.size()))) {
+            var results = new ArrayList<Future<?>>();
+            migrationsBySchema.values()
+                    .forEach(schemaMigrations -> results.add(executor.submit(() -> migrateSchema(schemaMigrations, dataSource))));
+            for (var result : results) {
+                result.get();
+            }
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException runtimeException
+                    ? runtimeException
+                    : new RuntimeException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Flyway migrations interrupted", e);
+        }
+        log.info("Migrated {} schemas in parallel in {} ms", migrationsBySchema.size(), System.currentTimeMillis() - startTime);
+    }
+
+    private void migrateSchema(List<FlywayMigrationModule> schemaMigrations, DataSource dataSource) {
+        schemaMigrations.forEach(migration -> {
+            if (!migration.location().contains(migration.schema())) {
+                throw new RuntimeException("[Schema,location] pair [%s, %s] do not match!"
+                        .formatted(migration.location(), migration.schema()));
+            }
+
+            var migrationConfig = Flyway.configure()
+                    .schemas(migration.schema())
+                    .locations(migration.location())
+                    .dataSource(dataSource)
+                    .load();
+
+            // Up to date history (no pending migration, same checksums) is the common case on restarts: a single
+            // validation then replaces the migrate and validate round
+            if (migrationConfig.validateWithResult().validationSuccessful) {
+                log.debug("Flyway schema {} ({}) is up to date", migration.schema(), migration.location());
+                return;
+            }
+
+            try {
+                migrationConfig.migrate();
+                migrationConfig.validate();
+            } catch (FlywayValidateException e) {
+                throw new RuntimeException("Flyway validation failed for schema: %s"
+                        .formatted(migrationConfig.getConfiguration().getSchemas()[0]), e);
+            }
+        });
     }
 }
@@ -1,35 +1,72 @@
 package bitecode.modules._common.config;
 
+import bitecode.modules._common.service.export.AsyncTimeoutInterceptor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.annotation.AsyncConfigurer;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
+/**
+ * With {@code spring.threads.virtual.enabled} (VIRTUAL_THREADS_ENABLED) Tomcat handles requests on virtual threads,
+ * and MVC async processing and {@code @Async} listeners run on {@link #mvcTaskExecutor()}, which then starts a virtual
+ * thread per task instead of using the bounded platform pool.
+ * <p>
+ * Module listeners with a burst prone event source should name their own executor created by
+ * {@link bitecode.modules._common.service.executor.ModuleExecutorService} instead, e.g.
+ * {@code @Async(TransactionExecutorConfig.EXECUTOR)}.
+ */
 @Configuration
 @EnableAsync
-public class ThreadExecutorsConfig implements WebMvcConfigurer {
+public class ThreadExecutorsConfig implements WebMvcConfigurer, AsyncConfigurer {
+    private static final String THREAD_NAME_PREFIX = "mvc-async-";
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
 
     @Bean(name = "mvcTaskExecutor")
     public AsyncTaskExecutor mvcTaskExecutor() {
+        return virtualThreads ? virtualTaskExecutor() : platformTaskExecutor();
+    }
+
+    public static ThreadPoolTaskExecutor platformTaskExecutor() {
         var executor = new ThreadPoolTaskExecutor();
         executor.setCorePoolSize(10);
         executor.setMaxPoolSize(100);
         executor.setQueueCapacity(500);
-        executor.setThreadNamePrefix("mvc-async-");
+        executor.setThreadNamePrefix(THREAD_NAME_PREFIX);
         executor.initialize();
         return executor;
     }
 
+    public static SimpleAsyncTaskExecutor virtualTaskExecutor() {
+        var executor = new SimpleAsyncTaskExecutor(THREAD_NAME_PREFIX);
+        executor.setVirtualThreads(true);
+        return executor;
+    }
+
+    /**
+     * Explicit, with the module executors there is no longer a single {@code TaskExecutor} bean to default to.
+     */
+    @Override
+    public Executor getAsyncExecutor() {
+        return mvcTaskExecutor();
+    }
+
     @Override
     public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
         configurer.setTaskExecutor(mvcTaskExecutor());
         configurer.setDefaultTimeout(30_000L);
+        configurer.registerCallableInterceptors(new AsyncTimeoutInterceptor());
     }
 
     @Bean
@@ -37,4 +74,4 @@ public class ThreadExecutorsConfig implements WebMvcConfigurer {
         return Executors.newVirtualThreadPerTaskExecutor();
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,14 @@
+package bitecode.modules._common.config._modules;
+
+import bitecode.modules._common.config.flyway.FlywayMigrationModule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class CommonFlywayMigrationConfig {
+
+    @Bean
+    public FlywayMigrationModule commonFlywayMigration() {
+        return new FlywayMigrationModule("common", "classpath:db/migration/common");
+    }
+}
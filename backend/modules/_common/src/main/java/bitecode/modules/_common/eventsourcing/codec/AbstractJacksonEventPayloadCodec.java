@@ -0,0 +1,91 @@
+package bitecode.modules._common.eventsourcing.codec;
+
+import bitecode.modules._common.eventsourcing.model.Command;
+import bitecode.modules._common.eventsourcing.upcast.EventUpcasterChain;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.io.IOException;
+
+/**
+ * Base of the codecs backed by a Jackson data format. The {@link ObjectMapper} is created once per codec and shared,
+ * as it is thread-safe once configured.
+ */
+public abstract class AbstractJacksonEventPayloadCodec implements EventPayloadCodec {
+    protected final ObjectMapper objectMapper;
+
+    protected AbstractJacksonEventPayloadCodec(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper.registerModule(new JavaTimeModule());
+    }
+
+    @Override
+    public byte[] encode(Command command) {
+        try {
+            return objectMapper.writeValueAsBytes(command);
+        } catch (IOException e) {
+            throw new RuntimeException("Error serializing command,codec=" + name() + ",command=" + command, e);
+        }
+    }
+
+    @Override
+    public Command decode(byte[] payload) {
+        try {
+            return objectMapper.readValue(payload, Command.class);
+        } catch (IOException e) {
+            throw new RuntimeException("Error deserializing command,codec=" + name(), e);
+        }
+    }
+
+    @Override
+    public JsonNode readTree(byte[] payload) {
+        try {
+            return objectMapper.readTree(payload);
+        } catch (IOException e) {
+            throw new RuntimeException("Error reading command tree,codec=" + name(), e);
+        }
+    }
+
+    @Override
+    public Command decode(JsonNode payload) {
+        try {
+            return objectMapper.treeToValue(payload, Command.class);
+        } catch (IOException e) {
+            throw new RuntimeException("Error deserializing command,codec=" + name(), e);
+        }
+    }
+
+    @Override
+    public String peekTypeId(byte[] payload) {
+        // JSONB does not keep the property order, so the type id is not necessarily the first property
+        try (var parser = objectMapper.createParser(payload)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                var fieldName = parser.currentName();
+                parser.nextToken();
+                if (EventUpcasterChain.TYPE_PROPERTY.equals(fieldName)) {
+                    return parser.getValueAsString();
+                }
+                parser.skipChildren();
+            }
+            return null;
+        } catch (IOException e) {
+            throw new RuntimeException("Error reading command type id,codec=" + name(), e);
+        }
+    }
+
+    protected static boolean startsWith(byte[] payload, byte[] header) {
+        if (payload == null || payload.length < header.length) {
+            return false;
+        }
+        for (int i = 0; i < header.length; i++) {
+            if (payload[i] != header[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,34 @@
+package bitecode.modules._common.eventsourcing.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.cbor.CBORGenerator;
+import org.springframework.stereotype.Component;
+
+@Component
+public class CborEventPayloadCodec extends AbstractJacksonEventPayloadCodec {
+    public static final String NAME = "cbor";
+    // self-describe CBOR tag (55799), written so payloads can be told apart from the other binary formats
+    private static final byte[] HEADER = {(byte) 0xd9, (byte) 0xd9, (byte) 0xf7};
+
+    public CborEventPayloadCodec() {
+        super(new ObjectMapper(CBORFactory.builder()
+                .enable(CBORGenerator.Feature.WRITE_TYPE_HEADER)
+                .build()));
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public boolean binary() {
+        return true;
+    }
+
+    @Override
+    public boolean canDecode(byte[] payload) {
+        return startsWith(payload, HEADER);
+    }
+}
@@ -0,0 +1,25 @@
+package bitecode.modules._common.eventsourcing.codec;
+
+import bitecode.modules._common.eventsourcing.model.CommandEventEntity;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PrePersist;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Entity listener that keeps the payload columns of a {@link CommandEventEntity} in sync with its command.
+ * Instantiated by Hibernate through the Spring bean container, hence the constructor injection.
+ */
+@RequiredArgsConstructor
+public class CommandEventEntityListener {
+    private final EventPayloadCodecs eventPayloadCodecs;
+
+    @PrePersist
+    public void encode(CommandEventEntity event) {
+        eventPayloadCodecs.encode(event);
+    }
+
+    @PostLoad
+    public void decode(CommandEventEntity event) {
+        eventPayloadCodecs.decode(event);
+    }
+}
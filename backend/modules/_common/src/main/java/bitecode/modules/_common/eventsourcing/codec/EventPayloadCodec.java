@@ -0,0 +1,41 @@
+package bitecode.modules._common.eventsourcing.codec;
+
+import bitecode.modules._common.eventsourcing.model.Command;
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Serialization format of the commands persisted in the event tables.
+ */
+public interface EventPayloadCodec {
+
+    /**
+     * Name used to select the codec with the {@code EVENTSOURCING_PAYLOAD_CODEC} property.
+     */
+    String name();
+
+    /**
+     * Whether the payload is stored in the binary {@code event_data_bin} column instead of the JSONB {@code event_data} column.
+     */
+    boolean binary();
+
+    /**
+     * Whether the given binary payload was written by this codec, based on the format header.
+     */
+    boolean canDecode(byte[] payload);
+
+    byte[] encode(Command command);
+
+    Command decode(byte[] payload);
+
+    /**
+     * Reads the payload as a tree, used when it has to be upcast before it is deserialized.
+     */
+    JsonNode readTree(byte[] payload);
+
+    Command decode(JsonNode payload);
+
+    /**
+     * Reads the {@code @class} type id of the payload without deserializing it, or {@code null} when it is missing.
+     */
+    String peekTypeId(byte[] payload);
+}
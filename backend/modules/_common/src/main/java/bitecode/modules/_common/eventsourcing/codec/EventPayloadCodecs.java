@@ -0,0 +1,87 @@
+package bitecode.modules._common.eventsourcing.codec;
+
+import bitecode.modules._common.eventsourcing.model.Command;
+import bitecode.modules._common.eventsourcing.model.CommandEventEntity;
+import bitecode.modules._common.eventsourcing.upcast.EventUpcasterChain;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Encodes and decodes the command payloads of {@link CommandEventEntity}s.
+ *
+ * <p>New events are written with the codec selected by {@code EVENTSOURCING_PAYLOAD_CODEC} ({@code json} by default,
+ * or {@code smile}/{@code cbor}). Reads are mixed-format: rows with a JSONB {@code event_data} are decoded as JSON and
+ * rows with a binary {@code event_data_bin} are decoded by the codec whose header matches, so switching the write
+ * codec never requires a migration of the existing rows.</p>
+ *
+ * <p>Payloads written with an older {@code @EventVersion} of their command are converted to the current shape by the
+ * {@link EventUpcasterChain} before they are deserialized. Payloads that are already current skip the tree conversion
+ * and are deserialized directly.</p>
+ */
+@Slf4j
+@Service
+public class EventPayloadCodecs {
+    private final List<EventPayloadCodec> codecs;
+    private final EventPayloadCodec jsonCodec;
+    private final EventPayloadCodec writeCodec;
+    private final EventUpcasterChain upcasterChain;
+
+    public EventPayloadCodecs(List<EventPayloadCodec> codecs,
+                              EventUpcasterChain upcasterChain,
+                              @Value("${EVENTSOURCING_PAYLOAD_CODEC:" + JsonEventPayloadCodec.NAME + "}") String writeCodecName) {
+        this.codecs = codecs;
+        this.upcasterChain = upcasterChain;
+        this.jsonCodec = findCodec(JsonEventPayloadCodec.NAME);
+        this.writeCodec = findCodec(writeCodecName);
+        log.info("EventPayloadCodecs::init,writeCodec={}", writeCodec.name());
+    }
+
+    public void encode(CommandEventEntity event) {
+        if (event.getEventData() == null) {
+            return;
+        }
+        var payload = writeCodec.encode(event.getEventData());
+        if (writeCodec.binary()) {
+            event.setEventDataBinary(payload);
+            event.setEventDataJson(null);
+        } else {
+            event.setEventDataJson(new String(payload, StandardCharsets.UTF_8));
+            event.setEventDataBinary(null);
+        }
+    }
+
+    public void decode(CommandEventEntity event) {
+        if (event.getEventDataBinary() != null) {
+            event.setEventData(decodeBinary(event.getEventDataBinary()));
+        } else if (event.getEventDataJson() != null) {
+            event.setEventData(decode(jsonCodec, event.getEventDataJson().getBytes(StandardCharsets.UTF_8)));
+        }
+    }
+
+    private Command decodeBinary(byte[] payload) {
+        for (var codec : codecs) {
+            if (codec.canDecode(payload)) {
+                return decode(codec, payload);
+            }
+        }
+        throw new IllegalStateException("No event payload codec can decode the payload");
+    }
+
+    private Command decode(EventPayloadCodec codec, byte[] payload) {
+        if (upcasterChain.isEmpty() || !upcasterChain.requiresUpcast(codec.peekTypeId(payload))) {
+            return codec.decode(payload);
+        }
+        return codec.decode(upcasterChain.upcast(codec.readTree(payload)));
+    }
+
+    private EventPayloadCodec findCodec(String name) {
+        return codecs.stream()
+                .filter(codec -> codec.name().equalsIgnoreCase(name))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("Unknown event payload codec: " + name));
+    }
+}
@@ -0,0 +1,28 @@
+package bitecode.modules._common.eventsourcing.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+
+@Component
+public class JsonEventPayloadCodec extends AbstractJacksonEventPayloadCodec {
+    public static final String NAME = "json";
+
+    public JsonEventPayloadCodec() {
+        super(new ObjectMapper());
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public boolean binary() {
+        return false;
+    }
+
+    @Override
+    public boolean canDecode(byte[] payload) {
+        return payload != null && payload.length > 0 && payload[0] == '{';
+    }
+}
@@ -0,0 +1,34 @@
+package bitecode.modules._common.eventsourcing.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import org.springframework.stereotype.Component;
+
+@Component
+public class SmileEventPayloadCodec extends AbstractJacksonEventPayloadCodec {
+    public static final String NAME = "smile";
+    private static final byte[] HEADER = {':', ')', '\n'};
+
+    public SmileEventPayloadCodec() {
+        super(new ObjectMapper(SmileFactory.builder()
+                .enable(SmileGenerator.Feature.WRITE_HEADER)
+                .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                .build()));
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public boolean binary() {
+        return true;
+    }
+
+    @Override
+    public boolean canDecode(byte[] payload) {
+        return startsWith(payload, HEADER);
+    }
+}
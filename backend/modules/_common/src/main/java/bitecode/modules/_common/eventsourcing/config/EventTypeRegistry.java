@@ -0,0 +1,80 @@
+package bitecode.modules._common.eventsourcing.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.type.filter.AnnotationTypeFilter;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of the type ids written by {@link VersionedTypeIdResolver}, built at startup from the classes annotated
+ * with {@link EventVersion}, so reading a payload is a map lookup instead of a {@code Class.forName} call.
+ *
+ * <p>The lookups are static because Jackson instantiates the type id resolver itself. Types that were not found by
+ * the startup scan are resolved on first use and cached.</p>
+ */
+@Slf4j
+@Component
+public class EventTypeRegistry {
+    private static final char VERSION_SEPARATOR = '_';
+    private static final Map<String, Class<?>> TYPES_BY_CLASS_NAME = new ConcurrentHashMap<>();
+    private static final Map<Class<?>, String> IDS_BY_TYPE = new ConcurrentHashMap<>();
+
+    public EventTypeRegistry(@Value("${EVENTSOURCING_EVENT_TYPES_PACKAGE:bitecode.modules}") String basePackage) {
+        var scanner = new ClassPathScanningCandidateComponentProvider(false);
+        scanner.addIncludeFilter(new AnnotationTypeFilter(EventVersion.class));
+        var classLoader = ClassUtils.getDefaultClassLoader();
+        for (var candidate : scanner.findCandidateComponents(basePackage)) {
+            var type = ClassUtils.resolveClassName(candidate.getBeanClassName(), classLoader);
+            register(type);
+        }
+        log.info("EventTypeRegistry::init,registered event types={}", IDS_BY_TYPE.size());
+    }
+
+    public static String idOf(Class<?> type) {
+        return IDS_BY_TYPE.computeIfAbsent(type, EventTypeRegistry::buildId);
+    }
+
+    public static Class<?> typeOf(String id) {
+        return TYPES_BY_CLASS_NAME.computeIfAbsent(classNameOf(id), className -> {
+            try {
+                return Class.forName(className);
+            } catch (ClassNotFoundException e) {
+                throw new IllegalArgumentException("Class not found: " + className, e);
+            }
+        });
+    }
+
+    public static String classNameOf(String id) {
+        int lastSeparator = id.lastIndexOf(VERSION_SEPARATOR);
+        if (lastSeparator == -1) {
+            throw new IllegalArgumentException("Invalid id format: " + id);
+        }
+        return id.substring(0, lastSeparator);
+    }
+
+    public static String versionOf(String id) {
+        return id.substring(id.lastIndexOf(VERSION_SEPARATOR) + 1);
+    }
+
+    public static String versionOf(Class<?> type) {
+        var annotation = type.getAnnotation(EventVersion.class);
+        if (annotation == null) {
+            throw new RuntimeException("Specify event version");
+        }
+        return annotation.value();
+    }
+
+    private static void register(Class<?> type) {
+        TYPES_BY_CLASS_NAME.put(type.getName(), type);
+        IDS_BY_TYPE.put(type, buildId(type));
+    }
+
+    private static String buildId(Class<?> type) {
+        return type.getName() + VERSION_SEPARATOR + versionOf(type);
+    }
+}
@@ -16,23 +16,15 @@ public class VersionedTypeIdResolver extends TypeIdResolverBase {
 
     @Override
     public String idFromValueAndType(Object value, Class<?> suggestedType) {
-        String className = suggestedType.getName();
-        String version = getVersionFromAnnotation(suggestedType);
-        return className + "_" + version;
+        return EventTypeRegistry.idOf(suggestedType);
     }
 
     @Override
     public JavaType typeFromId(DatabindContext context, String id) throws IOException {
-        int lastUnderscore = id.lastIndexOf('_');
-        if (lastUnderscore == -1) {
-            throw new IOException("Invalid id format: " + id);
-        }
-        String className = id.substring(0, lastUnderscore);
         try {
-            Class<?> clazz = Class.forName(className);
-            return context.constructType(clazz);
-        } catch (ClassNotFoundException e) {
-            throw new IOException("Class not found: " + className, e);
+            return context.constructType(EventTypeRegistry.typeOf(id));
+        } catch (IllegalArgumentException e) {
+            throw new IOException(e.getMessage(), e);
         }
     }
 
@@ -40,14 +32,4 @@ public class VersionedTypeIdResolver extends TypeIdResolverBase {
     public JsonTypeInfo.Id getMechanism() {
         return JsonTypeInfo.Id.CUSTOM;
     }
-
-    private String getVersionFromAnnotation(Class<?> clazz) {
-        EventVersion annotation = clazz.getAnnotation(EventVersion.class);
-        if (annotation != null) {
-            return annotation.value();
-        } else {
-            throw new RuntimeException("Specify event version");
-        }
-    }
 }
-
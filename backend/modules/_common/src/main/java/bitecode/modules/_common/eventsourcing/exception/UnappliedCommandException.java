@@ -1,10 +1,32 @@
 package bitecode.modules._common.eventsourcing.exception;
 
+import lombok.Getter;
+
+@Getter
 public class UnappliedCommandException extends RuntimeException {
+    /**
+     * Why the command was not applied, the {@code reason} tag of the {@code command.unapplied} counter.
+     */
+    public enum Reason {
+        NOT_FOUND,
+        INSUFFICIENT_FUNDS,
+        INVALID_STATE,
+        MISSING_PARAMETER,
+        UNSPECIFIED
+    }
+
+    private final Reason reason;
+
     public UnappliedCommandException() {
+        this.reason = Reason.UNSPECIFIED;
     }
 
     public UnappliedCommandException(String message, Object... formatArgs) {
+        this(Reason.UNSPECIFIED, message, formatArgs);
+    }
+
+    public UnappliedCommandException(Reason reason, String message, Object... formatArgs) {
         super(String.format(message, formatArgs));
+        this.reason = reason;
     }
 }
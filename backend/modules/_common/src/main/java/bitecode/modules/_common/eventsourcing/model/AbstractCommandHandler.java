@@ -15,6 +15,7 @@ public abstract class AbstractCommandHandler<R, C extends Command> {
     public abstract Class<C> getCommandClass();
 
     protected UnappliedCommandException genericUnappliedHandlerException(Command command) {
-        return new UnappliedCommandException("Could not find transaction by paymentId,command=" + command);
+        return new UnappliedCommandException(UnappliedCommandException.Reason.NOT_FOUND,
+                "Could not find transaction by paymentId,command=%s", command);
     }
 }
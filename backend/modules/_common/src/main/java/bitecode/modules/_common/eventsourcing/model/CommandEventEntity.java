@@ -0,0 +1,47 @@
+package bitecode.modules._common.eventsourcing.model;
+
+import bitecode.modules._common.eventsourcing.codec.CommandEventEntityListener;
+import bitecode.modules._common.model.entity.BaseEntity;
+import jakarta.persistence.Column;
+import jakarta.persistence.EntityListeners;
+import jakarta.persistence.MappedSuperclass;
+import jakarta.persistence.Transient;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.Formula;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+/**
+ * Base of the event entities that persist the handled {@link Command} as their payload.
+ *
+ * <p>The command is encoded by {@link CommandEventEntityListener} into either the JSONB {@code event_data} column or
+ * the binary {@code event_data_bin} column, depending on the configured payload codec, and decoded back on load.</p>
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@MappedSuperclass
+@EntityListeners(CommandEventEntityListener.class)
+public abstract class CommandEventEntity extends BaseEntity implements Event {
+    @Transient
+    private Command eventData;
+    @Column(name = "event_data")
+    @JdbcTypeCode(SqlTypes.JSON)
+    private String eventDataJson;
+    @Column(name = "event_data_bin")
+    private byte[] eventDataBinary;
+    /**
+     * Assigned by the database sequence of the event table when the row is inserted. Aggregates are replayed in this
+     * order: ids are allocated in pooled blocks per node, so they do not follow the order events were written in.
+     * Events written before the column existed have no number until they are backfilled and are read with their id,
+     * which is below every assigned number; the event tables index the same expression.
+     */
+    @Formula("COALESCE(sequence_number, id)")
+    private Long sequenceNumber;
+
+    protected CommandEventEntity(Command eventData) {
+        this.eventData = eventData;
+    }
+}
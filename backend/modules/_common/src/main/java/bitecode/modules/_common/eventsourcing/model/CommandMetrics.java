@@ -0,0 +1,72 @@
+package bitecode.modules._common.eventsourcing.model;
+
+import bitecode.modules._common.eventsourcing.exception.UnappliedCommandException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Phase timers ({@code command.handle.phase}) and unapplied command counters ({@code command.unapplied}) of the
+ * command handlers, tagged with the command class. Timers are cached per command class, so recording a phase is a map
+ * lookup and not a registry lookup.
+ */
+class CommandMetrics {
+    static final CommandMetrics NOOP = new CommandMetrics(null);
+
+    enum Phase {
+        PRE_HANDLE, HANDLE, POST_HANDLE, PUBLISH, PERSIST;
+
+        private final String tag = name().toLowerCase(Locale.ROOT);
+    }
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Class<?>, Timer[]> phaseTimers = new ConcurrentHashMap<>();
+
+    CommandMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    long start() {
+        return meterRegistry == null ? 0 : System.nanoTime();
+    }
+
+    /**
+     * Records the phase which started at {@code startNanos} and returns the current time, the start of the next phase.
+     */
+    long record(Class<?> commandClass, Phase phase, long startNanos) {
+        if (meterRegistry == null) {
+            return 0;
+        }
+        var now = System.nanoTime();
+        phaseTimers.computeIfAbsent(commandClass, this::registerPhaseTimers)[phase.ordinal()]
+                .record(now - startNanos, TimeUnit.NANOSECONDS);
+        return now;
+    }
+
+    void recordUnapplied(Class<?> commandClass, UnappliedCommandException e) {
+        if (meterRegistry == null) {
+            return;
+        }
+        Counter.builder("command.unapplied")
+                .description("Commands rejected by their handler with an UnappliedCommandException")
+                .tags("command", commandClass.getSimpleName(), "reason", e.getReason().name())
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private Timer[] registerPhaseTimers(Class<?> commandClass) {
+        var timers = new Timer[Phase.values().length];
+        for (var phase : Phase.values()) {
+            timers[phase.ordinal()] = Timer.builder("command.handle.phase")
+                    .description("Time spent in one phase of handling a command")
+                    .tags("command", commandClass.getSimpleName(), "phase", phase.tag)
+                    .register(meterRegistry);
+        }
+        return timers;
+    }
+}
@@ -6,7 +6,7 @@ import com.fasterxml.jackson.annotation.JsonTypeInfo;
         use = JsonTypeInfo.Id.CLASS,
         property = "@class"
 )
-// Big simplification of CQRS, we remove layer of Command -> Event since we do not use aggregate/hydration etc.
-// We persist command only to audit what have happened
+// Big simplification of CQRS, we remove layer of Command -> Event, the persisted command is the event.
+// It is the audit log of what have happened, and aggregates can be rebuilt from it with AggregateReplayEngine
 public interface Event {
 }
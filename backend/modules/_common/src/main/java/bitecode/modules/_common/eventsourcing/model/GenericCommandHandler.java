@@ -1,8 +1,15 @@
 package bitecode.modules._common.eventsourcing.model;
 
 import bitecode.modules._common.eventsourcing.exception.UnappliedCommandException;
+import bitecode.modules._common.eventsourcing.model.CommandMetrics.Phase;
+import bitecode.modules._common.service.outbox.OutboxService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.http.HttpStatus;
 import org.springframework.transaction.annotation.Propagation;
@@ -10,6 +17,7 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.client.HttpClientErrorException;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -42,7 +50,18 @@ public abstract class GenericCommandHandler<C extends Command, T, CHT extends Ab
      * The repository used to persist or retrieve event entities.
      */
     private final JpaRepository<EN, ?> eventRepository;
-    private final ApplicationEventPublisher eventPublisher;
+    /**
+     * The outbox that module events are written to, in the same transaction as the command.
+     */
+    private final OutboxService outboxService;
+    /**
+     * Registry of the {@code command.handle} observation, no-op until injected.
+     */
+    private ObservationRegistry observationRegistry = ObservationRegistry.NOOP;
+    /**
+     * Phase timers and unapplied command counters, no-op until the meter registry is injected.
+     */
+    private CommandMetrics commandMetrics = CommandMetrics.NOOP;
 
     /**
      * Constructor to initialize the CommandHandler with a list of command handlers,
@@ -50,9 +69,10 @@ public abstract class GenericCommandHandler<C extends Command, T, CHT extends Ab
      *
      * @param commandHandlers a list of command handlers to be associated with the command handler
      * @param eventRepository the repository to interact with event entities
+     * @param outboxService   the outbox used to publish module events raised by the command handlers
      */
     @SuppressWarnings("unchecked")
-    public GenericCommandHandler(List<? extends AbstractCommandHandler<T, ? extends Command>> commandHandlers, JpaRepository<EN, ?> eventRepository, ApplicationEventPublisher eventPublisher) {
+    public GenericCommandHandler(List<? extends AbstractCommandHandler<T, ? extends Command>> commandHandlers, JpaRepository<EN, ?> eventRepository, OutboxService outboxService) {
         this.commandHandlerMap = commandHandlers.stream()
                 .map(eventHandler -> {
                     if (!this.getGenericCommandTypeClass().isAssignableFrom(eventHandler.getCommandClass())) {
@@ -61,7 +81,7 @@ public abstract class GenericCommandHandler<C extends Command, T, CHT extends Ab
                     return (CHT) eventHandler;
                 }).collect(Collectors.toMap(AbstractCommandHandler::getCommandClass, Function.identity()));
         this.eventRepository = eventRepository;
-        this.eventPublisher = eventPublisher;
+        this.outboxService = outboxService;
     }
 
     /**
@@ -72,11 +92,21 @@ public abstract class GenericCommandHandler<C extends Command, T, CHT extends Ab
      * <p>The method first invokes the {@link #preHandleFunction(C event, Map params)} for pre-processing, then
      * retrieves the corresponding handler from the {@link #commandHandlerMap} and executes
      * it. After handling the command, the resulting entity is saved to the event repository. Finally,
-     * the {@link #postHandleFunction(C event, T entity, Map params)} method is called for post-processing.</p>
+     * the {@link #postHandleFunction(C event, T entity, Map params)} method is called for post-processing.
+     * A module event raised by the handler is written to the outbox in the same transaction and dispatched to
+     * listeners only after the transaction commits.</p>
      *
      * <p>If an {@link UnappliedCommandException} is thrown during the command handling process,
-     * a debug log is generated and no further processing occurs. Any other exceptions are logged as
-     * errors, and an {@link HttpClientErrorException} with an internal server error status is thrown.</p>
+     * a debug log is generated, it is counted by reason and no further processing occurs. A
+     * {@link ConcurrencyFailureException} (e.g. an optimistic locking conflict) or a
+     * {@link DataIntegrityViolationException} (e.g. a row created concurrently) is propagated as it is, so the caller
+     * can retry or handle it. Any other exceptions are logged as errors, and an {@link HttpClientErrorException} with
+     * an internal server error status is thrown.</p>
+     *
+     * <p>The whole call is a {@code command.handle} observation tagged with the command class, and every phase
+     * (pre-handle, handle, post-handle, publish, persist) is timed by {@code command.handle.phase}. The persistence
+     * context is flushed at the end of the persist phase, so the phase covers all the writes of the command and the
+     * commit only has to send the {@code COMMIT}.</p>
      *
      * @param command the command to be handled, typically extending {@link Command}
      * @return an {@link Optional} containing the return type of the command handling, if successful
@@ -88,30 +118,140 @@ public abstract class GenericCommandHandler<C extends Command, T, CHT extends Ab
     @Transactional(propagation = Propagation.REQUIRES_NEW)
     public Optional<RT> handle(C command) {
         var params = new HashMap<String, Object>();
-        try {
-            var commandHandler = commandHandlerMap.get(command.getClass());
+        var commandClass = command.getClass();
+        var observation = Observation.createNotStarted("command.handle", observationRegistry)
+                .lowCardinalityKeyValue("command", commandClass.getSimpleName())
+                .start();
+        try (var ignored = observation.openScope()) {
+            var commandHandler = commandHandlerMap.get(commandClass);
+            var phaseStart = commandMetrics.start();
             preHandleFunction(command, params);
+            phaseStart = commandMetrics.record(commandClass, Phase.PRE_HANDLE, phaseStart);
             var entity = commandHandler.handle(command, params);
+            phaseStart = commandMetrics.record(commandClass, Phase.HANDLE, phaseStart);
             postHandleFunction(command, entity, params);
+            phaseStart = commandMetrics.record(commandClass, Phase.POST_HANDLE, phaseStart);
             var moduleEvent = commandHandler.toModuleEvent(command, entity, params);
             if (moduleEvent != null) {
-                eventPublisher.publishEvent(moduleEvent);
+                outboxService.publish(moduleEvent);
             }
+            phaseStart = commandMetrics.record(commandClass, Phase.PUBLISH, phaseStart);
             eventRepository.save(toEventEntity(command, entity, params));
+            eventRepository.flush();
+            commandMetrics.record(commandClass, Phase.PERSIST, phaseStart);
             return Optional.of(toReturnType(entity));
         } catch (UnappliedCommandException unappliedCommandException) {
             if (log.isDebugEnabled()) {
                 log.debug("CommandHandler::handle,unappliedevent,ex={}", unappliedCommandException.getMessage());
             }
+            commandMetrics.recordUnapplied(commandClass, unappliedCommandException);
+            observation.lowCardinalityKeyValue("outcome", "unapplied");
             throw unappliedCommandException;
+        } catch (ConcurrencyFailureException | DataIntegrityViolationException dataAccessException) {
+            // e.g. an optimistic locking conflict raised by the flush, left as it is so the caller can retry the command
+            observation.error(dataAccessException);
+            throw dataAccessException;
         } catch (Exception e) {
             log.error("CommandHandler::handle,exception,error={}", e, e);
+            observation.error(e);
             throw new HttpClientErrorException(HttpStatus.INTERNAL_SERVER_ERROR);
         } finally {
             finallyFunction(command, params);
+            observation.stop();
+        }
+    }
+
+    /**
+     * Handles a batch of commands within a single transaction. Every command goes through the same
+     * pre-handle, handle, post-handle and finally hooks as {@link #handle(Command)}, but the resulting
+     * event entities are collected and persisted with one {@code saveAll} call, so the JDBC driver can
+     * send them as batched inserts instead of one round trip and one commit per command.
+     *
+     * <p>The batch is all-or-nothing: if any command is unapplied or fails, the exception is propagated
+     * the same way as in {@link #handle(Command)} and the whole transaction is rolled back. Module events
+     * produced by the batch go through the outbox, so listeners never observe state from a batch that was
+     * rolled back.</p>
+     *
+     * <p>The batch is a {@code command.handle.all} observation tagged with the command type of this handler. The
+     * phases of every command are timed by {@code command.handle.phase} as in {@link #handle(Command)}, except for
+     * persist, which is recorded once for the {@code saveAll} and flush of the whole batch, tagged with the command
+     * type of this handler instead of a command class.</p>
+     *
+     * @param commands the commands to be handled, in order
+     * @return the return types of the handled commands, in the same order as the given commands
+     * @throws UnappliedCommandException if any of the commands could not be applied
+     * @throws HttpClientErrorException  if an unexpected exception occurs during the handling process
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public List<RT> handleAll(List<? extends C> commands) {
+        var batchClass = getGenericCommandTypeClass();
+        var observation = Observation.createNotStarted("command.handle.all", observationRegistry)
+                .lowCardinalityKeyValue("command", batchClass.getSimpleName())
+                .highCardinalityKeyValue("commands", String.valueOf(commands.size()))
+                .start();
+        try (var ignored = observation.openScope()) {
+            var results = new ArrayList<RT>(commands.size());
+            var eventEntities = new ArrayList<EN>(commands.size());
+            for (C command : commands) {
+                var params = new HashMap<String, Object>();
+                var commandClass = command.getClass();
+                try {
+                    var commandHandler = commandHandlerMap.get(commandClass);
+                    var phaseStart = commandMetrics.start();
+                    preHandleFunction(command, params);
+                    phaseStart = commandMetrics.record(commandClass, Phase.PRE_HANDLE, phaseStart);
+                    var entity = commandHandler.handle(command, params);
+                    phaseStart = commandMetrics.record(commandClass, Phase.HANDLE, phaseStart);
+                    postHandleFunction(command, entity, params);
+                    phaseStart = commandMetrics.record(commandClass, Phase.POST_HANDLE, phaseStart);
+                    var moduleEvent = commandHandler.toModuleEvent(command, entity, params);
+                    if (moduleEvent != null) {
+                        outboxService.publish(moduleEvent);
+                    }
+                    commandMetrics.record(commandClass, Phase.PUBLISH, phaseStart);
+                    eventEntities.add(toEventEntity(command, entity, params));
+                    results.add(toReturnType(entity));
+                } catch (UnappliedCommandException unappliedCommandException) {
+                    if (log.isDebugEnabled()) {
+                        log.debug("CommandHandler::handleAll,unappliedevent,ex={}", unappliedCommandException.getMessage());
+                    }
+                    commandMetrics.recordUnapplied(commandClass, unappliedCommandException);
+                    throw unappliedCommandException;
+                } catch (ConcurrencyFailureException | DataIntegrityViolationException dataAccessException) {
+                    throw dataAccessException;
+                } catch (Exception e) {
+                    log.error("CommandHandler::handleAll,exception,error={}", e, e);
+                    throw new HttpClientErrorException(HttpStatus.INTERNAL_SERVER_ERROR);
+                } finally {
+                    finallyFunction(command, params);
+                }
+            }
+            var persistStart = commandMetrics.start();
+            eventRepository.saveAll(eventEntities);
+            eventRepository.flush();
+            commandMetrics.record(batchClass, Phase.PERSIST, persistStart);
+            return results;
+        } catch (UnappliedCommandException unappliedCommandException) {
+            observation.lowCardinalityKeyValue("outcome", "unapplied");
+            throw unappliedCommandException;
+        } catch (RuntimeException e) {
+            observation.error(e);
+            throw e;
+        } finally {
+            observation.stop();
         }
     }
 
+    @Autowired
+    public void setObservationRegistry(ObservationRegistry observationRegistry) {
+        this.observationRegistry = observationRegistry;
+    }
+
+    @Autowired
+    public void setCommandMetrics(MeterRegistry meterRegistry) {
+        this.commandMetrics = new CommandMetrics(meterRegistry);
+    }
+
     protected abstract Class<C> getGenericCommandTypeClass();
 
     protected abstract EN toEventEntity(C command, T entity, Map<String, Object> params) throws IOException;
@@ -0,0 +1,35 @@
+package bitecode.modules._common.eventsourcing.replay;
+
+import bitecode.modules._common.eventsourcing.model.CommandEventEntity;
+
+import java.util.List;
+
+/**
+ * Describes how the state of one aggregate type is folded from its event table.
+ *
+ * <p>The state must be serializable with the application {@code ObjectMapper}, since it is stored as a snapshot.
+ * {@link #apply(Object, CommandEventEntity)} must be a pure function of the previous state and the event, so that replaying
+ * from a snapshot and replaying from the first event give the same result.</p>
+ *
+ * @param <S>  the type of the aggregate state
+ * @param <EN> the type of the event entity
+ */
+public interface AggregateProjection<S, EN extends CommandEventEntity> {
+
+    /**
+     * Stable name of the aggregate type, used as the snapshot key together with the aggregate id.
+     */
+    String aggregateType();
+
+    Class<S> stateType();
+
+    S initialState();
+
+    S apply(S state, EN event);
+
+    /**
+     * Returns at most {@code limit} events of the aggregate with a sequence number greater than
+     * {@code afterSequenceNumber}, ordered by sequence number ascending.
+     */
+    List<EN> findEventsAfter(Long aggregateId, Long afterSequenceNumber, int limit);
+}
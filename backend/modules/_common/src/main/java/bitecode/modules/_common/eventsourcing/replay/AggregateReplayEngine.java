@@ -0,0 +1,145 @@
+package bitecode.modules._common.eventsourcing.replay;
+
+import bitecode.modules._common.eventsourcing.model.CommandEventEntity;
+import bitecode.modules._common.eventsourcing.replay.model.AggregateSnapshot;
+import bitecode.modules._common.eventsourcing.replay.model.ReplayResult;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+
+/**
+ * Rebuilds aggregate state from an event table, starting from the latest snapshot of the aggregate.
+ *
+ * <p>Events are read in pages of {@code pageSize}, each page in its own short transaction, so neither the
+ * persistence context nor a database transaction grows with the number of events. A snapshot is written after
+ * every {@code snapshotEvery} applied events, which bounds the cost of the next replay of the same aggregate.</p>
+ *
+ * <p>Events are read in the order of their {@link CommandEventEntity#getSequenceNumber() sequence number}. It is
+ * assigned on insert, so a transaction still in flight may commit an event with a lower number than an event already
+ * read. Snapshots are therefore only taken at events older than {@code snapshotSettleMs}, by which time such
+ * transactions have committed and no event can be left behind the snapshot.</p>
+ */
+@Slf4j
+@Service
+public class AggregateReplayEngine {
+    private final AggregateSnapshotRepository snapshotRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final int pageSize;
+    private final int snapshotEvery;
+    private final long snapshotSettleMs;
+
+    public AggregateReplayEngine(AggregateSnapshotRepository snapshotRepository, ObjectMapper objectMapper,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${EVENTSOURCING_REPLAY_PAGE_SIZE:500}") int pageSize,
+                                 @Value("${EVENTSOURCING_SNAPSHOT_EVERY:1000}") int snapshotEvery,
+                                 @Value("${EVENTSOURCING_SNAPSHOT_SETTLE_MS:60000}") long snapshotSettleMs) {
+        this.snapshotRepository = snapshotRepository;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.pageSize = pageSize;
+        this.snapshotEvery = snapshotEvery;
+        this.snapshotSettleMs = snapshotSettleMs;
+    }
+
+    /**
+     * Replays the events of the given aggregate on top of its latest snapshot.
+     *
+     * @param projection  the projection describing the aggregate type
+     * @param aggregateId the id of the aggregate to rebuild
+     * @return the rebuilt state together with replay statistics
+     */
+    public <S, EN extends CommandEventEntity> ReplayResult<S> replay(AggregateProjection<S, EN> projection, Long aggregateId) {
+        var snapshot = snapshotRepository.findByAggregateTypeAndAggregateId(projection.aggregateType(), aggregateId);
+        var cursor = snapshot
+                .map(s -> new ReplayCursor<>(readState(s, projection.stateType()), s.getLastSequenceNumber(), s.getEventCount()))
+                .orElseGet(() -> new ReplayCursor<>(projection.initialState(), 0L, 0L));
+        var settledBefore = Instant.now().minusMillis(snapshotSettleMs);
+
+        long eventsReplayed = 0;
+        long sinceSnapshot = 0;
+        int pageCount;
+        do {
+            var page = transactionTemplate.execute(status -> projection.findEventsAfter(aggregateId, cursor.lastSequenceNumber, pageSize));
+            pageCount = page == null ? 0 : page.size();
+            for (int i = 0; i < pageCount; i++) {
+                var event = page.get(i);
+                cursor.state = projection.apply(cursor.state, event);
+                cursor.lastSequenceNumber = event.getSequenceNumber();
+                cursor.eventCount++;
+                eventsReplayed++;
+                if (++sinceSnapshot >= snapshotEvery && event.getCreatedDate().isBefore(settledBefore)) {
+                    saveSnapshot(projection, aggregateId, cursor);
+                    sinceSnapshot = 0;
+                }
+            }
+        } while (pageCount == pageSize);
+
+        if (log.isDebugEnabled()) {
+            log.debug("AggregateReplayEngine::replay,aggregateType={},aggregateId={},fromSnapshot={},eventsReplayed={}",
+                    projection.aggregateType(), aggregateId, snapshot.isPresent(), eventsReplayed);
+        }
+        return new ReplayResult<>(cursor.state, cursor.lastSequenceNumber, cursor.eventCount, eventsReplayed, snapshot.isPresent());
+    }
+
+    /**
+     * Drops the stored snapshot of the aggregate, so the next replay starts from the first event. Useful after a
+     * projection change or when a snapshot was produced by a faulty deploy.
+     */
+    public void deleteSnapshot(AggregateProjection<?, ?> projection, Long aggregateId) {
+        transactionTemplate.executeWithoutResult(status -> snapshotRepository
+                .findByAggregateTypeAndAggregateId(projection.aggregateType(), aggregateId)
+                .ifPresent(snapshotRepository::delete));
+    }
+
+    private <S> void saveSnapshot(AggregateProjection<S, ?> projection, Long aggregateId, ReplayCursor<S> cursor) {
+        var state = writeState(cursor.state);
+        transactionTemplate.executeWithoutResult(status -> {
+            var snapshot = snapshotRepository.findByAggregateTypeAndAggregateId(projection.aggregateType(), aggregateId)
+                    .orElseGet(() -> AggregateSnapshot.builder()
+                            .aggregateType(projection.aggregateType())
+                            .aggregateId(aggregateId)
+                            .build());
+            snapshot.setLastSequenceNumber(cursor.lastSequenceNumber);
+            snapshot.setEventCount(cursor.eventCount);
+            snapshot.setState(state);
+            snapshotRepository.save(snapshot);
+        });
+    }
+
+    private <S> S readState(AggregateSnapshot snapshot, Class<S> stateType) {
+        try {
+            return objectMapper.readValue(snapshot.getState(), stateType);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not read aggregate snapshot,snapshotId=" + snapshot.getId(), e);
+        }
+    }
+
+    private String writeState(Object state) {
+        try {
+            return objectMapper.writeValueAsString(state);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not write aggregate snapshot,state=" + state, e);
+        }
+    }
+
+    private static final class ReplayCursor<S> {
+        private S state;
+        private Long lastSequenceNumber;
+        private long eventCount;
+
+        private ReplayCursor(S state, Long lastSequenceNumber, long eventCount) {
+            this.state = state;
+            this.lastSequenceNumber = lastSequenceNumber;
+            this.eventCount = eventCount;
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package bitecode.modules._common.eventsourcing.replay;
+
+import bitecode.modules._common.eventsourcing.replay.model.AggregateSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface AggregateSnapshotRepository extends JpaRepository<AggregateSnapshot, Long> {
+    Optional<AggregateSnapshot> findByAggregateTypeAndAggregateId(String aggregateType, Long aggregateId);
+}
@@ -0,0 +1,25 @@
+package bitecode.modules._common.eventsourcing.replay.model;
+
+import bitecode.modules._common.model.entity.BaseEntity;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+@Entity
+@Getter
+@Setter
+@ToString
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Table(schema = "common")
+public class AggregateSnapshot extends BaseEntity {
+    private String aggregateType;
+    private Long aggregateId;
+    private Long lastSequenceNumber;
+    private Long eventCount;
+    @JdbcTypeCode(SqlTypes.JSON)
+    private String state;
+}
@@ -0,0 +1,20 @@
+package bitecode.modules._common.eventsourcing.replay.model;
+
+/**
+ * Outcome of an aggregate replay.
+ *
+ * @param state              the rebuilt aggregate state
+ * @param lastSequenceNumber sequence number of the last event applied, or of the snapshot's last event if nothing
+ *                           new was applied
+ * @param eventCount         total number of events folded into the state, including the ones covered by the snapshot
+ * @param eventsReplayed     number of events read from the event table during this replay
+ * @param fromSnapshot       whether the replay started from a stored snapshot
+ */
+public record ReplayResult<S>(
+        S state,
+        Long lastSequenceNumber,
+        long eventCount,
+        long eventsReplayed,
+        boolean fromSnapshot
+) {
+}
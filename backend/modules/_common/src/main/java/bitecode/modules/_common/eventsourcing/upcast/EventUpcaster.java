@@ -0,0 +1,40 @@
+package bitecode.modules._common.eventsourcing.upcast;
+
+import bitecode.modules._common.eventsourcing.model.Command;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Converts a stored command payload from one {@code @EventVersion} to the next one, so that old rows can be read
+ * after the command class changed shape, without migrating the event tables.
+ *
+ * <p>Upcasters are Spring beans and are chained per command class: a {@code v1} payload of a class currently
+ * annotated with {@code @EventVersion("v3")} goes through the {@code v1 -> v2} and then the {@code v2 -> v3}
+ * upcaster. Example, after renaming {@code referenceId} to {@code externalReferenceId}:</p>
+ *
+ * <pre>{@code
+ * @Component
+ * public class AddWalletAssetCommandV1Upcaster implements EventUpcaster {
+ *     public Class<? extends Command> eventType() { return AddWalletAssetCommand.class; }
+ *     public String fromVersion() { return "v1"; }
+ *     public String toVersion() { return "v2"; }
+ *     public ObjectNode upcast(ObjectNode payload) {
+ *         payload.set("externalReferenceId", payload.remove("referenceId"));
+ *         return payload;
+ *     }
+ * }
+ * }</pre>
+ */
+public interface EventUpcaster {
+
+    Class<? extends Command> eventType();
+
+    String fromVersion();
+
+    String toVersion();
+
+    /**
+     * Converts the payload, which is the whole serialized command including its {@code @class} type id. The type id
+     * is updated by the chain and does not need to be changed here.
+     */
+    ObjectNode upcast(ObjectNode payload);
+}
@@ -0,0 +1,120 @@
+package bitecode.modules._common.eventsourcing.upcast;
+
+import bitecode.modules._common.eventsourcing.config.EventTypeRegistry;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Applies the registered {@link EventUpcaster}s to stored payloads at read time.
+ *
+ * <p>A payload is upcast step by step until its version matches the current {@code @EventVersion} of its class.
+ * Classes without upcasters are not checked, which keeps backward compatible changes (e.g. a new nullable field)
+ * working without an upcaster. Once a class has upcasters, every version from the oldest upcaster on must lead to the
+ * current version: a missing step or a cycle fails the startup, and a compatible change of such a class needs an
+ * upcaster that returns the payload as it is. A payload whose version is not on the path, e.g. one written by a newer
+ * deploy, fails the read instead of being deserialized in the wrong shape.</p>
+ */
+@Slf4j
+@Component
+public class EventUpcasterChain {
+    public static final String TYPE_PROPERTY = "@class";
+
+    private final Map<String, UpcasterPath> pathsByClassName = new HashMap<>();
+
+    public EventUpcasterChain(List<EventUpcaster> upcasters) {
+        for (var upcaster : upcasters) {
+            var className = upcaster.eventType().getName();
+            var path = pathsByClassName.computeIfAbsent(className,
+                    name -> new UpcasterPath(currentVersionOf(upcaster), new HashMap<>()));
+            var previous = path.upcastersByFromVersion().put(upcaster.fromVersion(), upcaster);
+            if (previous != null) {
+                throw new IllegalStateException("Duplicated upcaster,type=%s,fromVersion=%s"
+                        .formatted(className, upcaster.fromVersion()));
+            }
+        }
+        pathsByClassName.forEach(EventUpcasterChain::validate);
+        log.info("EventUpcasterChain::init,registered upcasters={}", upcasters.size());
+    }
+
+    public boolean isEmpty() {
+        return pathsByClassName.isEmpty();
+    }
+
+    /**
+     * Whether a payload with the given type id has to go through the chain before it can be deserialized.
+     */
+    public boolean requiresUpcast(String typeId) {
+        if (typeId == null) {
+            return false;
+        }
+        var path = pathsByClassName.get(EventTypeRegistry.classNameOf(typeId));
+        return path != null && !path.currentVersion().equals(EventTypeRegistry.versionOf(typeId));
+    }
+
+    /**
+     * @throws IllegalStateException when the payload version cannot be upcast to the current version of its class
+     */
+    public JsonNode upcast(JsonNode payload) {
+        if (!(payload instanceof ObjectNode objectNode) || !payload.hasNonNull(TYPE_PROPERTY)) {
+            return payload;
+        }
+        var typeId = objectNode.get(TYPE_PROPERTY).asText();
+        var className = EventTypeRegistry.classNameOf(typeId);
+        var path = pathsByClassName.get(className);
+        if (path == null) {
+            return payload;
+        }
+        var version = EventTypeRegistry.versionOf(typeId);
+        while (!version.equals(path.currentVersion())) {
+            var upcaster = path.upcastersByFromVersion().get(version);
+            if (upcaster == null) {
+                throw new IllegalStateException("No upcaster path to the current version,type=%s,version=%s,currentVersion=%s"
+                        .formatted(className, version, path.currentVersion()));
+            }
+            objectNode = upcaster.upcast(objectNode);
+            version = upcaster.toVersion();
+            objectNode.put(TYPE_PROPERTY, className + "_" + version);
+        }
+        return objectNode;
+    }
+
+    private static String currentVersionOf(EventUpcaster upcaster) {
+        try {
+            return EventTypeRegistry.versionOf(upcaster.eventType());
+        } catch (RuntimeException e) {
+            throw new IllegalStateException("Upcast event type has no @EventVersion,type=" + upcaster.eventType().getName(), e);
+        }
+    }
+
+    private static void validate(String className, UpcasterPath path) {
+        var upcasters = path.upcastersByFromVersion();
+        if (upcasters.containsKey(path.currentVersion())) {
+            throw new IllegalStateException("Upcaster from the current version,type=%s,version=%s"
+                    .formatted(className, path.currentVersion()));
+        }
+        for (var fromVersion : upcasters.keySet()) {
+            var version = fromVersion;
+            var steps = 0;
+            while (!version.equals(path.currentVersion())) {
+                var upcaster = upcasters.get(version);
+                if (upcaster == null) {
+                    throw new IllegalStateException("Upcaster chain gap,type=%s,fromVersion=%s,missingVersion=%s,currentVersion=%s"
+                            .formatted(className, fromVersion, version, path.currentVersion()));
+                }
+                if (++steps > upcasters.size()) {
+                    throw new IllegalStateException("Upcaster cycle detected,type=%s,version=%s".formatted(className, version));
+                }
+                version = upcaster.toVersion();
+            }
+        }
+    }
+
+    private record UpcasterPath(String currentVersion, Map<String, EventUpcaster> upcastersByFromVersion) {
+    }
+}
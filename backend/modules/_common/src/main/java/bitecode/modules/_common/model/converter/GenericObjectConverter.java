@@ -12,12 +12,12 @@ import java.io.IOException;
 @RequiredArgsConstructor
 public class GenericObjectConverter<T> implements AttributeConverter<T, String> {
 
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
     private final Class<T> tClass;
 
     public String convertToDatabaseColumn(T attribute) {
         try {
-            return objectMapper.writeValueAsString(attribute);
+            return OBJECT_MAPPER.writeValueAsString(attribute);
         } catch (JsonProcessingException e) {
             throw new RuntimeException("Error serializing: " + tClass.getSimpleName(), e);
         }
@@ -25,7 +25,7 @@ public class GenericObjectConverter<T> implements AttributeConverter<T, String>
 
     public T convertToEntityAttribute(String dbData) {
         try {
-            return objectMapper.readValue(dbData, tClass);
+            return OBJECT_MAPPER.readValue(dbData, tClass);
         } catch (IOException e) {
             throw new RuntimeException("Error deserializing:" + tClass.getSimpleName(), e);
         }
@@ -0,0 +1,22 @@
+package bitecode.modules._common.model.data;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Page of a keyset (seek) pagination. {@code nextCursor} is an opaque token to pass back to get the following page,
+ * or {@code null} when there are no more elements.
+ */
+public record SeekPage<T>(
+        List<T> content,
+        int size,
+        String nextCursor
+) {
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+
+    public <R> SeekPage<R> map(Function<? super T, ? extends R> mapper) {
+        return new SeekPage<>(content.stream().<R>map(mapper).toList(), size, nextCursor);
+    }
+}
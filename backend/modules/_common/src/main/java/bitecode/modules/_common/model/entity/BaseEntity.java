@@ -18,7 +18,7 @@ import java.util.Objects;
 @EntityListeners(AuditingEntityListener.class)
 public abstract class BaseEntity implements Serializable {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @TableSequenceId
     private Long id;
     @CreatedDate
     private Instant createdDate;
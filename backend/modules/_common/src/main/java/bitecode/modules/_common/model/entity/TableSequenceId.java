@@ -0,0 +1,19 @@
+package bitecode.modules._common.model.entity;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * Generates the annotated id with {@link TableSequenceIdGenerator}, from the sequence of the table's id column.
+ */
+@IdGeneratorType(TableSequenceIdGenerator.class)
+@Retention(RUNTIME)
+@Target({FIELD, METHOD})
+public @interface TableSequenceId {
+}
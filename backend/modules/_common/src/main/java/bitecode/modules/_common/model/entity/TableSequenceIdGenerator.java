@@ -0,0 +1,32 @@
+package bitecode.modules._common.model.entity;
+
+import org.apache.commons.lang3.StringUtils;
+import org.hibernate.MappingException;
+import org.hibernate.generator.GeneratorCreationContext;
+import org.hibernate.id.PersistentIdentifierGenerator;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.id.enhanced.StandardOptimizerDescriptor;
+
+import java.util.Properties;
+
+/**
+ * Pooled sequence generator of the ids annotated with {@link TableSequenceId}, backed by the sequence of the entity's
+ * {@code BIGSERIAL} id column, {@code <schema>.<table>_<column>_seq}. Ids are allocated in blocks of {@link #ALLOCATION_SIZE} so Hibernate can
+ * batch inserts, which {@code IDENTITY} prevents.
+ * <p>
+ * Sequences are expected to increment by {@link #ALLOCATION_SIZE}; otherwise the allocation size falls back to the
+ * sequence increment on startup ({@code hibernate.id.sequence.increment_size_mismatch_strategy: fix}).
+ */
+public class TableSequenceIdGenerator extends SequenceStyleGenerator {
+    public static final int ALLOCATION_SIZE = 50;
+
+    @Override
+    public void configure(GeneratorCreationContext creationContext, Properties parameters) throws MappingException {
+        var table = StringUtils.strip(parameters.getProperty(PersistentIdentifierGenerator.TABLE), "\"`");
+        var column = StringUtils.strip(parameters.getProperty(PersistentIdentifierGenerator.PK), "\"`");
+        parameters.setProperty(SEQUENCE_PARAM, table + "_" + column + "_seq");
+        parameters.setProperty(INCREMENT_PARAM, String.valueOf(ALLOCATION_SIZE));
+        parameters.setProperty(OPT_PARAM, StandardOptimizerDescriptor.POOLED.getExternalName());
+        super.configure(creationContext, parameters);
+    }
+}
@@ -1,7 +1,9 @@
 package bitecode.modules._common.model.entity;
 
+import bitecode.modules._common.util.UuidUtils;
 import jakarta.persistence.Column;
 import jakarta.persistence.MappedSuperclass;
+import jakarta.persistence.PrePersist;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -14,7 +16,21 @@ public abstract class UuidBaseEntity extends BaseEntity {
     @Column(nullable = false, unique = true, updatable = false)
     private UUID uuid;
 
-    public UuidBaseEntity() {
-        this.uuid = UUID.randomUUID();
+    /**
+     * New entities get a time ordered (v7) uuid, see {@link UuidUtils#timeOrdered()}, when it is first read or at the
+     * latest when they are persisted. Entities loaded by Hibernate keep the stored value without generating one. Rows
+     * created before keep their random v4 values; both are plain {@code uuid} values, so lookups by uuid do not depend
+     * on the version.
+     */
+    public UUID getUuid() {
+        if (uuid == null) {
+            uuid = UuidUtils.timeOrdered();
+        }
+        return uuid;
+    }
+
+    @PrePersist
+    protected void assignUuid() {
+        getUuid();
     }
 }
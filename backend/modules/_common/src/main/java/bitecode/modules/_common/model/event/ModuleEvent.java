@@ -1,4 +1,12 @@
 package bitecode.modules._common.model.event;
 
 public interface ModuleEvent {
+
+    /**
+     * Key of the aggregate the event belongs to, e.g. the payment id. The outbox delivers events with the same key in
+     * the order they were published, one at a time; events without a key are delivered in any order.
+     */
+    default String orderingKey() {
+        return null;
+    }
 }
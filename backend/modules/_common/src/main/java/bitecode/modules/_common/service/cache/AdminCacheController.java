@@ -0,0 +1,23 @@
+package bitecode.modules._common.service.cache;
+
+import bitecode.modules._common.model.annotation.AdminAccess;
+import bitecode.modules._common.service.cache.model.CacheStatistics;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/admin/caches")
+@AdminAccess
+@RequiredArgsConstructor
+public class AdminCacheController {
+    private final CacheStatisticsService cacheStatisticsService;
+
+    @GetMapping
+    public List<CacheStatistics> getCaches() {
+        return cacheStatisticsService.getStatistics();
+    }
+}
@@ -0,0 +1,48 @@
+package bitecode.modules._common.service.cache;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.ToIntBiFunction;
+
+/**
+ * Eviction, expiration and loading policy of a cache created with {@link CacheService#createCache(String, CachePolicy)}.
+ *
+ * <p>When neither {@code maximumSize} nor {@code maximumWeight} is set, the cache is bounded by
+ * {@code CACHE_DEFAULT_MAXIMUM_SIZE}. A {@code loader} turns the cache into a loading cache: {@link CacheRef#get(Object)}
+ * loads missing entries, and {@code refreshAfterWrite} reloads stale ones in the background. With {@code async} the
+ * loads run asynchronously and can be awaited with {@link CacheRef#getAsync(Object)}.</p>
+ */
+@Getter
+@Builder
+public class CachePolicy<K, V> {
+    private final Long maximumSize;
+    private final Long maximumWeight;
+    private final ToIntBiFunction<K, V> weigher;
+    private final Duration expireAfterWrite;
+    private final Duration expireAfterAccess;
+    private final Duration refreshAfterWrite;
+    private final Function<K, V> loader;
+    private final boolean async;
+    @Builder.Default
+    private final boolean recordStats = true;
+    /**
+     * Whether the entries are propagated to the other nodes when the distributed provider is used. Node local state,
+     * such as held in-memory locks, should not be replicated, nor should secrets, which would be sent in plain text.
+     */
+    @Builder.Default
+    private final boolean replicated = true;
+
+    public static <K, V> CachePolicy<K, V> expireAfterWrite(long expirationTime, TimeUnit expirationTimeUnit) {
+        return CachePolicy.<K, V>builder()
+                .expireAfterWrite(Duration.of(expirationTime, expirationTimeUnit.toChronoUnit()))
+                .build();
+    }
+
+    public boolean isBounded() {
+        return maximumSize != null || maximumWeight != null;
+    }
+}
@@ -4,6 +4,7 @@ import bitecode.modules._common.service.cache.provider.CacheProvider;
 import lombok.RequiredArgsConstructor;
 
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 @RequiredArgsConstructor
 public class CacheRef<K, V> {
@@ -18,6 +19,11 @@ public class CacheRef<K, V> {
         return Optional.ofNullable((V) cacheProvider.get(cacheName, key));
     }
 
+    @SuppressWarnings("unchecked")
+    public CompletableFuture<Optional<V>> getAsync(K key) {
+        return cacheProvider.getAsync(cacheName, key).thenApply(value -> Optional.ofNullable((V) value));
+    }
+
     public Optional<V> isPresent(K key) {
         return Optional.ofNullable((V) cacheProvider.get(cacheName, key));
     }
@@ -1,17 +1,86 @@
 package bitecode.modules._common.service.cache;
 
+import bitecode.modules._common.service.cache.model.CacheStatistics;
 import bitecode.modules._common.service.cache.provider.CacheProvider;
+import bitecode.modules._common.service.cache.provider.caffeine.CaffeineCacheProvider;
+import bitecode.modules._common.service.cache.provider.distributed.DistributedCacheProvider;
 import bitecode.modules._common.service.cache.provider.memory.MemoryCacheProvider;
+import bitecode.modules._common.service.notification.PostgresNotificationBus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 
+/**
+ * Creates named caches on the provider selected with {@code CACHE_PROVIDER}: {@code caffeine} (default),
+ * {@code memory}, or {@code distributed} for deployments with more than one node.
+ *
+ * <p>Every cache is bound to Micrometer with its name as the {@code cache} tag. Creating a cache again under the same
+ * name replaces it, and its meters are re-bound to the new cache.</p>
+ */
+@Slf4j
 @Service
 public class CacheService {
-    private final CacheProvider cacheProvider = new MemoryCacheProvider();
+    public static final String CAFFEINE_PROVIDER = "caffeine";
+    public static final String MEMORY_PROVIDER = "memory";
+    public static final String DISTRIBUTED_PROVIDER = "distributed";
+    private static final String CACHE_METER_PREFIX = "cache.";
+    private static final String CACHE_TAG = "cache";
+    // set on the meters of Spring cache managers, which are not managed here
+    private static final String CACHE_MANAGER_TAG = "cache.manager";
+
+    private final CacheProvider cacheProvider;
+    private final MeterRegistry meterRegistry;
+    private final Set<String> cacheNames = ConcurrentHashMap.newKeySet();
+
+    public CacheService(PostgresNotificationBus notificationBus, ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                        @Value("${CACHE_PROVIDER:" + CAFFEINE_PROVIDER + "}") String provider,
+                        @Value("${CACHE_DEFAULT_MAXIMUM_SIZE:10000}") long defaultMaximumSize) {
+        this.cacheProvider = switch (provider) {
+            case CAFFEINE_PROVIDER -> new CaffeineCacheProvider(defaultMaximumSize);
+            case MEMORY_PROVIDER -> new MemoryCacheProvider(defaultMaximumSize);
+            case DISTRIBUTED_PROVIDER -> new DistributedCacheProvider(new CaffeineCacheProvider(defaultMaximumSize), notificationBus, objectMapper);
+            default -> throw new IllegalStateException("Unknown cache provider: " + provider);
+        };
+        this.meterRegistry = meterRegistry;
+        log.info("CacheService::init,provider={}", provider);
+    }
 
     public <K, V> CacheRef<K, V> createCache(String cacheName, long expirationTime, TimeUnit expirationTimeUnit) {
-        cacheProvider.createCache(cacheName, expirationTime, expirationTimeUnit);
+        return createCache(cacheName, CachePolicy.expireAfterWrite(expirationTime, expirationTimeUnit));
+    }
+
+    public <K, V> CacheRef<K, V> createCache(String cacheName, CachePolicy<K, V> cachePolicy) {
+        cacheProvider.createCache(cacheName, cachePolicy);
+        if (!cacheNames.add(cacheName)) {
+            // registering the same meter ids again would keep the ones reading the replaced cache
+            removeMeters(cacheName);
+        }
+        cacheProvider.bindMetrics(cacheName, meterRegistry);
         return new CacheRef<>(cacheName, cacheProvider);
     }
+
+    public List<CacheStatistics> getStatistics() {
+        return cacheNames.stream()
+                .sorted()
+                .map(cacheProvider::getStatistics)
+                .flatMap(Optional::stream)
+                .toList();
+    }
+
+    private void removeMeters(String cacheName) {
+        meterRegistry.getMeters().stream()
+                .filter(meter -> meter.getId().getName().startsWith(CACHE_METER_PREFIX)
+                        && cacheName.equals(meter.getId().getTag(CACHE_TAG))
+                        && meter.getId().getTag(CACHE_MANAGER_TAG) == null)
+                .toList()
+                .forEach(meterRegistry::remove);
+    }
 }
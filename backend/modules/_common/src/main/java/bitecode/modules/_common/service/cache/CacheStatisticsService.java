@@ -0,0 +1,40 @@
+package bitecode.modules._common.service.cache;
+
+import bitecode.modules._common.service.cache.model.CacheStatistics;
+import com.github.benmanes.caffeine.cache.Cache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Collects the statistics of the caches created with {@link CacheService} and of the Caffeine caches registered in
+ * the Spring {@link CacheManager}s.
+ */
+@Service
+@RequiredArgsConstructor
+public class CacheStatisticsService {
+    private final CacheService cacheService;
+    private final List<CacheManager> cacheManagers;
+
+    public List<CacheStatistics> getStatistics() {
+        var statistics = new ArrayList<>(cacheService.getStatistics());
+        for (var cacheManager : cacheManagers) {
+            cacheManager.getCacheNames().stream()
+                    .sorted()
+                    .map(cacheManager::getCache)
+                    .filter(Objects::nonNull)
+                    .filter(cache -> cache.getNativeCache() instanceof Cache<?, ?>)
+                    .map(cache -> {
+                        var nativeCache = (Cache<?, ?>) cache.getNativeCache();
+                        return CacheStatistics.of(cache.getName(), CacheStatistics.SPRING_CACHE_MANAGER_SOURCE, nativeCache.estimatedSize(),
+                                nativeCache.stats(), nativeCache.policy().isRecordingStats());
+                    })
+                    .forEach(statistics::add);
+        }
+        return statistics;
+    }
+}
@@ -0,0 +1,59 @@
+package bitecode.modules._common.service.cache.model;
+
+import lombok.Builder;
+
+/**
+ * Live statistics of a cache. {@code source} tells whether the cache was created by {@code CacheService} or
+ * registered in a Spring {@code CacheManager}.
+ */
+@Builder
+public record CacheStatistics(
+        String name,
+        String source,
+        boolean recordingStats,
+        long size,
+        long hitCount,
+        long missCount,
+        double hitRate,
+        long evictionCount,
+        long loadSuccessCount,
+        long loadFailureCount,
+        double averageLoadPenaltyMillis
+) {
+    public static final String CACHE_SERVICE_SOURCE = "cache-service";
+    public static final String SPRING_CACHE_MANAGER_SOURCE = "spring-cache-manager";
+
+    public static CacheStatistics of(String name, String source, long size,
+                                     com.github.benmanes.caffeine.cache.stats.CacheStats stats, boolean recordingStats) {
+        return CacheStatistics.builder()
+                .name(name)
+                .source(source)
+                .recordingStats(recordingStats)
+                .size(size)
+                .hitCount(stats.hitCount())
+                .missCount(stats.missCount())
+                .hitRate(stats.hitRate())
+                .evictionCount(stats.evictionCount())
+                .loadSuccessCount(stats.loadSuccessCount())
+                .loadFailureCount(stats.loadFailureCount())
+                .averageLoadPenaltyMillis(stats.averageLoadPenalty() / 1_000_000d)
+                .build();
+    }
+
+    public static CacheStatistics of(String name, String source, long size,
+                                     com.google.common.cache.CacheStats stats, boolean recordingStats) {
+        return CacheStatistics.builder()
+                .name(name)
+                .source(source)
+                .recordingStats(recordingStats)
+                .size(size)
+                .hitCount(stats.hitCount())
+                .missCount(stats.missCount())
+                .hitRate(stats.hitRate())
+                .evictionCount(stats.evictionCount())
+                .loadSuccessCount(stats.loadSuccessCount())
+                .loadFailureCount(stats.loadExceptionCount())
+                .averageLoadPenaltyMillis(stats.averageLoadPenalty() / 1_000_000d)
+                .build();
+    }
+}
@@ -1,17 +1,34 @@
 package bitecode.modules._common.service.cache.provider;
 
-import java.util.concurrent.TimeUnit;
+import bitecode.modules._common.service.cache.CachePolicy;
+import bitecode.modules._common.service.cache.model.CacheStatistics;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 public interface CacheProvider {
-    void createCache(String cacheName, long expireAfter, TimeUnit expireAfterUnit);
+    void createCache(String cacheName, CachePolicy<?, ?> cachePolicy);
 
     void put(String cacheName, Object key, Object value);
 
     Object get(String cacheName, Object key);
 
+    /**
+     * Returns the value of the key, loading it asynchronously if the cache has a loader and the value is missing.
+     */
+    CompletableFuture<Object> getAsync(String cacheName, Object key);
+
     Object getAndRemove(String cacheName, Object key);
 
     void remove(String cacheName, Object key);
 
     void clearCache(String cacheName);
+
+    Optional<CacheStatistics> getStatistics(String cacheName);
+
+    /**
+     * Registers the hit, miss, eviction, load and size meters of the cache.
+     */
+    void bindMetrics(String cacheName, MeterRegistry meterRegistry);
 }
@@ -0,0 +1,148 @@
+package bitecode.modules._common.service.cache.provider.caffeine;
+
+import bitecode.modules._common.service.cache.CachePolicy;
+import bitecode.modules._common.service.cache.model.CacheStatistics;
+import bitecode.modules._common.service.cache.provider.CacheProvider;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.ToIntBiFunction;
+
+/**
+ * Caffeine based provider, supporting the whole {@link CachePolicy}: size or weight bounds, write and access
+ * expiration, refresh after write, synchronous and asynchronous loading and per cache statistics.
+ *
+ * <p>Caches that were not bounded explicitly are bounded by {@code defaultMaximumSize}, so that no cache can grow
+ * without limit.</p>
+ */
+public class CaffeineCacheProvider implements CacheProvider {
+    private final Map<String, CaffeineCache> cacheMap = new ConcurrentHashMap<>();
+    private final long defaultMaximumSize;
+
+    public CaffeineCacheProvider(long defaultMaximumSize) {
+        this.defaultMaximumSize = defaultMaximumSize;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void createCache(String cacheName, CachePolicy<?, ?> cachePolicy) {
+        var policy = (CachePolicy<Object, Object>) cachePolicy;
+        var builder = Caffeine.newBuilder();
+        if (policy.getMaximumWeight() != null) {
+            if (policy.getWeigher() == null) {
+                throw new IllegalArgumentException("maximumWeight requires a weigher,cache=" + cacheName);
+            }
+            var weigher = (ToIntBiFunction<Object, Object>) policy.getWeigher();
+            builder.maximumWeight(policy.getMaximumWeight()).weigher(weigher::applyAsInt);
+        } else {
+            builder.maximumSize(policy.getMaximumSize() != null ? policy.getMaximumSize() : defaultMaximumSize);
+        }
+        if (policy.getExpireAfterWrite() != null) {
+            builder.expireAfterWrite(policy.getExpireAfterWrite());
+        }
+        if (policy.getExpireAfterAccess() != null) {
+            builder.expireAfterAccess(policy.getExpireAfterAccess());
+        }
+        if (policy.getRefreshAfterWrite() != null) {
+            if (policy.getLoader() == null) {
+                throw new IllegalArgumentException("refreshAfterWrite requires a loader,cache=" + cacheName);
+            }
+            builder.refreshAfterWrite(policy.getRefreshAfterWrite());
+        }
+        if (policy.isRecordStats()) {
+            builder.recordStats();
+        }
+        cacheMap.put(cacheName, build(builder, policy.getLoader(), policy.isAsync()));
+    }
+
+    @Override
+    public void put(String cacheName, Object key, Object value) {
+        getCache(cacheName).ifPresent(cache -> cache.sync().put(key, value));
+    }
+
+    @Override
+    public Object get(String cacheName, Object key) {
+        return getCache(cacheName)
+                .map(cache -> cache.sync() instanceof LoadingCache<Object, Object> loadingCache
+                        ? loadingCache.get(key)
+                        : cache.sync().getIfPresent(key))
+                .orElse(null);
+    }
+
+    @Override
+    public CompletableFuture<Object> getAsync(String cacheName, Object key) {
+        return getCache(cacheName)
+                .map(cache -> {
+                    if (cache.async() instanceof AsyncLoadingCache<Object, Object> loadingCache) {
+                        return loadingCache.get(key);
+                    }
+                    var future = cache.async() != null ? cache.async().getIfPresent(key) : null;
+                    return future != null ? future : CompletableFuture.completedFuture(get(cacheName, key));
+                })
+                .orElseGet(() -> CompletableFuture.completedFuture(null));
+    }
+
+    @Override
+    public Object getAndRemove(String cacheName, Object key) {
+        return getCache(cacheName).map(cache -> cache.sync().asMap().remove(key)).orElse(null);
+    }
+
+    @Override
+    public void remove(String cacheName, Object key) {
+        getCache(cacheName).ifPresent(cache -> cache.sync().invalidate(key));
+    }
+
+    @Override
+    public void clearCache(String cacheName) {
+        getCache(cacheName).ifPresent(cache -> cache.sync().invalidateAll());
+    }
+
+    @Override
+    public Optional<CacheStatistics> getStatistics(String cacheName) {
+        return getCache(cacheName).map(cache -> CacheStatistics.of(cacheName, CacheStatistics.CACHE_SERVICE_SOURCE,
+                cache.sync().estimatedSize(), cache.sync().stats(), cache.sync().policy().isRecordingStats()));
+    }
+
+    @Override
+    public void bindMetrics(String cacheName, MeterRegistry meterRegistry) {
+        getCache(cacheName).ifPresent(cache -> CaffeineCacheMetrics.monitor(meterRegistry, cache.sync(), cacheName));
+    }
+
+    private Optional<CaffeineCache> getCache(String cacheName) {
+        return Optional.ofNullable(cacheMap.get(cacheName));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static CaffeineCache build(Caffeine<Object, Object> builder, Function<?, ?> loader, boolean async) {
+        var load = (Function<Object, Object>) loader;
+        if (async) {
+            AsyncCache<Object, Object> asyncCache;
+            if (load != null) {
+                asyncCache = builder.buildAsync(load::apply);
+            } else {
+                asyncCache = builder.buildAsync();
+            }
+            return new CaffeineCache(asyncCache.synchronous(), asyncCache);
+        }
+        Cache<Object, Object> cache;
+        if (load != null) {
+            cache = builder.build(load::apply);
+        } else {
+            cache = builder.build();
+        }
+        return new CaffeineCache(cache, null);
+    }
+
+    private record CaffeineCache(Cache<Object, Object> sync, AsyncCache<Object, Object> async) {
+    }
+}
@@ -0,0 +1,166 @@
+package bitecode.modules._common.service.cache.provider.distributed;
+
+import bitecode.modules._common.service.cache.CachePolicy;
+import bitecode.modules._common.service.cache.model.CacheStatistics;
+import bitecode.modules._common.service.cache.provider.CacheProvider;
+import bitecode.modules._common.service.cache.provider.caffeine.CaffeineCacheProvider;
+import bitecode.modules._common.service.notification.PostgresNotificationBus;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Near-cache provider for multi-node deployments. Every node keeps the entries in a local Caffeine cache and
+ * propagates puts, removals and clears of the replicated caches to the other nodes over
+ * {@link PostgresNotificationBus}, so a value written on one node can be read on any other one.
+ *
+ * <p>Values are sent along with the put when they serialize to less than the notification size limit; larger values
+ * are only invalidated on the other nodes. Propagation is asynchronous and best-effort: a node that was down or
+ * disconnected when a put was sent does not receive it.</p>
+ *
+ * <p>Removals are propagated the same way, so an entry consumed with {@link #getAndRemove(String, Object)} or
+ * {@link #remove(String, Object)}, e.g. a one-time verification code, is still readable on the other nodes until the
+ * {@code REMOVE} notification reaches them: usually a few milliseconds after the call, or after the transaction around
+ * it commits, but for as long as a node's listener connection is down. Single-use values that must not be accepted
+ * twice within that window need a check against the database as well.</p>
+ */
+@Slf4j
+public class DistributedCacheProvider implements CacheProvider {
+    static final String CHANNEL = "cache_events";
+    private static final Set<String> ALLOWED_TYPE_PREFIXES = Set.of("java.", "bitecode.");
+
+    private final CaffeineCacheProvider localProvider;
+    private final PostgresNotificationBus notificationBus;
+    private final ObjectMapper objectMapper;
+    private final Set<String> replicatedCaches = ConcurrentHashMap.newKeySet();
+
+    public DistributedCacheProvider(CaffeineCacheProvider localProvider, PostgresNotificationBus notificationBus, ObjectMapper objectMapper) {
+        this.localProvider = localProvider;
+        this.notificationBus = notificationBus;
+        this.objectMapper = objectMapper;
+        notificationBus.subscribe(CHANNEL, this::onCacheEvent);
+    }
+
+    @Override
+    public void createCache(String cacheName, CachePolicy<?, ?> cachePolicy) {
+        localProvider.createCache(cacheName, cachePolicy);
+        if (cachePolicy.isReplicated()) {
+            replicatedCaches.add(cacheName);
+        }
+    }
+
+    @Override
+    public void put(String cacheName, Object key, Object value) {
+        localProvider.put(cacheName, key, value);
+        if (replicatedCaches.contains(cacheName)) {
+            var putEvent = toCacheEvent(CacheEvent.Operation.PUT, cacheName, key, value);
+            publish(putEvent != null ? putEvent : toCacheEvent(CacheEvent.Operation.REMOVE, cacheName, key, null));
+        }
+    }
+
+    @Override
+    public Object get(String cacheName, Object key) {
+        return localProvider.get(cacheName, key);
+    }
+
+    @Override
+    public CompletableFuture<Object> getAsync(String cacheName, Object key) {
+        return localProvider.getAsync(cacheName, key);
+    }
+
+    @Override
+    public Object getAndRemove(String cacheName, Object key) {
+        var value = localProvider.getAndRemove(cacheName, key);
+        publishRemove(cacheName, key);
+        return value;
+    }
+
+    @Override
+    public void remove(String cacheName, Object key) {
+        localProvider.remove(cacheName, key);
+        publishRemove(cacheName, key);
+    }
+
+    @Override
+    public void clearCache(String cacheName) {
+        localProvider.clearCache(cacheName);
+        if (replicatedCaches.contains(cacheName)) {
+            publish(new CacheEvent(notificationBus.getNodeId(), CacheEvent.Operation.CLEAR, cacheName, null, null, null, null));
+        }
+    }
+
+    @Override
+    public Optional<CacheStatistics> getStatistics(String cacheName) {
+        return localProvider.getStatistics(cacheName);
+    }
+
+    @Override
+    public void bindMetrics(String cacheName, MeterRegistry meterRegistry) {
+        localProvider.bindMetrics(cacheName, meterRegistry);
+    }
+
+    private void publishRemove(String cacheName, Object key) {
+        if (replicatedCaches.contains(cacheName)) {
+            publish(toCacheEvent(CacheEvent.Operation.REMOVE, cacheName, key, null));
+        }
+    }
+
+    private void publish(CacheEvent cacheEvent) {
+        if (cacheEvent == null) {
+            return;
+        }
+        try {
+            notificationBus.publish(CHANNEL, objectMapper.writeValueAsString(cacheEvent));
+        } catch (Exception e) {
+            log.warn("DistributedCacheProvider::publish,exception,cache={},operation={},error={}", cacheEvent.cache(), cacheEvent.operation(), e.getMessage());
+        }
+    }
+
+    private CacheEvent toCacheEvent(CacheEvent.Operation operation, String cacheName, Object key, Object value) {
+        try {
+            var cacheEvent = new CacheEvent(notificationBus.getNodeId(), operation, cacheName,
+                    key.getClass().getName(), objectMapper.valueToTree(key),
+                    value != null ? value.getClass().getName() : null, value != null ? objectMapper.valueToTree(value) : null);
+            return PostgresNotificationBus.fits(objectMapper.writeValueAsString(cacheEvent)) ? cacheEvent : null;
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            log.debug("DistributedCacheProvider::toCacheEvent,not serializable,cache={},error={}", cacheName, e.getMessage());
+            return null;
+        }
+    }
+
+    private void onCacheEvent(String payload) {
+        try {
+            var cacheEvent = objectMapper.readValue(payload, CacheEvent.class);
+            if (notificationBus.getNodeId().equals(cacheEvent.node()) || !replicatedCaches.contains(cacheEvent.cache())) {
+                return;
+            }
+            switch (cacheEvent.operation()) {
+                case PUT -> localProvider.put(cacheEvent.cache(), read(cacheEvent.keyType(), cacheEvent.key()), read(cacheEvent.valueType(), cacheEvent.value()));
+                case REMOVE -> localProvider.remove(cacheEvent.cache(), read(cacheEvent.keyType(), cacheEvent.key()));
+                case CLEAR -> localProvider.clearCache(cacheEvent.cache());
+            }
+        } catch (Exception e) {
+            log.warn("DistributedCacheProvider::onCacheEvent,exception,error={}", e.getMessage());
+        }
+    }
+
+    private Object read(String type, JsonNode value) throws ClassNotFoundException, JsonProcessingException {
+        if (ALLOWED_TYPE_PREFIXES.stream().noneMatch(type::startsWith)) {
+            throw new IllegalArgumentException("Cache event type not allowed: " + type);
+        }
+        return objectMapper.treeToValue(value, Class.forName(type));
+    }
+
+    record CacheEvent(String node, Operation operation, String cache, String keyType, JsonNode key, String valueType, JsonNode value) {
+        enum Operation {
+            PUT, REMOVE, CLEAR
+        }
+    }
+}
@@ -1,62 +1,153 @@
 package bitecode.modules._common.service.cache.provider.memory;
 
+import bitecode.modules._common.service.cache.CachePolicy;
+import bitecode.modules._common.service.cache.model.CacheStatistics;
 import bitecode.modules._common.service.cache.provider.CacheProvider;
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.cache.Weigher;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
 
-import java.util.HashMap;
 import java.util.Map;
-import java.util.concurrent.TimeUnit;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.function.ToIntBiFunction;
 
+/**
+ * Guava based provider, kept as a fallback of the Caffeine provider and supporting the same {@link CachePolicy}: size
+ * or weight bounds, write and access expiration, refresh after write and loading.
+ *
+ * <p>Caches that were not bounded explicitly are bounded by {@code defaultMaximumSize}. Guava has no asynchronous
+ * cache, so {@code async} loads run the loader on the common pool, as Caffeine does, without deduplicating concurrent
+ * loads of the same key; refreshes run there as well. A loader returning {@code null} caches nothing and
+ * {@code get} returns {@code null}.</p>
+ */
 public class MemoryCacheProvider implements CacheProvider {
-    private final Map<String, Cache<Object, Object>> cacheMap = new HashMap<>();
+    private final Map<String, MemoryCache> cacheMap = new ConcurrentHashMap<>();
+    private final long defaultMaximumSize;
 
-    public void createCache(String cacheName, long expireAfter, TimeUnit expireAfterUnit) {
-        cacheMap.put(cacheName, CacheBuilder.newBuilder()
-                .expireAfterWrite(expireAfter, expireAfterUnit)
-                .build());
+    public MemoryCacheProvider(long defaultMaximumSize) {
+        this.defaultMaximumSize = defaultMaximumSize;
     }
 
     @Override
-    public void put(String cacheName, Object key, Object value) {
-        var cache = getCache(cacheName);
-        if (cache != null) {
-            cache.put(key, value);
+    @SuppressWarnings("unchecked")
+    public void createCache(String cacheName, CachePolicy<?, ?> cachePolicy) {
+        var policy = (CachePolicy<Object, Object>) cachePolicy;
+        var builder = CacheBuilder.newBuilder();
+        if (policy.getMaximumWeight() != null) {
+            if (policy.getWeigher() == null) {
+                throw new IllegalArgumentException("maximumWeight requires a weigher,cache=" + cacheName);
+            }
+            var weigher = (ToIntBiFunction<Object, Object>) policy.getWeigher();
+            builder.maximumWeight(policy.getMaximumWeight()).weigher((Weigher<Object, Object>) weigher::applyAsInt);
+        } else {
+            builder.maximumSize(policy.getMaximumSize() != null ? policy.getMaximumSize() : defaultMaximumSize);
+        }
+        if (policy.getExpireAfterWrite() != null) {
+            builder.expireAfterWrite(policy.getExpireAfterWrite());
+        }
+        if (policy.getExpireAfterAccess() != null) {
+            builder.expireAfterAccess(policy.getExpireAfterAccess());
+        }
+        if (policy.getRefreshAfterWrite() != null) {
+            if (policy.getLoader() == null) {
+                throw new IllegalArgumentException("refreshAfterWrite requires a loader,cache=" + cacheName);
+            }
+            builder.refreshAfterWrite(policy.getRefreshAfterWrite());
         }
+        if (policy.isRecordStats()) {
+            builder.recordStats();
+        }
+        cacheMap.put(cacheName, new MemoryCache(build(builder, policy.getLoader()), policy.isRecordStats(), policy.isAsync()));
+    }
+
+    @Override
+    public void put(String cacheName, Object key, Object value) {
+        getCache(cacheName).ifPresent(cache -> cache.cache().put(key, value));
     }
 
     @Override
     public Object get(String cacheName, Object key) {
-        var cache = getCache(cacheName);
-        return cache != null ? cache.getIfPresent(key) : null;
+        return getCache(cacheName)
+                .map(cache -> cache.cache() instanceof LoadingCache<Object, Object> loadingCache
+                        ? load(loadingCache, key)
+                        : cache.cache().getIfPresent(key))
+                .orElse(null);
+    }
+
+    @Override
+    public CompletableFuture<Object> getAsync(String cacheName, Object key) {
+        return getCache(cacheName)
+                .filter(cache -> cache.async() && cache.cache() instanceof LoadingCache<Object, Object>)
+                .map(cache -> {
+                    var value = cache.cache().getIfPresent(key);
+                    return value != null
+                            ? CompletableFuture.completedFuture(value)
+                            : CompletableFuture.supplyAsync(() -> load((LoadingCache<Object, Object>) cache.cache(), key));
+                })
+                .orElseGet(() -> CompletableFuture.completedFuture(get(cacheName, key)));
     }
 
     @Override
     public Object getAndRemove(String cacheName, Object key) {
-        var elem = get(cacheName, key);
-        if (elem != null) {
-            remove(cacheName, key);
-        }
-        return elem;
+        return getCache(cacheName).map(cache -> cache.cache().asMap().remove(key)).orElse(null);
     }
 
     @Override
     public void remove(String cacheName, Object key) {
-        var cache = getCache(cacheName);
-        if (cache != null) {
-            cache.invalidate(key);
-        }
+        getCache(cacheName).ifPresent(cache -> cache.cache().invalidate(key));
     }
 
     @Override
     public void clearCache(String cacheName) {
-        var cache = getCache(cacheName);
-        if (cache != null) {
-            cache.invalidateAll();
+        getCache(cacheName).ifPresent(cache -> cache.cache().invalidateAll());
+    }
+
+    @Override
+    public Optional<CacheStatistics> getStatistics(String cacheName) {
+        return getCache(cacheName).map(cache -> CacheStatistics.of(cacheName, CacheStatistics.CACHE_SERVICE_SOURCE,
+                cache.cache().size(), cache.cache().stats(), cache.recordingStats()));
+    }
+
+    @Override
+    public void bindMetrics(String cacheName, MeterRegistry meterRegistry) {
+        getCache(cacheName).ifPresent(cache -> GuavaCacheMetrics.monitor(meterRegistry, cache.cache(), cacheName));
+    }
+
+    private Optional<MemoryCache> getCache(String cacheName) {
+        return Optional.ofNullable(cacheMap.get(cacheName));
+    }
+
+    private static Object load(LoadingCache<Object, Object> loadingCache, Object key) {
+        try {
+            return loadingCache.getUnchecked(key);
+        } catch (CacheLoader.InvalidCacheLoadException e) {
+            return null;
+        } catch (UncheckedExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Cache<Object, Object> build(CacheBuilder<Object, Object> builder, Function<?, ?> loader) {
+        if (loader == null) {
+            return builder.build();
         }
+        var load = (Function<Object, Object>) loader;
+        return builder.build(CacheLoader.asyncReloading(CacheLoader.from(load::apply), ForkJoinPool.commonPool()));
     }
 
-    private Cache<Object, Object> getCache(String cacheName) {
-        return cacheMap.get(cacheName);
+    private record MemoryCache(Cache<Object, Object> cache, boolean recordingStats, boolean async) {
     }
 }
@@ -0,0 +1,142 @@
+package bitecode.modules._common.service.executor;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Single-writer executor keyed by an aggregate key, e.g. {@code userId+currency}.
+ *
+ * <p>Every key has its own mailbox, drained in submission order by one virtual thread, so tasks for the same key
+ * never run concurrently while tasks for different keys run in parallel. A mailbox only exists while it has work;
+ * its drainer ends and the mailbox is removed as soon as the queue is empty.</p>
+ *
+ * <p>Mailboxes are bounded by {@code maxQueueSize}; submitting to a full mailbox is rejected with
+ * {@link HttpStatus#TOO_MANY_REQUESTS}. A task that submits to its own key (e.g. a command handler that dispatches
+ * another command for the same aggregate) is run inline, as waiting on its own mailbox would never finish.</p>
+ *
+ * <p>Create instances with {@link KeyedExecutorService#createExecutor(String, int)}.</p>
+ */
+@Slf4j
+public class KeyedExecutor {
+    @Getter
+    private final String name;
+    private final int maxQueueSize;
+    private final ConcurrentHashMap<String, ArrayDeque<Runnable>> mailboxes = new ConcurrentHashMap<>();
+    private final ThreadLocal<String> currentKey = new ThreadLocal<>();
+    private final AtomicInteger queuedTasks = new AtomicInteger();
+    private final AtomicLong rejectedTasks = new AtomicLong();
+
+    KeyedExecutor(String name, int maxQueueSize) {
+        this.name = name;
+        this.maxQueueSize = maxQueueSize;
+    }
+
+    /**
+     * Runs the task in the mailbox of the key and waits for its result. Runtime exceptions thrown by the task are
+     * rethrown as they are.
+     */
+    public <T> T execute(String key, Supplier<T> task) {
+        if (key.equals(currentKey.get())) {
+            return task.get();
+        }
+        try {
+            return submit(key, task).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Queues the task in the mailbox of the key without waiting for it.
+     *
+     * @throws HttpClientErrorException with {@link HttpStatus#TOO_MANY_REQUESTS} if the mailbox is full
+     */
+    public <T> CompletableFuture<T> submit(String key, Supplier<T> task) {
+        var future = new CompletableFuture<T>();
+        Runnable queuedTask = () -> {
+            try {
+                future.complete(task.get());
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            }
+        };
+        var newMailbox = new boolean[1];
+        mailboxes.compute(key, (k, mailbox) -> {
+            if (mailbox == null) {
+                mailbox = new ArrayDeque<>();
+                newMailbox[0] = true;
+            }
+            if (mailbox.size() >= maxQueueSize) {
+                rejectedTasks.incrementAndGet();
+                log.warn("KeyedExecutor::submit,mailbox full,executor={},key={},size={}", name, key, mailbox.size());
+                throw new HttpClientErrorException(HttpStatus.TOO_MANY_REQUESTS);
+            }
+            mailbox.addLast(queuedTask);
+            return mailbox;
+        });
+        queuedTasks.incrementAndGet();
+        if (newMailbox[0]) {
+            Thread.ofVirtual().name("keyed-" + name + "-" + key).start(() -> drain(key));
+        }
+        return future;
+    }
+
+    public int getQueuedTasks() {
+        return queuedTasks.get();
+    }
+
+    public int getActiveKeys() {
+        return mailboxes.size();
+    }
+
+    public long getRejectedTasks() {
+        return rejectedTasks.get();
+    }
+
+    private void drain(String key) {
+        currentKey.set(key);
+        try {
+            for (var task = peek(key); task != null; task = next(key)) {
+                task.run();
+                queuedTasks.decrementAndGet();
+            }
+        } finally {
+            currentKey.remove();
+        }
+    }
+
+    private Runnable peek(String key) {
+        var mailbox = mailboxes.get(key);
+        return mailbox == null ? null : mailbox.peekFirst();
+    }
+
+    /**
+     * Removes the task that just finished and returns the next one. The finished task is kept at the head of the
+     * queue while it runs, so the mailbox (and this drainer) stays registered until the queue is empty.
+     */
+    private Runnable next(String key) {
+        var next = new Runnable[1];
+        mailboxes.computeIfPresent(key, (k, mailbox) -> {
+            mailbox.pollFirst();
+            next[0] = mailbox.peekFirst();
+            return mailbox.isEmpty() ? null : mailbox;
+        });
+        return next[0];
+    }
+}
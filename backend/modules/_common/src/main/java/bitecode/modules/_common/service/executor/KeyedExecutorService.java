@@ -0,0 +1,41 @@
+package bitecode.modules._common.service.executor;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Factory of {@link KeyedExecutor}s. Every executor publishes its queue depth, the number of keys with pending work
+ * and the number of rejected tasks, tagged with the executor name.
+ */
+@Service
+@RequiredArgsConstructor
+public class KeyedExecutorService {
+    private final MeterRegistry meterRegistry;
+    @Value("${KEYED_EXECUTOR_MAX_QUEUE_SIZE:1000}")
+    private int defaultMaxQueueSize;
+
+    public KeyedExecutor createExecutor(String name) {
+        return createExecutor(name, defaultMaxQueueSize);
+    }
+
+    public KeyedExecutor createExecutor(String name, int maxQueueSize) {
+        var executor = new KeyedExecutor(name, maxQueueSize);
+        Gauge.builder("keyed.executor.queue.depth", executor, KeyedExecutor::getQueuedTasks)
+                .description("Tasks waiting or running in the executor mailboxes")
+                .tag("executor", name)
+                .register(meterRegistry);
+        Gauge.builder("keyed.executor.active.keys", executor, KeyedExecutor::getActiveKeys)
+                .description("Keys with a non-empty mailbox")
+                .tag("executor", name)
+                .register(meterRegistry);
+        FunctionCounter.builder("keyed.executor.rejected", executor, KeyedExecutor::getRejectedTasks)
+                .description("Tasks rejected because the mailbox of their key was full")
+                .tag("executor", name)
+                .register(meterRegistry);
+        return executor;
+    }
+}
@@ -0,0 +1,86 @@
+package bitecode.modules._common.service.executor;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.util.Locale;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Factory of the bounded executors of module {@code @Async} listeners, so a burst of events of one module does not
+ * starve the listeners of the others. Pools are sized from {@code <MODULE>_EXECUTOR_CORE_SIZE}, {@code _MAX_SIZE},
+ * {@code _QUEUE_CAPACITY} and {@code _REJECTION_POLICY}, falling back to the {@code MODULE_EXECUTOR_*} defaults.
+ * Every executor publishes the standard {@code executor.*} pool and queue meters and
+ * {@code module.executor.rejected}, tagged with the executor name.
+ * <p>
+ * Only modules with {@code @Async} listeners declare an executor (payment and transaction). The wallet module has
+ * none: its command listener runs on its {@link KeyedExecutor}, which is bounded on its own.
+ */
+@Service
+@RequiredArgsConstructor
+public class ModuleExecutorService {
+    private final MeterRegistry meterRegistry;
+    private final Environment environment;
+
+    /**
+     * What happens to a task when the pool and its queue are full.
+     */
+    public enum RejectionPolicy {
+        /**
+         * The submitting thread runs the task itself, which slows the publisher down to the pace of the pool.
+         */
+        CALLER_RUNS,
+        /**
+         * The submission fails with a {@code TaskRejectedException}. Events dispatched by the outbox relay stay in
+         * the outbox and are dispatched again on its next run, to the listeners which did not get them yet only: the
+         * relay records every delivered listener on the row, so the listeners that ran before the rejected one are not
+         * called twice.
+         */
+        OUTBOX
+    }
+
+    public ThreadPoolTaskExecutor createExecutor(String module) {
+        var name = module + "-module";
+        var rejected = Counter.builder("module.executor.rejected")
+                .description("Tasks which did not fit in the executor pool and queue")
+                .tag("name", name)
+                .register(meterRegistry);
+        var rejectionPolicy = RejectionPolicy.valueOf(
+                property(module, "REJECTION_POLICY", "OUTBOX").toUpperCase(Locale.ROOT));
+        RejectedExecutionHandler rejectionHandler = rejectionPolicy == RejectionPolicy.CALLER_RUNS
+                ? new ThreadPoolExecutor.CallerRunsPolicy()
+                : new ThreadPoolExecutor.AbortPolicy();
+
+        var executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(Integer.parseInt(property(module, "CORE_SIZE", "4")));
+        executor.setMaxPoolSize(Integer.parseInt(property(module, "MAX_SIZE", "16")));
+        executor.setQueueCapacity(Integer.parseInt(property(module, "QUEUE_CAPACITY", "200")));
+        executor.setRejectedExecutionHandler((task, pool) -> {
+            rejected.increment();
+            rejectionHandler.rejectedExecution(task, pool);
+        });
+        executor.setThreadNamePrefix(name + "-");
+        if (environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false)) {
+            // still bounded by the pool size, virtual threads only stop blocked listeners from holding platform threads
+            executor.setThreadFactory(Thread.ofVirtual().name(name + "-", 1).factory());
+        }
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+
+        new ExecutorServiceMetrics(executor.getThreadPoolExecutor(), name, Tags.empty()).bindTo(meterRegistry);
+        return executor;
+    }
+
+    private String property(String module, String key, String defaultValue) {
+        var moduleKey = "%s_EXECUTOR_%s".formatted(module.toUpperCase(Locale.ROOT), key);
+        return environment.getProperty(moduleKey, environment.getProperty("MODULE_EXECUTOR_" + key, defaultValue));
+    }
+}
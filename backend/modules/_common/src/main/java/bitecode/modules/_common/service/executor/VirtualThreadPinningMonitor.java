@@ -0,0 +1,90 @@
+package bitecode.modules._common.service.executor;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.thread.Threading;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Reports virtual threads pinning their carrier thread while blocked (e.g. blocking inside {@code synchronized} or a
+ * native frame), which takes a carrier out of the small fork join pool for the whole wait. Pinned waits longer than
+ * VIRTUAL_THREAD_PINNING_THRESHOLD_MS are recorded in the {@code virtual.thread.pinned} timer, each distinct stack is
+ * logged once.
+ */
+@Slf4j
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+@ConditionalOnProperty(name = "VIRTUAL_THREAD_PINNING_MONITOR_ENABLED", havingValue = "true", matchIfMissing = true)
+public class VirtualThreadPinningMonitor {
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int MAX_REPORTED_STACKS = 1_000;
+    private static final int MAX_REPORTED_FRAMES = 12;
+
+    private final Timer pinnedTimer;
+    private final Duration threshold;
+    private final Set<String> reportedStacks = ConcurrentHashMap.newKeySet();
+    private RecordingStream recordingStream;
+
+    public VirtualThreadPinningMonitor(MeterRegistry meterRegistry,
+                                       @Value("${VIRTUAL_THREAD_PINNING_THRESHOLD_MS:20}") long thresholdMs) {
+        this.pinnedTimer = Timer.builder("virtual.thread.pinned")
+                .description("Time virtual threads spent blocked while pinned to their carrier thread")
+                .register(meterRegistry);
+        this.threshold = Duration.ofMillis(thresholdMs);
+    }
+
+    @PostConstruct
+    public void start() {
+        recordingStream = new RecordingStream();
+        recordingStream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        recordingStream.onEvent(PINNED_EVENT, this::report);
+        recordingStream.startAsync();
+        log.info("Monitoring virtual thread pinning longer than {} ms", threshold.toMillis());
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (recordingStream != null) {
+            recordingStream.close();
+        }
+    }
+
+    private void report(RecordedEvent event) {
+        pinnedTimer.record(event.getDuration());
+
+        var stack = describe(event.getStackTrace());
+        // bounded, a pinning site in a hot path must not turn into a log line per request
+        if (reportedStacks.size() < MAX_REPORTED_STACKS && reportedStacks.add(stack)) {
+            var thread = event.getThread();
+            log.warn("Virtual thread {} pinned its carrier for {} ms:\n{}",
+                    thread == null ? "?" : thread.getJavaName(), event.getDuration().toMillis(), stack);
+        }
+    }
+
+    private static String describe(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return "\t(no stack trace)";
+        }
+        return stackTrace.getFrames().stream()
+                .filter(RecordedFrame::isJavaFrame)
+                .limit(MAX_REPORTED_FRAMES)
+                .map(frame -> "\tat %s.%s:%d".formatted(
+                        frame.getMethod().getType().getName(), frame.getMethod().getName(), frame.getLineNumber()))
+                .collect(Collectors.joining("\n"));
+    }
+}
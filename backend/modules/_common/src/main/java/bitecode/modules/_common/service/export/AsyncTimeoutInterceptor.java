@@ -0,0 +1,34 @@
+package bitecode.modules._common.service.export;
+
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+
+/**
+ * Lets a handler override the default MVC async timeout for its own request, which is otherwise only configurable
+ * globally. Needed by long running {@code StreamingResponseBody} responses such as exports.
+ */
+public class AsyncTimeoutInterceptor implements CallableProcessingInterceptor {
+    private static final String TIMEOUT_ATTRIBUTE = AsyncTimeoutInterceptor.class.getName() + ".timeout";
+
+    /**
+     * Must be called from the handler thread, before the async processing starts.
+     */
+    public static void setTimeout(Duration timeout) {
+        RequestContextHolder.currentRequestAttributes()
+                .setAttribute(TIMEOUT_ATTRIBUTE, timeout.toMillis(), RequestAttributes.SCOPE_REQUEST);
+    }
+
+    @Override
+    public <T> void beforeConcurrentHandling(NativeWebRequest request, Callable<T> task) {
+        if (request instanceof AsyncWebRequest asyncRequest
+                && request.getAttribute(TIMEOUT_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) instanceof Long timeout) {
+            asyncRequest.setTimeout(timeout);
+        }
+    }
+}
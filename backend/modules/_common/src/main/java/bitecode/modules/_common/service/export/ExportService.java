@@ -0,0 +1,178 @@
+package bitecode.modules._common.service.export;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.Iterators;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Streams query results straight to the response as NDJSON or CSV. The source stream is consumed inside a read only
+ * transaction (required by Postgres to use a server side cursor), in chunks of {@link #FETCH_SIZE} rows; the
+ * persistence context is cleared after every chunk so memory use does not depend on the result size.
+ * <p>
+ * Sources should be queries with the {@code org.hibernate.fetchSize} hint set to {@link #FETCH_SIZE}, otherwise the
+ * driver reads the whole result set up front.
+ */
+@Slf4j
+@Service
+public class ExportService {
+    public static final int FETCH_SIZE = 500;
+    public static final String FETCH_SIZE_HINT = "" + FETCH_SIZE;
+
+    private final ObjectMapper objectMapper;
+    private final ObjectMapper csvObjectMapper;
+    private final EntityManager entityManager;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Duration timeout;
+
+    public ExportService(ObjectMapper objectMapper,
+                         EntityManager entityManager,
+                         PlatformTransactionManager transactionManager,
+                         @Value("${EXPORT_TIMEOUT_MS:3600000}") long timeoutMs) {
+        this.objectMapper = objectMapper;
+        // CSV columns are taken from the first row, so nulls must not be skipped
+        this.csvObjectMapper = objectMapper.copy().setDefaultPropertyInclusion(JsonInclude.Include.ALWAYS);
+        this.entityManager = entityManager;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.timeout = Duration.ofMillis(timeoutMs);
+    }
+
+    public <T, R> ResponseEntity<StreamingResponseBody> export(String fileName, ExportFormat format,
+                                                               Supplier<Stream<T>> source, Function<T, R> mapper) {
+        return exportChunked(fileName, format, source, chunk -> chunk.stream().<R>map(mapper).toList());
+    }
+
+    /**
+     * Variant of {@link #export} for rows which need additional data, to load it once per chunk instead of once per
+     * row. The mapper is called within the export transaction.
+     */
+    public <T, R> ResponseEntity<StreamingResponseBody> exportChunked(String fileName, ExportFormat format,
+                                                                      Supplier<Stream<T>> source,
+                                                                      Function<List<T>, List<R>> chunkMapper) {
+        AsyncTimeoutInterceptor.setTimeout(timeout);
+
+        StreamingResponseBody body = out -> readOnlyTransaction.executeWithoutResult(status -> {
+            var writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            var rowWriter = format == ExportFormat.CSV ? new CsvRowWriter(writer) : new NdjsonRowWriter(writer);
+            var exported = 0L;
+            try (var rows = source.get()) {
+                var chunks = Iterators.partition(rows.iterator(), FETCH_SIZE);
+                while (chunks.hasNext()) {
+                    var chunk = chunkMapper.apply(chunks.next());
+                    for (var row : chunk) {
+                        rowWriter.write(row);
+                    }
+                    writer.flush();
+                    exported += chunk.size();
+                    entityManager.clear();
+                }
+            } catch (IOException e) {
+                log.warn("Export {} aborted after {} rows: {}", fileName, exported, e.getMessage());
+                throw new UncheckedIOException(e);
+            }
+            log.info("Exported {} rows to {}", exported, fileName);
+        });
+
+        var contentDisposition = ContentDisposition.attachment()
+                .filename(fileName + "." + format.getExtension())
+                .build();
+        return ResponseEntity.ok()
+                .contentType(format.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, contentDisposition.toString())
+                .body(body);
+    }
+
+    private interface RowWriter {
+        void write(Object row) throws IOException;
+    }
+
+    private class NdjsonRowWriter implements RowWriter {
+        private final Writer writer;
+
+        NdjsonRowWriter(Writer writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void write(Object row) throws IOException {
+            writer.write(objectMapper.writeValueAsString(row));
+            writer.write('\n');
+        }
+    }
+
+    /**
+     * Flat rows are written as is, nested objects and arrays (e.g. history entries) as JSON within a single column.
+     * Text cells starting like a spreadsheet formula are prefixed with {@code '} so they are opened as text.
+     */
+    private class CsvRowWriter implements RowWriter {
+        private static final String FORMULA_PREFIXES = "=+-@\t\r";
+
+        private final Writer writer;
+        private List<String> columns;
+
+        CsvRowWriter(Writer writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void write(Object row) throws IOException {
+            JsonNode node = csvObjectMapper.valueToTree(row);
+            if (columns == null) {
+                columns = new ArrayList<>();
+                node.fieldNames().forEachRemaining(columns::add);
+                writeLine(columns.stream().map(CsvRowWriter::escape).toList());
+            }
+            writeLine(columns.stream().map(column -> toCell(node.get(column))).toList());
+        }
+
+        private void writeLine(List<String> cells) throws IOException {
+            writer.write(String.join(",", cells));
+            writer.write("\r\n");
+        }
+
+        private static String toCell(JsonNode value) {
+            if (value == null || value.isNull()) {
+                return "";
+            }
+            // a negative number is not a formula, and is kept numeric
+            if (value.isNumber()) {
+                return value.asText();
+            }
+            return escape(value.isContainerNode() ? value.toString() : value.asText());
+        }
+
+        private static String escape(String cell) {
+            if (!cell.isEmpty() && FORMULA_PREFIXES.indexOf(cell.charAt(0)) >= 0) {
+                cell = "'" + cell;
+            }
+            if (cell.indexOf(',') < 0 && cell.indexOf('"') < 0 && cell.indexOf('\n') < 0 && cell.indexOf('\r') < 0) {
+                return cell;
+            }
+            return '"' + cell.replace("\"", "\"\"") + '"';
+        }
+    }
+}
@@ -1,50 +1,64 @@
 package bitecode.modules._common.service.locking;
 
+import bitecode.modules._common.service.cache.CachePolicy;
 import bitecode.modules._common.service.cache.CacheRef;
 import bitecode.modules._common.service.cache.CacheService;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.client.HttpClientErrorException;
 
-import java.util.concurrent.TimeUnit;
-import java.util.function.Supplier;
+import java.time.Duration;
+import java.util.concurrent.locks.ReentrantLock;
+
+public class InMemoryLock implements KeyLock {
+    // held locks are removed on unlock, so the cache only holds the keys locked at the same time
+    private static final long MAXIMUM_HELD_LOCKS = 100_000;
 
-public class InMemoryLock {
     private final CacheRef<String, Integer> cacheRef;
+    private final LockMetrics lockMetrics;
+    // not synchronized, a virtual thread waiting for a monitor pins its carrier thread
+    private final ReentrantLock checkAndSetLock = new ReentrantLock();
 
     public InMemoryLock(CacheService cacheService, String name) {
-        this.cacheRef = cacheService.createCache(name + "-lock", 3, TimeUnit.MINUTES);
+        this(cacheService, name, LockMetrics.NOOP);
     }
 
-    public <T> T tryLockWrap(String key, Supplier<T> function) {
-        var locked = this.tryLock(key);
-        try {
-            return function.get();
-        } finally {
-            if (locked) {
-                this.unlock(key);
-            }
-        }
+    InMemoryLock(CacheService cacheService, String name, LockMetrics lockMetrics) {
+        this.cacheRef = cacheService.createCache(name + "-lock", CachePolicy.<String, Integer>builder()
+                .maximumSize(MAXIMUM_HELD_LOCKS)
+                .expireAfterWrite(Duration.ofMinutes(3))
+                .replicated(false)
+                .build());
+        this.lockMetrics = lockMetrics;
     }
 
-    public void tryLockWrap(String key, Runnable function) {
-        this.tryLockWrap(key, () -> {
-            function.run();
-            return null;
-        });
-    }
-
-    public synchronized boolean tryLock(String key) {
-        if (this.isLocked(key)) {
-            throw new HttpClientErrorException(HttpStatus.LOCKED);
+    @Override
+    public boolean tryLock(String key) {
+        // the key is never waited for (a held key is rejected), the wait is for the check-and-set section
+        var contended = !checkAndSetLock.tryLock();
+        var waitStart = contended ? System.nanoTime() : 0L;
+        if (contended) {
+            checkAndSetLock.lock();
+        }
+        var waitNanos = contended ? System.nanoTime() - waitStart : 0L;
+        try {
+            if (this.isLocked(key)) {
+                lockMetrics.recordRejected();
+                throw new HttpClientErrorException(HttpStatus.LOCKED);
+            }
+            cacheRef.put(key, Integer.MAX_VALUE);
+        } finally {
+            checkAndSetLock.unlock();
         }
-        cacheRef.put(key, Integer.MAX_VALUE);
+        lockMetrics.recordAcquired(waitNanos, contended);
         return true;
     }
 
+    @Override
     public void unlock(String key) {
         cacheRef.remove(key);
     }
 
+    @Override
     public boolean isLocked(String key) {
         return cacheRef.get(key).isPresent();
     }
@@ -0,0 +1,37 @@
+package bitecode.modules._common.service.locking;
+
+import java.util.function.Supplier;
+
+/**
+ * Named lock over string keys. {@link #tryLock(String)} either acquires the lock and returns {@code true} or throws
+ * {@link org.springframework.web.client.HttpClientErrorException} with {@code LOCKED}; a lock that was acquired must be
+ * released with {@link #unlock(String)}.
+ *
+ * <p>Create instances with {@link LockService#createLock(String)}, which selects the backend.</p>
+ */
+public interface KeyLock {
+
+    boolean tryLock(String key);
+
+    void unlock(String key);
+
+    boolean isLocked(String key);
+
+    default <T> T tryLockWrap(String key, Supplier<T> function) {
+        var locked = this.tryLock(key);
+        try {
+            return function.get();
+        } finally {
+            if (locked) {
+                this.unlock(key);
+            }
+        }
+    }
+
+    default void tryLockWrap(String key, Runnable function) {
+        this.tryLockWrap(key, () -> {
+            function.run();
+            return null;
+        });
+    }
+}
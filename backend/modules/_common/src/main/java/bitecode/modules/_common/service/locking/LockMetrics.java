@@ -0,0 +1,69 @@
+package bitecode.modules._common.service.locking;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Contention meters of one lock, tagged with the lock name and backend.
+ */
+class LockMetrics {
+    static final LockMetrics NOOP = new LockMetrics(null, null, null, null);
+
+    private final Timer waitTimer;
+    private final Counter contended;
+    private final Counter rejected;
+    private final Counter leaseExpired;
+
+    private LockMetrics(Timer waitTimer, Counter contended, Counter rejected, Counter leaseExpired) {
+        this.waitTimer = waitTimer;
+        this.contended = contended;
+        this.rejected = rejected;
+        this.leaseExpired = leaseExpired;
+    }
+
+    static LockMetrics of(MeterRegistry meterRegistry, String name, String backend) {
+        return new LockMetrics(
+                Timer.builder("lock.wait")
+                        .description("Time spent waiting for the lock to be acquired")
+                        .tags("lock", name, "backend", backend)
+                        .register(meterRegistry),
+                Counter.builder("lock.contended")
+                        .description("Acquisitions that found the lock held and had to wait")
+                        .tags("lock", name, "backend", backend)
+                        .register(meterRegistry),
+                Counter.builder("lock.rejected")
+                        .description("Acquisitions that gave up because the lock stayed held")
+                        .tags("lock", name, "backend", backend)
+                        .register(meterRegistry),
+                Counter.builder("lock.lease.expired")
+                        .description("Locks released because their holder exceeded the lease")
+                        .tags("lock", name, "backend", backend)
+                        .register(meterRegistry)
+        );
+    }
+
+    void recordAcquired(long waitNanos, boolean wasContended) {
+        if (waitTimer == null) {
+            return;
+        }
+        waitTimer.record(waitNanos, TimeUnit.NANOSECONDS);
+        if (wasContended) {
+            contended.increment();
+        }
+    }
+
+    void recordRejected() {
+        if (rejected != null) {
+            rejected.increment();
+        }
+    }
+
+    void recordLeaseExpired() {
+        if (leaseExpired != null) {
+            leaseExpired.increment();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package bitecode.modules._common.service.locking;
+
+import bitecode.modules._common.service.cache.CacheService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Factory of {@link KeyLock}s. The backend is selected with {@code LOCK_BACKEND}:
+ * <ul>
+ *     <li>{@code memory} (default) - {@link InMemoryLock}, exclusive within a single node only</li>
+ *     <li>{@code postgres} - {@link PostgresAdvisoryLock}, exclusive across all the nodes sharing the database</li>
+ * </ul>
+ *
+ * <p>Postgres session locks, taken outside a transaction, each keep a pooled connection while held. They are bounded
+ * per node by {@code LOCK_MAX_SESSION_LOCKS}, half of the connection pool by default, so held locks cannot exhaust it.</p>
+ */
+@Slf4j
+@Service
+public class LockService {
+    public static final String MEMORY_BACKEND = "memory";
+    public static final String POSTGRES_BACKEND = "postgres";
+
+    private final CacheService cacheService;
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSource dataSource;
+    private final MeterRegistry meterRegistry;
+    private final String backend;
+    private final Duration waitTimeout;
+    private final Duration lease;
+    private final Semaphore sessionPermits;
+    private final ScheduledExecutorService leaseScheduler = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofVirtual().name("lock-lease-scheduler").factory());
+
+    public LockService(CacheService cacheService, JdbcTemplate jdbcTemplate, DataSource dataSource, MeterRegistry meterRegistry,
+                       @Value("${LOCK_BACKEND:" + MEMORY_BACKEND + "}") String backend,
+                       @Value("${LOCK_WAIT_TIMEOUT_MS:5000}") long waitTimeoutMs,
+                       @Value("${LOCK_LEASE_MS:60000}") long leaseMs,
+                       @Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize,
+                       @Value("${LOCK_MAX_SESSION_LOCKS:0}") int maxSessionLocks) {
+        this.cacheService = cacheService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSource = dataSource;
+        this.meterRegistry = meterRegistry;
+        this.backend = backend;
+        this.waitTimeout = Duration.ofMillis(waitTimeoutMs);
+        this.lease = Duration.ofMillis(leaseMs);
+        this.sessionPermits = new Semaphore(maxSessionLocks > 0 ? maxSessionLocks : Math.max(1, poolSize / 2));
+        if (!MEMORY_BACKEND.equals(backend) && !POSTGRES_BACKEND.equals(backend)) {
+            throw new IllegalStateException("Unknown lock backend: " + backend);
+        }
+        log.info("LockService::init,backend={},maxSessionLocks={}", backend, sessionPermits.availablePermits());
+    }
+
+    public KeyLock createLock(String name) {
+        var lockMetrics = LockMetrics.of(meterRegistry, name, backend);
+        return POSTGRES_BACKEND.equals(backend)
+                ? new PostgresAdvisoryLock(name, jdbcTemplate, dataSource, leaseScheduler, waitTimeout, lease, lockMetrics, sessionPermits)
+                : new InMemoryLock(cacheService, name, lockMetrics);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        leaseScheduler.shutdownNow();
+    }
+}
@@ -0,0 +1,240 @@
+package bitecode.modules._common.service.locking;
+
+import com.google.common.hash.Hashing;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.client.HttpClientErrorException;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link KeyLock} backed by Postgres advisory locks, giving mutual exclusion across all the nodes that share the
+ * database. Keys are hashed with murmur3 into the 64-bit advisory lock space, prefixed with the lock name.
+ *
+ * <p>Inside a transaction the lock is taken with {@code pg_try_advisory_xact_lock}, polled until the wait timeout,
+ * and it is held until the transaction commits or rolls back; {@link #unlock(String)} is a no-op for it. The lease of
+ * such a lock is the transaction itself, and a node that dies releases it with its connection.</p>
+ *
+ * <p>Outside a transaction the lock is taken with {@code pg_advisory_lock} on a dedicated connection, bounded by
+ * {@code lock_timeout}, and released by {@link #unlock(String)} called from the thread that acquired it. If it is not
+ * released within the lease, it is released by the lease scheduler and a warning is logged; a late
+ * {@link #unlock(String)} of the expired holder is then a no-op, even when another thread holds the key by now. A
+ * node that dies releases it with its connection. The dedicated connection is taken from the application pool and kept
+ * for as long as the lock is held, so the session locks held at the same time on a node are bounded by
+ * {@code sessionPermits}, shared by all the locks of the node; a lock that gets no permit within the wait timeout is
+ * rejected like a held one.</p>
+ *
+ * <p>Unlike {@link InMemoryLock}, which rejects a held key at once and is not reentrant:</p>
+ * <ul>
+ *     <li>a held key is waited for, up to the wait timeout, before it is rejected</li>
+ *     <li>the transaction-scoped lock is reentrant within its transaction, locking the same key again in the same
+ *     transaction succeeds, and {@link #unlock(String)} does not release it</li>
+ *     <li>the session lock is reentrant only per connection, which is never shared: locking a held key again, even
+ *     from the holding thread, waits on a second connection and is rejected at the timeout</li>
+ * </ul>
+ */
+@Slf4j
+public class PostgresAdvisoryLock implements KeyLock {
+    private static final long MAX_POLL_INTERVAL_MS = 50;
+
+    private final String name;
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSource dataSource;
+    private final ScheduledExecutorService leaseScheduler;
+    private final Duration waitTimeout;
+    private final Duration lease;
+    private final LockMetrics lockMetrics;
+    private final Semaphore sessionPermits;
+    private final Map<String, SessionLock> sessionLocks = new ConcurrentHashMap<>();
+
+    PostgresAdvisoryLock(String name, JdbcTemplate jdbcTemplate, DataSource dataSource, ScheduledExecutorService leaseScheduler,
+                         Duration waitTimeout, Duration lease, LockMetrics lockMetrics, Semaphore sessionPermits) {
+        this.name = name;
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSource = dataSource;
+        this.leaseScheduler = leaseScheduler;
+        this.waitTimeout = waitTimeout;
+        this.lease = lease;
+        this.lockMetrics = lockMetrics;
+        this.sessionPermits = sessionPermits;
+    }
+
+    @Override
+    public boolean tryLock(String key) {
+        var lockId = lockIdOf(key);
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            tryTransactionLock(key, lockId);
+        } else {
+            trySessionLock(key, lockId);
+        }
+        return true;
+    }
+
+    @Override
+    public void unlock(String key) {
+        var sessionLock = sessionLocks.get(key);
+        if (sessionLock == null || sessionLock.owner != Thread.currentThread()) {
+            log.debug("PostgresAdvisoryLock::unlock,session lock not held by caller,name={},key={}", name, key);
+            return;
+        }
+        if (sessionLocks.remove(key, sessionLock)) {
+            sessionLock.release(false);
+        }
+    }
+
+    @Override
+    public boolean isLocked(String key) {
+        var lockId = lockIdOf(key);
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject("""
+                SELECT EXISTS(SELECT 1 FROM pg_locks
+                              WHERE locktype = 'advisory' AND objsubid = 1 AND granted
+                                AND classid = ?::bigint::oid AND objid = ?::bigint::oid)
+                """, Boolean.class, lockId >>> 32, lockId & 0xffffffffL));
+    }
+
+    private void tryTransactionLock(String key, long lockId) {
+        var start = System.nanoTime();
+        var deadline = start + waitTimeout.toNanos();
+        var contended = false;
+        var pollInterval = 1L;
+        while (!Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT pg_try_advisory_xact_lock(?)", Boolean.class, lockId))) {
+            contended = true;
+            if (System.nanoTime() >= deadline) {
+                reject(key);
+            }
+            try {
+                Thread.sleep(pollInterval);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                reject(key);
+            }
+            pollInterval = Math.min(pollInterval * 2, MAX_POLL_INTERVAL_MS);
+        }
+        lockMetrics.recordAcquired(System.nanoTime() - start, contended);
+    }
+
+    private void trySessionLock(String key, long lockId) {
+        var start = System.nanoTime();
+        acquireSessionPermit(key);
+        Connection connection = null;
+        try {
+            connection = dataSource.getConnection();
+            connection.setAutoCommit(true);
+            var contended = false;
+            try (var statement = connection.prepareStatement("SELECT pg_try_advisory_lock(?)")) {
+                statement.setLong(1, lockId);
+                try (var resultSet = statement.executeQuery()) {
+                    contended = !(resultSet.next() && resultSet.getBoolean(1));
+                }
+            }
+            if (contended) {
+                try (var statement = connection.createStatement()) {
+                    statement.execute("SET lock_timeout = " + waitTimeout.toMillis());
+                }
+                try (var statement = connection.prepareStatement("SELECT pg_advisory_lock(?)")) {
+                    statement.setLong(1, lockId);
+                    statement.execute();
+                }
+            }
+            var sessionLock = new SessionLock(key, lockId, connection, sessionPermits);
+            sessionLock.leaseExpiration = leaseScheduler.schedule(() -> expireLease(sessionLock), lease.toMillis(), TimeUnit.MILLISECONDS);
+            sessionLocks.put(key, sessionLock);
+            lockMetrics.recordAcquired(System.nanoTime() - start, contended);
+        } catch (SQLException e) {
+            resetAndClose(connection);
+            sessionPermits.release();
+            // 55P03 lock_not_available, raised when lock_timeout is reached
+            if ("55P03".equals(e.getSQLState())) {
+                reject(key);
+            }
+            throw new IllegalStateException("Could not acquire advisory lock,name=" + name + ",key=" + key, e);
+        }
+    }
+
+    private void acquireSessionPermit(String key) {
+        try {
+            if (!sessionPermits.tryAcquire(waitTimeout.toNanos(), TimeUnit.NANOSECONDS)) {
+                log.warn("PostgresAdvisoryLock::trySessionLock,session lock limit reached,name={},key={}", name, key);
+                reject(key);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            reject(key);
+        }
+    }
+
+    private void expireLease(SessionLock sessionLock) {
+        if (sessionLocks.remove(sessionLock.key, sessionLock)) {
+            log.warn("PostgresAdvisoryLock::expireLease,lock held longer than lease,name={},key={},lease={}", name, sessionLock.key, lease);
+            lockMetrics.recordLeaseExpired();
+            sessionLock.release(true);
+        }
+    }
+
+    private void reject(String key) {
+        lockMetrics.recordRejected();
+        log.debug("PostgresAdvisoryLock::tryLock,lock not acquired within timeout,name={},key={}", name, key);
+        throw new HttpClientErrorException(HttpStatus.LOCKED);
+    }
+
+    private long lockIdOf(String key) {
+        return Hashing.murmur3_128().hashString(name + ":" + key, StandardCharsets.UTF_8).asLong();
+    }
+
+    /**
+     * Returns the connection to the pool, resetting the {@code lock_timeout} set for waiting on the lock.
+     */
+    private static void resetAndClose(Connection connection) {
+        if (connection == null) {
+            return;
+        }
+        try (connection; var statement = connection.createStatement()) {
+            statement.execute("RESET lock_timeout");
+        } catch (SQLException e) {
+            log.warn("PostgresAdvisoryLock::close,exception={}", e.getMessage());
+        }
+    }
+
+    private static class SessionLock {
+        private final String key;
+        private final Thread owner = Thread.currentThread();
+        private final long lockId;
+        private final Connection connection;
+        private final Semaphore sessionPermits;
+        private volatile ScheduledFuture<?> leaseExpiration;
+
+        SessionLock(String key, long lockId, Connection connection, Semaphore sessionPermits) {
+            this.key = key;
+            this.lockId = lockId;
+            this.connection = connection;
+            this.sessionPermits = sessionPermits;
+        }
+
+        void release(boolean expired) {
+            if (!expired && leaseExpiration != null) {
+                leaseExpiration.cancel(false);
+            }
+            try (var statement = connection.prepareStatement("SELECT pg_advisory_unlock(?)")) {
+                statement.setLong(1, lockId);
+                statement.execute();
+            } catch (SQLException e) {
+                log.warn("PostgresAdvisoryLock::unlock,exception={}", e.getMessage());
+            } finally {
+                resetAndClose(connection);
+                sessionPermits.release();
+            }
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package bitecode.modules._common.service.notification;
+
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.springframework.boot.autoconfigure.jdbc.JdbcConnectionDetails;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/**
+ * Publish/subscribe between the application nodes over Postgres {@code LISTEN/NOTIFY}, so no additional
+ * infrastructure is needed.
+ *
+ * <p>Notifications are received on one dedicated connection, opened outside of the connection pool on the first
+ * {@link #subscribe(String, Consumer)} and re-opened after a failure. Notifications sent while the connection was
+ * down are lost, so subscribers must tolerate missed messages. A notification published inside a transaction is
+ * delivered only when the transaction commits. Every node receives its own notifications too; messages can carry
+ * {@link #getNodeId()} to recognize them.</p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PostgresNotificationBus {
+    /**
+     * Postgres limit of a notification payload, in bytes (exclusive).
+     */
+    public static final int MAX_PAYLOAD_BYTES = 8000;
+    private static final Pattern CHANNEL_PATTERN = Pattern.compile("[a-z][a-z0-9_]{0,62}");
+    private static final int POLL_TIMEOUT_MS = 500;
+    private static final long RECONNECT_DELAY_MS = 1000;
+
+    private final JdbcConnectionDetails connectionDetails;
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<String, List<Consumer<String>>> subscribers = new ConcurrentHashMap<>();
+    @Getter
+    private final String nodeId = UUID.randomUUID().toString();
+    private volatile boolean running;
+    private Thread listenerThread;
+
+    public synchronized void subscribe(String channel, Consumer<String> subscriber) {
+        validateChannel(channel);
+        subscribers.computeIfAbsent(channel, key -> new CopyOnWriteArrayList<>()).add(subscriber);
+        if (listenerThread == null) {
+            running = true;
+            listenerThread = Thread.ofVirtual().name("pg-notification-listener").start(this::listen);
+        }
+    }
+
+    /**
+     * Sends the payload to the subscribers of the channel on every node.
+     *
+     * @throws IllegalArgumentException if the payload does not fit into a notification
+     */
+    public void publish(String channel, String payload) {
+        validateChannel(channel);
+        if (!fits(payload)) {
+            throw new IllegalArgumentException("Notification payload too large,channel=" + channel);
+        }
+        jdbcTemplate.query("SELECT pg_notify(?, ?)", resultSet -> null, channel, payload);
+    }
+
+    public static boolean fits(String payload) {
+        return payload.getBytes(StandardCharsets.UTF_8).length < MAX_PAYLOAD_BYTES;
+    }
+
+    @PreDestroy
+    public synchronized void shutdown() {
+        running = false;
+        if (listenerThread != null) {
+            listenerThread.interrupt();
+        }
+    }
+
+    private void listen() {
+        Connection connection = null;
+        var listenedChannels = new HashSet<String>();
+        while (running) {
+            try {
+                if (connection == null) {
+                    connection = DriverManager.getConnection(connectionDetails.getJdbcUrl(), connectionDetails.getUsername(), connectionDetails.getPassword());
+                    connection.setAutoCommit(true);
+                    listenedChannels.clear();
+                    log.info("PostgresNotificationBus::listen,connected,nodeId={}", nodeId);
+                }
+                listenToNewChannels(connection, listenedChannels);
+                var notifications = connection.unwrap(PGConnection.class).getNotifications(POLL_TIMEOUT_MS);
+                if (notifications != null) {
+                    for (var notification : notifications) {
+                        dispatch(notification.getName(), notification.getParameter());
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    break;
+                }
+                log.warn("PostgresNotificationBus::listen,connection lost,reconnecting,error={}", e.getMessage());
+                closeQuietly(connection);
+                connection = null;
+                try {
+                    Thread.sleep(RECONNECT_DELAY_MS);
+                } catch (InterruptedException interruptedException) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+        closeQuietly(connection);
+    }
+
+    private void listenToNewChannels(Connection connection, Set<String> listenedChannels) throws SQLException {
+        for (var channel : subscribers.keySet()) {
+            if (!listenedChannels.contains(channel)) {
+                try (var statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                listenedChannels.add(channel);
+            }
+        }
+    }
+
+    private void dispatch(String channel, String payload) {
+        for (var subscriber : subscribers.getOrDefault(channel, List.of())) {
+            try {
+                subscriber.accept(payload);
+            } catch (Exception e) {
+                log.error("PostgresNotificationBus::dispatch,subscriber failed,channel={},error={}", channel, e, e);
+            }
+        }
+    }
+
+    private static void validateChannel(String channel) {
+        if (!CHANNEL_PATTERN.matcher(channel).matches()) {
+            throw new IllegalArgumentException("Invalid notification channel: " + channel);
+        }
+    }
+
+    private static void closeQuietly(Connection connection) {
+        if (connection == null) {
+            return;
+        }
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            log.debug("PostgresNotificationBus::close,exception={}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package bitecode.modules._common.service.outbox;
+
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.event.ApplicationListenerMethodAdapter;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Listener of an {@code @Async} event listener method, created by {@link AsyncListenerMethodFactory}. Besides the
+ * regular fire-and-forget invocation, it lets {@link OutboxRelay} get the future of the submitted task, so the
+ * delivery is only recorded once the listener completed.
+ */
+public class AsyncListenerMethodAdapter extends ApplicationListenerMethodAdapter {
+
+    public AsyncListenerMethodAdapter(String beanName, Class<?> targetClass, Method method) {
+        super(beanName, targetClass, method);
+    }
+
+    /**
+     * @return the future of the listener task, completed at once if the event is not for this listener
+     * @throws org.springframework.core.task.TaskRejectedException when the listener executor is saturated
+     */
+    public CompletableFuture<?> submit(ApplicationEvent event) {
+        var args = resolveArguments(event);
+        if (args == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return (CompletableFuture<?>) doInvoke(args);
+    }
+}
@@ -0,0 +1,47 @@
+package bitecode.modules._common.service.outbox;
+
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.EventListener;
+import org.springframework.context.event.EventListenerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Creates the listeners of {@code @Async} {@code @EventListener} methods as {@link AsyncListenerMethodAdapter}s.
+ * Such methods must return a {@link CompletableFuture}, which the async proxy completes once the method ran on its
+ * executor; conditions are not supported, as the relay invokes the method without evaluating them.
+ */
+@Component
+public class AsyncListenerMethodFactory implements EventListenerFactory, Ordered {
+
+    @Override
+    public int getOrder() {
+        // after TransactionalEventListenerFactory, before DefaultEventListenerFactory
+        return Ordered.LOWEST_PRECEDENCE - 100;
+    }
+
+    @Override
+    public boolean supportsMethod(Method method) {
+        return !AnnotatedElementUtils.hasAnnotation(method, TransactionalEventListener.class)
+                && (AnnotatedElementUtils.hasAnnotation(method, Async.class)
+                || AnnotatedElementUtils.hasAnnotation(method.getDeclaringClass(), Async.class));
+    }
+
+    @Override
+    public ApplicationListener<?> createApplicationListener(String beanName, Class<?> type, Method method) {
+        if (!CompletableFuture.class.isAssignableFrom(method.getReturnType())) {
+            throw new IllegalStateException("@Async event listeners must return a CompletableFuture,method=" + method);
+        }
+        var eventListener = AnnotatedElementUtils.findMergedAnnotation(method, EventListener.class);
+        if (eventListener != null && !eventListener.condition().isEmpty()) {
+            throw new IllegalStateException("@Async event listeners do not support conditions,method=" + method);
+        }
+        return new AsyncListenerMethodAdapter(beanName, type, method);
+    }
+}
@@ -0,0 +1,81 @@
+package bitecode.modules._common.service.outbox;
+
+import bitecode.modules._common.service.outbox.model.entity.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Claims the next available events by moving their {@code available_at} to {@code leasedUntil}, in a transaction
+     * of its own. The row locks are only held by this statement: once it commits, other relays skip the claimed rows
+     * until the lease expires, e.g. when the claiming node died before dispatching them.
+     * <p>
+     * An event with an ordering key is skipped while an older event with the same key is still in the table, whether
+     * claimed, waiting for a retry or out of attempts, so at most one event per key is dispatched at a time and in
+     * sequence number order. Events of the same key must therefore be written by transactions that serialize on their
+     * aggregate, so that their sequence numbers follow their commit order.
+     */
+    @Transactional
+    @Query(value = """
+            UPDATE common.outbox_event
+            SET available_at = :leasedUntil,
+                updated_date = CURRENT_TIMESTAMP
+            WHERE id IN (
+                SELECT event.id
+                FROM common.outbox_event event
+                WHERE event.available_at <= CURRENT_TIMESTAMP AND event.attempts < :maxAttempts
+                  AND NOT EXISTS (SELECT 1
+                                  FROM common.outbox_event older
+                                  WHERE older.ordering_key = event.ordering_key
+                                    AND older.sequence_number < event.sequence_number)
+                ORDER BY event.id
+                LIMIT :limit
+                FOR UPDATE SKIP LOCKED
+            )
+            RETURNING *
+            """, nativeQuery = true)
+    List<OutboxEvent> claimNextBatch(int limit, int maxAttempts, Instant leasedUntil);
+
+    @Modifying
+    @Transactional
+    @Query(value = """
+            UPDATE common.outbox_event
+            SET delivered_listeners = array_append(delivered_listeners, CAST(:listenerId AS TEXT)),
+                updated_date        = CURRENT_TIMESTAMP
+            WHERE id = :id
+            """, nativeQuery = true)
+    int markDelivered(Long id, String listenerId);
+
+    @Modifying
+    @Transactional
+    @Query(value = """
+            UPDATE common.outbox_event
+            SET attempts     = attempts + 1,
+                last_error   = :lastError,
+                available_at = :availableAt,
+                updated_date = CURRENT_TIMESTAMP
+            WHERE id = :id
+            """, nativeQuery = true)
+    int markFailed(Long id, String lastError, Instant availableAt);
+
+    /**
+     * Ends the lease of claimed events that were not dispatched, without counting an attempt.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+            UPDATE common.outbox_event
+            SET available_at = CURRENT_TIMESTAMP,
+                updated_date = CURRENT_TIMESTAMP
+            WHERE id IN (:ids)
+            """, nativeQuery = true)
+    int release(List<Long> ids);
+}
@@ -0,0 +1,267 @@
+package bitecode.modules._common.service.outbox;
+
+import bitecode.modules._common.model.event.ModuleEvent;
+import bitecode.modules._common.service.outbox.model.entity.OutboxEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.PayloadApplicationEvent;
+import org.springframework.context.event.GenericApplicationListener;
+import org.springframework.context.event.GenericApplicationListenerAdapter;
+import org.springframework.context.event.SmartApplicationListener;
+import org.springframework.context.support.AbstractApplicationContext;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.annotation.AnnotationAwareOrderComparator;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Background dispatcher of the {@link OutboxEvent}s written by {@link OutboxService}.
+ *
+ * <p>Rows are claimed in batches with {@code FOR UPDATE SKIP LOCKED} in a short transaction that leases them for
+ * {@code OUTBOX_RELAY_LEASE_MS} and commits before any listener runs, so no row lock or connection is held while
+ * listeners run and several application nodes can relay concurrently. The claimed events are then dispatched
+ * individually, up to {@code OUTBOX_RELAY_CONCURRENCY} at a time, each listener in the transaction of its own
+ * {@code @Transactional} method, if any. A node that dies with claimed rows leaves them to the other relays once the
+ * lease expires.</p>
+ *
+ * <p>Events are delivered to each of their listeners separately and every successful delivery is recorded on the row,
+ * which is deleted once all listeners got the event. When a listener fails, the others are still delivered to, the
+ * attempt counter is increased and the row is retried with an exponential backoff, for the failed listeners only,
+ * until {@code maxAttempts} is reached, after which it stays in the table for manual inspection.</p>
+ *
+ * <p>Events with a {@link ModuleEvent#orderingKey()} are delivered in order per key: an event is only claimed once
+ * the older events of its key were delivered to all their listeners, see {@link OutboxEventRepository#claimNextBatch}.
+ * This holds across nodes, and a failed event holds back the later events of its key until it is delivered; an event
+ * out of attempts holds them back until it is removed.</p>
+ *
+ * <p>Delivery is at-least-once per listener: a crash between a listener returning and its delivery being recorded
+ * re-delivers the event to that listener only. {@code @Async} listeners run on their module executor while the relay
+ * waits for their task, see {@link AsyncListenerMethodAdapter}, and count as delivered once it completed; a task
+ * running longer than the lease fails the delivery. When an {@code @Async} listener's module executor is full (its
+ * rejection policy being {@code OUTBOX}), the row and the rest of the batch are released without counting an attempt,
+ * and the relay backs off until its next scheduled run.</p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OutboxRelay {
+    private static final Duration MAX_BACKOFF = Duration.ofMinutes(5);
+    private static final int MAX_ERROR_LENGTH = 2048;
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ApplicationContext applicationContext;
+    private final ObjectMapper objectMapper;
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private final Map<String, Class<? extends ModuleEvent>> eventTypes = new ConcurrentHashMap<>();
+    private final Map<Class<?>, List<ApplicationListener<ApplicationEvent>>> eventListeners = new ConcurrentHashMap<>();
+
+    @Value("${OUTBOX_RELAY_BATCH_SIZE:100}")
+    private int batchSize;
+    @Value("${OUTBOX_RELAY_MAX_ATTEMPTS:10}")
+    private int maxAttempts;
+    @Value("${OUTBOX_RELAY_LEASE_MS:60000}")
+    private long leaseMs;
+    @Value("${OUTBOX_RELAY_CONCURRENCY:8}")
+    private int concurrency;
+
+    /**
+     * Wakes the relay up right after a transaction with outbox events commits, so dispatch latency does not
+     * depend on the polling interval.
+     */
+    public void trigger() {
+        Thread.ofVirtual().name("outbox-relay-trigger").start(this::relay);
+    }
+
+    @Scheduled(fixedDelayString = "${OUTBOX_RELAY_INTERVAL_MS:500}")
+    public void relay() {
+        if (!running.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            List<OutboxEvent> batch;
+            do {
+                batch = outboxEventRepository.claimNextBatch(batchSize, maxAttempts, Instant.now().plusMillis(leaseMs));
+            } while (dispatchBatch(batch) && (batch.size() >= batchSize || hasOrderingKeys(batch)));
+        } catch (Exception e) {
+            log.error("OutboxRelay::relay,exception={}", e, e);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * The events following the dispatched ones on their keys became claimable, so the relay polls again instead of
+     * waiting for the next interval.
+     */
+    private static boolean hasOrderingKeys(List<OutboxEvent> batch) {
+        return batch.stream().anyMatch(outboxEvent -> outboxEvent.getOrderingKey() != null);
+    }
+
+    /**
+     * @return false when a listener executor is saturated and the relay should back off
+     */
+    private boolean dispatchBatch(List<OutboxEvent> batch) {
+        var saturated = new AtomicBoolean(false);
+        var released = new ArrayList<Long>();
+        var permits = new Semaphore(concurrency);
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (var outboxEvent : batch.stream().sorted(Comparator.comparing(OutboxEvent::getId)).toList()) {
+                permits.acquireUninterruptibly();
+                if (saturated.get()) {
+                    permits.release();
+                    released.add(outboxEvent.getId());
+                    continue;
+                }
+                executor.execute(() -> {
+                    try {
+                        if (!dispatch(outboxEvent)) {
+                            saturated.set(true);
+                        }
+                    } catch (Exception e) {
+                        log.error("OutboxRelay::dispatchBatch,exception={}", e, e);
+                    } finally {
+                        permits.release();
+                    }
+                });
+            }
+        }
+        if (!released.isEmpty()) {
+            outboxEventRepository.release(released);
+        }
+        return !saturated.get();
+    }
+
+    /**
+     * @return false when a listener executor rejected the event
+     */
+    private boolean dispatch(OutboxEvent outboxEvent) {
+        try {
+            var moduleEvent = toModuleEvent(outboxEvent);
+            var applicationEvent = new PayloadApplicationEvent<>(this, moduleEvent);
+            var delivered = Set.copyOf(Arrays.asList(outboxEvent.getDeliveredListeners()));
+            Exception failure = null;
+            for (var listener : listenersOf(moduleEvent.getClass())) {
+                var listenerId = listenerIdOf(listener);
+                if (delivered.contains(listenerId)) {
+                    continue;
+                }
+                try {
+                    deliver(listener, applicationEvent);
+                } catch (TaskRejectedException e) {
+                    log.warn("OutboxRelay::dispatch,listener executor saturated,outboxEventId={},eventType={},listener={}",
+                            outboxEvent.getId(), outboxEvent.getEventType(), listenerId);
+                    outboxEventRepository.release(List.of(outboxEvent.getId()));
+                    return false;
+                } catch (Exception e) {
+                    log.error("OutboxRelay::dispatch,listener failed,outboxEventId={},eventType={},listener={},attempts={},ex={}",
+                            outboxEvent.getId(), outboxEvent.getEventType(), listenerId, outboxEvent.getAttempts(), e, e);
+                    failure = e;
+                    continue;
+                }
+                outboxEventRepository.markDelivered(outboxEvent.getId(), listenerId);
+            }
+            if (failure != null) {
+                markFailed(outboxEvent, failure);
+            } else {
+                outboxEventRepository.deleteAllByIdInBatch(List.of(outboxEvent.getId()));
+            }
+        } catch (Exception e) {
+            log.error("OutboxRelay::dispatch,dispatch failed,outboxEventId={},eventType={},attempts={},ex={}",
+                    outboxEvent.getId(), outboxEvent.getEventType(), outboxEvent.getAttempts(), e, e);
+            markFailed(outboxEvent, e);
+        }
+        return true;
+    }
+
+    private void deliver(ApplicationListener<ApplicationEvent> listener, ApplicationEvent applicationEvent) throws Exception {
+        if (!(listener instanceof AsyncListenerMethodAdapter asyncListener)) {
+            listener.onApplicationEvent(applicationEvent);
+            return;
+        }
+        try {
+            asyncListener.submit(applicationEvent).get(leaseMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof Exception cause ? cause : e;
+        }
+    }
+
+    private ModuleEvent toModuleEvent(OutboxEvent outboxEvent) throws Exception {
+        return objectMapper.readValue(outboxEvent.getPayload(), resolveEventType(outboxEvent.getEventType()));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Class<? extends ModuleEvent> resolveEventType(String eventType) {
+        return eventTypes.computeIfAbsent(eventType, type -> {
+            try {
+                var eventClass = Class.forName(type);
+                if (!ModuleEvent.class.isAssignableFrom(eventClass)) {
+                    throw new IllegalStateException("Outbox event type is not a ModuleEvent,type=" + type);
+                }
+                return (Class<? extends ModuleEvent>) eventClass;
+            } catch (ClassNotFoundException e) {
+                throw new IllegalStateException("Unknown outbox event type,type=" + type, e);
+            }
+        });
+    }
+
+    /**
+     * The listeners the {@code ApplicationEventPublisher} would invoke for the event type, in the same order.
+     */
+    @SuppressWarnings("unchecked")
+    private List<ApplicationListener<ApplicationEvent>> listenersOf(Class<? extends ModuleEvent> eventClass) {
+        return eventListeners.computeIfAbsent(eventClass, type -> {
+            var eventType = ResolvableType.forClassWithGenerics(PayloadApplicationEvent.class, type);
+            var candidates = new LinkedHashSet<ApplicationListener<?>>(
+                    ((AbstractApplicationContext) applicationContext).getApplicationListeners());
+            candidates.addAll(applicationContext.getBeansOfType(ApplicationListener.class, false, false).values());
+            var listeners = new ArrayList<ApplicationListener<ApplicationEvent>>();
+            for (var candidate : candidates) {
+                var listener = candidate instanceof GenericApplicationListener genericListener
+                        ? genericListener : new GenericApplicationListenerAdapter(candidate);
+                if (listener.supportsEventType(eventType) && listener.supportsSourceType(OutboxRelay.class)) {
+                    listeners.add((ApplicationListener<ApplicationEvent>) candidate);
+                }
+            }
+            AnnotationAwareOrderComparator.sort(listeners);
+            return List.copyOf(listeners);
+        });
+    }
+
+    private static String listenerIdOf(ApplicationListener<?> listener) {
+        if (listener instanceof SmartApplicationListener smartListener && !smartListener.getListenerId().isEmpty()) {
+            return smartListener.getListenerId();
+        }
+        return listener.getClass().getName();
+    }
+
+    private void markFailed(OutboxEvent outboxEvent, Exception e) {
+        var attempts = outboxEvent.getAttempts() + 1;
+        var backoff = Duration.ofSeconds(1L << Math.min(attempts, 16));
+        var error = String.valueOf(e);
+        outboxEventRepository.markFailed(outboxEvent.getId(),
+                error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error,
+                Instant.now().plus(backoff.compareTo(MAX_BACKOFF) > 0 ? MAX_BACKOFF : backoff));
+    }
+}
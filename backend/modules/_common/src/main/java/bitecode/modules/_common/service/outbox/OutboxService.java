@@ -0,0 +1,48 @@
+package bitecode.modules._common.service.outbox;
+
+import bitecode.modules._common.model.event.ModuleEvent;
+import bitecode.modules._common.service.outbox.model.entity.OutboxEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+
+/**
+ * Durable replacement for publishing {@link ModuleEvent}s straight through the {@code ApplicationEventPublisher}.
+ *
+ * <p>Events are written to the {@code common.outbox_event} table in the caller's transaction, so they are
+ * stored if and only if the state change that produced them commits. The {@link OutboxRelay} dispatches them
+ * to the application listeners afterwards, outside the writer's transaction.</p>
+ */
+@Service
+@RequiredArgsConstructor
+public class OutboxService {
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxRelay outboxRelay;
+    private final ObjectMapper objectMapper;
+
+    @Transactional
+    public void publish(ModuleEvent event) {
+        try {
+            outboxEventRepository.save(OutboxEvent.builder()
+                    .eventType(event.getClass().getName())
+                    .orderingKey(event.orderingKey())
+                    .payload(objectMapper.writeValueAsString(event))
+                    .availableAt(Instant.now())
+                    .build());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize module event,event=" + event, e);
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                outboxRelay.trigger();
+            }
+        });
+    }
+}
@@ -0,0 +1,30 @@
+package bitecode.modules._common.service.outbox.model.entity;
+
+import bitecode.modules._common.model.entity.BaseEntity;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.Instant;
+
+@Entity
+@Getter
+@Setter
+@ToString
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Table(schema = "common")
+public class OutboxEvent extends BaseEntity {
+    private String eventType;
+    private String orderingKey;
+    @JdbcTypeCode(SqlTypes.JSON)
+    private String payload;
+    private int attempts;
+    private String lastError;
+    private Instant availableAt;
+    @Builder.Default
+    private String[] deliveredListeners = new String[0];
+}
@@ -0,0 +1,63 @@
+package bitecode.modules._common.service.pagination;
+
+import bitecode.modules._common.service.cache.CachePolicy;
+import bitecode.modules._common.service.cache.CacheRef;
+import bitecode.modules._common.service.cache.CacheService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Replaces exact {@code count(*)} queries of unfiltered listings over large tables by the planner estimate
+ * ({@code pg_class.reltuples}), which is read in constant time. Estimates are cached for a minute.
+ */
+@Component
+public class RowCountEstimator {
+    private final JdbcTemplate jdbcTemplate;
+    private final CacheRef<String, Long> estimates;
+    private final long estimateThreshold;
+
+    public RowCountEstimator(JdbcTemplate jdbcTemplate, CacheService cacheService,
+                             @Value("${PAGINATION_COUNT_ESTIMATE_THRESHOLD:100000}") long estimateThreshold) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.estimateThreshold = estimateThreshold;
+        this.estimates = cacheService.createCache("ROW_COUNT_ESTIMATES", CachePolicy.<String, Long>builder()
+                .maximumSize(1000L)
+                .expireAfterWrite(Duration.ofMinutes(1))
+                .replicated(false)
+                .build());
+    }
+
+    /**
+     * Returns the estimate of the table when the listing is not filtered and the table is larger than
+     * {@code PAGINATION_COUNT_ESTIMATE_THRESHOLD}, the exact count otherwise.
+     *
+     * @param table    schema qualified table name, e.g. {@code transaction.transaction}
+     * @param filtered whether the listing has any predicate, in which case the table estimate does not apply
+     */
+    public long countOrEstimate(String table, boolean filtered, Supplier<Long> exactCount) {
+        if (!filtered) {
+            var estimate = estimate(table);
+            if (estimate >= estimateThreshold) {
+                return estimate;
+            }
+        }
+        var count = exactCount.get();
+        return count != null ? count : 0;
+    }
+
+    /**
+     * Planner estimate of the number of rows, or {@code -1} if the table was never analyzed.
+     */
+    public long estimate(String table) {
+        return estimates.get(table).orElseGet(() -> {
+            var estimate = jdbcTemplate.queryForObject("SELECT reltuples::bigint FROM pg_class WHERE oid = ?::regclass", Long.class, table);
+            var result = estimate != null ? estimate : -1L;
+            estimates.put(table, result);
+            return result;
+        });
+    }
+}
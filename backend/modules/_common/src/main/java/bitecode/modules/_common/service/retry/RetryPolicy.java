@@ -0,0 +1,81 @@
+package bitecode.modules._common.service.retry;
+
+import io.micrometer.core.instrument.Counter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Bounded retry of an action failing with a transient exception, e.g. an optimistic locking conflict. Attempts are
+ * separated by a random ("full jitter") delay in {@code [0, min(maxDelay, baseDelay * 2^attempt)]}, so writers which
+ * conflicted once do not retry in lockstep and conflict again.
+ *
+ * <p>Every attempt must be self-contained (its own transaction). Create instances with
+ * {@link RetryService#createPolicy(String, Class)}.</p>
+ */
+@Slf4j
+public class RetryPolicy {
+    private final String name;
+    private final Class<? extends RuntimeException> retryOn;
+    private final int maxAttempts;
+    private final long baseDelayNanos;
+    private final long maxDelayNanos;
+    private final Counter retries;
+    private final Counter exhausted;
+
+    RetryPolicy(String name, Class<? extends RuntimeException> retryOn, int maxAttempts, Duration baseDelay,
+                Duration maxDelay, Counter retries, Counter exhausted) {
+        this.name = name;
+        this.retryOn = retryOn;
+        this.maxAttempts = maxAttempts;
+        this.baseDelayNanos = baseDelay.toNanos();
+        this.maxDelayNanos = maxDelay.toNanos();
+        this.retries = retries;
+        this.exhausted = exhausted;
+    }
+
+    /**
+     * Runs the action until it succeeds, fails with an exception which is not retryable or runs out of attempts;
+     * the last exception is rethrown as it is.
+     */
+    public <T> T execute(Supplier<T> action) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return action.get();
+            } catch (RuntimeException e) {
+                if (!retryOn.isInstance(e)) {
+                    throw e;
+                }
+                if (attempt >= maxAttempts) {
+                    exhausted.increment();
+                    log.warn("RetryPolicy::execute,attempts exhausted,name={},attempts={},ex={}", name, attempt, e.getMessage());
+                    throw e;
+                }
+                retries.increment();
+                if (log.isDebugEnabled()) {
+                    log.debug("RetryPolicy::execute,retrying,name={},attempt={},ex={}", name, attempt, e.getMessage());
+                }
+                if (!sleep(backoffNanos(attempt))) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    long backoffNanos(int attempt) {
+        var ceiling = Math.min(maxDelayNanos, baseDelayNanos << Math.min(attempt, 20));
+        return ceiling <= 0 ? 0 : ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    private static boolean sleep(long nanos) {
+        try {
+            Thread.sleep(Duration.ofNanos(nanos));
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
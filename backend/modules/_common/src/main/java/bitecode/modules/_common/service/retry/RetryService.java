@@ -0,0 +1,43 @@
+package bitecode.modules._common.service.retry;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+
+/**
+ * Factory of {@link RetryPolicy}s. Every policy counts its retries ({@code retry.attempts}) and the calls which failed
+ * after the last attempt ({@code retry.exhausted}), tagged with the policy name.
+ */
+@Service
+@RequiredArgsConstructor
+public class RetryService {
+    private final MeterRegistry meterRegistry;
+    @Value("${RETRY_MAX_ATTEMPTS:5}")
+    private int defaultMaxAttempts;
+    @Value("${RETRY_BASE_DELAY_MS:10}")
+    private long defaultBaseDelayMs;
+    @Value("${RETRY_MAX_DELAY_MS:200}")
+    private long defaultMaxDelayMs;
+
+    public RetryPolicy createPolicy(String name, Class<? extends RuntimeException> retryOn) {
+        return createPolicy(name, retryOn, defaultMaxAttempts,
+                Duration.ofMillis(defaultBaseDelayMs), Duration.ofMillis(defaultMaxDelayMs));
+    }
+
+    public RetryPolicy createPolicy(String name, Class<? extends RuntimeException> retryOn, int maxAttempts,
+                                   Duration baseDelay, Duration maxDelay) {
+        return new RetryPolicy(name, retryOn, maxAttempts, baseDelay, maxDelay,
+                Counter.builder("retry.attempts")
+                        .description("Attempts repeated after a retryable failure")
+                        .tag("name", name)
+                        .register(meterRegistry),
+                Counter.builder("retry.exhausted")
+                        .description("Calls which still failed after the last attempt")
+                        .tag("name", name)
+                        .register(meterRegistry));
+    }
+}
@@ -0,0 +1,25 @@
+package bitecode.modules._common.service.startup;
+
+import bitecode.modules._common.model.annotation.AdminAccess;
+import bitecode.modules._common.service.startup.model.StartupTimelineDetails;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.client.HttpClientErrorException;
+
+@RestController
+@RequestMapping("/admin/startup")
+@AdminAccess
+@RequiredArgsConstructor
+public class AdminStartupController {
+    private final StartupTimelineService startupTimelineService;
+
+    @GetMapping
+    public StartupTimelineDetails getStartupTimeline(@RequestParam(defaultValue = "50") int limit) {
+        return startupTimelineService.getTimeline(limit)
+                .orElseThrow(() -> new HttpClientErrorException(HttpStatus.NOT_FOUND, "Startup timeline is not recorded"));
+    }
+}
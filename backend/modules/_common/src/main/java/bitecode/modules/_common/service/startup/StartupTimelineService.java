@@ -0,0 +1,64 @@
+package bitecode.modules._common.service.startup;
+
+import bitecode.modules._common.service.startup.model.BeanStartupStep;
+import bitecode.modules._common.service.startup.model.StartupTimelineDetails;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Optional;
+
+/**
+ * Reads the startup steps recorded by the {@link BufferingApplicationStartup} set up in the application main class.
+ * The buffer is not drained, so the timeline can be read any number of times.
+ */
+@Service
+@RequiredArgsConstructor
+public class StartupTimelineService {
+    private static final String BEAN_INSTANTIATION_STEP = "spring.beans.instantiate";
+    private static final String BEAN_NAME_TAG = "beanName";
+
+    private final ApplicationStartup applicationStartup;
+
+    public Optional<StartupTimelineDetails> getTimeline(int limit) {
+        if (!(applicationStartup instanceof BufferingApplicationStartup bufferingStartup)) {
+            return Optional.empty();
+        }
+        var timeline = bufferingStartup.getBufferedTimeline();
+        var events = timeline.getEvents();
+
+        var nestedDurations = new HashMap<Long, Duration>();
+        for (var event : events) {
+            var parentId = event.getStartupStep().getParentId();
+            if (parentId != null) {
+                nestedDurations.merge(parentId, event.getDuration(), Duration::plus);
+            }
+        }
+
+        var slowestBeans = events.stream()
+                .filter(event -> BEAN_INSTANTIATION_STEP.equals(event.getStartupStep().getName()))
+                .map(event -> new BeanStartupStep(
+                        beanNameOf(event.getStartupStep()),
+                        event.getDuration().toMillis(),
+                        event.getDuration().minus(nestedDurations.getOrDefault(event.getStartupStep().getId(), Duration.ZERO)).toMillis()))
+                .sorted(Comparator.comparingLong(BeanStartupStep::selfDurationMs).reversed())
+                .limit(limit)
+                .toList();
+
+        return Optional.of(new StartupTimelineDetails(timeline.getStartTime(), events.size(), slowestBeans));
+    }
+
+    private static String beanNameOf(StartupStep step) {
+        for (var tag : step.getTags()) {
+            if (BEAN_NAME_TAG.equals(tag.getKey())) {
+                return tag.getValue();
+            }
+        }
+        return step.getName();
+    }
+}
@@ -0,0 +1,12 @@
+package bitecode.modules._common.service.startup.model;
+
+/**
+ * @param durationMs     time spent instantiating the bean, including its dependencies created on the way
+ * @param selfDurationMs {@code durationMs} without the nested startup steps
+ */
+public record BeanStartupStep(
+        String beanName,
+        long durationMs,
+        long selfDurationMs
+) {
+}
@@ -0,0 +1,11 @@
+package bitecode.modules._common.service.startup.model;
+
+import java.time.Instant;
+import java.util.List;
+
+public record StartupTimelineDetails(
+        Instant startTime,
+        int recordedSteps,
+        List<BeanStartupStep> slowestBeans
+) {
+}
@@ -22,4 +22,8 @@ public record PaymentCreatedEvent(
         @NotNull PaymentType type,
         @NotNull PaymentGateway gateway
 ) implements ModuleEvent {
+    @Override
+    public String orderingKey() {
+        return "payment:" + paymentId;
+    }
 }
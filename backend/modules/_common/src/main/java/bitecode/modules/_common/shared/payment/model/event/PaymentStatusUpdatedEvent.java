@@ -13,4 +13,8 @@ public record PaymentStatusUpdatedEvent(
         PaymentStatus newStatus,
         PaymentStatus oldStatus
 ) implements ModuleEvent {
+    @Override
+    public String orderingKey() {
+        return "payment:" + paymentId;
+    }
 }
@@ -26,4 +26,8 @@ public record TransactionCreatedEvent(
         String creditCurrency,
         String creditReferenceId
 ) implements ModuleEvent {
+    @Override
+    public String orderingKey() {
+        return "transaction:" + uuid;
+    }
 }
@@ -17,4 +17,8 @@ public record TransactionStatusUpdatedEvent(
         String creditReferenceId,
         String debitReferenceId
 ) implements ModuleEvent {
+    @Override
+    public String orderingKey() {
+        return "transaction:" + uuid;
+    }
 }
@@ -3,30 +3,80 @@ package bitecode.modules._common.util;
 import com.querydsl.core.types.Expression;
 import com.querydsl.core.types.Order;
 import com.querydsl.core.types.OrderSpecifier;
+import com.querydsl.core.types.dsl.DateTimePath;
 import com.querydsl.core.types.dsl.EntityPathBase;
+import com.querydsl.core.types.dsl.NumberPath;
 import com.querydsl.core.types.dsl.PathBuilder;
 import com.querydsl.jpa.impl.JPAQuery;
+import bitecode.modules._common.model.data.SeekPage;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.support.PageableExecutionUtils;
 
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 public class QueryDslUtils {
 
+    /**
+     * Fetches the requested page and counts the total elements only when it cannot be deduced from the page itself,
+     * i.e. the count query is skipped on a first page that is not full and on the last page.
+     */
     public static <T> Page<T> applyPagination(JPAQuery<T> contentQuery, Supplier<Long> countSupplier, Pageable pageable) {
         List<T> content = contentQuery
                 .offset(pageable.getOffset())
                 .limit(pageable.getPageSize())
                 .fetch();
 
-        long total = countSupplier.get();
+        return PageableExecutionUtils.getPage(content, pageable, () -> {
+            var total = countSupplier.get();
+            return total != null ? total : 0;
+        });
+    }
+
+    /**
+     * Keyset pagination on {@code (createdDate, id)}, newest first. Unlike offset pagination, the cost of a page does
+     * not grow with its position, and no count query is run.
+     *
+     * @param contentQuery query with its predicates applied, without ordering, offset or limit
+     * @param cursor       token returned as {@link SeekPage#nextCursor()} of the previous page, {@code null} for the first page
+     * @param cursorOf     extracts the position of an element of the content
+     */
+    public static <T> SeekPage<T> applySeekPagination(JPAQuery<T> contentQuery, DateTimePath<Instant> createdDate, NumberPath<Long> id,
+                                                      String cursor, int size, Function<T, SeekCursor> cursorOf) {
+        if (cursor != null && !cursor.isBlank()) {
+            var position = SeekCursor.decode(cursor);
+            contentQuery.where(createdDate.lt(position.createdDate())
+                    .or(createdDate.eq(position.createdDate()).and(id.lt(position.id()))));
+        }
+        var content = contentQuery
+                .orderBy(createdDate.desc(), id.desc())
+                .limit(size + 1L)
+                .fetch();
+
+        if (content.size() <= size) {
+            return new SeekPage<>(content, size, null);
+        }
+        var pageContent = content.subList(0, size);
+        return new SeekPage<>(List.copyOf(pageContent), size, cursorOf.apply(pageContent.getLast()).encode());
+    }
 
-        return new PageImpl<>(content, pageable, total);
+    /**
+     * Streams the results through a server side cursor reading {@code fetchSize} rows at a time. The returned stream
+     * must be consumed and closed within a transaction. Entities are loaded read only, so they are not dirty checked.
+     */
+    public static <T> Stream<T> stream(JPAQuery<T> query, int fetchSize) {
+        return query
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .stream();
     }
 
     // It works only with EntityClasses
@@ -0,0 +1,30 @@
+package bitecode.modules._common.util;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Position of a keyset pagination on {@code (createdDate, id)}, exchanged with clients as an opaque token.
+ */
+public record SeekCursor(Instant createdDate, long id) {
+    private static final char SEPARATOR = '|';
+
+    public String encode() {
+        var raw = createdDate.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static SeekCursor decode(String cursor) {
+        try {
+            var raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            var separatorIndex = raw.lastIndexOf(SEPARATOR);
+            return new SeekCursor(Instant.parse(raw.substring(0, separatorIndex)), Long.parseLong(raw.substring(separatorIndex + 1)));
+        } catch (RuntimeException e) {
+            throw new HttpClientErrorException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package bitecode.modules._common.util;
+
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class UuidUtils {
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final int COUNTER_BITS = 12;
+    private static final long COUNTER_MASK = (1L << COUNTER_BITS) - 1;
+    private static final long VERSION_7 = 0x7000L;
+    private static final long VARIANT_MASK = 0x3FFFFFFFFFFFFFFFL;
+    private static final long VARIANT_RFC_9562 = 0x8000000000000000L;
+
+    // unix millis << 12 | counter of the last generated value
+    private static final AtomicLong lastTimestamp = new AtomicLong();
+
+    /**
+     * UUIDv7 (RFC 9562): 48 bits of unix millis, a 12 bit counter for values generated within the same millisecond
+     * and 62 random bits. Values generated by this JVM are strictly increasing (the counter overflows into the
+     * timestamp), so inserts into uuid indexes append to the right of the B-tree instead of scattering over it.
+     * <p>
+     * The random part keeps them as hard to guess as v4 values; only the creation time is disclosed.
+     */
+    public static UUID timeOrdered() {
+        long timestamp = nextTimestamp();
+        long msb = (timestamp >>> COUNTER_BITS) << 16 | VERSION_7 | (timestamp & COUNTER_MASK);
+        long lsb = RANDOM.nextLong() & VARIANT_MASK | VARIANT_RFC_9562;
+        return new UUID(msb, lsb);
+    }
+
+    /**
+     * Creation time of a {@link #timeOrdered()} value, empty for other versions, e.g. random v4 ids of older rows.
+     */
+    public static Optional<Instant> timestampOf(UUID uuid) {
+        if (uuid.version() != 7) {
+            return Optional.empty();
+        }
+        return Optional.of(Instant.ofEpochMilli(uuid.getMostSignificantBits() >>> 16));
+    }
+
+    private static long nextTimestamp() {
+        long now = System.currentTimeMillis() << COUNTER_BITS;
+        while (true) {
+            long last = lastTimestamp.get();
+            long next = Math.max(now, last + 1);
+            if (lastTimestamp.compareAndSet(last, next)) {
+                return next;
+            }
+        }
+    }
+}
@@ -0,0 +1,14 @@
+DROP TABLE IF EXISTS outbox_event;
+CREATE TABLE outbox_event
+(
+    id           BIGSERIAL PRIMARY KEY,
+    event_type   VARCHAR(255)             NOT NULL,
+    payload      JSONB                    NOT NULL,
+    attempts     INTEGER                  NOT NULL DEFAULT 0,
+    last_error   TEXT,
+    available_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    created_date TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_date TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_outbox_event_available_at ON outbox_event (available_at, id);
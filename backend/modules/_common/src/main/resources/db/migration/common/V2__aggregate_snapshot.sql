@@ -0,0 +1,14 @@
+DROP TABLE IF EXISTS aggregate_snapshot;
+CREATE TABLE aggregate_snapshot
+(
+    id             BIGSERIAL PRIMARY KEY,
+    aggregate_type VARCHAR(64)              NOT NULL,
+    aggregate_id   BIGINT                   NOT NULL,
+    last_event_id  BIGINT                   NOT NULL,
+    event_count    BIGINT                   NOT NULL,
+    state          JSONB                    NOT NULL,
+    created_date   TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_date   TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    UNIQUE (aggregate_type, aggregate_id)
+);
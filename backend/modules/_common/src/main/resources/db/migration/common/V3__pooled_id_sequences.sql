@@ -0,0 +1,3 @@
+-- ids are allocated by Hibernate in pooled blocks of 50 (TableSequenceIdGenerator), sequences must increment by the same
+ALTER SEQUENCE outbox_event_id_seq INCREMENT BY 50;
+ALTER SEQUENCE aggregate_snapshot_id_seq INCREMENT BY 50;
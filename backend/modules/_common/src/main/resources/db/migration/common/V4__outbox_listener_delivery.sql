@@ -0,0 +1,2 @@
+-- listeners an outbox event was already delivered to, so a retry only re-delivers to the listeners that failed
+ALTER TABLE outbox_event ADD COLUMN delivered_listeners TEXT[] NOT NULL DEFAULT '{}';
@@ -0,0 +1,4 @@
+-- events are replayed in sequence number order instead of id order; snapshots cut by id may have skipped events
+-- written with a lower pooled id, they are dropped and rebuilt on the next replay
+DELETE FROM aggregate_snapshot;
+ALTER TABLE aggregate_snapshot RENAME COLUMN last_event_id TO last_sequence_number;
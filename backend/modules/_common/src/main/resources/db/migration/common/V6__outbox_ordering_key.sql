@@ -0,0 +1,9 @@
+-- events with an ordering key are only claimed once no older event with the same key is left in the table; pooled ids
+-- do not follow the write order, the sequence number does. Existing rows have no key. The table only holds pending
+-- events, so building the index is short.
+ALTER TABLE outbox_event ADD COLUMN ordering_key VARCHAR(255);
+ALTER TABLE outbox_event ADD COLUMN sequence_number BIGINT;
+CREATE SEQUENCE outbox_event_sequence_number_seq OWNED BY outbox_event.sequence_number;
+ALTER TABLE outbox_event ALTER COLUMN sequence_number SET DEFAULT nextval('outbox_event_sequence_number_seq');
+
+CREATE INDEX outbox_event_ordering_key_idx ON outbox_event (ordering_key, sequence_number) WHERE ordering_key IS NOT NULL;
@@ -0,0 +1,146 @@
+package bitecode.modules._common.eventsourcing.codec;
+
+import bitecode.modules._common.eventsourcing.config.EventVersion;
+import bitecode.modules._common.eventsourcing.model.Command;
+import bitecode.modules._common.eventsourcing.model.CommandEventEntity;
+import bitecode.modules._common.eventsourcing.upcast.EventUpcasterChain;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class EventPayloadCodecsTest {
+    private final List<EventPayloadCodec> codecs = List.of(new JsonEventPayloadCodec(), new SmileEventPayloadCodec(),
+            new CborEventPayloadCodec());
+
+    @ParameterizedTest
+    @ValueSource(strings = {JsonEventPayloadCodec.NAME, SmileEventPayloadCodec.NAME, CborEventPayloadCodec.NAME})
+    public void shouldRoundTripCommand(String codecName) {
+        // given
+        var eventPayloadCodecs = eventPayloadCodecs(codecName);
+        var command = CodecTestCommand.sample();
+        var event = new TestEvent(command);
+
+        // when
+        eventPayloadCodecs.encode(event);
+        var loaded = load(event);
+        eventPayloadCodecs.decode(loaded);
+
+        // then
+        assertThat(loaded.getEventData(), equalTo(command));
+        if (codecName.equals(JsonEventPayloadCodec.NAME)) {
+            assertThat(event.getEventDataJson(), containsString("\"@class\""));
+            assertThat(event.getEventDataBinary(), is(nullValue()));
+        } else {
+            assertThat(event.getEventDataJson(), is(nullValue()));
+            assertThat(event.getEventDataBinary().length, greaterThan(0));
+        }
+    }
+
+    @Test
+    public void shouldDecodeMixedFormatRowsWithAnyWriteCodec() {
+        // given
+        var commands = List.of(CodecTestCommand.sample(), CodecTestCommand.sample(), CodecTestCommand.sample());
+        var rows = List.of(
+                encoded(JsonEventPayloadCodec.NAME, commands.get(0)),
+                encoded(SmileEventPayloadCodec.NAME, commands.get(1)),
+                encoded(CborEventPayloadCodec.NAME, commands.get(2)));
+
+        for (var writeCodecName : List.of(JsonEventPayloadCodec.NAME, SmileEventPayloadCodec.NAME, CborEventPayloadCodec.NAME)) {
+            var eventPayloadCodecs = eventPayloadCodecs(writeCodecName);
+
+            // when
+            var loaded = rows.stream().map(EventPayloadCodecsTest::load).toList();
+            loaded.forEach(eventPayloadCodecs::decode);
+
+            // then
+            assertThat(loaded.stream().map(CommandEventEntity::getEventData).toList(), equalTo(commands));
+        }
+    }
+
+    @Test
+    public void shouldTellBinaryFormatsApartByHeader() {
+        // given
+        var command = CodecTestCommand.sample();
+
+        for (var writer : codecs) {
+            // when
+            var payload = writer.encode(command);
+
+            // then
+            for (var reader : codecs) {
+                assertThat(writer.name() + " read by " + reader.name(), reader.canDecode(payload), is(reader == writer));
+            }
+            assertThat(writer.peekTypeId(payload), endsWith("_v1"));
+        }
+    }
+
+    @Test
+    public void shouldRejectUnknownBinaryPayload() {
+        // given
+        var eventPayloadCodecs = eventPayloadCodecs(JsonEventPayloadCodec.NAME);
+        var event = new TestEvent(null);
+        event.setEventDataBinary(new byte[]{1, 2, 3});
+
+        // when, then
+        assertThrows(IllegalStateException.class, () -> eventPayloadCodecs.decode(event));
+    }
+
+    @Test
+    public void shouldRejectUnknownWriteCodec() {
+        assertThrows(IllegalStateException.class, () -> eventPayloadCodecs("xml"));
+    }
+
+    private EventPayloadCodecs eventPayloadCodecs(String writeCodecName) {
+        return new EventPayloadCodecs(codecs, new EventUpcasterChain(List.of()), writeCodecName);
+    }
+
+    private TestEvent encoded(String codecName, Command command) {
+        var event = new TestEvent(command);
+        eventPayloadCodecs(codecName).encode(event);
+        return event;
+    }
+
+    /**
+     * A row as Hibernate loads it: only the payload columns are set.
+     */
+    private static TestEvent load(TestEvent event) {
+        var loaded = new TestEvent(null);
+        loaded.setEventDataJson(event.getEventDataJson());
+        loaded.setEventDataBinary(event.getEventDataBinary());
+        return loaded;
+    }
+
+    private static class TestEvent extends CommandEventEntity {
+        private TestEvent(Command eventData) {
+            super(eventData);
+        }
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EventVersion("v1")
+    public static class CodecTestCommand implements Command {
+        private UUID uuid;
+        private String userId;
+        private BigDecimal amount;
+        private Instant createdAt;
+
+        public static CodecTestCommand sample() {
+            return new CodecTestCommand(UUID.randomUUID(), UUID.randomUUID().toString(), new BigDecimal("1250.75"),
+                    Instant.parse("2026-01-01T10:15:30Z"));
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package bitecode.modules._common.eventsourcing.model;
+
+import bitecode.modules._common.eventsourcing.exception.UnappliedCommandException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class GenericCommandHandlerTest {
+    private static final long FLUSH_MILLIS = 50;
+
+    private final List<String> repositoryCalls = new CopyOnWriteArrayList<>();
+    private SimpleMeterRegistry meterRegistry;
+    private TestGenericCommandHandler commandHandler;
+
+    @BeforeEach
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        commandHandler = new TestGenericCommandHandler(eventRepository());
+        commandHandler.setCommandMetrics(meterRegistry);
+    }
+
+    @Test
+    public void shouldTimeEveryPhaseAndFlushWithinPersist() {
+        // when
+        var result = commandHandler.handle(new TestCommand("value", false));
+
+        // then
+        assertThat(result.orElseThrow(), is("VALUE"));
+        assertThat(repositoryCalls, contains("save", "flush"));
+        for (var phase : CommandMetrics.Phase.values()) {
+            assertThat(phaseCount(phase), is(1L));
+        }
+        assertThat(phaseTimeMillis(CommandMetrics.Phase.PERSIST), is(greaterThanOrEqualTo((double) FLUSH_MILLIS)));
+    }
+
+    @Test
+    public void shouldCountUnappliedCommandByReason() {
+        // when
+        assertThrows(UnappliedCommandException.class, () -> commandHandler.handle(new TestCommand("value", true)));
+
+        // then
+        assertThat(meterRegistry.get("command.unapplied")
+                .tags("command", "TestCommand", "reason", "INSUFFICIENT_FUNDS")
+                .counter().count(), is(1.0));
+        assertThat(phaseCount(CommandMetrics.Phase.PRE_HANDLE), is(1L));
+        assertThat(phaseCount(CommandMetrics.Phase.PERSIST), is(0L));
+        assertThat(repositoryCalls, is(empty()));
+    }
+
+    @Test
+    public void shouldTimeBatchPhasesPerCommandAndPersistOnce() {
+        // when
+        var results = commandHandler.handleAll(List.of(new TestCommand("first", false), new TestCommand("second", false)));
+
+        // then
+        assertThat(results, contains("FIRST", "SECOND"));
+        assertThat(repositoryCalls, contains("saveAll", "flush"));
+        assertThat(phaseCount(CommandMetrics.Phase.HANDLE), is(2L));
+        assertThat(phaseCount(CommandMetrics.Phase.PUBLISH), is(2L));
+        assertThat(phaseCount(CommandMetrics.Phase.PERSIST), is(1L));
+        assertThat(phaseTimeMillis(CommandMetrics.Phase.PERSIST), is(greaterThanOrEqualTo((double) FLUSH_MILLIS)));
+    }
+
+    @Test
+    public void shouldCountUnappliedBatchCommandAndSkipPersist() {
+        // when
+        assertThrows(UnappliedCommandException.class, () -> commandHandler.handleAll(
+                List.of(new TestCommand("first", false), new TestCommand("second", true))));
+
+        // then
+        assertThat(meterRegistry.get("command.unapplied").tag("reason", "INSUFFICIENT_FUNDS").counter().count(), is(1.0));
+        assertThat(phaseCount(CommandMetrics.Phase.PERSIST), is(0L));
+        assertThat(repositoryCalls, is(empty()));
+    }
+
+    private long phaseCount(CommandMetrics.Phase phase) {
+        return meterRegistry.get("command.handle.phase")
+                .tags("command", "TestCommand", "phase", phase.name().toLowerCase())
+                .timer().count();
+    }
+
+    private double phaseTimeMillis(CommandMetrics.Phase phase) {
+        return meterRegistry.get("command.handle.phase")
+                .tags("command", "TestCommand", "phase", phase.name().toLowerCase())
+                .timer().totalTime(TimeUnit.MILLISECONDS);
+    }
+
+    @SuppressWarnings("unchecked")
+    private JpaRepository<TestEventEntity, Long> eventRepository() {
+        return (JpaRepository<TestEventEntity, Long>) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{JpaRepository.class}, (proxy, method, args) -> {
+                    repositoryCalls.add(method.getName());
+                    return switch (method.getName()) {
+                        case "save", "saveAll" -> args[0];
+                        case "flush" -> {
+                            Thread.sleep(FLUSH_MILLIS);
+                            yield null;
+                        }
+                        default -> throw new UnsupportedOperationException(method.getName());
+                    };
+                });
+    }
+
+    record TestCommand(String value, boolean unapplied) implements Command {
+    }
+
+    record TestEventEntity(String value) implements Event {
+    }
+
+    static class TestCommandHandler extends AbstractCommandHandler<String, TestCommand> {
+        @Override
+        public String handle(TestCommand command, Map<String, Object> params) {
+            if (command.unapplied()) {
+                throw new UnappliedCommandException(UnappliedCommandException.Reason.INSUFFICIENT_FUNDS, "Not applied");
+            }
+            return command.value().toUpperCase();
+        }
+
+        @Override
+        public Class<TestCommand> getCommandClass() {
+            return TestCommand.class;
+        }
+    }
+
+    static class TestGenericCommandHandler
+            extends GenericCommandHandler<TestCommand, String, TestCommandHandler, TestEventEntity, String> {
+
+        TestGenericCommandHandler(JpaRepository<TestEventEntity, Long> eventRepository) {
+            super(List.of(new TestCommandHandler()), eventRepository, null);
+        }
+
+        @Override
+        protected Class<TestCommand> getGenericCommandTypeClass() {
+            return TestCommand.class;
+        }
+
+        @Override
+        protected TestEventEntity toEventEntity(TestCommand command, String entity, Map<String, Object> params) {
+            return new TestEventEntity(entity);
+        }
+
+        @Override
+        protected String toReturnType(String entity) {
+            return entity;
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package bitecode.modules._common.eventsourcing.upcast;
+
+import bitecode.modules._common.eventsourcing.codec.CborEventPayloadCodec;
+import bitecode.modules._common.eventsourcing.codec.EventPayloadCodecs;
+import bitecode.modules._common.eventsourcing.codec.JsonEventPayloadCodec;
+import bitecode.modules._common.eventsourcing.codec.SmileEventPayloadCodec;
+import bitecode.modules._common.eventsourcing.config.EventVersion;
+import bitecode.modules._common.eventsourcing.model.Command;
+import bitecode.modules._common.eventsourcing.model.CommandEventEntity;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class EventUpcasterChainTest {
+    private static final String TYPE = UpcastTestCommand.class.getName();
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    public void shouldUpcastThroughEveryStep() throws Exception {
+        // given
+        var chain = new EventUpcasterChain(List.of(renameReferenceIdUpcaster(), defaultCurrencyUpcaster()));
+        var payload = objectMapper.readTree("{\"@class\":\"" + TYPE + "_v1\",\"referenceId\":\"ref-1\"}");
+
+        // when
+        var upcast = chain.upcast(payload);
+
+        // then
+        assertThat(chain.requiresUpcast(TYPE + "_v1"), is(true));
+        assertThat(chain.requiresUpcast(TYPE + "_v3"), is(false));
+        assertThat(upcast.get("@class").asText(), is(TYPE + "_v3"));
+        assertThat(upcast.get("externalReferenceId").asText(), is("ref-1"));
+        assertThat(upcast.get("currency").asText(), is("EUR"));
+        assertThat(upcast.has("referenceId"), is(false));
+    }
+
+    @Test
+    public void shouldDecodeOldRowThroughTheCodecs() {
+        // given
+        var chain = new EventUpcasterChain(List.of(renameReferenceIdUpcaster(), defaultCurrencyUpcaster()));
+        var eventPayloadCodecs = new EventPayloadCodecs(List.of(new JsonEventPayloadCodec(), new SmileEventPayloadCodec(),
+                new CborEventPayloadCodec()), chain, JsonEventPayloadCodec.NAME);
+        var event = new TestEvent();
+        event.setEventDataJson("{\"referenceId\":\"ref-2\",\"@class\":\"" + TYPE + "_v1\"}");
+
+        // when
+        eventPayloadCodecs.decode(event);
+
+        // then
+        assertThat(event.getEventData(), equalTo(new UpcastTestCommand("ref-2", "EUR")));
+    }
+
+    @Test
+    public void shouldFailAtStartupOnMissingIntermediateUpcaster() {
+        // given
+        var upcasters = List.of(renameReferenceIdUpcaster());
+
+        // when
+        var exception = assertThrows(IllegalStateException.class, () -> new EventUpcasterChain(upcasters));
+
+        // then
+        assertThat(exception.getMessage(), containsString("missingVersion=v2"));
+    }
+
+    @Test
+    public void shouldFailAtStartupOnCycle() {
+        // given
+        var upcasters = List.of(upcaster("v1", "v2", UnaryOperator.identity()), upcaster("v2", "v1", UnaryOperator.identity()));
+
+        // when, then
+        assertThrows(IllegalStateException.class, () -> new EventUpcasterChain(upcasters));
+    }
+
+    @Test
+    public void shouldFailAtStartupOnUpcasterFromCurrentVersion() {
+        // given
+        var upcasters = List.of(renameReferenceIdUpcaster(), defaultCurrencyUpcaster(), upcaster("v3", "v4", UnaryOperator.identity()));
+
+        // when, then
+        assertThrows(IllegalStateException.class, () -> new EventUpcasterChain(upcasters));
+    }
+
+    @Test
+    public void shouldRejectPayloadVersionNotOnThePath() throws Exception {
+        // given
+        var chain = new EventUpcasterChain(List.of(renameReferenceIdUpcaster(), defaultCurrencyUpcaster()));
+        var payload = objectMapper.readTree("{\"@class\":\"" + TYPE + "_v4\"}");
+
+        // when
+        var exception = assertThrows(IllegalStateException.class, () -> chain.upcast(payload));
+
+        // then
+        assertThat(chain.requiresUpcast(TYPE + "_v4"), is(true));
+        assertThat(exception.getMessage(), containsString("version=v4"));
+    }
+
+    @Test
+    public void shouldPassThroughClassesWithoutUpcasters() throws Exception {
+        // given
+        var chain = new EventUpcasterChain(List.of());
+        var payload = objectMapper.readTree("{\"@class\":\"" + TYPE + "_v1\"}");
+
+        // when
+        var upcast = chain.upcast(payload);
+
+        // then
+        assertThat(chain.isEmpty(), is(true));
+        assertThat(chain.requiresUpcast(TYPE + "_v1"), is(false));
+        assertThat(upcast, sameInstance(payload));
+    }
+
+    private static EventUpcaster renameReferenceIdUpcaster() {
+        return upcaster("v1", "v2", payload -> {
+            payload.set("externalReferenceId", payload.remove("referenceId"));
+            return payload;
+        });
+    }
+
+    private static EventUpcaster defaultCurrencyUpcaster() {
+        return upcaster("v2", "v3", payload -> {
+            payload.remove("referenceId");
+            if (!payload.has("currency")) {
+                payload.put("currency", "EUR");
+            }
+            return payload;
+        });
+    }
+
+    private static EventUpcaster upcaster(String fromVersion, String toVersion, UnaryOperator<ObjectNode> upcast) {
+        return new EventUpcaster() {
+            @Override
+            public Class<? extends Command> eventType() {
+                return UpcastTestCommand.class;
+            }
+
+            @Override
+            public String fromVersion() {
+                return fromVersion;
+            }
+
+            @Override
+            public String toVersion() {
+                return toVersion;
+            }
+
+            @Override
+            public ObjectNode upcast(ObjectNode payload) {
+                return upcast.apply(payload);
+            }
+        };
+    }
+
+    private static class TestEvent extends CommandEventEntity {
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EventVersion("v3")
+    public static class UpcastTestCommand implements Command {
+        private String externalReferenceId;
+        private String currency;
+    }
+}
@@ -0,0 +1,53 @@
+package bitecode.modules._common.model.entity;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class UuidBaseEntityTest {
+
+    @Test
+    public void shouldAssignTimeOrderedUuidToNewEntityOnce() {
+        // given
+        var entity = new UuidTestEntity();
+
+        // when
+        var uuid = entity.getUuid();
+
+        // then
+        assertThat(uuid.version(), is(7));
+        assertThat(entity.getUuid(), is(uuid));
+    }
+
+    @Test
+    public void shouldKeepStoredUuid() {
+        // given
+        var storedUuid = UUID.randomUUID();
+        var entity = new UuidTestEntity();
+
+        // when
+        entity.setUuid(storedUuid);
+
+        // then
+        assertThat(entity.getUuid(), is(storedUuid));
+    }
+
+    @Test
+    public void shouldNotGenerateUuidWhenInstantiatedForLoading() throws Exception {
+        // given
+        var uuidField = UuidBaseEntity.class.getDeclaredField("uuid");
+        uuidField.setAccessible(true);
+
+        // when
+        var entity = new UuidTestEntity();
+
+        // then
+        assertThat(uuidField.get(entity), is(nullValue()));
+    }
+
+    private static class UuidTestEntity extends UuidBaseEntity {
+    }
+}
@@ -0,0 +1,31 @@
+package bitecode.modules._common.service.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class CacheServiceTest {
+
+    @Test
+    public void shouldRebindMetricsWhenCacheIsCreatedAgain() {
+        // given
+        var meterRegistry = new SimpleMeterRegistry();
+        var cacheService = new CacheService(null, new ObjectMapper(), meterRegistry, CacheService.MEMORY_PROVIDER, 100);
+        var replaced = cacheService.<String, String>createCache("rebind-test", CachePolicy.<String, String>builder().build());
+        replaced.put("old", "value");
+
+        // when
+        var cache = cacheService.<String, String>createCache("rebind-test", CachePolicy.<String, String>builder().build());
+        cache.put("first", "value");
+        cache.put("second", "value");
+
+        // then
+        var sizeGauges = meterRegistry.find("cache.size").tag("cache", "rebind-test").gauges();
+        assertThat(sizeGauges, hasSize(1));
+        assertThat(sizeGauges.iterator().next().value(), is(2.0));
+        assertThat(replaced.get("old").isPresent(), is(false));
+    }
+}
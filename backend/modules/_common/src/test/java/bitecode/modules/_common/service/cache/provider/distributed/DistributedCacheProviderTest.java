@@ -0,0 +1,84 @@
+package bitecode.modules._common.service.cache.provider.distributed;
+
+import bitecode.modules._common.BaseIntegrationTest;
+import bitecode.modules._common.service.cache.CachePolicy;
+import bitecode.modules._common.service.cache.provider.caffeine.CaffeineCacheProvider;
+import bitecode.modules._common.service.notification.PostgresNotificationBus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jdbc.JdbcConnectionDetails;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.awaitility.Awaitility.await;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class DistributedCacheProviderTest extends BaseIntegrationTest {
+    private static final String CACHE_NAME = "DISTRIBUTED_CODES_TEST";
+
+    @Autowired
+    JdbcConnectionDetails connectionDetails;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    private PostgresNotificationBus firstBus;
+    private PostgresNotificationBus secondBus;
+    private DistributedCacheProvider firstNode;
+    private DistributedCacheProvider secondNode;
+
+    @BeforeEach
+    public void setUp() {
+        firstBus = new PostgresNotificationBus(connectionDetails, jdbcTemplate);
+        secondBus = new PostgresNotificationBus(connectionDetails, jdbcTemplate);
+        firstNode = new DistributedCacheProvider(new CaffeineCacheProvider(100), firstBus, objectMapper);
+        secondNode = new DistributedCacheProvider(new CaffeineCacheProvider(100), secondBus, objectMapper);
+        var cachePolicy = CachePolicy.<String, String>builder().expireAfterWrite(Duration.ofMinutes(1)).build();
+        firstNode.createCache(CACHE_NAME, cachePolicy);
+        secondNode.createCache(CACHE_NAME, cachePolicy);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        firstBus.shutdown();
+        secondBus.shutdown();
+    }
+
+    @Test
+    public void shouldInvalidateConsumedCodeOnOtherNodes() {
+        // given
+        var code = UUID.randomUUID().toString();
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> {
+            firstNode.put(CACHE_NAME, code, "user@bitecode.test");
+            assertThat(secondNode.get(CACHE_NAME, code), is("user@bitecode.test"));
+        });
+
+        // when
+        var consumed = secondNode.getAndRemove(CACHE_NAME, code);
+
+        // then
+        assertThat(consumed, is("user@bitecode.test"));
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> assertThat(firstNode.get(CACHE_NAME, code), is(nullValue())));
+        assertThat(firstNode.getAndRemove(CACHE_NAME, code), is(nullValue()));
+    }
+
+    @Test
+    public void shouldInvalidateRemovedCodeOnOtherNodes() {
+        // given
+        var code = UUID.randomUUID().toString();
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> {
+            secondNode.put(CACHE_NAME, code, "123456");
+            assertThat(firstNode.get(CACHE_NAME, code), is("123456"));
+        });
+
+        // when
+        firstNode.remove(CACHE_NAME, code);
+
+        // then
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> assertThat(secondNode.get(CACHE_NAME, code), is(nullValue())));
+    }
+}
@@ -0,0 +1,137 @@
+package bitecode.modules._common.service.cache.provider.memory;
+
+import bitecode.modules._common.service.cache.CachePolicy;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class MemoryCacheProviderTest {
+    private static final String CACHE_NAME = "memory-test";
+
+    private final MemoryCacheProvider cacheProvider = new MemoryCacheProvider(100);
+
+    @Test
+    public void shouldEvictByWeight() {
+        // given
+        cacheProvider.createCache(CACHE_NAME, CachePolicy.<String, String>builder()
+                .maximumWeight(10L)
+                .weigher((key, value) -> value.length())
+                .build());
+
+        // when
+        cacheProvider.put(CACHE_NAME, "light", "x");
+        cacheProvider.put(CACHE_NAME, "heavy", "x".repeat(100));
+
+        // then
+        assertThat(cacheProvider.get(CACHE_NAME, "light"), is("x"));
+        assertThat(cacheProvider.get(CACHE_NAME, "heavy"), is(nullValue()));
+    }
+
+    @Test
+    public void shouldRejectMaximumWeightWithoutWeigher() {
+        // given
+        var cachePolicy = CachePolicy.<String, String>builder()
+                .maximumWeight(10L)
+                .build();
+
+        // when
+        var exception = assertThrows(IllegalArgumentException.class, () -> cacheProvider.createCache(CACHE_NAME, cachePolicy));
+
+        // then
+        assertThat(exception.getMessage(), containsString("weigher"));
+    }
+
+    @Test
+    public void shouldRejectRefreshWithoutLoader() {
+        // given
+        var cachePolicy = CachePolicy.<String, String>builder()
+                .refreshAfterWrite(Duration.ofMinutes(1))
+                .build();
+
+        // when
+        var exception = assertThrows(IllegalArgumentException.class, () -> cacheProvider.createCache(CACHE_NAME, cachePolicy));
+
+        // then
+        assertThat(exception.getMessage(), containsString("loader"));
+    }
+
+    @Test
+    public void shouldLoadMissingEntriesOnce() {
+        // given
+        var loads = new AtomicInteger();
+        cacheProvider.createCache(CACHE_NAME, CachePolicy.<String, String>builder()
+                .loader(key -> {
+                    loads.incrementAndGet();
+                    return key.equals("missing") ? null : key.toUpperCase();
+                })
+                .build());
+
+        // when
+        var first = cacheProvider.get(CACHE_NAME, "key");
+        var second = cacheProvider.get(CACHE_NAME, "key");
+        var missing = cacheProvider.get(CACHE_NAME, "missing");
+
+        // then
+        assertThat(first, is("KEY"));
+        assertThat(second, is("KEY"));
+        assertThat(missing, is(nullValue()));
+        assertThat(loads.get(), is(2));
+    }
+
+    @Test
+    public void shouldRethrowLoaderFailure() {
+        // given
+        cacheProvider.createCache(CACHE_NAME, CachePolicy.<String, String>builder()
+                .loader(key -> {
+                    throw new IllegalStateException("load failed,key=" + key);
+                })
+                .build());
+
+        // when
+        var exception = assertThrows(IllegalStateException.class, () -> cacheProvider.get(CACHE_NAME, "key"));
+
+        // then
+        assertThat(exception.getMessage(), is("load failed,key=key"));
+    }
+
+    @Test
+    public void shouldLoadAsynchronously() throws Exception {
+        // given
+        var loadingThread = new String[1];
+        cacheProvider.createCache(CACHE_NAME, CachePolicy.<String, String>builder()
+                .loader(key -> {
+                    loadingThread[0] = Thread.currentThread().getName();
+                    return key.toUpperCase();
+                })
+                .async(true)
+                .build());
+
+        // when
+        var value = cacheProvider.getAsync(CACHE_NAME, "key").get(5, TimeUnit.SECONDS);
+
+        // then
+        assertThat(value, is("KEY"));
+        assertThat(loadingThread[0], is(not(Thread.currentThread().getName())));
+        assertThat(cacheProvider.getAsync(CACHE_NAME, "key").isDone(), is(true));
+    }
+
+    @Test
+    public void shouldBoundUnboundedPolicyByDefaultMaximumSize() {
+        // given
+        cacheProvider.createCache(CACHE_NAME, CachePolicy.<Integer, Integer>builder().build());
+
+        // when
+        for (var i = 0; i < 1000; i++) {
+            cacheProvider.put(CACHE_NAME, i, i);
+        }
+
+        // then
+        assertThat(cacheProvider.getStatistics(CACHE_NAME).orElseThrow().size(), is(lessThanOrEqualTo(100L)));
+    }
+}
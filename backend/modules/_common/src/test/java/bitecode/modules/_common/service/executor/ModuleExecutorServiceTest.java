@@ -0,0 +1,142 @@
+package bitecode.modules._common.service.executor;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ModuleExecutorServiceTest {
+    private final List<ThreadPoolTaskExecutor> executors = new ArrayList<>();
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private SimpleMeterRegistry meterRegistry;
+    private MockEnvironment environment;
+    private ModuleExecutorService moduleExecutorService;
+
+    @BeforeEach
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        environment = new MockEnvironment();
+        moduleExecutorService = new ModuleExecutorService(meterRegistry, environment);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        release.countDown();
+        executors.forEach(ThreadPoolTaskExecutor::shutdown);
+    }
+
+    @Test
+    public void shouldSizeFromModuleSettingsFallingBackToDefaults() {
+        // given
+        environment.setProperty("SIZING_EXECUTOR_CORE_SIZE", "2");
+        environment.setProperty("MODULE_EXECUTOR_MAX_SIZE", "3");
+
+        // when
+        var executor = createExecutor("sizing");
+
+        // then
+        assertThat(executor.getCorePoolSize(), is(2));
+        assertThat(executor.getMaxPoolSize(), is(3));
+        assertThat(executor.getQueueCapacity(), is(200));
+        assertThat(executor.getThreadNamePrefix(), is("sizing-module-"));
+    }
+
+    @Test
+    public void shouldRejectAndCountTasksBeyondPoolAndQueue() throws Exception {
+        // given
+        singleSlotExecutor("outbox", "OUTBOX");
+        var executor = createExecutor("outbox");
+        var started = fill(executor);
+
+        // when
+        assertThrows(TaskRejectedException.class, () -> executor.execute(() -> {
+        }));
+
+        // then
+        assertThat(started.await(5, TimeUnit.SECONDS), is(true));
+        assertThat(meterRegistry.get("module.executor.rejected").tag("name", "outbox-module").counter().count(), is(1.0));
+    }
+
+    @Test
+    public void shouldRunRejectedTaskOnCallerWithCallerRunsPolicy() throws Exception {
+        // given
+        singleSlotExecutor("caller", "caller_runs");
+        var executor = createExecutor("caller");
+        fill(executor);
+        var runningThread = new AtomicReference<Thread>();
+
+        // when
+        executor.execute(() -> runningThread.set(Thread.currentThread()));
+
+        // then
+        assertThat(runningThread.get(), is(Thread.currentThread()));
+        assertThat(meterRegistry.get("module.executor.rejected").tag("name", "caller-module").counter().count(), is(1.0));
+    }
+
+    @Test
+    public void shouldPublishPoolAndQueueMeters() throws Exception {
+        // given
+        singleSlotExecutor("metrics", "OUTBOX");
+        var executor = createExecutor("metrics");
+
+        // when
+        var started = fill(executor);
+
+        // then
+        assertThat(started.await(5, TimeUnit.SECONDS), is(true));
+        assertThat(meterRegistry.get("executor.pool.max").tag("name", "metrics-module").gauge().value(), is(1.0));
+        assertThat(meterRegistry.get("executor.active").tag("name", "metrics-module").gauge().value(), is(1.0));
+        assertThat(meterRegistry.get("executor.queued").tag("name", "metrics-module").gauge().value(), is(1.0));
+    }
+
+    private void singleSlotExecutor(String module, String rejectionPolicy) {
+        var prefix = module.toUpperCase() + "_EXECUTOR_";
+        environment.setProperty(prefix + "CORE_SIZE", "1");
+        environment.setProperty(prefix + "MAX_SIZE", "1");
+        environment.setProperty(prefix + "QUEUE_CAPACITY", "1");
+        environment.setProperty(prefix + "REJECTION_POLICY", rejectionPolicy);
+    }
+
+    private ThreadPoolTaskExecutor createExecutor(String module) {
+        var executor = moduleExecutorService.createExecutor(module);
+        executors.add(executor);
+        return executor;
+    }
+
+    /**
+     * Occupies the only thread and the only queue slot until the test ends.
+     *
+     * @return latch released once the first task runs
+     */
+    private CountDownLatch fill(ThreadPoolTaskExecutor executor) {
+        var started = new CountDownLatch(1);
+        executor.execute(() -> {
+            started.countDown();
+            awaitRelease();
+        });
+        executor.execute(this::awaitRelease);
+        return started;
+    }
+
+    private void awaitRelease() {
+        try {
+            release.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
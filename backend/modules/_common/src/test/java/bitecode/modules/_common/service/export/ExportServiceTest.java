@@ -0,0 +1,141 @@
+package bitecode.modules._common.service.export;
+
+import bitecode.modules._common.BaseIntegrationTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class ExportServiceTest extends BaseIntegrationTest {
+
+    @Autowired
+    ExportService exportService;
+
+    @BeforeEach
+    public void setUp() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    public void shouldWriteCsvWithHeaderEscapingAndNestedValues() throws Exception {
+        // given
+        var rows = List.of(
+                new ExportTestRow(1L, "plain", List.of("a", "b"), null),
+                new ExportTestRow(2L, "with, comma", List.of(), "say \"hi\"\nbye")
+        );
+
+        // when
+        var response = exportService.export("rows", ExportFormat.CSV, rows::stream, Function.identity());
+
+        // then
+        assertThat(response.getHeaders().getContentType(), is(ExportFormat.CSV.getMediaType()));
+        assertThat(response.getHeaders().getFirst(HttpHeaders.CONTENT_DISPOSITION), containsString("filename=\"rows.csv\""));
+        assertThat(write(response), is("""
+                id,name,tags,note\r
+                1,plain,"[""a"",""b""]",\r
+                2,"with, comma",[],"say ""hi""
+                bye"\r
+                """));
+    }
+
+    @Test
+    public void shouldPrefixTextCellsStartingLikeFormulas() throws Exception {
+        // given
+        var rows = List.of(
+                new ExportTestRow(-1L, "=1+1", List.of("-a"), "@cmd"),
+                new ExportTestRow(2L, "+1", List.of(), "-2, or less")
+        );
+
+        // when
+        var response = exportService.export("rows", ExportFormat.CSV, rows::stream, Function.identity());
+
+        // then
+        assertThat(write(response), is("""
+                id,name,tags,note\r
+                -1,'=1+1,"[""-a""]",'@cmd\r
+                2,'+1,[],"'-2, or less"\r
+                """));
+    }
+
+    @Test
+    public void shouldWriteOneJsonObjectPerLine() throws Exception {
+        // given
+        var rows = List.of(
+                new ExportTestRow(1L, "first", List.of("a"), null),
+                new ExportTestRow(2L, "second\nline", List.of(), "note")
+        );
+
+        // when
+        var response = exportService.export("rows", ExportFormat.NDJSON, rows::stream, Function.identity());
+
+        // then
+        assertThat(response.getHeaders().getContentType(), is(ExportFormat.NDJSON.getMediaType()));
+        var lines = write(response).split("\n");
+        assertThat(lines.length, is(2));
+        assertThat(objectMapper.readValue(lines[0], ExportTestRow.class), equalTo(rows.get(0)));
+        assertThat(objectMapper.readValue(lines[1], ExportTestRow.class), equalTo(rows.get(1)));
+    }
+
+    @Test
+    public void shouldMapRowsInChunksAndCloseTheSource() throws Exception {
+        // given
+        var rowCount = ExportService.FETCH_SIZE * 2 + 1;
+        var closed = new AtomicBoolean();
+        var chunkSizes = new ArrayList<Integer>();
+
+        // when
+        var response = exportService.exportChunked("rows", ExportFormat.NDJSON,
+                () -> IntStream.range(0, rowCount).boxed().onClose(() -> closed.set(true)),
+                chunk -> {
+                    chunkSizes.add(chunk.size());
+                    return chunk.stream().map(id -> new ExportTestRow((long) id, "row", List.of(), null)).toList();
+                });
+        var lines = write(response).split("\n");
+
+        // then
+        assertThat(lines.length, is(rowCount));
+        assertThat(chunkSizes, contains(ExportService.FETCH_SIZE, ExportService.FETCH_SIZE, 1));
+        assertThat(closed.get(), is(true));
+    }
+
+    @Test
+    public void shouldWriteNothingForEmptySource() throws Exception {
+        // when
+        var response = exportService.export("rows", ExportFormat.CSV, Stream::<ExportTestRow>empty, Function.identity());
+
+        // then
+        assertThat(write(response), is(emptyString()));
+    }
+
+    private static String write(ResponseEntity<StreamingResponseBody> response) throws Exception {
+        var out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    public record ExportTestRow(Long id, String name, List<String> tags, String note) {
+    }
+}
@@ -0,0 +1,84 @@
+package bitecode.modules._common.service.locking;
+
+import bitecode.modules._common.service.cache.CacheService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.awaitility.Awaitility.await;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class InMemoryLockTest {
+    private static final String LOCK_NAME = "in-memory-test";
+    private static final long HOLD_MILLIS = 50;
+
+    private SimpleMeterRegistry meterRegistry;
+    private InMemoryLock lock;
+
+    @BeforeEach
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        var cacheService = new CacheService(null, new ObjectMapper(), meterRegistry, CacheService.CAFFEINE_PROVIDER, 1000);
+        lock = new InMemoryLock(cacheService, LOCK_NAME, LockMetrics.of(meterRegistry, LOCK_NAME, "memory"));
+    }
+
+    @Test
+    public void shouldRecordUncontendedAcquisition() {
+        // when
+        lock.tryLock("key");
+
+        // then
+        assertThat(meterRegistry.get("lock.wait").tag("lock", LOCK_NAME).timer().count(), is(1L));
+        assertThat(meterRegistry.get("lock.contended").tag("lock", LOCK_NAME).counter().count(), is(0.0));
+    }
+
+    @Test
+    public void shouldRecordContendedAcquisitionAndWaitTime() throws Exception {
+        // given
+        var checkAndSetLock = checkAndSetLock();
+        checkAndSetLock.lock();
+        var acquisition = CompletableFuture.supplyAsync(() -> lock.tryLock("key"));
+        await().atMost(Duration.ofSeconds(5)).until(checkAndSetLock::hasQueuedThreads);
+        Thread.sleep(HOLD_MILLIS);
+
+        // when
+        checkAndSetLock.unlock();
+
+        // then
+        assertThat(acquisition.get(5, TimeUnit.SECONDS), is(true));
+        var waitTimer = meterRegistry.get("lock.wait").tag("lock", LOCK_NAME).timer();
+        assertThat(waitTimer.count(), is(1L));
+        assertThat(waitTimer.totalTime(TimeUnit.MILLISECONDS), is(greaterThanOrEqualTo((double) HOLD_MILLIS)));
+        assertThat(meterRegistry.get("lock.contended").tag("lock", LOCK_NAME).counter().count(), is(1.0));
+    }
+
+    @Test
+    public void shouldRecordRejectedAcquisitionOfHeldKey() {
+        // given
+        lock.tryLock("key");
+
+        // when
+        var exception = assertThrows(HttpClientErrorException.class, () -> lock.tryLock("key"));
+
+        // then
+        assertThat(exception.getStatusCode(), is(HttpStatus.LOCKED));
+        assertThat(meterRegistry.get("lock.rejected").tag("lock", LOCK_NAME).counter().count(), is(1.0));
+        assertThat(meterRegistry.get("lock.wait").tag("lock", LOCK_NAME).timer().count(), is(1L));
+    }
+
+    private ReentrantLock checkAndSetLock() throws Exception {
+        var field = InMemoryLock.class.getDeclaredField("checkAndSetLock");
+        field.setAccessible(true);
+        return (ReentrantLock) field.get(lock);
+    }
+}
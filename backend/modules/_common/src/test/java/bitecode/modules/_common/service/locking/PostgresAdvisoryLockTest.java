@@ -0,0 +1,163 @@
+package bitecode.modules._common.service.locking;
+
+import bitecode.modules._common.BaseIntegrationTest;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.HttpClientErrorException;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+import static org.awaitility.Awaitility.await;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class PostgresAdvisoryLockTest extends BaseIntegrationTest {
+    private static final Duration WAIT_TIMEOUT = Duration.ofMillis(300);
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+    @Autowired
+    DataSource dataSource;
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    private final ScheduledExecutorService leaseScheduler = Executors.newSingleThreadScheduledExecutor();
+    private Semaphore sessionPermits;
+    private PostgresAdvisoryLock lock;
+
+    @BeforeEach
+    public void setUp() {
+        sessionPermits = new Semaphore(2);
+        lock = createLock(Duration.ofMinutes(1));
+    }
+
+    @AfterAll
+    public void shutdownLeaseScheduler() {
+        leaseScheduler.shutdownNow();
+    }
+
+    @Test
+    public void shouldRejectHeldSessionLockAfterWaitTimeout() {
+        // given
+        var key = UUID.randomUUID().toString();
+        lock.tryLock(key);
+
+        // when
+        var start = System.nanoTime();
+        var exception = assertThrows(HttpClientErrorException.class, () -> onOtherThread(() -> lock.tryLock(key)));
+        var waited = Duration.ofNanos(System.nanoTime() - start);
+
+        // then
+        assertThat(exception.getStatusCode(), is(HttpStatus.LOCKED));
+        assertThat(waited, greaterThanOrEqualTo(WAIT_TIMEOUT));
+        assertThat(lock.isLocked(key), is(true));
+        lock.unlock(key);
+        assertThat(lock.isLocked(key), is(false));
+        assertThat(onOtherThread(() -> lock.tryLock(key)), is(true));
+        lock.unlock(key);
+    }
+
+    @Test
+    public void shouldReleaseSessionLockWhenLeaseExpires() {
+        // given
+        var shortLeaseLock = createLock(Duration.ofMillis(200));
+        var key = UUID.randomUUID().toString();
+
+        // when
+        shortLeaseLock.tryLock(key);
+
+        // then
+        assertThat(shortLeaseLock.isLocked(key), is(true));
+        await().atMost(Duration.ofSeconds(5)).until(() -> !shortLeaseLock.isLocked(key));
+        assertThat(onOtherThread(() -> shortLeaseLock.tryLock(key)), is(true));
+        await().atMost(Duration.ofSeconds(5)).until(() -> sessionPermits.availablePermits() == 2);
+    }
+
+    @Test
+    public void shouldNotReleaseLockOfNewHolderWhenUnlockingAfterLeaseExpired() throws Exception {
+        // given
+        var shortLeaseLock = createLock(Duration.ofSeconds(1));
+        var key = UUID.randomUUID().toString();
+        shortLeaseLock.tryLock(key);
+        await().atMost(Duration.ofSeconds(5)).until(() -> !shortLeaseLock.isLocked(key));
+        try (var newHolder = Executors.newSingleThreadExecutor()) {
+            assertThat(newHolder.submit(() -> shortLeaseLock.tryLock(key)).get(), is(true));
+
+            // when
+            shortLeaseLock.unlock(key);
+
+            // then
+            assertThat(shortLeaseLock.isLocked(key), is(true));
+            newHolder.submit(() -> shortLeaseLock.unlock(key)).get();
+        }
+        assertThat(shortLeaseLock.isLocked(key), is(false));
+        assertThat(sessionPermits.availablePermits(), is(2));
+    }
+
+    @Test
+    public void shouldBoundSessionLocksHeldAtTheSameTime() {
+        // given
+        var keys = new String[]{UUID.randomUUID().toString(), UUID.randomUUID().toString(), UUID.randomUUID().toString()};
+        lock.tryLock(keys[0]);
+        lock.tryLock(keys[1]);
+
+        // when
+        var exception = assertThrows(HttpClientErrorException.class, () -> lock.tryLock(keys[2]));
+
+        // then
+        assertThat(exception.getStatusCode(), is(HttpStatus.LOCKED));
+        assertThat(lock.isLocked(keys[2]), is(false));
+        lock.unlock(keys[0]);
+        assertThat(lock.tryLock(keys[2]), is(true));
+        lock.unlock(keys[1]);
+        lock.unlock(keys[2]);
+        assertThat(sessionPermits.availablePermits(), is(2));
+    }
+
+    @Test
+    public void shouldHoldTransactionLockUntilCommitAndBeReentrantWithinIt() {
+        // given
+        var key = UUID.randomUUID().toString();
+
+        // when
+        transactionTemplate.executeWithoutResult(status -> {
+            lock.tryLock(key);
+            assertThat(lock.tryLock(key), is(true));
+            lock.unlock(key);
+
+            // then
+            assertThat(lock.isLocked(key), is(true));
+            var exception = assertThrows(HttpClientErrorException.class, () -> onOtherThread(() -> lock.tryLock(key)));
+            assertThat(exception.getStatusCode(), is(HttpStatus.LOCKED));
+            assertThat(sessionPermits.availablePermits(), is(2));
+        });
+        assertThat(lock.isLocked(key), is(false));
+    }
+
+    private PostgresAdvisoryLock createLock(Duration lease) {
+        return new PostgresAdvisoryLock("TEST_LOCK", jdbcTemplate, dataSource, leaseScheduler, WAIT_TIMEOUT, lease,
+                LockMetrics.NOOP, sessionPermits);
+    }
+
+    private static boolean onOtherThread(Supplier<Boolean> action) {
+        try {
+            return CompletableFuture.supplyAsync(action).join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+}
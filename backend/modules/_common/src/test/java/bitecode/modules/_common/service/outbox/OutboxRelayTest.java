@@ -0,0 +1,189 @@
+package bitecode.modules._common.service.outbox;
+
+import bitecode.modules._common.BaseIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.awaitility.Awaitility.await;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class OutboxRelayTest extends BaseIntegrationTest {
+
+    @Autowired
+    OutboxService outboxService;
+    @Autowired
+    OutboxRelay outboxRelay;
+    @Autowired
+    OutboxTestListener outboxTestListener;
+    @Autowired
+    TransactionTemplate transactionTemplate;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Test
+    public void shouldDispatchOnlyCommittedEventsAfterClaimCommits() {
+        // given
+        var event = new OutboxTestEvent(UUID.randomUUID().toString(), 0, 0, 0, null);
+
+        // when
+        transactionTemplate.executeWithoutResult(status -> {
+            outboxService.publish(event);
+            CompletableFuture.runAsync(outboxRelay::relay).join();
+            assertThat(outboxTestListener.getRecorded(event.id()), is(0));
+        });
+
+        // then
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> {
+            assertThat(outboxTestListener.getRecorded(event.id()), is(1));
+            assertThat(outboxTestListener.getFlakyCalls(event.id()), is(1));
+            assertThat(outboxRows(event.id()), is(empty()));
+        });
+    }
+
+    @Test
+    public void shouldRetryOnlyFailedListenerWithBackoff() {
+        // given
+        var event = new OutboxTestEvent(UUID.randomUUID().toString(), 0, 1, 0, null);
+        transactionTemplate.executeWithoutResult(status -> outboxService.publish(event));
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> assertThat(outboxRows(event.id()), contains(allOf(
+                hasEntry("attempts", (Object) 1),
+                hasEntry("delivered", (Object) 2),
+                hasEntry("leased", (Object) true)
+        ))));
+        assertThat(outboxTestListener.getRecorded(event.id()), is(1));
+        assertThat(outboxTestListener.getFlakyCalls(event.id()), is(1));
+
+        // when
+        endBackoff(event.id());
+
+        // then
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> {
+            outboxRelay.relay();
+            assertThat(outboxRows(event.id()), is(empty()));
+        });
+        assertThat(outboxTestListener.getRecorded(event.id()), is(1));
+        assertThat(outboxTestListener.getFlakyCalls(event.id()), is(2));
+        assertThat(outboxTestListener.getAsyncCalls(event.id()), is(1));
+    }
+
+    @Test
+    public void shouldStopRetryingAfterMaxAttempts() {
+        // given
+        var event = new OutboxTestEvent(UUID.randomUUID().toString(), 0, Integer.MAX_VALUE, 0, null);
+        transactionTemplate.executeWithoutResult(status -> outboxService.publish(event));
+        await().atMost(Duration.ofSeconds(5)).until(() -> outboxTestListener.getFlakyCalls(event.id()) == 1);
+        jdbcTemplate.update("UPDATE common.outbox_event SET attempts = 9, available_at = CURRENT_TIMESTAMP WHERE payload->>'id' = ?",
+                event.id());
+        await().atMost(Duration.ofSeconds(5)).until(() -> outboxTestListener.getFlakyCalls(event.id()) == 2);
+
+        // when
+        endBackoff(event.id());
+
+        // then
+        await().during(Duration.ofSeconds(1)).atMost(Duration.ofSeconds(3)).untilAsserted(() -> {
+            outboxRelay.relay();
+            assertThat(outboxTestListener.getFlakyCalls(event.id()), is(2));
+        });
+        assertThat(outboxRows(event.id()), contains(hasEntry("attempts", (Object) 10)));
+        assertThat(outboxTestListener.getRecorded(event.id()), is(1));
+    }
+
+    @Test
+    public void shouldReleaseRejectedEventWithoutCountingAttemptOrRedelivering() {
+        // given
+        var event = new OutboxTestEvent(UUID.randomUUID().toString(), 1, 0, 0, null);
+
+        // when
+        transactionTemplate.executeWithoutResult(status -> outboxService.publish(event));
+
+        // then
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> {
+            outboxRelay.relay();
+            assertThat(outboxRows(event.id()), is(empty()));
+        });
+        assertThat(outboxTestListener.getRecorded(event.id()), is(1));
+        assertThat(outboxTestListener.getFlakyCalls(event.id()), is(2));
+    }
+
+    @Test
+    public void shouldRecordAsyncListenerDeliveryOnlyOnceItsTaskCompleted() {
+        // given
+        var event = new OutboxTestEvent(UUID.randomUUID().toString(), 0, 0, 1, null);
+        transactionTemplate.executeWithoutResult(status -> outboxService.publish(event));
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> assertThat(outboxRows(event.id()), contains(allOf(
+                hasEntry("attempts", (Object) 1),
+                hasEntry("delivered", (Object) 2),
+                hasEntry("leased", (Object) true)
+        ))));
+        assertThat(outboxTestListener.getAsyncCalls(event.id()), is(1));
+
+        // when
+        endBackoff(event.id());
+
+        // then
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> {
+            outboxRelay.relay();
+            assertThat(outboxRows(event.id()), is(empty()));
+        });
+        assertThat(outboxTestListener.getAsyncCalls(event.id()), is(2));
+        assertThat(outboxTestListener.getRecorded(event.id()), is(1));
+        assertThat(outboxTestListener.getFlakyCalls(event.id()), is(1));
+    }
+
+    @Test
+    public void shouldHoldBackEventsOfSameKeyUntilOlderEventIsDelivered() {
+        // given
+        var orderingKey = "test:" + UUID.randomUUID();
+        var first = new OutboxTestEvent(UUID.randomUUID().toString(), 0, 1, 0, orderingKey);
+        var second = new OutboxTestEvent(UUID.randomUUID().toString(), 0, 0, 0, orderingKey);
+        var unordered = new OutboxTestEvent(UUID.randomUUID().toString(), 0, 0, 0, null);
+        transactionTemplate.executeWithoutResult(status -> {
+            outboxService.publish(first);
+            outboxService.publish(second);
+            outboxService.publish(unordered);
+        });
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> {
+            assertThat(outboxRows(first.id()), contains(hasEntry("attempts", (Object) 1)));
+            assertThat(outboxRows(unordered.id()), is(empty()));
+        });
+        await().during(Duration.ofSeconds(1)).atMost(Duration.ofSeconds(3)).untilAsserted(() -> {
+            outboxRelay.relay();
+            assertThat(outboxTestListener.getRecorded(second.id()), is(0));
+            assertThat(outboxRows(second.id()), contains(hasEntry("attempts", (Object) 0)));
+        });
+
+        // when
+        endBackoff(first.id());
+
+        // then
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> {
+            outboxRelay.relay();
+            assertThat(outboxRows(first.id()), is(empty()));
+            assertThat(outboxRows(second.id()), is(empty()));
+        });
+        assertThat(outboxTestListener.getFlakyCalls(first.id()), is(2));
+        assertThat(outboxTestListener.getRecorded(second.id()), is(1));
+        assertThat(outboxTestListener.getFlakyCalls(second.id()), is(1));
+    }
+
+    private List<Map<String, Object>> outboxRows(String id) {
+        return jdbcTemplate.queryForList("""
+                SELECT attempts, cardinality(delivered_listeners) AS delivered, available_at > CURRENT_TIMESTAMP AS leased
+                FROM common.outbox_event
+                WHERE payload->>'id' = ?
+                """, id);
+    }
+
+    private void endBackoff(String id) {
+        jdbcTemplate.update("UPDATE common.outbox_event SET available_at = CURRENT_TIMESTAMP WHERE payload->>'id' = ?", id);
+    }
+}
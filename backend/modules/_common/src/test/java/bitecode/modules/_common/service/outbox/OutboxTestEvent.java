@@ -0,0 +1,13 @@
+package bitecode.modules._common.service.outbox;
+
+import bitecode.modules._common.model.event.ModuleEvent;
+
+/**
+ * @param rejections    times {@link OutboxTestListener#flaky} rejects the event as a saturated executor would
+ * @param failures      times {@link OutboxTestListener#flaky} fails after the rejections
+ * @param asyncFailures times the task of {@link OutboxTestListener#asyncFlaky} fails
+ * @param orderingKey   the key the outbox delivers the event in order on, if any
+ */
+public record OutboxTestEvent(String id, int rejections, int failures, int asyncFailures, String orderingKey)
+        implements ModuleEvent {
+}
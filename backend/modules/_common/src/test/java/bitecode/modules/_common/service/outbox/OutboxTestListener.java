@@ -0,0 +1,68 @@
+package bitecode.modules._common.service.outbox;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Component
+@RequiredArgsConstructor
+public class OutboxTestListener {
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<String, AtomicInteger> recorded = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> flakyCalls = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> asyncCalls = new ConcurrentHashMap<>();
+
+    /**
+     * Fails when the outbox row is still locked by the relay, i.e. when it is not committed before dispatching.
+     */
+    @Order(1)
+    @EventListener
+    public void record(OutboxTestEvent event) {
+        jdbcTemplate.queryForList("SELECT id FROM common.outbox_event WHERE payload->>'id' = ? FOR UPDATE NOWAIT", event.id());
+        recorded.computeIfAbsent(event.id(), id -> new AtomicInteger()).incrementAndGet();
+    }
+
+    @Order(2)
+    @EventListener
+    public void flaky(OutboxTestEvent event) {
+        var calls = flakyCalls.computeIfAbsent(event.id(), id -> new AtomicInteger()).incrementAndGet();
+        if (calls <= event.rejections()) {
+            throw new TaskRejectedException("Rejecting on purpose,call=" + calls);
+        }
+        if (calls <= event.rejections() + event.failures()) {
+            throw new IllegalStateException("Failing on purpose,call=" + calls);
+        }
+    }
+
+    @Async
+    @Order(3)
+    @EventListener
+    public CompletableFuture<Void> asyncFlaky(OutboxTestEvent event) {
+        var calls = asyncCalls.computeIfAbsent(event.id(), id -> new AtomicInteger()).incrementAndGet();
+        if (calls <= event.asyncFailures()) {
+            throw new IllegalStateException("Failing on purpose in the async task,call=" + calls);
+        }
+        return CompletableFuture.completedFuture(null);
+    }
+
+    public int getRecorded(String id) {
+        return recorded.getOrDefault(id, new AtomicInteger()).get();
+    }
+
+    public int getFlakyCalls(String id) {
+        return flakyCalls.getOrDefault(id, new AtomicInteger()).get();
+    }
+
+    public int getAsyncCalls(String id) {
+        return asyncCalls.getOrDefault(id, new AtomicInteger()).get();
+    }
+}
@@ -0,0 +1,127 @@
+package bitecode.modules._common.service.retry;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.ConcurrencyFailureException;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class RetryPolicyTest {
+    private static final String POLICY_NAME = "retry-test";
+    private static final int MAX_ATTEMPTS = 4;
+
+    private SimpleMeterRegistry meterRegistry;
+    private RetryPolicy retryPolicy;
+
+    @BeforeEach
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        retryPolicy = new RetryService(meterRegistry).createPolicy(POLICY_NAME, ConcurrencyFailureException.class,
+                MAX_ATTEMPTS, Duration.ofMillis(1), Duration.ofMillis(5));
+    }
+
+    @Test
+    public void shouldRetryTransientFailureUntilItSucceeds() {
+        // given
+        var calls = new AtomicInteger();
+
+        // when
+        var result = retryPolicy.execute(() -> {
+            if (calls.incrementAndGet() < 3) {
+                throw new ConcurrencyFailureException("conflict");
+            }
+            return "done";
+        });
+
+        // then
+        assertThat(result, is("done"));
+        assertThat(calls.get(), is(3));
+        assertThat(counter("retry.attempts"), is(2.0));
+        assertThat(counter("retry.exhausted"), is(0.0));
+    }
+
+    @Test
+    public void shouldRethrowLastFailureAfterMaxAttempts() {
+        // given
+        var calls = new AtomicInteger();
+        var failure = new ConcurrencyFailureException("conflict");
+
+        // when
+        var exception = assertThrows(ConcurrencyFailureException.class, () -> retryPolicy.execute(() -> {
+            calls.incrementAndGet();
+            throw failure;
+        }));
+
+        // then
+        assertThat(exception, is(sameInstance(failure)));
+        assertThat(calls.get(), is(MAX_ATTEMPTS));
+        assertThat(counter("retry.attempts"), is((double) MAX_ATTEMPTS - 1));
+        assertThat(counter("retry.exhausted"), is(1.0));
+    }
+
+    @Test
+    public void shouldNotRetryOtherExceptions() {
+        // given
+        var calls = new AtomicInteger();
+
+        // when
+        assertThrows(IllegalStateException.class, () -> retryPolicy.execute(() -> {
+            calls.incrementAndGet();
+            throw new IllegalStateException("not transient");
+        }));
+
+        // then
+        assertThat(calls.get(), is(1));
+        assertThat(counter("retry.attempts"), is(0.0));
+        assertThat(counter("retry.exhausted"), is(0.0));
+    }
+
+    @Test
+    public void shouldStopRetryingWhenInterrupted() {
+        // given
+        var calls = new AtomicInteger();
+        Thread.currentThread().interrupt();
+
+        // when
+        assertThrows(ConcurrencyFailureException.class, () -> retryPolicy.execute(() -> {
+            calls.incrementAndGet();
+            throw new ConcurrencyFailureException("conflict");
+        }));
+
+        // then
+        assertThat(Thread.interrupted(), is(true));
+        assertThat(calls.get(), is(1));
+    }
+
+    @Test
+    public void shouldJitterBackoffWithinTheExponentialCeiling() {
+        // given
+        var policy = new RetryService(meterRegistry).createPolicy(POLICY_NAME, ConcurrencyFailureException.class,
+                MAX_ATTEMPTS, Duration.ofMillis(10), Duration.ofMillis(200));
+
+        for (var attempt = 1; attempt <= 6; attempt++) {
+            var ceiling = Math.min(Duration.ofMillis(200).toNanos(), Duration.ofMillis(10).toNanos() << attempt);
+            var delays = new HashSet<Long>();
+
+            // when
+            for (var i = 0; i < 1000; i++) {
+                delays.add(policy.backoffNanos(attempt));
+            }
+
+            // then
+            assertThat(delays, everyItem(is(both(greaterThanOrEqualTo(0L)).and(lessThanOrEqualTo(ceiling)))));
+            assertThat(delays.size(), is(greaterThan(1)));
+        }
+    }
+
+    private double counter(String name) {
+        return meterRegistry.get(name).tag("name", POLICY_NAME).counter().count();
+    }
+}
@@ -0,0 +1,61 @@
+package bitecode.modules._common.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class UuidUtilsTest {
+    private static final int VALUES = 100_000;
+
+    @Test
+    public void shouldSetVersion7AndRfcVariant() {
+        // when
+        var uuid = UuidUtils.timeOrdered();
+
+        // then
+        assertThat(uuid.version(), is(7));
+        assertThat(uuid.variant(), is(2));
+        assertThat((uuid.getMostSignificantBits() >>> 12) & 0xF, is(7L));
+        assertThat(uuid.getLeastSignificantBits() >>> 62, is(2L));
+    }
+
+    @Test
+    public void shouldIncreaseStrictlyWithinTheSameMillisecond() {
+        // given
+        var values = new UUID[VALUES];
+
+        // when
+        for (var i = 0; i < VALUES; i++) {
+            values[i] = UuidUtils.timeOrdered();
+        }
+
+        // then
+        var sameMillisecondPairs = 0;
+        for (var i = 1; i < VALUES; i++) {
+            assertThat(values[i].compareTo(values[i - 1]), is(greaterThan(0)));
+            assertThat(values[i].version(), is(7));
+            assertThat(values[i].variant(), is(2));
+            if (UuidUtils.timestampOf(values[i]).equals(UuidUtils.timestampOf(values[i - 1]))) {
+                sameMillisecondPairs++;
+            }
+        }
+        assertThat(sameMillisecondPairs, is(greaterThan(0)));
+    }
+
+    @Test
+    public void shouldReturnCreationTimeOfVersion7Only() {
+        // given
+        var before = Instant.now().toEpochMilli();
+
+        // when
+        var timestamp = UuidUtils.timestampOf(UuidUtils.timeOrdered()).orElseThrow().toEpochMilli();
+
+        // then
+        assertThat(timestamp, is(greaterThanOrEqualTo(before)));
+        assertThat(UuidUtils.timestampOf(UUID.randomUUID()).isPresent(), is(false));
+    }
+}
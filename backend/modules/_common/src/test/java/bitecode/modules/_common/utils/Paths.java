@@ -23,9 +23,10 @@ public interface Paths {
 
     interface User {
         String basePath = PATH_PREFIX + UserController.PATH_MAPPING;
+        String adminBasePath = PATH_PREFIX + "/admin/users";
 
         interface GET {
-
+            static String adminExport(String format) { return adminBasePath + "/export?format=" + format; }
         }
 
         interface POST {
@@ -39,7 +39,15 @@ public class TestDataFactory {
         return new TestUserData(user, refreshToken, accessToken);
     }
 
+    /**
+     * The admin is shared by all test classes of a context, so it is created only once.
+     */
     public TestUserData createAdminUser() {
+        var existingAdmin = userRepository.findUserByEmail("admin@admin.com");
+        if (existingAdmin.isPresent()) {
+            var user = existingAdmin.get();
+            return new TestUserData(user, jwtService.generateRefreshToken(user, false), jwtService.generateAccessToken(user));
+        }
         var user = User.builder()
                 .email("admin@admin.com")
                 .password(TEST_ADMIN_HASHED_PASSWORD)
@@ -1,6 +1,8 @@
 package bitecode.modules.ai;
 
 import bitecode.modules._common.model.annotation.AdminAccess;
+import bitecode.modules._common.service.export.ExportFormat;
+import bitecode.modules._common.service.export.ExportService;
 import bitecode.modules._common.util.AuthUtils;
 import bitecode.modules.ai.agent.data.AiAgentChatResponseData;
 import bitecode.modules.ai.agent.data.AiAgentRequestData;
@@ -17,13 +19,16 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PagedModel;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Function;
 
 @RestController
 @AdminAccess
@@ -32,6 +37,7 @@ import java.util.UUID;
 public class AdminAiChatController {
     private final AiChatService aiChatService;
     private final ChatSessionMapper chatSessionMapper;
+    private final ExportService exportService;
 
     @PostMapping(value = "/{uuid}/chat", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     public AiAgentChatResponseData chat(@RequestParam String prompt,
@@ -57,6 +63,20 @@ public class AdminAiChatController {
         return new PagedModel<>(aiChatService.getAgentChatSessions(agentId, statDate, endDate, pageable));
     }
 
+    /**
+     * Streams the messages of all sessions of the agent within the period, oldest first, as {@code ndjson} or
+     * {@code csv}.
+     */
+    @GetMapping("/{agentId}/messages/export")
+    public ResponseEntity<StreamingResponseBody> exportChatMessages(@PathVariable UUID agentId,
+                                                                    @RequestParam Instant startDate,
+                                                                    @RequestParam Instant endDate,
+                                                                    @RequestParam(defaultValue = "ndjson") String format) {
+        return exportService.export("chat-messages-" + agentId, ExportFormat.of(format),
+                () -> aiChatService.streamAgentChatMessages(agentId, startDate, endDate),
+                Function.identity());
+    }
+
     @GetMapping("/sessions")
     public PagedModel<ChatSessionWithCountDetails> getSessions(@RequestParam UUID uuid, @RequestParam Instant statDate, @RequestParam Instant endDate, Pageable pageable) {
         return new PagedModel<>(
@@ -10,7 +10,6 @@ import bitecode.modules.ai.service.AiServicesProviderConfigService;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.mysema.commons.lang.Pair;
-import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.ai.chat.prompt.Prompt;
@@ -32,6 +31,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -45,8 +45,9 @@ public class AdminDashboardNavbarChatAgentStrategy implements AiAgentStrategy {
     private final ObjectMapper objectMapper;
     private final AiServicesProviderConfigService providerConfigService;
     private final ChatProviderBuilder chatProviderBuilder;
-    private String dbSchemaContext;
-    private String dbSchemaTableList;
+    private final ReentrantLock dbSchemaLoadLock = new ReentrantLock();
+    private volatile String dbSchemaContext;
+    private volatile String dbSchemaTableList;
 
     @Value("classpath:db/migration/auth/V1__auth_schema.sql")
     private Resource authSchema;
@@ -64,8 +65,24 @@ public class AdminDashboardNavbarChatAgentStrategy implements AiAgentStrategy {
         return "AdminDashboardNavbarChatAgent";
     }
 
-    @PostConstruct
-    public void loadDbSchemaContext() {
+    /**
+     * The schema context is only needed by the first prompt, so it is loaded then rather than on startup.
+     */
+    private void ensureDbSchemaContextLoaded() {
+        if (dbSchemaTableList != null) {
+            return;
+        }
+        dbSchemaLoadLock.lock();
+        try {
+            if (dbSchemaTableList == null) {
+                loadDbSchemaContext();
+            }
+        } finally {
+            dbSchemaLoadLock.unlock();
+        }
+    }
+
+    private void loadDbSchemaContext() {
         var schemaBuilder = new StringBuilder();
         var prefixedTableListBuilder = new StringBuilder();
         Stream.of(Pair.of(authSchema, "auth"),
@@ -121,6 +138,7 @@ public class AdminDashboardNavbarChatAgentStrategy implements AiAgentStrategy {
     }
 
     private DatabaseQueryDeducingAgentCallAnswer queryDeducingAgentCall(OpenAiChatModel chatClient, String prompt) throws JsonProcessingException {
+        ensureDbSchemaContextLoaded();
         var systemPrompt = """
                 You are an AI assistant specialized in generating safe, paginated, read-only SQL SELECT queries for a PostgreSQL database.
                  You are strictly forbidden from creating, updating, deleting, or modifying any data.
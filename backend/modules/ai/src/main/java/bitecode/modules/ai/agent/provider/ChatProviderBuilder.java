@@ -22,8 +22,8 @@ import org.springframework.ai.openai.OpenAiChatModel;
 import org.springframework.ai.openai.OpenAiChatOptions;
 import org.springframework.ai.openai.api.OpenAiApi;
 import org.springframework.ai.openai.api.OpenAiAudioApi;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.http.HttpStatus;
-import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.HttpClientErrorException;
 
@@ -37,10 +37,8 @@ import static bitecode.modules.ai.utils.LoggingUtils.getLoggingWebClient;
 @RequiredArgsConstructor
 public class ChatProviderBuilder {
     public static final Set<String> NO_TEMPERATURE_MODELS = Set.of("gpt-5", "gpt-5-nano", "gpt-5-mini");
-    @Nullable
-    private final OpenAIClientBuilder azureClientBuilder;
-    @Nullable
-    private final OllamaApi ollamaApi;
+    private final ObjectProvider<OpenAIClientBuilder> azureClientBuilder;
+    private final ObjectProvider<OllamaApi> ollamaApi;
 
     public <T extends ChatModel> ClientConfig<T> buildClientConfig(@NotNull AiServicesProviderConfig providerConfig) {
         var provider = providerConfig.getProvider();
@@ -139,7 +137,7 @@ public class ChatProviderBuilder {
         var builder = ClientConfig.<T>builder().apiKey(apiKey);
 
         var chatModel = switch (provider) {
-            case OLLAMA -> OllamaChatModel.builder().ollamaApi(ollamaApi)
+            case OLLAMA -> OllamaChatModel.builder().ollamaApi(ollamaApi.getIfAvailable())
                     .modelManagementOptions(
                             ModelManagementOptions.builder().pullModelStrategy(PullModelStrategy.WHEN_MISSING).build()
                     )
@@ -148,7 +146,7 @@ public class ChatProviderBuilder {
                     .openAiApi(OpenAiApi.builder().apiKey(apiKey).webClientBuilder(getLoggingWebClient()).build())
                     .build();
             case AZURE_AI_FOUNDRY -> AzureOpenAiChatModel.builder()
-                    .openAIClientBuilder(azureClientBuilder)
+                    .openAIClientBuilder(azureClientBuilder.getIfAvailable())
                     .build();
             default -> throw new HttpClientErrorException(HttpStatus.INTERNAL_SERVER_ERROR, "AI provider type is not supported");
         };
@@ -14,10 +14,10 @@ import org.springframework.ai.openai.OpenAiEmbeddingOptions;
 import org.springframework.ai.openai.api.OpenAiApi;
 import org.springframework.ai.vectorstore.VectorStore;
 import org.springframework.ai.vectorstore.pgvector.PgVectorStore;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.jdbc.core.JdbcTemplate;
-import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.HttpClientErrorException;
 
@@ -28,10 +28,8 @@ public class VectorStoreFactory {
     private Boolean stubAlwaysGpt5Mini;
 
     private final JdbcTemplate jdbcTemplate;
-    @Nullable
-    private final OllamaEmbeddingModel ollamaEmbeddingModel;
-    @Nullable
-    private final OpenAIClient azureOpenAiClient;
+    private final ObjectProvider<OllamaEmbeddingModel> ollamaEmbeddingModel;
+    private final ObjectProvider<OpenAIClient> azureOpenAiClient;
     private final AiServicesProviderConfigService providerConfigService;
 
     public VectorStore buildVectorStore(AiServicesProviderConfig providerConfig) {
@@ -41,7 +39,7 @@ public class VectorStoreFactory {
         var dimensions = 768;
 
         var embeddingModel = switch (providerConfig.getProvider()) {
-            case OLLAMA -> ollamaEmbeddingModel;
+            case OLLAMA -> ollamaEmbeddingModel.getIfAvailable();
             case OPEN_AI -> {
                 var openAiApi = OpenAiApi.builder().apiKey(providerConfig.getApiKey()).build();
                 yield new OpenAiEmbeddingModel(openAiApi, MetadataMode.EMBED, OpenAiEmbeddingOptions.builder()
@@ -50,7 +48,7 @@ public class VectorStoreFactory {
                         .build()
                 );
             }
-            case AZURE_AI_FOUNDRY -> new AzureOpenAiEmbeddingModel(azureOpenAiClient, MetadataMode.EMBED,
+            case AZURE_AI_FOUNDRY -> new AzureOpenAiEmbeddingModel(azureOpenAiClient.getIfAvailable(), MetadataMode.EMBED,
                     AzureOpenAiEmbeddingOptions.builder()
                             .dimensions(768)
                             .deploymentName("text-embedding-3-small")
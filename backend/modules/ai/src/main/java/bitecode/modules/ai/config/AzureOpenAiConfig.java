@@ -23,6 +23,7 @@ public class AzureOpenAiConfig {
     private String projectEndpoint;
 
     @Bean
+    @Lazy
     @Conditional(AzureCredentialsPresentCondition.class)
     public ClientSecretCredential azureClientSecretCredential() {
         return new ClientSecretCredentialBuilder()
@@ -34,6 +35,7 @@ public class AzureOpenAiConfig {
 
 
     @Bean
+    @Lazy
     @Conditional(AzureCredentialsPresentCondition.class)
     public OpenAIClientBuilder azureOpenAiClientBuilder(ClientSecretCredential azureCredentials) {
         return new OpenAIClientBuilder()
@@ -42,6 +44,7 @@ public class AzureOpenAiConfig {
     }
 
     @Bean
+    @Lazy
     @Conditional(AzureCredentialsPresentCondition.class)
     public OpenAIClient azureOpenAiClient(OpenAIClientBuilder builder) {
         return builder.buildClient();
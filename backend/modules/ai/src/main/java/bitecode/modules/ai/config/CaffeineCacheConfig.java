@@ -20,6 +20,7 @@ public class CaffeineCacheConfig {
                 Caffeine.newBuilder()
                         .maximumSize(10)
                         .expireAfterWrite(Duration.ofMinutes(1))
+                        .recordStats()
                         .build()
         );
     }
@@ -31,6 +32,7 @@ public class CaffeineCacheConfig {
                 Caffeine.newBuilder()
                         .maximumSize(1)
                         .expireAfterWrite(Duration.ofMinutes(1))
+                        .recordStats()
                         .build()
         );
     }
@@ -11,6 +11,7 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.http.HttpHeaders;
 import org.springframework.web.client.RestClient;
 import org.springframework.web.reactive.function.client.WebClient;
@@ -26,6 +27,7 @@ public class OllamaConfig {
     private String defaultEmbeddingModel;
 
     @Bean
+    @Lazy
     @ConditionalOnProperty(name = "SPRING_AI_OLLAMA_ENABLED", havingValue = "true")
     public OllamaApi ollamaApi() {
         var webclientBuilder = WebClient.builder()
@@ -46,6 +48,7 @@ public class OllamaConfig {
     }
 
     @Bean
+    @Lazy
     @ConditionalOnProperty(name = "SPRING_AI_OLLAMA_ENABLED", havingValue = "true")
     public OllamaEmbeddingModel ollamaEmbeddingModel(OllamaApi ollamaApi) {
         return OllamaEmbeddingModel.builder()
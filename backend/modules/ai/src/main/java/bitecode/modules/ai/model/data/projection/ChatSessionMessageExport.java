@@ -0,0 +1,15 @@
+package bitecode.modules.ai.model.data.projection;
+
+import bitecode.modules.ai.model.enums.ChatMessageUserType;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record ChatSessionMessageExport(
+        UUID sessionUuid,
+        UUID userId,
+        ChatMessageUserType type,
+        String message,
+        Instant createdDate
+) {
+}
@@ -1,13 +1,20 @@
 package bitecode.modules.ai.repository;
 
+import bitecode.modules._common.service.export.ExportService;
+import bitecode.modules.ai.model.data.projection.ChatSessionMessageExport;
 import bitecode.modules.ai.model.entity.ChatSessionMessage;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface ChatSessionMessageRepository extends JpaRepository<ChatSessionMessage, Long> {
@@ -20,4 +27,15 @@ public interface ChatSessionMessageRepository extends JpaRepository<ChatSessionM
     Page<ChatSessionMessage> findAllBySessionUuid(UUID uuid, Pageable pageable);
 
     Page<ChatSessionMessage> findAllByExternalSessionId(String externalSessionId, Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = ExportService.FETCH_SIZE_HINT))
+    @Query("""
+            SELECT new bitecode.modules.ai.model.data.projection.ChatSessionMessageExport(cs.uuid, cs.userId, msg.type, msg.message, msg.createdDate)
+            FROM ChatSessionMessage msg
+            JOIN ChatSession cs ON cs.externalSessionId = msg.externalSessionId
+            WHERE cs.agentId = :agentId
+              AND msg.createdDate BETWEEN :startDate AND :endDate
+            ORDER BY msg.createdDate, msg.id
+            """)
+    Stream<ChatSessionMessageExport> streamAllByAgentId(UUID agentId, Instant startDate, Instant endDate);
 }
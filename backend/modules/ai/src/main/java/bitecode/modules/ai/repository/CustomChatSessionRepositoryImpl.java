@@ -18,12 +18,10 @@ import com.querydsl.jpa.impl.JPAQueryFactory;
 import lombok.RequiredArgsConstructor;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Repository;
 
 import java.time.Instant;
-import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
@@ -71,21 +69,14 @@ public class CustomChatSessionRepositoryImpl implements CustomChatSessionReposit
                 .from(qAgent)
                 .leftJoin(qSession).on(qSession.agentId.eq(qAgent.uuid))
                 .where(predicate)
-                .groupBy(qAgent.uuid, qAgent.name);
+                .groupBy(qAgent.uuid, qAgent.name)
+                .orderBy(QueryDslUtils.toOrderSpecifiers(pageable.getSort(), sortableFields));
 
-        var content = query
-                .offset(pageable.getOffset())
-                .limit(pageable.getPageSize())
-                .orderBy(QueryDslUtils.toOrderSpecifiers(pageable.getSort(), sortableFields))
-                .fetch();
-
-        Long total = queryFactory
+        return QueryDslUtils.applyPagination(query, () -> queryFactory
                 .select(qAgent.count())
                 .from(qAgent)
                 .where(predicate)
-                .fetchOne();
-
-        return new PageImpl<>(content, pageable, total != null ? total : 0);
+                .fetchOne(), pageable);
     }
 
     @Override
@@ -191,20 +182,13 @@ public class CustomChatSessionRepositoryImpl implements CustomChatSessionReposit
                         promptsCountSubquery
                 ))
                 .from(qSession)
-                .where(predicate);
-
-        List<AgentChatSession> content = query
-                .offset(pageable.getOffset())
-                .limit(pageable.getPageSize())
-                .orderBy(QueryDslUtils.toOrderSpecifiers(QChatSession.chatSession, pageable.getSort()))
-                .fetch();
+                .where(predicate)
+                .orderBy(QueryDslUtils.toOrderSpecifiers(QChatSession.chatSession, pageable.getSort()));
 
-        Long total = queryFactory
+        return QueryDslUtils.applyPagination(query, () -> queryFactory
                 .select(qSession.count())
                 .from(qSession)
                 .where(predicate)
-                .fetchOne();
-
-        return new PageImpl<>(content, pageable, total != null ? total : 0);
+                .fetchOne(), pageable);
     }
 }
\ No newline at end of file
@@ -7,6 +7,7 @@ import bitecode.modules.ai.agent.data.AiAgentRequestData;
 import bitecode.modules.ai.model.data.projection.AgentChatSession;
 import bitecode.modules.ai.model.data.projection.AiAgentSessionStats;
 import bitecode.modules.ai.model.data.projection.AiAgentSessionsStats;
+import bitecode.modules.ai.model.data.projection.ChatSessionMessageExport;
 import bitecode.modules.ai.model.data.projection.ChatSessionWithUserMessageCount;
 import bitecode.modules.ai.model.entity.AiAgent;
 import bitecode.modules.ai.model.entity.ChatSession;
@@ -156,6 +157,13 @@ public class AiChatService {
         return sessionMessageRepository.findAllBySessionUuid(sessionId, pageable);
     }
 
+    /**
+     * Messages of all sessions of the agent in chronological order, through a server side cursor.
+     */
+    public Stream<ChatSessionMessageExport> streamAgentChatMessages(UUID agentId, Instant startDate, Instant endDate) {
+        return sessionMessageRepository.streamAllByAgentId(agentId, startDate, endDate);
+    }
+
     public String transcribeRecording(UUID agentId, @Nullable MultipartFile recording) {
         if (recording == null || recording.isEmpty()) {
             throw new HttpClientErrorException(HttpStatus.BAD_REQUEST, "Recording file is required");
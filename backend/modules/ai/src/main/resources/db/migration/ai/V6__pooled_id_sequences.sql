@@ -0,0 +1,7 @@
+-- ids are allocated by Hibernate in pooled blocks of 50 (TableSequenceIdGenerator), sequences must increment by the same
+ALTER SEQUENCE ai_agent_id_seq INCREMENT BY 50;
+ALTER SEQUENCE ai_agent_exemplary_prompt_id_seq INCREMENT BY 50;
+ALTER SEQUENCE chat_session_id_seq INCREMENT BY 50;
+ALTER SEQUENCE chat_session_message_id_seq INCREMENT BY 50;
+ALTER SEQUENCE vector_document_ref_id_seq INCREMENT BY 50;
+ALTER SEQUENCE ai_services_provider_config_id_seq INCREMENT BY 50;
@@ -1,11 +1,10 @@
 package bitecode.modules.auth.auth;
 
-import bitecode.modules._common.service.cache.CacheRef;
-import bitecode.modules._common.service.cache.CacheService;
 import bitecode.modules._common.service.email.EmailService;
 import bitecode.modules._common.util.RandomCodeGeneratorUtils;
 import bitecode.modules.auth.auth.model.data.AuthenticatedUserDetails;
 import bitecode.modules.auth.auth.model.entity.Role;
+import bitecode.modules.auth.auth.model.enums.VerificationCodePurpose;
 import bitecode.modules.auth.auth.model.request.SignInRequest;
 import bitecode.modules.auth.auth.repository.RoleRepository;
 import bitecode.modules.auth.user.UserService;
@@ -20,15 +19,16 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.client.HttpClientErrorException;
 
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Optional;
 import java.util.UUID;
-import java.util.concurrent.TimeUnit;
 
 @Slf4j
 @Service
 public class AuthService {
-    private final CacheRef<String, Integer> MFA_VERIFICATION_CODES;
+    private static final Duration MFA_VERIFICATION_CODE_TTL = Duration.ofMinutes(15);
+
     private final RoleRepository roleRepository;
     private final AuthenticationManager authenticationManager;
     private final JwtService jwtService;
@@ -36,17 +36,19 @@ public class AuthService {
     private final UserMapper userMapper;
     private final EmailService emailService;
     private final TOTPService totpService;
+    private final VerificationCodeService verificationCodeService;
 
     public AuthService(RoleRepository roleRepository, AuthenticationManager authenticationManager, JwtService jwtService,
-                       UserService userService, UserMapper userMapper, CacheService cacheService, EmailService emailService, TOTPService totpService) {
+                       UserService userService, UserMapper userMapper, EmailService emailService, TOTPService totpService,
+                       VerificationCodeService verificationCodeService) {
         this.roleRepository = roleRepository;
         this.authenticationManager = authenticationManager;
         this.jwtService = jwtService;
         this.userService = userService;
         this.userMapper = userMapper;
-        this.MFA_VERIFICATION_CODES = cacheService.createCache("MFA_VERIFICATION_CODES", 15, TimeUnit.MINUTES);
         this.emailService = emailService;
         this.totpService = totpService;
+        this.verificationCodeService = verificationCodeService;
     }
 
     @Transactional
@@ -97,10 +99,10 @@ public class AuthService {
         assert request.mfaCode() != null;
         switch (user.getMfaMethod()) {
             case EMAIL -> {
-                MFA_VERIFICATION_CODES.get(user.getUsername())
-                        .filter(verificationCode -> verificationCode.equals(Integer.valueOf(request.mfaCode())))
-                        .orElseThrow(() -> new HttpClientErrorException(HttpStatus.UNAUTHORIZED));
-                MFA_VERIFICATION_CODES.remove(user.getUsername());
+                var mfaCode = String.valueOf(Integer.valueOf(request.mfaCode()));
+                if (!verificationCodeService.consume(VerificationCodePurpose.MFA, user.getUsername(), mfaCode)) {
+                    throw new HttpClientErrorException(HttpStatus.UNAUTHORIZED);
+                }
             }
             case QR_CODE -> {
                 if (!totpService.verify(user.getId(), request.mfaCode())) {
@@ -119,7 +121,8 @@ public class AuthService {
                     var model = new HashMap<String, Object>();
                     model.put("username", user.getUsername());
                     model.put("code", pinCode);
-                    MFA_VERIFICATION_CODES.put(user.getUsername(), pinCode);
+                    verificationCodeService.replace(VerificationCodePurpose.MFA, user.getUsername(), String.valueOf(pinCode),
+                            MFA_VERIFICATION_CODE_TTL);
                     log.debug("Requested EMAIL MFA code, user={},code={}", user.getUsername(), pinCode);
                     emailService.sendEmail(user.getEmail(), "Requested MFA code", "mfa_check_template.html", model);
                 }
@@ -0,0 +1,77 @@
+package bitecode.modules.auth.auth;
+
+import bitecode.modules.auth.auth.model.enums.VerificationCodePurpose;
+import bitecode.modules.auth.auth.repository.VerificationCodeRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Optional;
+
+/**
+ * Single-use codes sent by email, kept in the database rather than in a cache: the distributed cache would send them
+ * to the other nodes in plain text, and a code removed on one node could still be used on another. Only the SHA-256 of
+ * a code is stored, and a code is consumed by deleting its row, so it is accepted once across all nodes.
+ *
+ * <p>Codes looked up by the code alone, such as email verification links, are unique per purpose. Codes checked for a
+ * given subject, such as MFA pins, are short and hashed together with the subject, and a subject has one at a time.</p>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class VerificationCodeService {
+    private final VerificationCodeRepository verificationCodeRepository;
+
+    public void issue(VerificationCodePurpose purpose, String subject, String code, Duration ttl) {
+        verificationCodeRepository.upsert(purpose.name(), subject, hashOf(code), Instant.now().plus(ttl));
+    }
+
+    @Transactional
+    public void replace(VerificationCodePurpose purpose, String subject, String code, Duration ttl) {
+        verificationCodeRepository.deleteAllByPurposeAndSubject(purpose.name(), subject);
+        verificationCodeRepository.upsert(purpose.name(), subject, hashOf(subject, code), Instant.now().plus(ttl));
+    }
+
+    /**
+     * @return the subject of the code issued with {@link #issue}, when it was valid
+     */
+    public Optional<String> consume(VerificationCodePurpose purpose, String code) {
+        return verificationCodeRepository.consume(purpose.name(), hashOf(code)).stream().findFirst();
+    }
+
+    /**
+     * @return whether {@code code} was the valid code issued to {@code subject} with {@link #replace}
+     */
+    public boolean consume(VerificationCodePurpose purpose, String subject, String code) {
+        return !verificationCodeRepository.consume(purpose.name(), hashOf(subject, code)).isEmpty();
+    }
+
+    @Scheduled(fixedDelayString = "${VERIFICATION_CODE_PURGE_INTERVAL_MS:600000}")
+    public void purgeExpired() {
+        var purged = verificationCodeRepository.deleteAllExpired();
+        if (purged > 0) {
+            log.info("VerificationCodeService::purgeExpired,expired codes deleted,count={}", purged);
+        }
+    }
+
+    private static String hashOf(String subject, String code) {
+        return hashOf(subject.length() + ":" + subject + code);
+    }
+
+    private static String hashOf(String code) {
+        try {
+            var digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(code.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package bitecode.modules.auth.auth.model.entity;
+
+import bitecode.modules._common.model.entity.BaseEntity;
+import bitecode.modules.auth.auth.model.enums.VerificationCodePurpose;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Table;
+import lombok.*;
+
+import java.io.Serial;
+import java.time.Instant;
+
+@Entity
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "verification_code", schema = "auth")
+public class VerificationCode extends BaseEntity {
+    @Serial
+    private static final long serialVersionUID = -4385206349611032237L;
+
+    @Enumerated(EnumType.STRING)
+    private VerificationCodePurpose purpose;
+    private String subject;
+    private String codeHash;
+    private Instant expiresAt;
+}
@@ -0,0 +1,5 @@
+package bitecode.modules.auth.auth.model.enums;
+
+public enum VerificationCodePurpose {
+    MFA, EMAIL_VERIFICATION, PASSWORD_RESET
+}
@@ -0,0 +1,51 @@
+package bitecode.modules.auth.auth.repository;
+
+import bitecode.modules.auth.auth.model.entity.VerificationCode;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface VerificationCodeRepository extends JpaRepository<VerificationCode, Long> {
+
+    /**
+     * Stores the code, or hands it over to {@code subject} when the same code was already issued for the purpose.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+            INSERT INTO auth.verification_code (purpose, subject, code_hash, expires_at)
+            VALUES (:purpose, :subject, :codeHash, :expiresAt)
+            ON CONFLICT (purpose, code_hash) DO UPDATE
+            SET subject = EXCLUDED.subject,
+                expires_at = EXCLUDED.expires_at,
+                updated_date = CURRENT_TIMESTAMP
+            """, nativeQuery = true)
+    int upsert(String purpose, String subject, String codeHash, Instant expiresAt);
+
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM auth.verification_code WHERE purpose = :purpose AND subject = :subject", nativeQuery = true)
+    int deleteAllByPurposeAndSubject(String purpose, String subject);
+
+    /**
+     * Deletes the code and returns its subject, so of concurrent requests with the same code only one gets it back.
+     */
+    @Transactional
+    @Query(value = """
+            DELETE FROM auth.verification_code
+            WHERE purpose = :purpose AND code_hash = :codeHash AND expires_at > CURRENT_TIMESTAMP
+            RETURNING subject
+            """, nativeQuery = true)
+    List<String> consume(String purpose, String codeHash);
+
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM auth.verification_code WHERE expires_at <= CURRENT_TIMESTAMP", nativeQuery = true)
+    int deleteAllExpired();
+}
@@ -1,13 +1,16 @@
 package bitecode.modules.auth.user;
 
+import bitecode.modules._common.service.cache.CachePolicy;
 import bitecode.modules._common.service.cache.CacheRef;
 import bitecode.modules._common.service.cache.CacheService;
 import bitecode.modules._common.service.email.EmailService;
 import bitecode.modules._common.util.RandomCodeGeneratorUtils;
 import bitecode.modules.auth.auth.AuthService;
 import bitecode.modules.auth.auth.TOTPService;
+import bitecode.modules.auth.auth.VerificationCodeService;
 import bitecode.modules.auth.auth.config.properties.AuthProperties;
 import bitecode.modules.auth.auth.model.enums.MfaMethod;
+import bitecode.modules.auth.auth.model.enums.VerificationCodePurpose;
 import bitecode.modules.auth.auth.util.PasswordUtils;
 import bitecode.modules.auth.user.model.data.SetupMfaMethodDetails;
 import bitecode.modules.auth.user.model.entity.User;
@@ -40,8 +43,8 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.time.Duration;
 import java.util.*;
-import java.util.concurrent.TimeUnit;
 
 import static bitecode.modules.auth.auth.util.PasswordUtils.hashPassword;
 
@@ -50,9 +53,10 @@ import static bitecode.modules.auth.auth.util.PasswordUtils.hashPassword;
 @RequiredArgsConstructor
 @Scope(value = ConfigurableBeanFactory.SCOPE_SINGLETON, proxyMode = ScopedProxyMode.TARGET_CLASS)
 public class UserService implements UserDetailsService {
+    private static final long VERIFICATION_CACHES_MAXIMUM_SIZE = 100_000;
+    private static final Duration FORGOTTEN_PASSWORD_CODE_TTL = Duration.ofMinutes(15);
+    private static final Duration EMAIL_VERIFICATION_CODE_TTL = Duration.ofHours(1);
 
-    private CacheRef<String, ForgottenPasswordData> FORGOTTEN_EMAIL_CODES_CACHE;
-    private CacheRef<String, String> NEW_ACCOUNTS_EMAIL_VERIFICATION_CACHE;
     private CacheRef<String, Integer> EMAIL_VERIFICATION_RATE_LIMITER;
 
     @Autowired
@@ -69,6 +73,8 @@ public class UserService implements UserDetailsService {
     private final EmailService emailService;
     @Autowired
     private final TOTPService totpService;
+    @Autowired
+    private final VerificationCodeService verificationCodeService;
 
     public Optional<User> findUserByUuid(UUID userId) {
         return userRepository.findByUuid(userId);
@@ -141,7 +147,7 @@ public class UserService implements UserDetailsService {
     }
 
     public void verifyUserEmail(String verificationCode) {
-        var email = NEW_ACCOUNTS_EMAIL_VERIFICATION_CACHE.getAndRemove(verificationCode)
+        var email = verificationCodeService.consume(VerificationCodePurpose.EMAIL_VERIFICATION, verificationCode)
                 .orElseThrow(() -> new HttpClientErrorException(HttpStatus.BAD_REQUEST, "Invalid verification code"));
         userRepository.updateEmailConfirmedByEmail(email);
     }
@@ -182,7 +188,8 @@ public class UserService implements UserDetailsService {
             var user = findUserByEmail(email)
                     .orElseThrow(() -> new HttpClientErrorException(HttpStatus.NOT_FOUND));
             var verificationCode = UUID.randomUUID().toString().replace("-", "");
-            FORGOTTEN_EMAIL_CODES_CACHE.put(verificationCode, new ForgottenPasswordData(verificationCode, user.getUsername()));
+            verificationCodeService.issue(VerificationCodePurpose.PASSWORD_RESET, user.getUsername(), verificationCode,
+                    FORGOTTEN_PASSWORD_CODE_TTL);
             if (log.isDebugEnabled()) {
                 log.debug("Forgotten password req, username=%s, verificationCode=%s".formatted(user.getUsername(), verificationCode));
             }
@@ -213,15 +220,9 @@ public class UserService implements UserDetailsService {
     }
 
     public void resetForgottenPassword(ResetForgottenPasswordRequest request) {
-        var verificationCode = request.verificationCode();
-        var forgottenPasswordData = FORGOTTEN_EMAIL_CODES_CACHE.get(verificationCode)
+        var username = verificationCodeService.consume(VerificationCodePurpose.PASSWORD_RESET, request.verificationCode())
                 .orElseThrow(() -> new HttpClientErrorException(HttpStatus.NOT_FOUND));
-        if (forgottenPasswordData.verificationCode().equals(verificationCode)) {
-            FORGOTTEN_EMAIL_CODES_CACHE.remove(verificationCode);
-            userRepository.updatePasswordByEmail(forgottenPasswordData.username(), hashPassword(request.newPassword()));
-        } else {
-            throw new HttpClientErrorException(HttpStatus.BAD_REQUEST, "Invalid verification code");
-        }
+        userRepository.updatePasswordByEmail(username, hashPassword(request.newPassword()));
     }
 
     @Override
@@ -246,7 +247,8 @@ public class UserService implements UserDetailsService {
 
         try {
             emailService.sendEmail(email, "Email confirmation", "new_user_template.html", model);
-            NEW_ACCOUNTS_EMAIL_VERIFICATION_CACHE.put(verificationCode, email);
+            verificationCodeService.issue(VerificationCodePurpose.EMAIL_VERIFICATION, email, verificationCode,
+                    EMAIL_VERIFICATION_CODE_TTL);
         } catch (MessagingException e) {
             log.error("Could not send email", e);
             throw new HttpClientErrorException(HttpStatus.SERVICE_UNAVAILABLE, "Could not send new account confirmation email");
@@ -307,12 +309,9 @@ public class UserService implements UserDetailsService {
 
     @Autowired
     public void setCache(CacheService cacheService) {
-        this.FORGOTTEN_EMAIL_CODES_CACHE = cacheService.createCache("FORGOTTEN_EMAIL_CODES_CACHE", 15, TimeUnit.MINUTES);
-        this.NEW_ACCOUNTS_EMAIL_VERIFICATION_CACHE = cacheService.createCache("NEW_ACCOUNTS_EMAIL_VERIFICATION_CACHE", 1, TimeUnit.HOURS);
-        this.EMAIL_VERIFICATION_RATE_LIMITER = cacheService.createCache("EMAIL_VERIFICATION_RATE_LIMITER", 10, TimeUnit.SECONDS);
-    }
-
-    record ForgottenPasswordData(String verificationCode, String username) {
-
+        this.EMAIL_VERIFICATION_RATE_LIMITER = cacheService.createCache("EMAIL_VERIFICATION_RATE_LIMITER", CachePolicy.<String, Integer>builder()
+                .maximumSize(VERIFICATION_CACHES_MAXIMUM_SIZE)
+                .expireAfterWrite(Duration.ofSeconds(10))
+                .build());
     }
 }
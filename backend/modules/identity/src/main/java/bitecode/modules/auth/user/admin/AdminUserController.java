@@ -1,6 +1,9 @@
 package bitecode.modules.auth.user.admin;
 
 import bitecode.modules._common.model.annotation.AdminAccess;
+import bitecode.modules._common.model.data.SeekPage;
+import bitecode.modules._common.service.export.ExportFormat;
+import bitecode.modules._common.service.export.ExportService;
 import bitecode.modules._common.shared.identity.user.model.data.UserDetails;
 import bitecode.modules.auth.user.admin.model.request.InviteUserRequest;
 import bitecode.modules.auth.user.model.data.FindUsersCriteria;
@@ -12,7 +15,11 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PagedModel;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.Map;
 
@@ -22,8 +29,11 @@ import java.util.Map;
 @RequestMapping("/admin/users")
 @RequiredArgsConstructor
 public class AdminUserController {
+    private static final int MAX_SEEK_PAGE_SIZE = 500;
+
     private final AdminUserService adminUserService;
     private final UserMapper userMapper;
+    private final ExportService exportService;
 
     @GetMapping("/statistics")
     public Map<String, Long> getRequestFiltersTotalElems() {
@@ -43,6 +53,35 @@ public class AdminUserController {
         return new PagedModel<>(page);
     }
 
+    /**
+     * Keyset paginated variant of {@link #getUsers}, newest first. Pass the returned {@code nextCursor} to get the
+     * following page.
+     */
+    @GetMapping("/seek")
+    public SeekPage<UserDetails> seekUsers(@RequestParam(required = false) String cursor,
+                                           @RequestParam(defaultValue = "20") int size,
+                                           @ModelAttribute FindUsersCriteria userCriteria) {
+        if (size < 1 || size > MAX_SEEK_PAGE_SIZE) {
+            throw new HttpClientErrorException(HttpStatus.BAD_REQUEST, "Invalid page size");
+        }
+        return adminUserService.seekByCriteria(cursor, size, userCriteria)
+                .map(userMapper::toUserDetails);
+    }
+
+    /**
+     * Streams all users matching the criteria, newest first, as {@code ndjson} or {@code csv}.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportUsers(@RequestParam(defaultValue = "ndjson") String format,
+                                                             @ModelAttribute FindUsersCriteria userCriteria) {
+        return exportService.exportChunked("users", ExportFormat.of(format),
+                () -> adminUserService.streamByCriteria(userCriteria),
+                users -> {
+                    adminUserService.fetchRoles(users);
+                    return users.stream().map(userMapper::toUserDetails).toList();
+                });
+    }
+
     @PostMapping("/invite")
     public void inviteUser(@Valid @RequestBody InviteUserRequest request) {
         adminUserService.createAndInviteUser(request);
@@ -1,5 +1,6 @@
 package bitecode.modules.auth.user.admin;
 
+import bitecode.modules._common.model.data.SeekPage;
 import bitecode.modules._common.service.email.EmailService;
 import bitecode.modules._common.util.RandomCodeGeneratorUtils;
 import bitecode.modules.auth.auth.config.properties.AuthProperties;
@@ -21,8 +22,10 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.client.HttpClientErrorException;
 
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.stream.Stream;
 
 import static bitecode.modules.auth.auth.util.PasswordUtils.hashPassword;
 
@@ -40,6 +43,18 @@ public class AdminUserService {
         return userRepository.findAllByCriteria(pageable, criteria);
     }
 
+    public SeekPage<User> seekByCriteria(String cursor, int size, FindUsersCriteria criteria) {
+        return userRepository.findAllByCriteria(cursor, size, criteria);
+    }
+
+    public Stream<User> streamByCriteria(FindUsersCriteria criteria) {
+        return userRepository.streamAllByCriteria(criteria);
+    }
+
+    public void fetchRoles(List<User> users) {
+        userRepository.fetchRoles(users);
+    }
+
     @Transactional
     public Map<String, Long> getFiltersTotalElemsCount() {
         return Map.of("ALL", userRepository.count(),
@@ -1,11 +1,27 @@
 package bitecode.modules.auth.user.repository;
 
+import bitecode.modules._common.model.data.SeekPage;
 import bitecode.modules.auth.user.model.data.FindUsersCriteria;
 import bitecode.modules.auth.user.model.entity.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.web.bind.annotation.ModelAttribute;
 
+import java.util.List;
+import java.util.stream.Stream;
+
 public interface CustomUserRepository {
     Page<User> findAllByCriteria(Pageable pageable, @ModelAttribute FindUsersCriteria userCriteria);
+
+    SeekPage<User> findAllByCriteria(String cursor, int size, FindUsersCriteria userCriteria);
+
+    /**
+     * Newest first, with user data, through {@link bitecode.modules._common.util.QueryDslUtils#stream}.
+     */
+    Stream<User> streamAllByCriteria(FindUsersCriteria userCriteria);
+
+    /**
+     * Initializes the roles of the given, already loaded users with a single query.
+     */
+    void fetchRoles(List<User> users);
 }
@@ -1,5 +1,9 @@
 package bitecode.modules.auth.user.repository;
 
+import bitecode.modules._common.model.data.SeekPage;
+import bitecode.modules._common.service.export.ExportService;
+import bitecode.modules._common.service.pagination.RowCountEstimator;
+import bitecode.modules._common.util.SeekCursor;
 import bitecode.modules.auth.auth.model.entity.QRole;
 import bitecode.modules.auth.user.model.data.FindUsersCriteria;
 import bitecode.modules.auth.user.model.entity.QUser;
@@ -7,6 +11,7 @@ import bitecode.modules.auth.user.model.entity.QUserData;
 import bitecode.modules.auth.user.model.entity.QUserRole;
 import bitecode.modules.auth.user.model.entity.User;
 import com.querydsl.core.BooleanBuilder;
+import com.querydsl.jpa.impl.JPAQuery;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import io.jsonwebtoken.lang.Collections;
 import lombok.RequiredArgsConstructor;
@@ -14,20 +19,81 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 import static bitecode.modules._common.util.QueryDslUtils.applyPagination;
+import static bitecode.modules._common.util.QueryDslUtils.applySeekPagination;
+import static bitecode.modules._common.util.QueryDslUtils.stream;
 import static bitecode.modules._common.util.QueryDslUtils.toOrderSpecifiers;
 
 @Repository
 @RequiredArgsConstructor
 public class CustomUserRepositoryImpl implements CustomUserRepository {
+    private static final String USER_TABLE = "auth.\"user\"";
 
     private final JPAQueryFactory queryFactory;
+    private final RowCountEstimator rowCountEstimator;
 
     @Override
     public Page<User> findAllByCriteria(Pageable pageable, FindUsersCriteria criteria) {
         var qUser = QUser.user;
+        var where = toPredicate(criteria);
+        var query = selectUsers(criteria).where(where);
+
+        query.orderBy(toOrderSpecifiers(User.class, pageable.getSort()));
+
+        Supplier<Long> countSupplier = () -> rowCountEstimator.countOrEstimate(USER_TABLE, where.hasValue(), () -> queryFactory
+                .select(qUser.count())
+                .from(qUser)
+                .where(where)
+                .fetchOne());
+
+        return applyPagination(query, countSupplier, pageable);
+    }
+
+    @Override
+    public SeekPage<User> findAllByCriteria(String cursor, int size, FindUsersCriteria criteria) {
+        var qUser = QUser.user;
+        var query = selectUsers(criteria).where(toPredicate(criteria));
+
+        return applySeekPagination(query, qUser.createdDate, qUser.id, cursor, size,
+                user -> new SeekCursor(user.getCreatedDate(), user.getId()));
+    }
+
+    @Override
+    public Stream<User> streamAllByCriteria(FindUsersCriteria criteria) {
+        var qUser = QUser.user;
+        var qUserData = QUserData.userData;
+
+        // roles are a collection, joining them would repeat users across the cursor, see fetchRoles
+        var query = queryFactory.selectFrom(qUser)
+                .leftJoin(qUser.userData, qUserData).fetchJoin()
+                .where(toPredicate(criteria))
+                .orderBy(qUser.createdDate.desc(), qUser.id.desc());
+
+        return stream(query, ExportService.FETCH_SIZE);
+    }
+
+    @Override
+    public void fetchRoles(List<User> users) {
+        if (users.isEmpty()) {
+            return;
+        }
+        var qUser = QUser.user;
+        var qRole = QRole.role;
+        var qUserRole = QUserRole.userRole;
+
+        queryFactory.selectFrom(qUser)
+                .leftJoin(qUser.roles, qUserRole).fetchJoin()
+                .leftJoin(qUserRole.role, qRole).fetchJoin()
+                .where(qUser.id.in(users.stream().map(User::getId).toList()))
+                .fetch();
+    }
+
+    private JPAQuery<User> selectUsers(FindUsersCriteria criteria) {
+        var qUser = QUser.user;
 
         var query = queryFactory.selectFrom(qUser);
 
@@ -40,7 +106,11 @@ public class CustomUserRepositoryImpl implements CustomUserRepository {
                     .leftJoin(qUser.roles, qUserRole).fetchJoin()
                     .leftJoin(qUserRole.role, qRole).fetchJoin();
         }
+        return query;
+    }
 
+    private static BooleanBuilder toPredicate(FindUsersCriteria criteria) {
+        var qUser = QUser.user;
         var where = new BooleanBuilder();
 
         if (!Collections.isEmpty(criteria.userIds())) {
@@ -58,17 +128,6 @@ public class CustomUserRepositoryImpl implements CustomUserRepository {
         if (criteria.endDate() != null) {
             where.and(qUser.createdDate.loe(criteria.endDate()));
         }
-
-        query.where(where);
-
-        query.orderBy(toOrderSpecifiers(User.class, pageable.getSort()));
-
-        Supplier<Long> countSupplier = () -> queryFactory
-                .select(qUser.count())
-                .from(qUser)
-                .where(where)
-                .fetchOne();
-
-        return applyPagination(query, countSupplier, pageable);
+        return where;
     }
 }
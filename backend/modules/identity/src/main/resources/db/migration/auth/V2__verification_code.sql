@@ -0,0 +1,15 @@
+-- single-use codes sent by email; only their hash is stored, and a code is consumed by deleting its row
+CREATE TABLE verification_code
+(
+    id           BIGSERIAL PRIMARY KEY,
+    purpose      VARCHAR(32)              NOT NULL,
+    subject      VARCHAR(255)             NOT NULL,
+    code_hash    VARCHAR(64)              NOT NULL,
+    expires_at   TIMESTAMP WITH TIME ZONE NOT NULL,
+    created_date TIMESTAMP WITH TIME ZONE NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_date TIMESTAMP WITH TIME ZONE NULL DEFAULT CURRENT_TIMESTAMP,
+    UNIQUE (purpose, code_hash)
+);
+
+CREATE INDEX ON verification_code (purpose, subject);
+CREATE INDEX ON verification_code (expires_at);
@@ -0,0 +1,103 @@
+package bitecode.modules.auth.user;
+
+import bitecode.modules._common.utils.Paths;
+import bitecode.modules._common.utils.TestDataFactory;
+import bitecode.modules.auth._config.AuthIntegrationTest;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class AdminUserExportTest extends AuthIntegrationTest {
+
+    TestDataFactory.TestUserData adminUserData;
+    TestDataFactory.TestUserData userData;
+
+    @BeforeAll
+    void setup() {
+        adminUserData = testDataFactory.createAdminUser();
+        userData = testDataFactory.createTestUser("adminUserExportTest");
+    }
+
+    @Test
+    @DisplayName("Admin should export users as NDJSON")
+    void shouldExportUsersAsNdjson() throws Exception {
+        // when
+        // @formatter:off
+        var body = given()
+                .auth().oauth2(adminUserData.accessToken())
+        .when()
+                .get(Paths.User.GET.adminExport("ndjson"))
+        .then()
+                .statusCode(200)
+                .contentType(containsString("application/x-ndjson"))
+                .header("Content-Disposition", containsString("users.ndjson"))
+                .extract().asString();
+        // @formatter:on
+
+        // then
+        var exportedEmails = Arrays.stream(body.split("\n"))
+                .map(line -> {
+                    try {
+                        return objectMapper.readTree(line).get("email").asText();
+                    } catch (Exception e) {
+                        throw new IllegalStateException("Invalid NDJSON line,line=" + line, e);
+                    }
+                })
+                .toList();
+        assertThat(exportedEmails, hasItems(userData.user().getEmail(), adminUserData.user().getEmail()));
+    }
+
+    @Test
+    @DisplayName("Admin should export users as CSV with a header row")
+    void shouldExportUsersAsCsv() {
+        // when
+        // @formatter:off
+        var body = given()
+                .auth().oauth2(adminUserData.accessToken())
+        .when()
+                .get(Paths.User.GET.adminExport("csv"))
+        .then()
+                .statusCode(200)
+                .contentType(containsString("text/csv"))
+                .header("Content-Disposition", containsString("users.csv"))
+                .extract().asString();
+        // @formatter:on
+
+        // then
+        var lines = body.split("\r\n");
+        assertThat(Arrays.asList(lines[0].split(",")), hasItems("uuid", "email", "roles"));
+        assertThat(Arrays.stream(lines).filter(line -> line.contains(userData.user().getEmail())).count(), is(1L));
+    }
+
+    @Test
+    @DisplayName("Export should reject an unsupported format")
+    void shouldRejectUnsupportedFormat() {
+        // @formatter:off
+        given()
+                .auth().oauth2(adminUserData.accessToken())
+        .when()
+                .get(Paths.User.GET.adminExport("xml"))
+        .then()
+                .statusCode(400);
+        // @formatter:on
+    }
+
+    @Test
+    @DisplayName("User should not be able to export users due to missing roles")
+    void asUserShouldNotExportUsers() {
+        // @formatter:off
+        given()
+                .auth().oauth2(userData.accessToken())
+        .when()
+                .get(Paths.User.GET.adminExport("ndjson"))
+        .then()
+                .statusCode(403);
+        // @formatter:on
+    }
+}
@@ -94,6 +94,18 @@ public class UserTest extends AuthIntegrationTest {
 
         var user = (User) userService.loadUserByUsername("testReg@email.com");
         assertThat(user.isEmailConfirmed(), is(true));
+
+        // 3. The code was consumed
+
+        // @formatter:off
+        given()
+                .redirects().follow(false)
+                .contentType(ContentType.JSON)
+        .when()
+                .post(Paths.User.POST.confirmEmail(verificationCode))
+        .then()
+                .statusCode(400);
+        // @formatter:on
     }
 
     @Test
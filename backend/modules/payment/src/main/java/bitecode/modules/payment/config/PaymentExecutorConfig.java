@@ -0,0 +1,16 @@
+package bitecode.modules.payment.config;
+
+import bitecode.modules._common.service.executor.ModuleExecutorService;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class PaymentExecutorConfig {
+    public static final String EXECUTOR = "paymentModuleExecutor";
+
+    @Bean(EXECUTOR)
+    public ThreadPoolTaskExecutor paymentModuleExecutor(ModuleExecutorService moduleExecutorService) {
+        return moduleExecutorService.createExecutor("payment");
+    }
+}
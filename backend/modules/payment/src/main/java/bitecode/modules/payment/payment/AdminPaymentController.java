@@ -1,6 +1,8 @@
 package bitecode.modules.payment.payment;
 
 import bitecode.modules._common.model.annotation.AdminAccess;
+import bitecode.modules._common.service.export.ExportFormat;
+import bitecode.modules._common.service.export.ExportService;
 import bitecode.modules.payment.payment.model.data.details.PaymentDetails;
 import bitecode.modules.payment.payment.model.mapper.PaymentMapper;
 import lombok.RequiredArgsConstructor;
@@ -8,9 +10,12 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PagedModel;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.util.List;
 import java.util.UUID;
 
 @Slf4j
@@ -21,6 +26,7 @@ import java.util.UUID;
 public class AdminPaymentController {
     private final PaymentService paymentService;
     private final PaymentMapper paymentMapper;
+    private final ExportService exportService;
 
     @GetMapping
     public PagedModel<PaymentDetails> getPayments(Pageable pageable, @RequestParam(defaultValue = "false") boolean includeEvents) {
@@ -30,6 +36,23 @@ public class AdminPaymentController {
         );
     }
 
+    /**
+     * Streams all payments, newest first, as {@code ndjson} or {@code csv}. With {@code includeEvents} the applied
+     * history is loaded once per chunk of payments.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportPayments(@RequestParam(defaultValue = "ndjson") String format,
+                                                                @RequestParam(defaultValue = "false") boolean includeEvents) {
+        return exportService.exportChunked("payments", ExportFormat.of(format), paymentService::streamAll, payments -> {
+            var history = includeEvents ? paymentService.findAppliedHistory(payments) : null;
+            return payments.stream()
+                    .map(payment -> paymentMapper.toPaymentDetails(payment, history != null
+                            ? history.getOrDefault(payment.getId(), List.of())
+                            : null))
+                    .toList();
+        });
+    }
+
     @GetMapping("/{id}")
     public PaymentDetails getPayment(@PathVariable UUID id, @RequestParam(defaultValue = "false") boolean includeEvents) {
         return paymentService.findByUuid(id, includeEvents)
@@ -4,6 +4,10 @@ import bitecode.modules.payment.payment.model.entity.PaymentHistory;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface PaymentHistoryRepository extends JpaRepository<PaymentHistory, Long> {
+    List<PaymentHistory> findAllByPaymentIdInAndAppliedTrueOrderByCreatedDateDescIdDesc(Collection<Long> paymentIds);
 }
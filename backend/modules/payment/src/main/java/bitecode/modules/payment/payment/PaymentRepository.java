@@ -1,18 +1,23 @@
 package bitecode.modules.payment.payment;
 
+import bitecode.modules._common.service.export.ExportService;
 import bitecode.modules._common.shared.payment.model.enums.PaymentStatus;
 import bitecode.modules.payment.payment.model.entity.Payment;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface PaymentRepository extends JpaRepository<Payment, Long> {
@@ -40,6 +45,13 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
             """)
     Optional<Payment> findFetchHistoryAppliedTrue(UUID id);
 
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = ExportService.FETCH_SIZE_HINT),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p FROM Payment p ORDER BY p.createdDate DESC, p.id DESC")
+    Stream<Payment> streamAll();
+
     @Transactional
     @Modifying
     @Query("UPDATE Payment p SET p.transactionId = :transactionId WHERE p.uuid = :id")
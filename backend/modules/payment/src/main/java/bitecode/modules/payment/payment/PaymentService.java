@@ -1,7 +1,10 @@
 package bitecode.modules.payment.payment;
 
-import bitecode.modules._common.service.cache.CacheService;
-import bitecode.modules._common.service.locking.InMemoryLock;
+import bitecode.modules._common.service.executor.KeyedExecutor;
+import bitecode.modules._common.service.executor.KeyedExecutorService;
+import bitecode.modules._common.service.locking.KeyLock;
+import bitecode.modules._common.service.locking.LockService;
+import bitecode.modules._common.service.outbox.OutboxService;
 import bitecode.modules._common.shared.payment.model.enums.PaymentStatus;
 import bitecode.modules._common.shared.payment.model.event.PaymentStatusUpdatedEvent;
 import bitecode.modules.payment.payment.model.data.CreateNewPaymentData;
@@ -15,7 +18,6 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
@@ -25,20 +27,25 @@ import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.client.HttpClientErrorException;
 
 import java.io.IOException;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class PaymentService {
-    private final ApplicationEventPublisher eventPublisher;
+    private final OutboxService outboxService;
     private final PaymentHistoryRepository historyRepository;
     private final PaymentRepository paymentRepository;
     private final ObjectMapper objectMapper;
     private final PaymentMapper paymentMapper;
     private final TransactionTemplate transactionTemplate;
-    private InMemoryLock paymentLock;
+    private KeyedExecutor paymentExecutor;
+    private KeyLock paymentLock;
 
     public Page<Payment> findAll(Pageable pageable, boolean includeEvents) {
         return includeEvents
@@ -46,6 +53,22 @@ public class PaymentService {
                 : paymentRepository.findAll(pageable);
     }
 
+    /**
+     * Newest first, through a server side cursor.
+     */
+    public Stream<Payment> streamAll() {
+        return paymentRepository.streamAll();
+    }
+
+    /**
+     * Applied history of the given payments, in a single query, grouped by payment id.
+     */
+    public Map<Long, List<PaymentHistory>> findAppliedHistory(List<Payment> payments) {
+        var paymentIds = payments.stream().map(Payment::getId).toList();
+        return historyRepository.findAllByPaymentIdInAndAppliedTrueOrderByCreatedDateDescIdDesc(paymentIds).stream()
+                .collect(Collectors.groupingBy(history -> history.getPayment().getId()));
+    }
+
     public Optional<Payment> findByUuid(UUID paymentId, boolean includeEvents) {
         return includeEvents
                 ? paymentRepository.findFetchHistoryAppliedTrue(paymentId)
@@ -71,14 +94,23 @@ public class PaymentService {
                 throw new RuntimeException(e);
             }
         });
-        eventPublisher.publishEvent(paymentMapper.toPaymentCreatedCommand(payment));
+        outboxService.publish(paymentMapper.toPaymentCreatedCommand(payment));
         return payment;
     }
 
-    @Transactional
+    /**
+     * Updates of the same payment are queued and applied one at a time, in the order they arrive, each in its own
+     * transaction, so concurrent webhook deliveries for one payment are serialized instead of rejected. The payment
+     * lock additionally excludes updates of the same payment running on other nodes.
+     */
     public Payment updatePaymentStatus(PaymentUpdateData updateNotification) {
-        var payment = findPayment(updateNotification);
-        var isLocked = paymentLock.tryLock(payment.getUuid().toString());
+        var paymentId = findPayment(updateNotification).getUuid();
+        return paymentExecutor.execute(paymentId.toString(), () -> transactionTemplate.execute(status ->
+                paymentLock.tryLockWrap(paymentId.toString(), () -> applyPaymentStatusUpdate(paymentId, updateNotification))));
+    }
+
+    private Payment applyPaymentStatusUpdate(UUID paymentId, PaymentUpdateData updateNotification) {
+        var payment = paymentRepository.findByUuid(paymentId).orElseThrow();
         try {
             var oldStatus = payment.getStatus();
             if (PaymentStatus.CONFIRMED == oldStatus && payment.getAmount().compareTo(updateNotification.amount()) != 0) {
@@ -95,10 +127,6 @@ public class PaymentService {
         } catch (Exception e) {
             log.error("PaymentService::updatePaymentStatus,exception={}", e, e);
             throw new HttpClientErrorException(HttpStatus.INTERNAL_SERVER_ERROR, "Processing error");
-        } finally {
-            if (isLocked) {
-                paymentLock.unlock(payment.getUuid().toString());
-            }
         }
     }
 
@@ -107,7 +135,7 @@ public class PaymentService {
     }
 
     private void sendPaymentStatusUpdateEvent(Payment payment, PaymentStatus oldStatus) {
-        eventPublisher.publishEvent(PaymentStatusUpdatedEvent.builder()
+        outboxService.publish(PaymentStatusUpdatedEvent.builder()
                 .paymentId(payment.getUuid())
                 .transactionId(payment.getTransactionId())
                 .newStatus(payment.getStatus())
@@ -148,7 +176,12 @@ public class PaymentService {
     }
 
     @Autowired
-    public void setPaymentLock(CacheService cacheService) {
-        this.paymentLock = new InMemoryLock(cacheService, "PAYMENT_LOCK");
+    public void setPaymentExecutor(KeyedExecutorService keyedExecutorService) {
+        this.paymentExecutor = keyedExecutorService.createExecutor("PAYMENT");
+    }
+
+    @Autowired
+    public void setPaymentLock(LockService lockService) {
+        this.paymentLock = lockService.createLock("PAYMENT_LOCK");
     }
 }
@@ -1,6 +1,7 @@
 package bitecode.modules.payment.payment.handler.event;
 
 import bitecode.modules._common.shared.transaction.model.event.TransactionCreatedEvent;
+import bitecode.modules.payment.config.PaymentExecutorConfig;
 import bitecode.modules.payment.payment.PaymentService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -8,6 +9,8 @@ import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
 
+import java.util.concurrent.CompletableFuture;
+
 @Component
 @Slf4j
 @RequiredArgsConstructor
@@ -15,11 +18,12 @@ public class NewTransactionCreatedEventHandler {
 
     private final PaymentService paymentService;
 
-    @Async
+    @Async(PaymentExecutorConfig.EXECUTOR)
     @EventListener(TransactionCreatedEvent.class)
-    public void handleNewTransactionCreatedCommand(TransactionCreatedEvent event) {
+    public CompletableFuture<Void> handleNewTransactionCreatedCommand(TransactionCreatedEvent event) {
         if (event.paymentId() != null) {
             paymentService.updatePaymentTransactionId(event.paymentId(), event.uuid());
         }
+        return CompletableFuture.completedFuture(null);
     }
 }
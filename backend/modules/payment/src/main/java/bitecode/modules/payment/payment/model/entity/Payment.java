@@ -34,12 +34,12 @@ public class Payment extends UuidBaseEntity {
     @Enumerated(EnumType.STRING)
     private PaymentType type;
 
-    @OrderBy("id DESC")
+    @OrderBy("createdDate DESC, id DESC")
     @Builder.Default
     @OneToMany(mappedBy = "payment")
     private List<PaymentHistory> paymentHistoryList = new ArrayList<>();
 
-    @OrderBy("id DESC")
+    @OrderBy("createdDate DESC, id DESC")
     @OneToOne(mappedBy = "payment")
     private SubscriptionHistory subscriptionHistory;
 }
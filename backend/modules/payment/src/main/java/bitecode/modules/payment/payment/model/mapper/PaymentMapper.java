@@ -3,10 +3,13 @@ package bitecode.modules.payment.payment.model.mapper;
 import bitecode.modules._common.shared.payment.model.event.PaymentCreatedEvent;
 import bitecode.modules.payment.payment.model.data.details.PaymentDetails;
 import bitecode.modules.payment.payment.model.entity.Payment;
+import bitecode.modules.payment.payment.model.entity.PaymentHistory;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.MappingConstants;
 
+import java.util.List;
+
 @Mapper(componentModel = MappingConstants.ComponentModel.SPRING, uses = {PaymentHistoryMapper.class})
 public interface PaymentMapper {
     @Mapping(source = "uuid", target = "paymentId")
@@ -14,4 +17,10 @@ public interface PaymentMapper {
 
     @Mapping(target = "history", source = "paymentHistoryList")
     PaymentDetails toPaymentDetails(Payment payment);
+
+    /**
+     * Uses the given history instead of the lazily loaded {@code paymentHistoryList}.
+     */
+    @Mapping(target = "history", source = "history")
+    PaymentDetails toPaymentDetails(Payment payment, List<PaymentHistory> history);
 }
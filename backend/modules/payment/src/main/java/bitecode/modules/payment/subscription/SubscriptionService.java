@@ -1,7 +1,7 @@
 package bitecode.modules.payment.subscription;
 
-import bitecode.modules._common.service.cache.CacheService;
-import bitecode.modules._common.service.locking.InMemoryLock;
+import bitecode.modules._common.service.locking.KeyLock;
+import bitecode.modules._common.service.locking.LockService;
 import bitecode.modules._common.shared.identity.user.UserServiceFacade;
 import bitecode.modules._common.shared.payment.model.enums.PaymentGateway;
 import bitecode.modules._common.shared.payment.model.enums.PaymentStatus;
@@ -54,7 +54,7 @@ public class SubscriptionService {
     private final SubscriptionPlanRepository subscriptionPlanRepository;
     private final SubscriptionMapper subscriptionMapper;
     private Map<PaymentGateway, SubscriptionProvider> paymentProviders;
-    private InMemoryLock inMemoryLock;
+    private KeyLock subscriptionLock;
 
     public Optional<Subscription> findSubscriptionByUuid(UUID uuid) {
         return subscriptionRepository.findByUuid(uuid);
@@ -163,7 +163,7 @@ public class SubscriptionService {
 
     @Transactional
     public Subscription newSubscriptionPayment(UUID subscriptionId, BigDecimal amount, String currency, PaymentGateway gateway, String gatewayId) {
-        return inMemoryLock.tryLockWrap(subscriptionId.toString(), () -> {
+        return subscriptionLock.tryLockWrap(subscriptionId.toString(), () -> {
 
             var subscription = subscriptionRepository.findByUuid(subscriptionId)
                     .orElseThrow(() -> new HttpClientErrorException(HttpStatus.NOT_FOUND, "Subscription not found"));
@@ -209,8 +209,8 @@ public class SubscriptionService {
     }
 
     @Autowired
-    public void setInMemoryLock(CacheService cacheService) {
-        this.inMemoryLock = new InMemoryLock(cacheService, "SUBSCRIPTION_LOCK");
+    public void setSubscriptionLock(LockService lockService) {
+        this.subscriptionLock = lockService.createLock("SUBSCRIPTION_LOCK");
     }
 
     @Autowired
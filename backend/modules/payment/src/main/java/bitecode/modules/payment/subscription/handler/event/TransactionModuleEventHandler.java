@@ -2,6 +2,7 @@ package bitecode.modules.payment.subscription.handler.event;
 
 import bitecode.modules._common.shared.transaction.model.enums.TransactionStatus;
 import bitecode.modules._common.shared.transaction.model.event.TransactionStatusUpdatedEvent;
+import bitecode.modules.payment.config.PaymentExecutorConfig;
 import bitecode.modules.payment.subscription.SubscriptionService;
 import bitecode.modules.payment.subscription.repository.SubscriptionRepository;
 import lombok.RequiredArgsConstructor;
@@ -11,6 +12,7 @@ import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 @Component
 @RequiredArgsConstructor
@@ -18,15 +20,16 @@ public class TransactionModuleEventHandler {
     private final SubscriptionRepository repository;
     private final SubscriptionService subscriptionService;
 
-    @Async
+    @Async(PaymentExecutorConfig.EXECUTOR)
     @Transactional
     @EventListener(TransactionStatusUpdatedEvent.class)
-    public void handleTransactionEvent(TransactionStatusUpdatedEvent event) {
+    public CompletableFuture<Void> handleTransactionEvent(TransactionStatusUpdatedEvent event) {
         if (TransactionStatus.COMPLETED.equals(event.status())) {
             var subscriptionId = UUID.fromString(event.debitReferenceId());
             var subscription = repository.findByUuid(subscriptionId)
                     .orElseThrow(() -> new RuntimeException("Could not find subscription with id: " + subscriptionId));
             subscriptionService.addSubscriptionPayment(subscription);
         }
+        return CompletableFuture.completedFuture(null);
     }
 }
@@ -33,7 +33,7 @@ public class Subscription extends UuidBaseEntity {
     private SubscriptionPlan subscriptionPlan;
 
     @Builder.Default
-    @OrderBy("id DESC")
+    @OrderBy("createdDate DESC, id DESC")
     @OneToMany(mappedBy = "subscription", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<SubscriptionHistory> subscriptionHistory = new ArrayList<>();
 }
@@ -0,0 +1,7 @@
+-- ids are allocated by Hibernate in pooled blocks of 50 (TableSequenceIdGenerator), sequences must increment by the same
+ALTER SEQUENCE payment_id_seq INCREMENT BY 50;
+ALTER SEQUENCE payment_history_id_seq INCREMENT BY 50;
+ALTER SEQUENCE stripe_customer_id_seq INCREMENT BY 50;
+ALTER SEQUENCE subscription_plan_id_seq INCREMENT BY 50;
+ALTER SEQUENCE subscription_id_seq INCREMENT BY 50;
+ALTER SEQUENCE subscription_history_id_seq INCREMENT BY 50;
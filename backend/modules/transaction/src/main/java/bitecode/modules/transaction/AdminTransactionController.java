@@ -1,6 +1,9 @@
 package bitecode.modules.transaction;
 
 import bitecode.modules._common.model.annotation.AdminAccess;
+import bitecode.modules._common.model.data.SeekPage;
+import bitecode.modules._common.service.export.ExportFormat;
+import bitecode.modules._common.service.export.ExportService;
 import bitecode.modules._common.shared.transaction.model.enums.TransactionStatus;
 import bitecode.modules.transaction.model.data.TransactionCriteria;
 import bitecode.modules.transaction.model.data.TransactionDetails;
@@ -9,8 +12,10 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PagedModel;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.Instant;
 import java.util.Map;
@@ -21,35 +26,55 @@ import java.util.UUID;
 @AdminAccess
 @RequiredArgsConstructor
 public class AdminTransactionController {
+    private static final int MAX_SEEK_PAGE_SIZE = 500;
+
     private final TransactionService transactionService;
     private final TransactionMapper mapper;
+    private final ExportService exportService;
 
     @GetMapping
     public PagedModel<TransactionDetails> findAllTransactions(Pageable pageable,
                                                               @RequestParam(required = false) String status,
                                                               @RequestParam(required = false) Instant startDate,
                                                               @RequestParam(required = false) Instant endDate) {
-        var criteria = TransactionCriteria.builder()
-                .startDate(startDate)
-                .endDate(endDate);
-        try {
-            if (status != null) {
-                if ("INCOMPLETE".equals(status)) {
-                    criteria.statusNot(TransactionStatus.COMPLETED);
-                } else {
-                    criteria.status(TransactionStatus.valueOf(status));
-                }
-            }
-        } catch (Exception e) {
-            throw new HttpClientErrorException(HttpStatus.BAD_REQUEST);
-        }
-
         return new PagedModel<>(
-                transactionService.findAllTransactionsByCriteria(pageable, criteria.build())
+                transactionService.findAllTransactionsByCriteria(pageable, toCriteria(status, startDate, endDate))
                         .map(mapper::toTransactionDetails)
         );
     }
 
+    /**
+     * Keyset paginated variant of {@link #findAllTransactions}, newest first, for deep listings over large tables.
+     * Pass the returned {@code nextCursor} to get the following page.
+     */
+    @GetMapping("/seek")
+    public SeekPage<TransactionDetails> seekTransactions(@RequestParam(required = false) String cursor,
+                                                         @RequestParam(defaultValue = "20") int size,
+                                                         @RequestParam(required = false) String status,
+                                                         @RequestParam(required = false) Instant startDate,
+                                                         @RequestParam(required = false) Instant endDate) {
+        if (size < 1 || size > MAX_SEEK_PAGE_SIZE) {
+            throw new HttpClientErrorException(HttpStatus.BAD_REQUEST, "Invalid page size");
+        }
+        return transactionService.seekTransactionsByCriteria(cursor, size, toCriteria(status, startDate, endDate))
+                .map(mapper::toTransactionDetails);
+    }
+
+    /**
+     * Streams all transactions matching the filters, newest first, as {@code ndjson} or {@code csv}. Events are not
+     * included.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTransactions(@RequestParam(defaultValue = "ndjson") String format,
+                                                                    @RequestParam(required = false) String status,
+                                                                    @RequestParam(required = false) Instant startDate,
+                                                                    @RequestParam(required = false) Instant endDate) {
+        var criteria = toCriteria(status, startDate, endDate);
+        return exportService.export("transactions", ExportFormat.of(format),
+                () -> transactionService.streamTransactionsByCriteria(criteria),
+                mapper::toTransactionDetailsWithoutEvents);
+    }
+
     @GetMapping("/statistics")
     public Map<String, Long> getRequestFiltersTotalElems() {
         return transactionService.getFiltersTotalElemsCount();
@@ -61,4 +86,22 @@ public class AdminTransactionController {
                 .map(mapper::toTransactionDetails)
                 .orElseThrow(() -> new HttpClientErrorException(HttpStatus.NOT_FOUND));
     }
+
+    private static TransactionCriteria toCriteria(String status, Instant startDate, Instant endDate) {
+        var criteria = TransactionCriteria.builder()
+                .startDate(startDate)
+                .endDate(endDate);
+        try {
+            if (status != null) {
+                if ("INCOMPLETE".equals(status)) {
+                    criteria.statusNot(TransactionStatus.COMPLETED);
+                } else {
+                    criteria.status(TransactionStatus.valueOf(status));
+                }
+            }
+        } catch (Exception e) {
+            throw new HttpClientErrorException(HttpStatus.BAD_REQUEST);
+        }
+        return criteria.build();
+    }
 }
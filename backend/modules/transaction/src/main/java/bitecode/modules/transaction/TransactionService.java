@@ -1,7 +1,12 @@
 package bitecode.modules.transaction;
 
+import bitecode.modules._common.eventsourcing.replay.AggregateReplayEngine;
+import bitecode.modules._common.eventsourcing.replay.model.ReplayResult;
+import bitecode.modules._common.model.data.SeekPage;
 import bitecode.modules._common.shared.transaction.model.enums.TransactionStatus;
+import bitecode.modules.transaction.handler.replay.TransactionStatusProjection;
 import bitecode.modules.transaction.model.data.TransactionCriteria;
+import bitecode.modules.transaction.model.data.TransactionStatusState;
 import bitecode.modules.transaction.model.entity.Transaction;
 import bitecode.modules.transaction.model.entity.TransactionEvent;
 import bitecode.modules.transaction.repository.TransactionEventRepository;
@@ -15,12 +20,15 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class TransactionService {
     private final TransactionRepository txnRepository;
     private final TransactionEventRepository txnEventRepository;
+    private final AggregateReplayEngine replayEngine;
+    private final TransactionStatusProjection transactionStatusProjection;
 
     public Page<Transaction> findAllTransactions(Pageable pageable) {
         return txnRepository.findAll(pageable);
@@ -30,6 +38,14 @@ public class TransactionService {
         return txnRepository.findByCriteria(pageable, criteria);
     }
 
+    public SeekPage<Transaction> seekTransactionsByCriteria(String cursor, int size, TransactionCriteria criteria) {
+        return txnRepository.findByCriteria(cursor, size, criteria);
+    }
+
+    public Stream<Transaction> streamTransactionsByCriteria(TransactionCriteria criteria) {
+        return txnRepository.streamByCriteria(criteria);
+    }
+
     public Map<String, Long> getFiltersTotalElemsCount() {
         return Map.of("ALL", txnRepository.count(),
                 "COMPLETED", txnRepository.countAllByStatus(TransactionStatus.COMPLETED),
@@ -46,4 +62,11 @@ public class TransactionService {
     public List<TransactionEvent> getEvents(long transactionId) {
         return txnEventRepository.findAllByTransactionId(transactionId);
     }
+
+    /**
+     * Rebuilds the type and status of a transaction from its event log, e.g. to audit or repair the stored status.
+     */
+    public ReplayResult<TransactionStatusState> rebuildTransactionStatus(long transactionId) {
+        return replayEngine.replay(transactionStatusProjection, transactionId);
+    }
 }
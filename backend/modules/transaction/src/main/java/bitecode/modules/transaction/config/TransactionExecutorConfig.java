@@ -0,0 +1,16 @@
+package bitecode.modules.transaction.config;
+
+import bitecode.modules._common.service.executor.ModuleExecutorService;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class TransactionExecutorConfig {
+    public static final String EXECUTOR = "transactionModuleExecutor";
+
+    @Bean(EXECUTOR)
+    public ThreadPoolTaskExecutor transactionModuleExecutor(ModuleExecutorService moduleExecutorService) {
+        return moduleExecutorService.createExecutor("transaction");
+    }
+}
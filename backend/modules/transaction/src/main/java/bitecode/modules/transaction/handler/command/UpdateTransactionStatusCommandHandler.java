@@ -17,7 +17,7 @@ public class UpdateTransactionStatusCommandHandler extends AbstractTransactionCo
     @Override
     public Transaction handle(UpdateTransactionStatusCommand command, Map<String, Object> params) throws UnappliedCommandException {
         var txn = repository.findByUuid(command.uuid())
-                .orElseThrow(() -> new UnappliedCommandException("Could not find transaction of id=%s", command.uuid()));
+                .orElseThrow(() -> new UnappliedCommandException(UnappliedCommandException.Reason.NOT_FOUND, "Could not find transaction of id=%s", command.uuid()));
         if (command.status() != null) {
             txn.setStatus(command.status());
         }
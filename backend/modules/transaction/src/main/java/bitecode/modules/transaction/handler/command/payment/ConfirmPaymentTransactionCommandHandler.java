@@ -24,7 +24,7 @@ public class ConfirmPaymentTransactionCommandHandler extends AbstractTransaction
     @Override
     public Transaction handle(ConfirmPaymentTransactionCommand command, Map<String, Object> params) throws UnappliedCommandException {
         var txn = repository.findByUuid(command.uuid())
-                .orElseThrow(() -> new UnappliedCommandException("Could not find transaction of id=%s", command.uuid()));
+                .orElseThrow(() -> new UnappliedCommandException(UnappliedCommandException.Reason.NOT_FOUND, "Could not find transaction of id=%s", command.uuid()));
         if (TransactionType.SUBSCRIPTION_PAYMENT.equals(txn.getType())) {
             txn.setStatus(TransactionStatus.COMPLETED);
             txn.setSubStatus(TransactionSubstatus.DONE);
@@ -23,7 +23,7 @@ public class SetPaymentTransactionErrorCommandHandler extends AbstractTransactio
     @Override
     public Transaction handle(SetPaymentTransactionErrorCommand command, Map<String, Object> params) throws UnappliedCommandException {
         var txn = repository.findByUuid(command.uuid())
-                .orElseThrow(() -> new UnappliedCommandException("Could not find transaction of id=%s", command.uuid()));
+                .orElseThrow(() -> new UnappliedCommandException(UnappliedCommandException.Reason.NOT_FOUND, "Could not find transaction of id=%s", command.uuid()));
         txn.setStatus(TransactionStatus.ERROR);
         txn.setSubStatus(TransactionSubstatus.PAYMENT_ERROR);
         return repository.save(txn);
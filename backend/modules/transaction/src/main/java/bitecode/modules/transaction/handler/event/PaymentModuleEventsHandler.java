@@ -3,6 +3,7 @@ package bitecode.modules.transaction.handler.event;
 import bitecode.modules._common.model.event.ModuleEvent;
 import bitecode.modules._common.shared.payment.model.event.PaymentCreatedEvent;
 import bitecode.modules._common.shared.payment.model.event.PaymentStatusUpdatedEvent;
+import bitecode.modules.transaction.config.TransactionExecutorConfig;
 import bitecode.modules.transaction.model.command.AbstractTransactionCommand;
 import bitecode.modules.transaction.model.command.payment.ConfirmPaymentTransactionCommand;
 import bitecode.modules.transaction.model.command.payment.CreatePaymentTransactionCommand;
@@ -14,14 +15,16 @@ import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
 
+import java.util.concurrent.CompletableFuture;
+
 @Component
 @RequiredArgsConstructor
 public class PaymentModuleEventsHandler {
     private final TransactionCommandHandler transactionCommandHandler;
 
-    @Async
+    @Async(TransactionExecutorConfig.EXECUTOR)
     @EventListener(classes = {PaymentCreatedEvent.class, PaymentStatusUpdatedEvent.class})
-    public void handle(ModuleEvent event) {
+    public CompletableFuture<Void> handle(ModuleEvent event) {
         var txnEvent = switch (event) {
             case PaymentCreatedEvent _event -> createNewTransactionCommand(_event);
             case PaymentStatusUpdatedEvent _event -> createStatusUpdateCommand(_event);
@@ -31,6 +34,7 @@ public class PaymentModuleEventsHandler {
         if (txnEvent != null) {
             transactionCommandHandler.handle(txnEvent);
         }
+        return CompletableFuture.completedFuture(null);
     }
 
     CreatePaymentTransactionCommand createNewTransactionCommand(@Valid PaymentCreatedEvent event) {
@@ -0,0 +1,75 @@
+package bitecode.modules.transaction.handler.replay;
+
+import bitecode.modules._common.eventsourcing.replay.AggregateProjection;
+import bitecode.modules._common.shared.payment.model.enums.PaymentStatus;
+import bitecode.modules._common.shared.payment.model.enums.PaymentType;
+import bitecode.modules._common.shared.transaction.model.enums.TransactionStatus;
+import bitecode.modules._common.shared.transaction.model.enums.TransactionSubstatus;
+import bitecode.modules._common.shared.transaction.model.enums.TransactionType;
+import bitecode.modules.transaction.model.command.CreateNewTransactionCommand;
+import bitecode.modules.transaction.model.command.UpdateTransactionStatusCommand;
+import bitecode.modules.transaction.model.command.payment.ConfirmPaymentTransactionCommand;
+import bitecode.modules.transaction.model.command.payment.CreatePaymentTransactionCommand;
+import bitecode.modules.transaction.model.command.payment.SetPaymentTransactionErrorCommand;
+import bitecode.modules.transaction.model.data.TransactionStatusState;
+import bitecode.modules.transaction.model.entity.TransactionEvent;
+import bitecode.modules.transaction.repository.TransactionEventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Rebuilds a {@code Transaction} type and status from the commands stored in {@code transaction_event}, mirroring
+ * the status transitions of the transaction command handlers.
+ */
+@Component
+@RequiredArgsConstructor
+public class TransactionStatusProjection implements AggregateProjection<TransactionStatusState, TransactionEvent> {
+    private final TransactionEventRepository transactionEventRepository;
+
+    @Override
+    public String aggregateType() {
+        return "transaction";
+    }
+
+    @Override
+    public Class<TransactionStatusState> stateType() {
+        return TransactionStatusState.class;
+    }
+
+    @Override
+    public TransactionStatusState initialState() {
+        return new TransactionStatusState(null, null, null);
+    }
+
+    @Override
+    public TransactionStatusState apply(TransactionStatusState state, TransactionEvent event) {
+        return switch (event.getEventData()) {
+            case CreateNewTransactionCommand command -> new TransactionStatusState(command.type(), TransactionStatus.PENDING,
+                    command.subStatus() == null ? TransactionSubstatus.DONE : command.subStatus());
+            case CreatePaymentTransactionCommand command -> command.paymentStatus() == PaymentStatus.CONFIRMED
+                    ? new TransactionStatusState(toTransactionType(command.paymentType()), TransactionStatus.COMPLETED, TransactionSubstatus.DONE)
+                    : new TransactionStatusState(toTransactionType(command.paymentType()), TransactionStatus.PENDING, TransactionSubstatus.AWAITS_PAYMENT_GATEWAY_UPDATE);
+            case UpdateTransactionStatusCommand command -> new TransactionStatusState(state.type(),
+                    command.status() != null ? command.status() : state.status(), command.subStatus());
+            case ConfirmPaymentTransactionCommand ignored -> TransactionType.SUBSCRIPTION_PAYMENT.equals(state.type())
+                    ? new TransactionStatusState(state.type(), TransactionStatus.COMPLETED, TransactionSubstatus.DONE)
+                    : new TransactionStatusState(state.type(), TransactionStatus.PENDING, TransactionSubstatus.PAYMENT_RECEIVED);
+            case SetPaymentTransactionErrorCommand ignored ->
+                    new TransactionStatusState(state.type(), TransactionStatus.ERROR, TransactionSubstatus.PAYMENT_ERROR);
+            default -> state;
+        };
+    }
+
+    @Override
+    public List<TransactionEvent> findEventsAfter(Long aggregateId, Long afterSequenceNumber, int limit) {
+        return transactionEventRepository.findAllByTransactionIdAndSequenceNumberGreaterThanOrderBySequenceNumberAsc(aggregateId,
+                afterSequenceNumber, Limit.of(limit));
+    }
+
+    private static TransactionType toTransactionType(PaymentType paymentType) {
+        return paymentType == PaymentType.ONE_TIME ? TransactionType.PAYMENT : TransactionType.SUBSCRIPTION_PAYMENT;
+    }
+}
@@ -0,0 +1,12 @@
+package bitecode.modules.transaction.model.data;
+
+import bitecode.modules._common.shared.transaction.model.enums.TransactionStatus;
+import bitecode.modules._common.shared.transaction.model.enums.TransactionSubstatus;
+import bitecode.modules._common.shared.transaction.model.enums.TransactionType;
+
+public record TransactionStatusState(
+        TransactionType type,
+        TransactionStatus status,
+        TransactionSubstatus subStatus
+) {
+}
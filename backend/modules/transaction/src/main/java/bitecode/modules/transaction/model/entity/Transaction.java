@@ -4,6 +4,7 @@ import bitecode.modules._common.model.entity.UuidBaseEntity;
 import bitecode.modules._common.shared.transaction.model.enums.*;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.SQLOrder;
 
 import java.math.BigDecimal;
 import java.util.List;
@@ -40,7 +41,8 @@ public class Transaction extends UuidBaseEntity {
     private String creditCurrency;
     private String creditReferenceId;               //credited PRODUCT/SERVICE id for reference, i.e TEXT_TO_IMAGE generation uuid
 
-    @OrderBy("id DESC")
+    // pooled ids do not follow the write order, the event sequence does
+    @SQLOrder("COALESCE(sequence_number, id) DESC")
     @OneToMany
     @JoinColumn(name = "transactionId", referencedColumnName = "id")
     private List<TransactionEvent> events;
@@ -6,12 +6,16 @@ import bitecode.modules.transaction.model.command.CreateNewTransactionCommand;
 import bitecode.modules.transaction.model.data.TransactionDetails;
 import bitecode.modules.transaction.model.entity.Transaction;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import org.mapstruct.MappingConstants;
 
 @Mapper(componentModel = MappingConstants.ComponentModel.SPRING, uses = {TransactionEventMapper.class})
 public interface TransactionMapper {
     TransactionDetails toTransactionDetails(Transaction transaction);
 
+    @Mapping(target = "events", ignore = true)
+    TransactionDetails toTransactionDetailsWithoutEvents(Transaction transaction);
+
     TransactionCreatedEvent toNewTransactionCreatedCommand(Transaction transaction);
 
     Transaction toTransaction(CreateNewTransactionCommand event);
@@ -1,11 +1,21 @@
 package bitecode.modules.transaction.repository;
 
+import bitecode.modules._common.model.data.SeekPage;
 import bitecode.modules.transaction.model.data.TransactionCriteria;
 import bitecode.modules.transaction.model.entity.Transaction;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.stream.Stream;
+
 
 public interface CustomTransactionRepository {
     Page<Transaction> findByCriteria(Pageable pageable, TransactionCriteria criteria);
+
+    SeekPage<Transaction> findByCriteria(String cursor, int size, TransactionCriteria criteria);
+
+    /**
+     * Newest first, through {@link bitecode.modules._common.util.QueryDslUtils#stream}.
+     */
+    Stream<Transaction> streamByCriteria(TransactionCriteria criteria);
 }
@@ -1,6 +1,10 @@
 package bitecode.modules.transaction.repository;
 
+import bitecode.modules._common.model.data.SeekPage;
+import bitecode.modules._common.service.export.ExportService;
+import bitecode.modules._common.service.pagination.RowCountEstimator;
 import bitecode.modules._common.util.QueryDslUtils;
+import bitecode.modules._common.util.SeekCursor;
 import bitecode.modules.transaction.model.data.TransactionCriteria;
 import bitecode.modules.transaction.model.entity.QTransaction;
 import bitecode.modules.transaction.model.entity.Transaction;
@@ -8,17 +12,60 @@ import com.querydsl.core.BooleanBuilder;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Repository;
 
+import java.util.stream.Stream;
+
 @Repository
 @RequiredArgsConstructor
 public class CustomTransactionRepositoryImpl implements CustomTransactionRepository {
+    private static final String TRANSACTION_TABLE = "transaction.transaction";
+
     private final JPAQueryFactory queryFactory;
+    private final RowCountEstimator rowCountEstimator;
 
     @Override
     public Page<Transaction> findByCriteria(Pageable pageable, TransactionCriteria criteria) {
+        var qTransaction = QTransaction.transaction;
+        var predicate = toPredicate(criteria);
+
+        var query = queryFactory
+                .selectFrom(qTransaction)
+                .where(predicate)
+                .orderBy(QueryDslUtils.toOrderSpecifiers(Transaction.class, pageable.getSort()));
+
+        return QueryDslUtils.applyPagination(query, () -> rowCountEstimator.countOrEstimate(TRANSACTION_TABLE, predicate.hasValue(),
+                () -> queryFactory
+                        .select(qTransaction.count())
+                        .from(qTransaction)
+                        .where(predicate)
+                        .fetchOne()), pageable);
+    }
+
+    @Override
+    public SeekPage<Transaction> findByCriteria(String cursor, int size, TransactionCriteria criteria) {
+        var qTransaction = QTransaction.transaction;
+        var query = queryFactory
+                .selectFrom(qTransaction)
+                .where(toPredicate(criteria));
+
+        return QueryDslUtils.applySeekPagination(query, qTransaction.createdDate, qTransaction.id, cursor, size,
+                transaction -> new SeekCursor(transaction.getCreatedDate(), transaction.getId()));
+    }
+
+    @Override
+    public Stream<Transaction> streamByCriteria(TransactionCriteria criteria) {
+        var qTransaction = QTransaction.transaction;
+        var query = queryFactory
+                .selectFrom(qTransaction)
+                .where(toPredicate(criteria))
+                .orderBy(qTransaction.createdDate.desc(), qTransaction.id.desc());
+
+        return QueryDslUtils.stream(query, ExportService.FETCH_SIZE);
+    }
+
+    private static BooleanBuilder toPredicate(TransactionCriteria criteria) {
         var qTransaction = QTransaction.transaction;
         var predicate = new BooleanBuilder();
 
@@ -37,21 +84,6 @@ public class CustomTransactionRepositoryImpl implements CustomTransactionReposit
         if (criteria.endDate() != null) {
             predicate.and(qTransaction.createdDate.loe(criteria.endDate()));
         }
-
-        var content = queryFactory
-                .selectFrom(qTransaction)
-                .where(predicate)
-                .offset(pageable.getOffset())
-                .limit(pageable.getPageSize())
-                .orderBy(QueryDslUtils.toOrderSpecifiers(Transaction.class, pageable.getSort()))
-                .fetch();
-
-        long total = queryFactory
-                .select(qTransaction.count())
-                .from(qTransaction)
-                .where(predicate)
-                .fetchOne();
-
-        return new PageImpl<>(content, pageable, total);
+        return predicate;
     }
 }
@@ -1,6 +1,7 @@
 package bitecode.modules.transaction.repository;
 
 import bitecode.modules._common.eventsourcing.model.GenericCommandHandler;
+import bitecode.modules._common.service.outbox.OutboxService;
 import bitecode.modules.transaction.handler.command.AbstractTransactionCommandHandler;
 import bitecode.modules.transaction.model.command.AbstractTransactionCommand;
 import bitecode.modules.transaction.model.data.TransactionDetails;
@@ -8,7 +9,6 @@ import bitecode.modules.transaction.model.entity.Transaction;
 import bitecode.modules.transaction.model.entity.TransactionEvent;
 import bitecode.modules.transaction.model.mapper.TransactionMapper;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Propagation;
@@ -26,8 +26,8 @@ public class TransactionCommandHandler extends GenericCommandHandler<AbstractTra
     @SuppressWarnings("unchecked")
     public TransactionCommandHandler(
             List<AbstractTransactionCommandHandler<?>> eventHandlers, TransactionMapper transactionMapper,
-            TransactionEventRepository repository, ApplicationEventPublisher eventPublisher) {
-        super(eventHandlers, repository, eventPublisher);
+            TransactionEventRepository repository, OutboxService outboxService) {
+        super(eventHandlers, repository, outboxService);
         this.transactionMapper = transactionMapper;
     }
 
@@ -1,6 +1,7 @@
 package bitecode.modules.transaction.repository;
 
 import bitecode.modules.transaction.model.entity.TransactionEvent;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -9,4 +10,6 @@ import java.util.List;
 @Repository
 public interface TransactionEventRepository extends JpaRepository<TransactionEvent, Long> {
     List<TransactionEvent> findAllByTransactionId(Long transactionId);
+
+    List<TransactionEvent> findAllByTransactionIdAndSequenceNumberGreaterThanOrderBySequenceNumberAsc(Long transactionId, Long sequenceNumber, Limit limit);
 }
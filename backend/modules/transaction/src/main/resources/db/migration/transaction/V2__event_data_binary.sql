@@ -0,0 +1,6 @@
+-- Binary payloads written by the smile/cbor codecs. Existing JSONB rows are kept as they are and read in mixed mode,
+-- so none of the statements below rewrites or scans the table.
+ALTER TABLE transaction_event ADD COLUMN event_data_bin BYTEA;
+ALTER TABLE transaction_event ALTER COLUMN event_data DROP NOT NULL;
+ALTER TABLE transaction_event
+    ADD CONSTRAINT transaction_event_data_present CHECK (event_data IS NOT NULL OR event_data_bin IS NOT NULL) NOT VALID;
@@ -0,0 +1,4 @@
+-- flyway:executeInTransaction=false
+-- Supports the keyset pagination of the admin listing, ordered by (created_date, id) newest first. Built concurrently
+-- so the transaction table stays writable while the index is created.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS transaction_created_date_id_idx ON transaction (created_date DESC, id DESC);
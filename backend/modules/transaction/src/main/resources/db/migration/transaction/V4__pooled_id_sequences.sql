@@ -0,0 +1,3 @@
+-- ids are allocated by Hibernate in pooled blocks of 50 (TableSequenceIdGenerator), sequences must increment by the same
+ALTER SEQUENCE transaction_id_seq INCREMENT BY 50;
+ALTER SEQUENCE transaction_event_id_seq INCREMENT BY 50;
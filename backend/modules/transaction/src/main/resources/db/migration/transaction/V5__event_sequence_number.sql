@@ -0,0 +1,11 @@
+-- insert order of the events, replays follow it: pooled ids (TableSequenceIdGenerator) are allocated in blocks per
+-- node and do not follow the order events were written in. None of the statements below rewrites or scans the table:
+-- existing events keep a NULL sequence number, read as their id (see CommandEventEntity), and new events get numbers
+-- above every existing id. The backfill and the validation of the constraint run outside Flyway, see README-run.md.
+ALTER TABLE transaction_event ADD COLUMN sequence_number BIGINT;
+CREATE SEQUENCE transaction_event_sequence_number_seq OWNED BY transaction_event.sequence_number;
+SELECT setval('transaction_event_sequence_number_seq', COALESCE(MAX(id), 0) + 1, false) FROM transaction_event;
+
+ALTER TABLE transaction_event ALTER COLUMN sequence_number SET DEFAULT nextval('transaction_event_sequence_number_seq');
+ALTER TABLE transaction_event
+    ADD CONSTRAINT transaction_event_sequence_number_present CHECK (sequence_number IS NOT NULL) NOT VALID;
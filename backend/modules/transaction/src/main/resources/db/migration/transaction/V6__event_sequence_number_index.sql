@@ -0,0 +1,5 @@
+-- flyway:executeInTransaction=false
+-- Replay order of the events (see CommandEventEntity#sequenceNumber), built without blocking writes. A failed build
+-- leaves an invalid index behind, which has to be dropped before the migration is repeated.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS transaction_event_sequence_number_idx
+    ON transaction_event (transaction_id, COALESCE(sequence_number, id));
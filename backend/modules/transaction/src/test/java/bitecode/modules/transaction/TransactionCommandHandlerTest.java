@@ -2,6 +2,7 @@ package bitecode.modules.transaction;
 
 import bitecode.modules._common.shared.transaction.model.enums.*;
 import bitecode.modules.transaction._config.TransactionIntegrationTest;
+import bitecode.modules.transaction.model.data.TransactionCriteria;
 import bitecode.modules.transaction.model.command.CreateNewTransactionCommand;
 import bitecode.modules.transaction.repository.TransactionCommandHandler;
 import bitecode.modules.transaction.repository.TransactionEventRepository;
@@ -12,6 +13,9 @@ import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
 import java.util.UUID;
 
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -31,6 +35,9 @@ public class TransactionCommandHandlerTest extends TransactionIntegrationTest {
     @Autowired
     TransactionCommandHandler transactionCommandHandler;
 
+    @Autowired
+    TransactionService transactionService;
+
     @Test
     @Transactional
     public void shouldCreateNewTransaction() {
@@ -128,4 +135,78 @@ public class TransactionCommandHandlerTest extends TransactionIntegrationTest {
         var txnEvent = txnEvents.getFirst();
         assertThat(txnEvent.getEventData(), equalTo(newTxnEvent));
     }
+
+    @Test
+    @Transactional
+    public void shouldCreateTransactionsInBatch() {
+        // given
+        var userId = UUID.randomUUID();
+        var commands = List.of(
+                CreateNewTransactionCommand.builder()
+                        .userId(userId)
+                        .type(TransactionType.PAYMENT)
+                        .debitTotal(BigDecimal.TEN)
+                        .debitType(TransactionDebitType.BANK_TRANSFER)
+                        .debitCurrency("PLN")
+                        .creditTotal(BigDecimal.TEN)
+                        .creditType(TransactionCreditType.WALLET)
+                        .creditCurrency("PLN")
+                        .build(),
+                CreateNewTransactionCommand.builder()
+                        .userId(userId)
+                        .type(TransactionType.PAYMENT)
+                        .debitTotal(BigDecimal.ONE)
+                        .debitType(TransactionDebitType.BANK_TRANSFER)
+                        .debitCurrency("PLN")
+                        .creditTotal(BigDecimal.ONE)
+                        .creditType(TransactionCreditType.WALLET)
+                        .creditCurrency("PLN")
+                        .build()
+        );
+
+        // when
+        var results = transactionCommandHandler.handleAll(commands);
+
+        // then
+        assertThat(results.size(), is(2));
+        var txns = transactionRepository.findAllByUserId(userId);
+        assertThat(txns.size(), is(2));
+        txns.forEach(txn -> assertThat(transactionEventRepository.findAllByTransactionId(txn.getId()).size(), is(1)));
+    }
+
+    @Test
+    @Transactional
+    public void shouldSeekThroughTransactionsWithoutDuplicates() {
+        // given
+        var userId = UUID.randomUUID();
+        var commands = new ArrayList<CreateNewTransactionCommand>();
+        for (int i = 0; i < 5; i++) {
+            commands.add(CreateNewTransactionCommand.builder()
+                    .userId(userId)
+                    .type(TransactionType.PAYMENT)
+                    .debitTotal(BigDecimal.valueOf(i + 1))
+                    .debitType(TransactionDebitType.BANK_TRANSFER)
+                    .debitCurrency("PLN")
+                    .creditTotal(BigDecimal.valueOf(i + 1))
+                    .creditType(TransactionCreditType.WALLET)
+                    .creditCurrency("PLN")
+                    .build());
+        }
+        transactionCommandHandler.handleAll(commands);
+        var expectedIds = transactionRepository.findAllByUserId(userId).stream().map(txn -> txn.getId()).toList();
+
+        // when
+        var seenIds = new ArrayList<Long>();
+        String cursor = null;
+        do {
+            var page = transactionService.seekTransactionsByCriteria(cursor, 2, TransactionCriteria.builder().build());
+            assertThat(page.content().size(), lessThanOrEqualTo(2));
+            page.content().forEach(txn -> seenIds.add(txn.getId()));
+            cursor = page.nextCursor();
+        } while (cursor != null);
+
+        // then
+        assertThat(new HashSet<>(seenIds).size(), is(seenIds.size()));
+        assertThat(seenIds, hasItems(expectedIds.toArray(Long[]::new)));
+    }
 }
@@ -0,0 +1,64 @@
+package bitecode.modules.wallet;
+
+import bitecode.modules._common.model.annotation.AdminAccess;
+import bitecode.modules.wallet.model.command.AbstractWalletAssetCommand;
+import bitecode.modules.wallet.model.command.AddWalletAssetCommand;
+import bitecode.modules.wallet.model.command.SubtractWalletAssetCommand;
+import bitecode.modules.wallet.model.data.BulkWalletAssetResult;
+import bitecode.modules.wallet.model.request.BulkWalletAssetRequest;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/admin/wallets")
+@AdminAccess
+public class AdminWalletController {
+    private final WalletAssetBulkService walletAssetBulkService;
+    private final int maxBulkSize;
+
+    public AdminWalletController(WalletAssetBulkService walletAssetBulkService,
+                                 @Value("${WALLET_BULK_MAX_SIZE:50000}") int maxBulkSize) {
+        this.walletAssetBulkService = walletAssetBulkService;
+        this.maxBulkSize = maxBulkSize;
+    }
+
+    /**
+     * Credits and debits many wallet assets in one call, e.g. payouts and promotion credits. Every item is applied on
+     * its own, the response has one result per item in the request order. A replay of a completed call with the same
+     * reference id and items returns the stored results; any other call reusing the reference id gets a 409.
+     */
+    @PostMapping("/assets/bulk")
+    public List<BulkWalletAssetResult> applyBulk(@Valid @RequestBody BulkWalletAssetRequest request) {
+        if (request.items().size() > maxBulkSize) {
+            throw new HttpClientErrorException(HttpStatus.BAD_REQUEST, "Too many items");
+        }
+        return walletAssetBulkService.applyAll(request.referenceId(), request.items().stream()
+                .map(AdminWalletController::toCommand)
+                .toList());
+    }
+
+    private static AbstractWalletAssetCommand toCommand(BulkWalletAssetRequest.Item item) {
+        return switch (item.operation()) {
+            case ADD -> AddWalletAssetCommand.builder()
+                    .userId(item.userId())
+                    .currency(item.currency())
+                    .amount(item.amount())
+                    .referenceId(item.referenceId())
+                    .build();
+            case SUBTRACT -> SubtractWalletAssetCommand.builder()
+                    .userId(item.userId())
+                    .currency(item.currency())
+                    .amount(item.amount())
+                    .referenceId(item.referenceId())
+                    .build();
+        };
+    }
+}
@@ -0,0 +1,12 @@
+package bitecode.modules.wallet;
+
+import bitecode.modules.wallet.model.entity.WalletAssetBulk;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface WalletAssetBulkRepository extends JpaRepository<WalletAssetBulk, Long> {
+    Optional<WalletAssetBulk> findByReferenceId(String referenceId);
+}
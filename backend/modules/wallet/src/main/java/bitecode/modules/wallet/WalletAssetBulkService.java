@@ -0,0 +1,278 @@
+package bitecode.modules.wallet;
+
+import bitecode.modules._common.eventsourcing.exception.UnappliedCommandException;
+import bitecode.modules._common.service.retry.RetryPolicy;
+import bitecode.modules._common.service.retry.RetryService;
+import bitecode.modules.wallet.model.command.AbstractWalletAssetCommand;
+import bitecode.modules.wallet.model.command.AddWalletAssetCommand;
+import bitecode.modules.wallet.model.command.CreateWalletAssetCommand;
+import bitecode.modules.wallet.model.command.SubtractWalletAssetCommand;
+import bitecode.modules.wallet.model.data.BulkWalletAssetResult;
+import bitecode.modules.wallet.model.entity.WalletAsset;
+import bitecode.modules.wallet.model.entity.WalletAssetBulk;
+import bitecode.modules.wallet.model.entity.WalletAssetEvent;
+import bitecode.modules.wallet.model.enums.WalletAssetBulkStatus;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Applies large batches of {@link AddWalletAssetCommand}s and {@link SubtractWalletAssetCommand}s, e.g. payouts and
+ * promotion credits, with per command results instead of the all-or-nothing {@code handleAll}.
+ * <p>
+ * Commands are grouped by asset (user id and currency), keeping their order within an asset, and applied in
+ * chunks of {@code WALLET_BULK_CHUNK_SIZE} commands, one transaction per chunk. All assets of a chunk are locked with
+ * a single statement and updated in memory; the asset updates and the {@link WalletAssetEvent}s are then written as
+ * JDBC batches on flush. An unapplied command (e.g. not enough money) only skips that command, a failing chunk
+ * marks its commands as {@link BulkWalletAssetResult#ERROR} and the next chunks are still applied.
+ * <p>
+ * The locks make the chunks safe next to the single command path of {@link WalletAssetEventHandler}, whose updates
+ * wait on the locked rows. The add and subtract handlers raise no module events, so none are published here; a
+ * refresh of the {@link WalletBalanceService} read model is requested once per chunk.
+ * <p>
+ * Every call is recorded as a {@link WalletAssetBulk} under the reference id of the caller, unique in the table, before
+ * its first chunk runs. A replay of a completed call returns the stored results without applying anything; a call
+ * reusing the reference id with other commands, or replaying a call that is still running, is rejected. A call
+ * interrupted by a crash stays {@link WalletAssetBulkStatus#IN_PROGRESS} with some of its chunks applied, its replays
+ * are rejected and it is left for manual inspection.
+ */
+@Slf4j
+@Service
+public class WalletAssetBulkService {
+    private static final int AMOUNT_SCALE = 2;
+
+    private final WalletAssetRepository walletAssetRepository;
+    private final WalletAssetEventRepository walletAssetEventRepository;
+    private final WalletAssetBulkRepository walletAssetBulkRepository;
+    private final WalletAssetEventHandler walletAssetEventHandler;
+    private final WalletBalanceService walletBalanceService;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final RetryPolicy chunkRetryPolicy;
+    private final int chunkSize;
+
+    public WalletAssetBulkService(WalletAssetRepository walletAssetRepository,
+                                  WalletAssetEventRepository walletAssetEventRepository,
+                                  WalletAssetBulkRepository walletAssetBulkRepository,
+                                  WalletAssetEventHandler walletAssetEventHandler,
+                                  WalletBalanceService walletBalanceService,
+                                  EntityManager entityManager,
+                                  PlatformTransactionManager transactionManager,
+                                  RetryService retryService,
+                                  @Value("${WALLET_BULK_CHUNK_SIZE:500}") int chunkSize) {
+        this.walletAssetRepository = walletAssetRepository;
+        this.walletAssetEventRepository = walletAssetEventRepository;
+        this.walletAssetBulkRepository = walletAssetBulkRepository;
+        this.walletAssetEventHandler = walletAssetEventHandler;
+        this.walletBalanceService = walletBalanceService;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.chunkRetryPolicy = retryService.createPolicy("WALLET_ASSET_BULK", ConcurrencyFailureException.class);
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * @param referenceId id of the call, unique across calls; a replay of the same commands returns the stored results
+     * @return one result per command, in the order of the given commands
+     * @throws HttpClientErrorException with {@link HttpStatus#CONFLICT} if the reference id belongs to another call or
+     *                                  to a call that is not completed
+     */
+    public List<BulkWalletAssetResult> applyAll(String referenceId, List<? extends AbstractWalletAssetCommand> commands) {
+        var requestHash = hashOf(commands);
+        WalletAssetBulk bulk;
+        try {
+            bulk = transactionTemplate.execute(status -> walletAssetBulkRepository.saveAndFlush(WalletAssetBulk.builder()
+                    .referenceId(referenceId)
+                    .requestHash(requestHash)
+                    .status(WalletAssetBulkStatus.IN_PROGRESS)
+                    .build()));
+        } catch (DataIntegrityViolationException e) {
+            return replay(referenceId, requestHash);
+        }
+
+        var results = applyChunks(commands);
+        bulk.setStatus(WalletAssetBulkStatus.COMPLETED);
+        bulk.setResults(results);
+        transactionTemplate.executeWithoutResult(status -> walletAssetBulkRepository.save(bulk));
+        return results;
+    }
+
+    private List<BulkWalletAssetResult> replay(String referenceId, String requestHash) {
+        var bulk = walletAssetBulkRepository.findByReferenceId(referenceId)
+                .orElseThrow(() -> new IllegalStateException("Bulk not found after a duplicated insert,referenceId=" + referenceId));
+        if (!bulk.getRequestHash().equals(requestHash)) {
+            throw new HttpClientErrorException(HttpStatus.CONFLICT, "Reference id already used by another bulk");
+        }
+        if (bulk.getStatus() != WalletAssetBulkStatus.COMPLETED) {
+            throw new HttpClientErrorException(HttpStatus.CONFLICT, "Bulk not completed");
+        }
+        log.info("WalletAssetBulkService::replay,returning stored results,referenceId={}", referenceId);
+        return bulk.getResults();
+    }
+
+    private List<BulkWalletAssetResult> applyChunks(List<? extends AbstractWalletAssetCommand> commands) {
+        var indexesByAsset = new LinkedHashMap<AssetKey, List<Integer>>();
+        for (var i = 0; i < commands.size(); i++) {
+            indexesByAsset.computeIfAbsent(keyOf(commands.get(i)), key -> new ArrayList<>()).add(i);
+        }
+        var orderedIndexes = indexesByAsset.values().stream().flatMap(List::stream).toList();
+
+        var results = new BulkWalletAssetResult[commands.size()];
+        var startTime = System.currentTimeMillis();
+        for (var from = 0; from < orderedIndexes.size(); from += chunkSize) {
+            var chunk = orderedIndexes.subList(from, Math.min(from + chunkSize, orderedIndexes.size()));
+            List<BulkWalletAssetResult> chunkResults;
+            try {
+                chunkResults = chunkRetryPolicy.execute(() -> transactionTemplate.execute(status -> applyChunk(commands, chunk)));
+            } catch (Exception e) {
+                log.error("WalletAssetBulkService::applyAll,chunk failed,size={},firstIndex={},ex={}", chunk.size(), chunk.getFirst(), e, e);
+                chunkResults = chunk.stream()
+                        .map(index -> new BulkWalletAssetResult(index, commands.get(index).getReferenceId(), false, BulkWalletAssetResult.ERROR, null))
+                        .toList();
+            }
+            chunkResults.forEach(result -> results[result.index()] = result);
+        }
+        log.info("WalletAssetBulkService::applyAll,commands={},assets={},timeMs={}", commands.size(), indexesByAsset.size(),
+                System.currentTimeMillis() - startTime);
+        return Arrays.asList(results);
+    }
+
+    private List<BulkWalletAssetResult> applyChunk(List<? extends AbstractWalletAssetCommand> commands, List<Integer> chunk) {
+        // first command of every asset, to create and lock the assets
+        var commandsByKey = chunk.stream()
+                .map(commands::get)
+                .collect(Collectors.toMap(WalletAssetBulkService::keyOf, command -> command, (first, second) -> first, LinkedHashMap::new));
+        var assets = lockAssets(commandsByKey.values());
+        var missingAssets = commandsByKey.entrySet().stream()
+                .filter(entry -> !assets.containsKey(entry.getKey()))
+                .map(Map.Entry::getValue)
+                .toList();
+        if (!missingAssets.isEmpty()) {
+            missingAssets.forEach(this::createWalletAsset);
+            assets.putAll(lockAssets(missingAssets));
+        }
+
+        var chunkResults = new ArrayList<BulkWalletAssetResult>(chunk.size());
+        var events = new ArrayList<WalletAssetEvent>(chunk.size());
+        for (var index : chunk) {
+            var command = commands.get(index);
+            try {
+                var walletAsset = apply(command, assets.get(keyOf(command)), events);
+                chunkResults.add(new BulkWalletAssetResult(index, command.getReferenceId(), true, null, walletAsset.getTotalAmount()));
+            } catch (UnappliedCommandException e) {
+                log.debug("WalletAssetBulkService::applyChunk,unapplied,index={},reason={},ex={}", index, e.getReason(), e.getMessage());
+                chunkResults.add(new BulkWalletAssetResult(index, command.getReferenceId(), false, e.getReason().name(), null));
+            }
+        }
+        walletAssetEventRepository.saveAll(events);
+        walletBalanceService.requestRefresh(assets.values().stream().map(WalletAsset::getUserId).toList());
+        entityManager.flush();
+        entityManager.clear();
+        return chunkResults;
+    }
+
+    private WalletAsset apply(AbstractWalletAssetCommand command, WalletAsset walletAsset, List<WalletAssetEvent> events) {
+        if (walletAsset == null) {
+            throw new UnappliedCommandException(UnappliedCommandException.Reason.NOT_FOUND, "Wallet asset not found");
+        }
+        var delta = switch (command) {
+            case AddWalletAssetCommand ignored -> command.getAmount();
+            case SubtractWalletAssetCommand ignored -> command.getAmount().negate();
+            default -> throw new UnappliedCommandException(UnappliedCommandException.Reason.INVALID_STATE,
+                    "Command %s is not supported in bulk", command.getClass().getSimpleName());
+        };
+        // rounded the same way the NUMERIC(10, 2) column rounds it on write
+        var totalBefore = walletAsset.getTotalAmount();
+        var totalAfter = totalBefore.add(delta).setScale(AMOUNT_SCALE, RoundingMode.HALF_UP);
+        if (totalAfter.compareTo(walletAsset.getHoldAmount()) < 0) {
+            throw new UnappliedCommandException(UnappliedCommandException.Reason.INSUFFICIENT_FUNDS, "Not enough money");
+        }
+        walletAsset.setTotalAmount(totalAfter);
+
+        var params = new HashMap<String, Object>();
+        params.put(WalletAssetEventHandler.Params.BEFORE_WALLET_ASSET_TOTAL, totalBefore);
+        events.add(walletAssetEventHandler.toEventEntity(command, walletAsset, params));
+        return walletAsset;
+    }
+
+    private Map<AssetKey, WalletAsset> lockAssets(Collection<? extends AbstractWalletAssetCommand> assetCommands) {
+        var userIds = assetCommands.stream().map(AbstractWalletAssetCommand::getUserId).toArray(String[]::new);
+        var names = assetCommands.stream().map(AbstractWalletAssetCommand::getCurrency).toArray(String[]::new);
+        return walletAssetRepository.findAllByUserIdAndNameForUpdate(userIds, names).stream()
+                .collect(Collectors.toMap(walletAsset -> new AssetKey(walletAsset.getUserId(), walletAsset.getName()), walletAsset -> walletAsset,
+                        (first, second) -> first, HashMap::new));
+    }
+
+    private void createWalletAsset(AbstractWalletAssetCommand command) {
+        try {
+            walletAssetEventHandler.handle(CreateWalletAssetCommand.builder()
+                    .userId(command.getUserId())
+                    .amount(BigDecimal.ZERO)
+                    .currency(command.getCurrency())
+                    .referenceId("SYSTEM")
+                    .build());
+        } catch (DataIntegrityViolationException e) {
+            // created at the same time by another node, the chunk locks that asset instead
+            log.debug("WalletAssetBulkService::createWalletAsset,asset created concurrently,key={}", keyOf(command));
+        }
+    }
+
+    private static AssetKey keyOf(AbstractWalletAssetCommand command) {
+        return new AssetKey(command.getUserId(), command.getCurrency());
+    }
+
+    private static String hashOf(List<? extends AbstractWalletAssetCommand> commands) {
+        try {
+            var digest = MessageDigest.getInstance("SHA-256");
+            for (var command : commands) {
+                update(digest, command.getClass().getName());
+                update(digest, command.getUserId());
+                update(digest, command.getCurrency());
+                update(digest, command.getAmount() != null ? command.getAmount().stripTrailingZeros().toPlainString() : null);
+                update(digest, command.getReferenceId());
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    // length prefixed, so no two different command lists hash the same input
+    private static void update(MessageDigest digest, String value) {
+        if (value == null) {
+            digest.update(ByteBuffer.allocate(Integer.BYTES).putInt(-1).array());
+            return;
+        }
+        var bytes = value.getBytes(StandardCharsets.UTF_8);
+        digest.update(ByteBuffer.allocate(Integer.BYTES).putInt(bytes.length).array());
+        digest.update(bytes);
+    }
+
+    private record AssetKey(String userId, String currency) {
+    }
+}
@@ -2,52 +2,84 @@ package bitecode.modules.wallet;
 
 import bitecode.modules._common.eventsourcing.exception.UnappliedCommandException;
 import bitecode.modules._common.eventsourcing.model.GenericCommandHandler;
-import bitecode.modules._common.service.cache.CacheService;
-import bitecode.modules._common.service.locking.InMemoryLock;
+import bitecode.modules._common.service.executor.KeyedExecutor;
+import bitecode.modules._common.service.executor.KeyedExecutorService;
+import bitecode.modules._common.service.outbox.OutboxService;
+import bitecode.modules._common.service.retry.RetryPolicy;
+import bitecode.modules._common.service.retry.RetryService;
 import bitecode.modules.wallet.handler.command.AbstractWalletAssetCommandHandler;
 import bitecode.modules.wallet.model.command.AbstractWalletAssetCommand;
 import bitecode.modules.wallet.model.command.CreateWalletAssetCommand;
 import bitecode.modules.wallet.model.entity.WalletAsset;
 import bitecode.modules.wallet.model.entity.WalletAssetEvent;
-import org.springframework.context.ApplicationEventPublisher;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.event.EventListener;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
+@Slf4j
 @Component
 public class WalletAssetEventHandler extends GenericCommandHandler<AbstractWalletAssetCommand, WalletAsset, AbstractWalletAssetCommandHandler<AbstractWalletAssetCommand>, WalletAssetEvent, Object> {
-    private final InMemoryLock assetLock;
+    private final KeyedExecutor assetExecutor;
+    private final RetryPolicy assetRetryPolicy;
+    private final TransactionTemplate transactionTemplate;
     private final WalletService walletService;
+    private final WalletBalanceService walletBalanceService;
 
     public interface Params {
         String BEFORE_WALLET_ASSET_TOTAL = "BEFORE_WALLET_ASSET_TOTAL";
+        /**
+         * Change of the asset total recorded on the event, when it is not the command amount (e.g. holds).
+         */
+        String EVENT_AMOUNT = "EVENT_AMOUNT";
     }
 
     public WalletAssetEventHandler(List<AbstractWalletAssetCommandHandler<?>> commandHandlers, WalletAssetEventRepository eventRepository, WalletService walletService,
-                                   CacheService cacheService, ApplicationEventPublisher eventPublisher) {
-        super(commandHandlers, eventRepository, eventPublisher);
+                                   WalletBalanceService walletBalanceService,
+                                   RetryService retryService, OutboxService outboxService, KeyedExecutorService keyedExecutorService,
+                                   PlatformTransactionManager transactionManager) {
+        super(commandHandlers, eventRepository, outboxService);
         this.walletService = walletService;
-        this.assetLock = new InMemoryLock(cacheService, "WALLET_ASSET_LOCK");
+        this.walletBalanceService = walletBalanceService;
+        this.assetExecutor = keyedExecutorService.createExecutor("WALLET_ASSET");
+        this.assetRetryPolicy = retryService.createPolicy("WALLET_ASSET", ConcurrencyFailureException.class);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
     }
 
+    /**
+     * Commands for the same wallet asset are queued and applied one at a time, in order, each in its own
+     * transaction; commands for different assets run in parallel. The caller's transaction is suspended while
+     * waiting, so no connection is held by a queued command.
+     * <p>
+     * The queue only orders the commands of this node. Commands for the same asset handled by another node at the
+     * same time are caught by the asset {@code @Version} on commit, and the losing command is retried in a new
+     * transaction, on the updated balance, after a jittered backoff.
+     */
     @Override
     @EventListener
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Optional<Object> handle(AbstractWalletAssetCommand command) {
-        return super.handle(command);
+        return assetExecutor.execute(keyOf(command),
+                () -> assetRetryPolicy.execute(() -> transactionTemplate.execute(status -> super.handle(command))));
     }
 
     @Override
     protected WalletAssetEvent toEventEntity(AbstractWalletAssetCommand command, WalletAsset entity, Map<String, Object> params) {
         var totalBefore = (BigDecimal) params.get(Params.BEFORE_WALLET_ASSET_TOTAL);
         if (totalBefore == null) {
-            throw new UnappliedCommandException("Event %s :Missing required parameter %s", command.getClass().getSimpleName(), Params.BEFORE_WALLET_ASSET_TOTAL);
+            throw new UnappliedCommandException(UnappliedCommandException.Reason.MISSING_PARAMETER, "Event %s :Missing required parameter %s", command.getClass().getSimpleName(), Params.BEFORE_WALLET_ASSET_TOTAL);
         }
         return WalletAssetEvent.builder()
                 .walletAssetId(entity.getId())
@@ -55,7 +87,7 @@ public class WalletAssetEventHandler extends GenericCommandHandler<AbstractWalle
                 .eventData(command)
                 .assetName(entity.getName())
                 .totalBefore(totalBefore)
-                .totalAmount(command.getAmount())
+                .totalAmount((BigDecimal) params.getOrDefault(Params.EVENT_AMOUNT, command.getAmount()))
                 .totalAfter(entity.getTotalAmount())
                 .build();
     }
@@ -75,30 +107,33 @@ public class WalletAssetEventHandler extends GenericCommandHandler<AbstractWalle
     protected void preHandleFunction(AbstractWalletAssetCommand event, Map<String, Object> params) {
         super.preHandleFunction(event, params);
         if (event.getClass() != CreateWalletAssetCommand.class) {
-            var walletAssetOp = walletService.findWalletAsset(event.getUserId(), event.getCurrency());
-            if (walletAssetOp.isEmpty()) {
-                this.handle(CreateWalletAssetCommand.builder()
-                        .userId(event.getUserId())
-                        .amount(BigDecimal.ZERO)
-                        .currency(event.getCurrency())
-                        .referenceId("SYSTEM")
-                        .build()
-                );
+            if (!walletService.existsWalletAsset(event.getUserId(), event.getCurrency())) {
+                try {
+                    this.handle(CreateWalletAssetCommand.builder()
+                            .userId(event.getUserId())
+                            .amount(BigDecimal.ZERO)
+                            .currency(event.getCurrency())
+                            .referenceId("SYSTEM")
+                            .build()
+                    );
+                } catch (DataIntegrityViolationException e) {
+                    // created at the same time by another node, the command continues with that asset
+                    log.debug("WalletAssetEventHandler::preHandleFunction,asset created concurrently,key={}", keyOf(event));
+                }
             }
         }
-        var isLocked = assetLock.tryLock(lockKeyOf(event));
-        params.put("__IS_LOCKED__", isLocked);
     }
 
     @Override
-    protected void finallyFunction(AbstractWalletAssetCommand event, Map<String, Object> params) {
-        super.finallyFunction(event, params);
-        if ((boolean) params.get("__IS_LOCKED__")) {
-            assetLock.unlock(lockKeyOf(event));
-        }
+    protected void postHandleFunction(AbstractWalletAssetCommand event, WalletAsset entity, Map<String, Object> params) {
+        super.postHandleFunction(event, entity, params);
+        walletBalanceService.requestRefresh(List.of(event.getUserId()));
     }
 
-    private static String lockKeyOf(AbstractWalletAssetCommand event) {
-        return event.getUserId() + event.getCurrency();
+    /**
+     * Queue key of the asset, the delimiter keeps e.g. {@code ("ab", "c")} and {@code ("a", "bc")} apart.
+     */
+    private static String keyOf(AbstractWalletAssetCommand event) {
+        return event.getUserId() + ":" + event.getCurrency();
     }
 }
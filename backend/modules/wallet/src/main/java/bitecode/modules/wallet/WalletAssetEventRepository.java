@@ -2,6 +2,7 @@ package bitecode.modules.wallet;
 
 
 import bitecode.modules.wallet.model.entity.WalletAssetEvent;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -10,4 +11,6 @@ import java.util.List;
 @Repository
 public interface WalletAssetEventRepository extends JpaRepository<WalletAssetEvent, Long> {
     List<WalletAssetEvent> findAllByWalletAssetId(Long walletAssetId);
+
+    List<WalletAssetEvent> findAllByWalletAssetIdAndSequenceNumberGreaterThanOrderBySequenceNumberAsc(Long walletAssetId, Long sequenceNumber, Limit limit);
 }
@@ -0,0 +1,24 @@
+package bitecode.modules.wallet;
+
+import bitecode.modules.wallet.model.entity.WalletAssetHold;
+import bitecode.modules.wallet.model.enums.WalletAssetHoldStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface WalletAssetHoldRepository extends JpaRepository<WalletAssetHold, Long> {
+    boolean existsByUserIdAndAssetNameAndReferenceId(String userId, String assetName, String referenceId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<WalletAssetHold> findByUserIdAndAssetNameAndReferenceIdAndStatus(String userId, String assetName,
+                                                                             String referenceId, WalletAssetHoldStatus status);
+
+    List<WalletAssetHold> findAllByStatusAndExpiresAtBeforeOrderByExpiresAtAsc(WalletAssetHoldStatus status, Instant expiresAt, Limit limit);
+}
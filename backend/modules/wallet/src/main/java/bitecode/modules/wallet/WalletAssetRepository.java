@@ -1,15 +1,59 @@
 package bitecode.modules.wallet;
 
 
+import bitecode.modules.wallet.model.data.WalletAssetTotalUpdate;
 import bitecode.modules.wallet.model.entity.WalletAsset;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.util.List;
 import java.util.Optional;
 
 
 @Repository
 public interface WalletAssetRepository extends JpaRepository<WalletAsset, Long> {
     Optional<WalletAsset> findByUserIdAndName(String userId, String name);
-}
 
+    boolean existsByUserIdAndName(String userId, String name);
+
+    /**
+     * Locks the assets of the given {@code (userId, name)} pairs, passed as two arrays of the same length, with one
+     * statement. Rows are locked in id order, so concurrent callers locking overlapping sets do not deadlock.
+     */
+    @Query(value = """
+            SELECT asset.* FROM wallet.wallet_asset asset
+            JOIN unnest(CAST(:userIds AS VARCHAR[]), CAST(:names AS VARCHAR[])) AS asset_key(user_id, name)
+              ON asset.user_id = asset_key.user_id AND asset.name = asset_key.name
+            ORDER BY asset.id
+            FOR UPDATE OF asset
+            """, nativeQuery = true)
+    List<WalletAsset> findAllByUserIdAndNameForUpdate(String[] userIds, String[] names);
+
+    /**
+     * Adds {@code totalDelta} to the total and {@code holdDelta} to the held amount of the asset (negative for debits
+     * and releases) in a single statement, unless the held amount would go below zero or above the total. The row is
+     * locked by the statement itself, so the returned totals are exactly the ones before and after this update. Empty
+     * when the asset does not exist or its available amount is too low.
+     */
+    @Transactional
+    @Query(value = """
+            WITH previous AS (
+                SELECT id, total_amount FROM wallet.wallet_asset WHERE user_id = :userId AND name = :name FOR UPDATE
+            )
+            UPDATE wallet.wallet_asset asset
+            SET total_amount = asset.total_amount + :totalDelta,
+                hold_amount  = asset.hold_amount + :holdDelta,
+                version      = asset.version + 1,
+                updated_date = CURRENT_TIMESTAMP
+            FROM previous
+            WHERE asset.id = previous.id
+              AND asset.hold_amount + :holdDelta >= 0
+              AND asset.total_amount + :totalDelta >= asset.hold_amount + :holdDelta
+            RETURNING asset.id, asset.uuid, asset.user_id AS "userId", asset.name, asset.hold_amount AS "holdAmount",
+                      asset.version, previous.total_amount AS "totalBefore", asset.total_amount AS "totalAfter"
+            """, nativeQuery = true)
+    Optional<WalletAssetTotalUpdate> updateAmounts(String userId, String name, BigDecimal totalDelta, BigDecimal holdDelta);
+}
@@ -0,0 +1,102 @@
+package bitecode.modules.wallet;
+
+import bitecode.modules._common.service.notification.PostgresNotificationBus;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Server-sent events with the balances of a user, sent on subscription and after every change committed on any node
+ * (see {@link WalletBalanceService#CHANNEL}). Changes are read from the read model once per notification, on a
+ * virtual thread, and only for users with an open feed on this node.
+ */
+@Slf4j
+@Component
+public class WalletBalanceFeed {
+    public static final String EVENT_NAME = "wallet";
+
+    private final WalletBalanceService walletBalanceService;
+    private final PostgresNotificationBus notificationBus;
+    private final Map<String, Set<SseEmitter>> emitters = new ConcurrentHashMap<>();
+    private final long timeoutMs;
+    private final int maxPerUser;
+
+    public WalletBalanceFeed(WalletBalanceService walletBalanceService,
+                             PostgresNotificationBus notificationBus,
+                             @Value("${WALLET_BALANCE_FEED_TIMEOUT_MS:1800000}") long timeoutMs,
+                             @Value("${WALLET_BALANCE_FEED_MAX_PER_USER:5}") int maxPerUser) {
+        this.walletBalanceService = walletBalanceService;
+        this.notificationBus = notificationBus;
+        this.timeoutMs = timeoutMs;
+        this.maxPerUser = maxPerUser;
+    }
+
+    @PostConstruct
+    public void init() {
+        notificationBus.subscribe(WalletBalanceService.CHANNEL, this::onBalanceChanged);
+    }
+
+    /**
+     * @throws HttpClientErrorException with {@link HttpStatus#TOO_MANY_REQUESTS} if the user has too many open feeds
+     */
+    public SseEmitter subscribe(String userId) {
+        var emitter = new SseEmitter(timeoutMs);
+        var rejected = new boolean[1];
+        emitters.compute(userId, (key, userEmitters) -> {
+            var emittersOfUser = userEmitters != null ? userEmitters : ConcurrentHashMap.<SseEmitter>newKeySet();
+            if (emittersOfUser.size() >= maxPerUser) {
+                rejected[0] = true;
+            } else {
+                emittersOfUser.add(emitter);
+            }
+            return emittersOfUser;
+        });
+        if (rejected[0]) {
+            throw new HttpClientErrorException(HttpStatus.TOO_MANY_REQUESTS);
+        }
+        emitter.onCompletion(() -> remove(userId, emitter));
+        emitter.onTimeout(() -> remove(userId, emitter));
+        emitter.onError(e -> remove(userId, emitter));
+        send(userId, Set.of(emitter));
+        return emitter;
+    }
+
+    private void onBalanceChanged(String userId) {
+        var userEmitters = emitters.get(userId);
+        if (userEmitters == null || userEmitters.isEmpty()) {
+            return;
+        }
+        Thread.ofVirtual().name("wallet-balance-feed").start(() -> send(userId, userEmitters));
+    }
+
+    private void send(String userId, Set<SseEmitter> userEmitters) {
+        var walletDetails = walletBalanceService.loadWalletDetails(userId);
+        if (walletDetails.isEmpty()) {
+            return;
+        }
+        for (var emitter : userEmitters) {
+            try {
+                emitter.send(SseEmitter.event().name(EVENT_NAME).data(walletDetails.get()));
+            } catch (IOException | IllegalStateException e) {
+                log.debug("WalletBalanceFeed::send,feed closed,userId={},error={}", userId, e.getMessage());
+                remove(userId, emitter);
+            }
+        }
+    }
+
+    private void remove(String userId, SseEmitter emitter) {
+        emitters.computeIfPresent(userId, (key, userEmitters) -> {
+            userEmitters.remove(emitter);
+            return userEmitters.isEmpty() ? null : userEmitters;
+        });
+    }
+}
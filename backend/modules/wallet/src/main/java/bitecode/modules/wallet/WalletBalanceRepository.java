@@ -0,0 +1,48 @@
+package bitecode.modules.wallet;
+
+import bitecode.modules.wallet.model.entity.WalletBalance;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface WalletBalanceRepository extends JpaRepository<WalletBalance, String> {
+
+    /**
+     * Creates or locks the balance rows of the users, in user id order. Must run before
+     * {@link #refreshBalances} in the same transaction: the refresh then reads the assets in a new statement, after
+     * any concurrent writer of the same balances has committed. User ids must be distinct.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+            INSERT INTO wallet.wallet_balance (user_id)
+            SELECT balance_key.user_id FROM unnest(CAST(:userIds AS VARCHAR[])) AS balance_key(user_id)
+            ORDER BY balance_key.user_id
+            ON CONFLICT (user_id) DO UPDATE SET version = wallet_balance.version + 1
+            """, nativeQuery = true)
+    int lockBalances(String[] userIds);
+
+    /**
+     * Rebuilds the balance rows of the users from their wallet and wallet assets, pending entity changes included.
+     */
+    @Modifying(flushAutomatically = true)
+    @Transactional
+    @Query(value = """
+            UPDATE wallet.wallet_balance balance
+            SET wallet_uuid  = wallet.uuid,
+                frozen       = wallet.frozen,
+                assets       = COALESCE((SELECT jsonb_agg(jsonb_build_object('name', asset.name,
+                                                                             'totalAmount', asset.total_amount,
+                                                                             'holdAmount', asset.hold_amount) ORDER BY asset.id)
+                                         FROM wallet.wallet_asset asset
+                                         WHERE asset.wallet_id = wallet.id), CAST('[]' AS JSONB)),
+                updated_date = CURRENT_TIMESTAMP
+            FROM wallet.wallet wallet
+            WHERE wallet.user_id = balance.user_id
+              AND balance.user_id = ANY (CAST(:userIds AS VARCHAR[]))
+            """, nativeQuery = true)
+    int refreshBalances(String[] userIds);
+}
@@ -0,0 +1,132 @@
+package bitecode.modules.wallet;
+
+import bitecode.modules._common.service.cache.CachePolicy;
+import bitecode.modules._common.service.cache.CacheRef;
+import bitecode.modules._common.service.cache.CacheService;
+import bitecode.modules._common.service.notification.PostgresNotificationBus;
+import bitecode.modules._common.service.outbox.OutboxService;
+import bitecode.modules.wallet.model.data.WalletDetails;
+import bitecode.modules.wallet.model.entity.WalletBalance;
+import bitecode.modules.wallet.model.event.WalletBalanceChangedEvent;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Balances of a user read from the {@link WalletBalance} read model instead of the wallet and asset rows of the
+ * write path, behind a cache.
+ * <p>
+ * Every asset change queues a {@link WalletBalanceChangedEvent} with {@link #requestRefresh} in its transaction, so
+ * the commands do not lock and rebuild the balance row themselves. The outbox relay then runs {@link #refresh} after
+ * the change committed, which notifies {@link #CHANNEL} with the user id on commit; balances therefore lag the asset
+ * rows by the relay latency. Every node evicts the user from its cache on the notification; as notifications can be
+ * lost, cached balances also expire after {@code WALLET_BALANCE_CACHE_TTL_SECONDS}. The cache is node local: with the
+ * distributed provider, a node filling its cache would otherwise overwrite the eviction of another.
+ * <p>
+ * A read that missed the cache only fills it if no eviction of the user happened since the read started, checked
+ * against an eviction counter striped by user id, so a balance read just before a refresh committed is not cached
+ * after the eviction of that refresh.
+ */
+@Slf4j
+@Service
+public class WalletBalanceService {
+    public static final String CHANNEL = "wallet_balance";
+    private static final int EVICTION_STRIPES = 1024;
+
+    private final WalletBalanceRepository walletBalanceRepository;
+    private final PostgresNotificationBus notificationBus;
+    private final OutboxService outboxService;
+    private final CacheRef<String, WalletDetails> walletDetailsCache;
+    private final AtomicLongArray evictions = new AtomicLongArray(EVICTION_STRIPES);
+
+    public WalletBalanceService(WalletBalanceRepository walletBalanceRepository,
+                                PostgresNotificationBus notificationBus,
+                                OutboxService outboxService,
+                                CacheService cacheService,
+                                @Value("${WALLET_BALANCE_CACHE_TTL_SECONDS:60}") long cacheTtlSeconds) {
+        this.walletBalanceRepository = walletBalanceRepository;
+        this.notificationBus = notificationBus;
+        this.outboxService = outboxService;
+        this.walletDetailsCache = cacheService.createCache("walletDetails", CachePolicy.<String, WalletDetails>builder()
+                .expireAfterWrite(Duration.ofSeconds(cacheTtlSeconds))
+                .replicated(false)
+                .build());
+    }
+
+    @PostConstruct
+    public void init() {
+        notificationBus.subscribe(CHANNEL, this::evict);
+    }
+
+    public Optional<WalletDetails> findWalletDetails(String userId) {
+        var cached = walletDetailsCache.get(userId);
+        if (cached.isPresent()) {
+            return cached;
+        }
+        var stripe = stripeOf(userId);
+        var evictionsBefore = evictions.get(stripe);
+        var walletDetails = loadWalletDetails(userId);
+        walletDetails.ifPresent(details -> {
+            walletDetailsCache.put(userId, details);
+            // checked after the put: an eviction counted later also removes the entry after the put
+            if (evictions.get(stripe) != evictionsBefore) {
+                walletDetailsCache.remove(userId);
+            }
+        });
+        return walletDetails;
+    }
+
+    /**
+     * Uncached variant of {@link #findWalletDetails}.
+     */
+    public Optional<WalletDetails> loadWalletDetails(String userId) {
+        return walletBalanceRepository.findById(userId)
+                .filter(walletBalance -> walletBalance.getWalletUuid() != null)
+                .map(WalletBalanceService::toWalletDetails);
+    }
+
+    /**
+     * Queues a {@link #refresh} of the users through the outbox, in the caller's transaction.
+     */
+    public void requestRefresh(Collection<String> userIds) {
+        var distinctUserIds = userIds.stream().distinct().sorted().toList();
+        if (!distinctUserIds.isEmpty()) {
+            outboxService.publish(new WalletBalanceChangedEvent(distinctUserIds));
+        }
+    }
+
+    /**
+     * Rebuilds the read model of the users from their current wallet assets, within the caller's transaction.
+     */
+    public void refresh(Collection<String> userIds) {
+        var sortedUserIds = userIds.stream().distinct().sorted().toArray(String[]::new);
+        if (sortedUserIds.length == 0) {
+            return;
+        }
+        walletBalanceRepository.lockBalances(sortedUserIds);
+        walletBalanceRepository.refreshBalances(sortedUserIds);
+        for (var userId : sortedUserIds) {
+            notificationBus.publish(CHANNEL, userId);
+        }
+    }
+
+    void evict(String userId) {
+        evictions.incrementAndGet(stripeOf(userId));
+        walletDetailsCache.remove(userId);
+    }
+
+    private static int stripeOf(String userId) {
+        return Math.floorMod(userId.hashCode(), EVICTION_STRIPES);
+    }
+
+    private static WalletDetails toWalletDetails(WalletBalance walletBalance) {
+        return new WalletDetails(walletBalance.getWalletUuid().toString(), walletBalance.getUserId(),
+                walletBalance.getAssets(), walletBalance.isFrozen());
+    }
+}
@@ -0,0 +1,36 @@
+package bitecode.modules.wallet;
+
+import bitecode.modules._common.model.annotation.AdminOrUserAccess;
+import bitecode.modules._common.util.AuthUtils;
+import bitecode.modules.wallet.model.data.WalletDetails;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@AdminOrUserAccess
+@RequestMapping("/wallets")
+@RequiredArgsConstructor
+public class WalletController {
+    private final WalletBalanceService walletBalanceService;
+    private final WalletBalanceFeed walletBalanceFeed;
+
+    @GetMapping("/me")
+    public WalletDetails getWallet() {
+        return walletBalanceService.findWalletDetails(AuthUtils.getUserId().toString())
+                .orElseThrow(() -> new HttpClientErrorException(HttpStatus.NOT_FOUND));
+    }
+
+    /**
+     * Current balances, then the balances after every change, as {@code wallet} server-sent events.
+     */
+    @GetMapping(value = "/me/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamWalletChanges() {
+        return walletBalanceFeed.subscribe(AuthUtils.getUserId().toString());
+    }
+}
@@ -1,5 +1,9 @@
 package bitecode.modules.wallet;
 
+import bitecode.modules._common.eventsourcing.replay.AggregateReplayEngine;
+import bitecode.modules._common.eventsourcing.replay.model.ReplayResult;
+import bitecode.modules.wallet.handler.replay.WalletAssetBalanceProjection;
+import bitecode.modules.wallet.model.data.WalletAssetBalance;
 import bitecode.modules.wallet.model.entity.Wallet;
 import bitecode.modules.wallet.model.entity.WalletAsset;
 import lombok.RequiredArgsConstructor;
@@ -13,6 +17,8 @@ import java.util.Optional;
 public class WalletService {
     private final WalletRepository walletRepository;
     private final WalletAssetRepository walletAssetRepository;
+    private final AggregateReplayEngine replayEngine;
+    private final WalletAssetBalanceProjection walletAssetBalanceProjection;
 
     public Wallet findOrCreateWalletFetchAssets(String userId) {
         return walletRepository.findOneByUserId(userId)
@@ -34,6 +40,17 @@ public class WalletService {
         return walletAssetRepository.findByUserIdAndName(userId, name);
     }
 
+    public boolean existsWalletAsset(String userId, String name) {
+        return walletAssetRepository.existsByUserIdAndName(userId, name);
+    }
+
+    /**
+     * Rebuilds the balance of a wallet asset from its event log, e.g. to audit the stored total against it.
+     */
+    public ReplayResult<WalletAssetBalance> rebuildWalletAssetBalance(Long walletAssetId) {
+        return replayEngine.replay(walletAssetBalanceProjection, walletAssetId);
+    }
+
     private Wallet createNewWallet(String userId) {
         return walletRepository.save(Wallet.builder()
                 .frozen(false)
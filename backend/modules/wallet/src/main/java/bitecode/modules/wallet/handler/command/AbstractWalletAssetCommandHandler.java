@@ -1,10 +1,49 @@
 package bitecode.modules.wallet.handler.command;
 
 
+import bitecode.modules._common.eventsourcing.exception.UnappliedCommandException;
 import bitecode.modules._common.eventsourcing.model.AbstractCommandHandler;
 import bitecode.modules._common.eventsourcing.model.Command;
+import bitecode.modules.wallet.WalletAssetEventHandler;
+import bitecode.modules.wallet.WalletAssetRepository;
+import bitecode.modules.wallet.model.command.AbstractWalletAssetCommand;
 import bitecode.modules.wallet.model.entity.WalletAsset;
 
+import java.math.BigDecimal;
+import java.util.Map;
+
 public abstract class AbstractWalletAssetCommandHandler<C extends Command> extends AbstractCommandHandler<WalletAsset, C> {
 
+    /**
+     * Applies a credit or debit with {@link WalletAssetRepository#updateAmounts}, without loading the asset first.
+     * The total before the update goes to the params, the returned asset is a detached snapshot of the updated row.
+     * Debits only succeed on the available amount, i.e. the total minus the held amount.
+     */
+    protected WalletAsset updateTotalAmount(WalletAssetRepository walletAssetRepository, AbstractWalletAssetCommand command,
+                                            BigDecimal delta, Map<String, Object> params) {
+        return updateAmounts(walletAssetRepository, command, delta, BigDecimal.ZERO, params);
+    }
+
+    /**
+     * Variant of {@link #updateTotalAmount} which also moves the held amount of the asset, for holds.
+     */
+    protected WalletAsset updateAmounts(WalletAssetRepository walletAssetRepository, AbstractWalletAssetCommand command,
+                                        BigDecimal totalDelta, BigDecimal holdDelta, Map<String, Object> params) {
+        var update = walletAssetRepository.updateAmounts(command.getUserId(), command.getCurrency(), totalDelta, holdDelta)
+                .orElseThrow(() -> walletAssetRepository.existsByUserIdAndName(command.getUserId(), command.getCurrency())
+                        ? new UnappliedCommandException(UnappliedCommandException.Reason.INSUFFICIENT_FUNDS, "Not enough money")
+                        : genericUnappliedHandlerException(command));
+        params.put(WalletAssetEventHandler.Params.BEFORE_WALLET_ASSET_TOTAL, update.getTotalBefore());
+
+        var walletAsset = WalletAsset.builder()
+                .userId(update.getUserId())
+                .name(update.getName())
+                .totalAmount(update.getTotalAfter())
+                .holdAmount(update.getHoldAmount())
+                .version(update.getVersion())
+                .build();
+        walletAsset.setId(update.getId());
+        walletAsset.setUuid(update.getUuid());
+        return walletAsset;
+    }
 }
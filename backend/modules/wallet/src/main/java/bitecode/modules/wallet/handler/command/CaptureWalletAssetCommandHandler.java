@@ -0,0 +1,49 @@
+package bitecode.modules.wallet.handler.command;
+
+import bitecode.modules._common.eventsourcing.exception.UnappliedCommandException;
+import bitecode.modules.wallet.WalletAssetHoldRepository;
+import bitecode.modules.wallet.WalletAssetRepository;
+import bitecode.modules.wallet.model.command.CaptureWalletAssetCommand;
+import bitecode.modules.wallet.model.entity.WalletAsset;
+import bitecode.modules.wallet.model.enums.WalletAssetHoldStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Debits the captured amount from the asset total and releases the whole hold in the same update, so a partial
+ * capture gives the rest of the hold back to the available amount.
+ */
+@Component
+@RequiredArgsConstructor
+public class CaptureWalletAssetCommandHandler extends AbstractWalletAssetCommandHandler<CaptureWalletAssetCommand> {
+    private final WalletAssetRepository walletAssetRepository;
+    private final WalletAssetHoldRepository walletAssetHoldRepository;
+
+    @Override
+    @Transactional
+    public WalletAsset handle(CaptureWalletAssetCommand command, Map<String, Object> params) throws UnappliedCommandException {
+        var hold = walletAssetHoldRepository.findByUserIdAndAssetNameAndReferenceIdAndStatus(command.getUserId(),
+                        command.getCurrency(), command.getReferenceId(), WalletAssetHoldStatus.HELD)
+                .orElseThrow(() -> new UnappliedCommandException(UnappliedCommandException.Reason.NOT_FOUND, "Hold %s not found", command.getReferenceId()));
+        if (hold.getExpiresAt().isBefore(Instant.now())) {
+            throw new UnappliedCommandException(UnappliedCommandException.Reason.INVALID_STATE, "Hold %s expired", command.getReferenceId());
+        }
+        if (command.getAmount().signum() < 0 || command.getAmount().compareTo(hold.getAmount()) > 0) {
+            throw new UnappliedCommandException(UnappliedCommandException.Reason.INVALID_STATE, "Capture amount %s exceeds hold %s",
+                    command.getAmount(), hold.getAmount());
+        }
+
+        var walletAsset = updateAmounts(walletAssetRepository, command, command.getAmount().negate(), hold.getAmount().negate(), params);
+        hold.setStatus(WalletAssetHoldStatus.CAPTURED);
+        return walletAsset;
+    }
+
+    @Override
+    public Class<CaptureWalletAssetCommand> getCommandClass() {
+        return CaptureWalletAssetCommand.class;
+    }
+}
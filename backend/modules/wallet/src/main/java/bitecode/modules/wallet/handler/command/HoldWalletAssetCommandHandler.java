@@ -0,0 +1,66 @@
+package bitecode.modules.wallet.handler.command;
+
+import bitecode.modules._common.eventsourcing.exception.UnappliedCommandException;
+import bitecode.modules.wallet.WalletAssetEventHandler;
+import bitecode.modules.wallet.WalletAssetHoldRepository;
+import bitecode.modules.wallet.WalletAssetRepository;
+import bitecode.modules.wallet.model.command.HoldWalletAssetCommand;
+import bitecode.modules.wallet.model.entity.WalletAsset;
+import bitecode.modules.wallet.model.entity.WalletAssetHold;
+import bitecode.modules.wallet.model.enums.WalletAssetHoldStatus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Moves the amount from the available to the held amount of the asset and records the hold, which is then captured,
+ * released or expired by {@code WalletAssetHoldSweeper}. The asset total does not change.
+ */
+@Component
+public class HoldWalletAssetCommandHandler extends AbstractWalletAssetCommandHandler<HoldWalletAssetCommand> {
+    private final WalletAssetRepository walletAssetRepository;
+    private final WalletAssetHoldRepository walletAssetHoldRepository;
+    private final long defaultTtlSeconds;
+
+    public HoldWalletAssetCommandHandler(WalletAssetRepository walletAssetRepository,
+                                         WalletAssetHoldRepository walletAssetHoldRepository,
+                                         @Value("${WALLET_HOLD_TTL_SECONDS:900}") long defaultTtlSeconds) {
+        this.walletAssetRepository = walletAssetRepository;
+        this.walletAssetHoldRepository = walletAssetHoldRepository;
+        this.defaultTtlSeconds = defaultTtlSeconds;
+    }
+
+    @Override
+    @Transactional
+    public WalletAsset handle(HoldWalletAssetCommand command, Map<String, Object> params) throws UnappliedCommandException {
+        if (command.getAmount().signum() <= 0) {
+            throw new UnappliedCommandException(UnappliedCommandException.Reason.INVALID_STATE, "Hold amount must be positive");
+        }
+        if (walletAssetHoldRepository.existsByUserIdAndAssetNameAndReferenceId(command.getUserId(), command.getCurrency(), command.getReferenceId())) {
+            throw new UnappliedCommandException(UnappliedCommandException.Reason.INVALID_STATE, "Hold %s already exists", command.getReferenceId());
+        }
+
+        var walletAsset = updateAmounts(walletAssetRepository, command, BigDecimal.ZERO, command.getAmount(), params);
+        var ttlSeconds = command.getTtlSeconds() != null ? command.getTtlSeconds() : defaultTtlSeconds;
+        walletAssetHoldRepository.save(WalletAssetHold.builder()
+                .walletAssetId(walletAsset.getId())
+                .userId(command.getUserId())
+                .assetName(command.getCurrency())
+                .referenceId(command.getReferenceId())
+                .amount(command.getAmount())
+                .status(WalletAssetHoldStatus.HELD)
+                .expiresAt(Instant.now().plusSeconds(ttlSeconds))
+                .build());
+        params.put(WalletAssetEventHandler.Params.EVENT_AMOUNT, BigDecimal.ZERO);
+        return walletAsset;
+    }
+
+    @Override
+    public Class<HoldWalletAssetCommand> getCommandClass() {
+        return HoldWalletAssetCommand.class;
+    }
+}
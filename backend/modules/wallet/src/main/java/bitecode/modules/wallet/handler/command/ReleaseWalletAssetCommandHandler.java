@@ -0,0 +1,40 @@
+package bitecode.modules.wallet.handler.command;
+
+import bitecode.modules._common.eventsourcing.exception.UnappliedCommandException;
+import bitecode.modules.wallet.WalletAssetEventHandler;
+import bitecode.modules.wallet.WalletAssetHoldRepository;
+import bitecode.modules.wallet.WalletAssetRepository;
+import bitecode.modules.wallet.model.command.ReleaseWalletAssetCommand;
+import bitecode.modules.wallet.model.entity.WalletAsset;
+import bitecode.modules.wallet.model.enums.WalletAssetHoldStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+@Component
+@RequiredArgsConstructor
+public class ReleaseWalletAssetCommandHandler extends AbstractWalletAssetCommandHandler<ReleaseWalletAssetCommand> {
+    private final WalletAssetRepository walletAssetRepository;
+    private final WalletAssetHoldRepository walletAssetHoldRepository;
+
+    @Override
+    @Transactional
+    public WalletAsset handle(ReleaseWalletAssetCommand command, Map<String, Object> params) throws UnappliedCommandException {
+        var hold = walletAssetHoldRepository.findByUserIdAndAssetNameAndReferenceIdAndStatus(command.getUserId(),
+                        command.getCurrency(), command.getReferenceId(), WalletAssetHoldStatus.HELD)
+                .orElseThrow(() -> new UnappliedCommandException(UnappliedCommandException.Reason.NOT_FOUND, "Hold %s not found", command.getReferenceId()));
+
+        var walletAsset = updateAmounts(walletAssetRepository, command, BigDecimal.ZERO, hold.getAmount().negate(), params);
+        hold.setStatus(command.isExpired() ? WalletAssetHoldStatus.EXPIRED : WalletAssetHoldStatus.RELEASED);
+        params.put(WalletAssetEventHandler.Params.EVENT_AMOUNT, BigDecimal.ZERO);
+        return walletAsset;
+    }
+
+    @Override
+    public Class<ReleaseWalletAssetCommand> getCommandClass() {
+        return ReleaseWalletAssetCommand.class;
+    }
+}
@@ -0,0 +1,23 @@
+package bitecode.modules.wallet.handler.event;
+
+import bitecode.modules.wallet.WalletBalanceService;
+import bitecode.modules.wallet.model.event.WalletBalanceChangedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+@Component
+@RequiredArgsConstructor
+public class WalletBalanceEventHandler {
+    private final WalletBalanceService walletBalanceService;
+
+    /**
+     * Runs on the outbox relay after the asset change committed; a failed refresh is retried by the relay.
+     */
+    @Transactional
+    @EventListener(WalletBalanceChangedEvent.class)
+    public void handleWalletBalanceChanged(WalletBalanceChangedEvent event) {
+        walletBalanceService.refresh(event.userIds());
+    }
+}
@@ -0,0 +1,65 @@
+package bitecode.modules.wallet.handler.replay;
+
+import bitecode.modules._common.eventsourcing.replay.AggregateProjection;
+import bitecode.modules.wallet.WalletAssetEventRepository;
+import bitecode.modules.wallet.model.command.AddWalletAssetCommand;
+import bitecode.modules.wallet.model.command.CaptureWalletAssetCommand;
+import bitecode.modules.wallet.model.command.CreateWalletAssetCommand;
+import bitecode.modules.wallet.model.command.SubtractWalletAssetCommand;
+import bitecode.modules.wallet.model.data.WalletAssetBalance;
+import bitecode.modules.wallet.model.entity.WalletAssetEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+
+/**
+ * Rebuilds a {@code WalletAsset} balance from the commands stored in {@code wallet_asset_event}. Amounts are
+ * rounded after every step the same way the {@code NUMERIC(10, 2)} column rounds them on write.
+ */
+@Component
+@RequiredArgsConstructor
+public class WalletAssetBalanceProjection implements AggregateProjection<WalletAssetBalance, WalletAssetEvent> {
+    private static final int AMOUNT_SCALE = 2;
+
+    private final WalletAssetEventRepository walletAssetEventRepository;
+
+    @Override
+    public String aggregateType() {
+        return "wallet_asset";
+    }
+
+    @Override
+    public Class<WalletAssetBalance> stateType() {
+        return WalletAssetBalance.class;
+    }
+
+    @Override
+    public WalletAssetBalance initialState() {
+        return new WalletAssetBalance(BigDecimal.ZERO.setScale(AMOUNT_SCALE, RoundingMode.HALF_UP));
+    }
+
+    @Override
+    public WalletAssetBalance apply(WalletAssetBalance state, WalletAssetEvent event) {
+        return switch (event.getEventData()) {
+            case CreateWalletAssetCommand ignored -> initialState();
+            case AddWalletAssetCommand command -> withTotal(state.totalAmount().add(command.getAmount()));
+            case SubtractWalletAssetCommand command -> withTotal(state.totalAmount().subtract(command.getAmount()));
+            case CaptureWalletAssetCommand command -> withTotal(state.totalAmount().subtract(command.getAmount()));
+            default -> state;
+        };
+    }
+
+    @Override
+    public List<WalletAssetEvent> findEventsAfter(Long aggregateId, Long afterSequenceNumber, int limit) {
+        return walletAssetEventRepository.findAllByWalletAssetIdAndSequenceNumberGreaterThanOrderBySequenceNumberAsc(aggregateId,
+                afterSequenceNumber, Limit.of(limit));
+    }
+
+    private static WalletAssetBalance withTotal(BigDecimal totalAmount) {
+        return new WalletAssetBalance(totalAmount.setScale(AMOUNT_SCALE, RoundingMode.HALF_UP));
+    }
+}
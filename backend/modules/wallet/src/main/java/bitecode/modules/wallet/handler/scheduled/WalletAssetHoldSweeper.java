@@ -0,0 +1,60 @@
+package bitecode.modules.wallet.handler.scheduled;
+
+import bitecode.modules._common.eventsourcing.exception.UnappliedCommandException;
+import bitecode.modules.wallet.WalletAssetEventHandler;
+import bitecode.modules.wallet.WalletAssetHoldRepository;
+import bitecode.modules.wallet.model.command.ReleaseWalletAssetCommand;
+import bitecode.modules.wallet.model.entity.WalletAssetHold;
+import bitecode.modules.wallet.model.enums.WalletAssetHoldStatus;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+
+/**
+ * Releases the holds which were neither captured nor released before their expiry, with a
+ * {@link ReleaseWalletAssetCommand} so the release goes through the asset queue and the event log like any other
+ * command. A hold captured or swept by another node in the meantime is simply skipped.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class WalletAssetHoldSweeper {
+    private final WalletAssetHoldRepository walletAssetHoldRepository;
+    private final WalletAssetEventHandler walletAssetEventHandler;
+
+    @Value("${WALLET_HOLD_SWEEP_BATCH_SIZE:100}")
+    private int batchSize;
+
+    @Scheduled(fixedDelayString = "${WALLET_HOLD_SWEEP_INTERVAL_MS:30000}")
+    public void sweep() {
+        var expired = walletAssetHoldRepository.findAllByStatusAndExpiresAtBeforeOrderByExpiresAtAsc(
+                WalletAssetHoldStatus.HELD, Instant.now(), Limit.of(batchSize));
+        for (var hold : expired) {
+            try {
+                walletAssetEventHandler.handle(toReleaseCommand(hold));
+            } catch (UnappliedCommandException e) {
+                log.debug("WalletAssetHoldSweeper::sweep,hold already settled,holdId={},reason={}", hold.getId(), e.getReason());
+            } catch (Exception e) {
+                log.error("WalletAssetHoldSweeper::sweep,release failed,holdId={},ex={}", hold.getId(), e, e);
+            }
+        }
+        if (!expired.isEmpty()) {
+            log.info("WalletAssetHoldSweeper::sweep,expired holds processed,count={}", expired.size());
+        }
+    }
+
+    private static ReleaseWalletAssetCommand toReleaseCommand(WalletAssetHold hold) {
+        return ReleaseWalletAssetCommand.builder()
+                .userId(hold.getUserId())
+                .currency(hold.getAssetName())
+                .referenceId(hold.getReferenceId())
+                .amount(hold.getAmount())
+                .expired(true)
+                .build();
+    }
+}
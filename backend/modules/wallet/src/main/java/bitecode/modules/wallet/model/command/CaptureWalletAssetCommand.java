@@ -0,0 +1,16 @@
+package bitecode.modules.wallet.model.command;
+
+import bitecode.modules._common.eventsourcing.config.EventVersion;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.SuperBuilder;
+
+/**
+ * Debits {@code amount} (at most the held amount) of the hold {@code referenceId} and releases the rest of it.
+ */
+@Data
+@SuperBuilder
+@NoArgsConstructor
+@EventVersion("v1")
+public class CaptureWalletAssetCommand extends AbstractWalletAssetCommand {
+}
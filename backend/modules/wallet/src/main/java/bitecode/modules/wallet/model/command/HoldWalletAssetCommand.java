@@ -0,0 +1,20 @@
+package bitecode.modules.wallet.model.command;
+
+import bitecode.modules._common.eventsourcing.config.EventVersion;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.experimental.SuperBuilder;
+
+/**
+ * Reserves {@code amount} of the asset under {@code referenceId}, to be captured or released later. Without a
+ * {@code ttlSeconds} the hold expires after {@code WALLET_HOLD_TTL_SECONDS}.
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+@SuperBuilder
+@NoArgsConstructor
+@EventVersion("v1")
+public class HoldWalletAssetCommand extends AbstractWalletAssetCommand {
+    private Long ttlSeconds;
+}
@@ -0,0 +1,20 @@
+package bitecode.modules.wallet.model.command;
+
+import bitecode.modules._common.eventsourcing.config.EventVersion;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.experimental.SuperBuilder;
+
+/**
+ * Releases the whole hold {@code referenceId}; {@code amount} is not used. {@code expired} is set by the hold
+ * sweeper.
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+@SuperBuilder
+@NoArgsConstructor
+@EventVersion("v1")
+public class ReleaseWalletAssetCommand extends AbstractWalletAssetCommand {
+    private boolean expired;
+}
@@ -0,0 +1,17 @@
+package bitecode.modules.wallet.model.data;
+
+import java.math.BigDecimal;
+
+/**
+ * Outcome of one command of a bulk call. {@code reason} is the {@code UnappliedCommandException.Reason} of an
+ * unapplied command, or {@code ERROR} when its chunk failed; {@code totalAfter} is only set for applied commands.
+ */
+public record BulkWalletAssetResult(
+        int index,
+        String referenceId,
+        boolean applied,
+        String reason,
+        BigDecimal totalAfter
+) {
+    public static final String ERROR = "ERROR";
+}
@@ -0,0 +1,9 @@
+package bitecode.modules.wallet.model.data;
+
+import java.math.BigDecimal;
+
+public record WalletAssetBalance(
+        BigDecimal totalAmount
+) {
+
+}
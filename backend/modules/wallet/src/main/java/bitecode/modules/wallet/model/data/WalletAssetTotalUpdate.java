@@ -0,0 +1,26 @@
+package bitecode.modules.wallet.model.data;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Row returned by {@code WalletAssetRepository.updateAmounts}: the updated asset and its total before and after
+ * the update.
+ */
+public interface WalletAssetTotalUpdate {
+    Long getId();
+
+    UUID getUuid();
+
+    String getUserId();
+
+    String getName();
+
+    BigDecimal getHoldAmount();
+
+    Long getVersion();
+
+    BigDecimal getTotalBefore();
+
+    BigDecimal getTotalAfter();
+}
@@ -4,7 +4,9 @@ import bitecode.modules._common.model.entity.UuidBaseEntity;
 import jakarta.persistence.Entity;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.*;
+import org.hibernate.annotations.OptimisticLock;
 
 import java.io.Serial;
 import java.util.ArrayList;
@@ -25,6 +27,10 @@ public class Wallet extends UuidBaseEntity {
     private String userId;
     @Builder.Default
     @OneToMany(mappedBy = "wallet")
+    // assets carry their own version, creating one must not conflict with other writers of the wallet
+    @OptimisticLock(excluded = true)
     private List<WalletAsset> assets = new ArrayList<>();
     private boolean frozen;
+    @Version
+    private Long version;
 }
@@ -6,6 +6,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.*;
 
 import java.io.Serial;
@@ -30,4 +31,9 @@ public class WalletAsset extends UuidBaseEntity {
     private String name;
     private BigDecimal totalAmount;
     private BigDecimal holdAmount;
+    /**
+     * Optimistic lock, concurrent updates of the same row from different nodes fail on commit and are retried.
+     */
+    @Version
+    private Long version;
 }
@@ -0,0 +1,43 @@
+package bitecode.modules.wallet.model.entity;
+
+import bitecode.modules._common.model.entity.UuidBaseEntity;
+import bitecode.modules.wallet.model.data.BulkWalletAssetResult;
+import bitecode.modules.wallet.model.enums.WalletAssetBulkStatus;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import lombok.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.io.Serial;
+import java.util.List;
+
+/**
+ * A bulk call of {@code WalletAssetBulkService}, identified by the reference id of the caller. The row is inserted
+ * before the first chunk is applied and gets the results once all chunks ran; {@code requestHash} tells a replay of
+ * the same call apart from another call reusing its reference id.
+ */
+@Entity
+@Getter
+@Setter
+@ToString(exclude = "results")
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Table(schema = "wallet")
+public class WalletAssetBulk extends UuidBaseEntity {
+    @Serial
+    private static final long serialVersionUID = -6114725203378155412L;
+
+    private String referenceId;
+    private String requestHash;
+    @Enumerated(EnumType.STRING)
+    private WalletAssetBulkStatus status;
+    @JdbcTypeCode(SqlTypes.JSON)
+    private List<BulkWalletAssetResult> results;
+    @Version
+    private Long version;
+}
@@ -0,0 +1,42 @@
+package bitecode.modules.wallet.model.entity;
+
+import bitecode.modules._common.model.entity.UuidBaseEntity;
+import bitecode.modules.wallet.model.enums.WalletAssetHoldStatus;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import lombok.*;
+
+import java.io.Serial;
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Amount reserved on a {@link WalletAsset} (counted in its {@code holdAmount}) until it is captured, released or
+ * expires. Holds are identified by the reference id of the {@code HoldWalletAssetCommand}, unique per asset.
+ */
+@Entity
+@Getter
+@Setter
+@ToString
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Table(schema = "wallet")
+public class WalletAssetHold extends UuidBaseEntity {
+    @Serial
+    private static final long serialVersionUID = 3262198810364514471L;
+
+    private Long walletAssetId;
+    private String userId;
+    private String assetName;
+    private String referenceId;
+    private BigDecimal amount;
+    @Enumerated(EnumType.STRING)
+    private WalletAssetHoldStatus status;
+    private Instant expiresAt;
+    @Version
+    private Long version;
+}
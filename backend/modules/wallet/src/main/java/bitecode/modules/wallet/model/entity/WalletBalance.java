@@ -0,0 +1,42 @@
+package bitecode.modules.wallet.model.entity;
+
+import bitecode.modules.wallet.model.data.WalletAssetDetails;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Read model of the wallet of a user with all its assets in one row, written only by
+ * {@code WalletBalanceRepository.refreshBalances}.
+ */
+@Entity
+@Immutable
+@Getter
+@ToString
+@NoArgsConstructor
+@Table(schema = "wallet")
+public class WalletBalance implements Serializable {
+    @Serial
+    private static final long serialVersionUID = -2419337745916104856L;
+
+    @Id
+    private String userId;
+    private UUID walletUuid;
+    private boolean frozen;
+    @JdbcTypeCode(SqlTypes.JSON)
+    private List<WalletAssetDetails> assets;
+    private Long version;
+    private Instant updatedDate;
+}
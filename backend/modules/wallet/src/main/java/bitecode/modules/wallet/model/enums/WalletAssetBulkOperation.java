@@ -0,0 +1,6 @@
+package bitecode.modules.wallet.model.enums;
+
+public enum WalletAssetBulkOperation {
+    ADD,
+    SUBTRACT
+}
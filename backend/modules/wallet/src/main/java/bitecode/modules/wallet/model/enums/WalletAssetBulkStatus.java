@@ -0,0 +1,6 @@
+package bitecode.modules.wallet.model.enums;
+
+public enum WalletAssetBulkStatus {
+    IN_PROGRESS,
+    COMPLETED
+}
@@ -0,0 +1,8 @@
+package bitecode.modules.wallet.model.enums;
+
+public enum WalletAssetHoldStatus {
+    HELD,
+    CAPTURED,
+    RELEASED,
+    EXPIRED
+}
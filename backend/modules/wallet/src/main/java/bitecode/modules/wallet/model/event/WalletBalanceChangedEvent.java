@@ -0,0 +1,14 @@
+package bitecode.modules.wallet.model.event;
+
+import bitecode.modules._common.model.event.ModuleEvent;
+
+import java.util.List;
+
+/**
+ * Published through the outbox by every transaction changing wallet assets, for the users whose
+ * {@code WalletBalance} read model has to be refreshed.
+ */
+public record WalletBalanceChangedEvent(
+        List<String> userIds
+) implements ModuleEvent {
+}
@@ -0,0 +1,41 @@
+package bitecode.modules.wallet.model.request;
+
+import bitecode.modules.wallet.model.enums.WalletAssetBulkOperation;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import lombok.Builder;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * @param referenceId id of the bulk call, a replay with the same id and items returns the results of the first call
+ */
+@Builder
+public record BulkWalletAssetRequest(
+        @NotBlank
+        @Size(max = 128)
+        String referenceId,
+        @NotEmpty
+        List<@Valid Item> items
+) {
+    @Builder
+    public record Item(
+            @NotNull
+            WalletAssetBulkOperation operation,
+            @NotBlank
+            String userId,
+            @NotBlank
+            String currency,
+            @NotNull
+            @Positive
+            BigDecimal amount,
+            @NotBlank
+            String referenceId
+    ) {
+    }
+}
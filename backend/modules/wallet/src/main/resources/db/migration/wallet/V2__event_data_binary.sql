@@ -0,0 +1,6 @@
+-- Binary payloads written by the smile/cbor codecs. Existing JSONB rows are kept as they are and read in mixed mode,
+-- so none of the statements below rewrites or scans the table.
+ALTER TABLE wallet_asset_event ADD COLUMN event_data_bin BYTEA;
+ALTER TABLE wallet_asset_event ALTER COLUMN event_data DROP NOT NULL;
+ALTER TABLE wallet_asset_event
+    ADD CONSTRAINT wallet_asset_event_data_present CHECK (event_data IS NOT NULL OR event_data_bin IS NOT NULL) NOT VALID;
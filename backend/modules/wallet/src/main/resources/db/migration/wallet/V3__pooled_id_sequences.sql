@@ -0,0 +1,4 @@
+-- ids are allocated by Hibernate in pooled blocks of 50 (TableSequenceIdGenerator), sequences must increment by the same
+ALTER SEQUENCE wallet_id_seq INCREMENT BY 50;
+ALTER SEQUENCE wallet_asset_id_seq INCREMENT BY 50;
+ALTER SEQUENCE wallet_asset_event_id_seq INCREMENT BY 50;
@@ -0,0 +1,25 @@
+-- reservations on wallet_asset.hold_amount, one row per hold
+CREATE TABLE wallet_asset_hold
+(
+    id              BIGSERIAL PRIMARY KEY,
+    uuid            UUID                     NOT NULL,
+    wallet_asset_id BIGINT                   NOT NULL,
+    user_id         VARCHAR(64)              NOT NULL,
+    asset_name      VARCHAR(32)              NOT NULL,
+    reference_id    VARCHAR(128)             NOT NULL,
+    amount          NUMERIC(10, 2)           NOT NULL,
+    status          VARCHAR(16)              NOT NULL,
+    expires_at      TIMESTAMP WITH TIME ZONE NOT NULL,
+    version         BIGINT                   NOT NULL DEFAULT 0,
+    created_date    TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_date    TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    FOREIGN KEY (wallet_asset_id) REFERENCES wallet_asset (id),
+    UNIQUE (uuid),
+    UNIQUE (user_id, asset_name, reference_id)
+);
+
+ALTER SEQUENCE wallet_asset_hold_id_seq INCREMENT BY 50;
+
+-- the sweeper only looks for active holds past their expiry
+CREATE INDEX wallet_asset_hold_expires_at_idx ON wallet_asset_hold (expires_at) WHERE status = 'HELD';
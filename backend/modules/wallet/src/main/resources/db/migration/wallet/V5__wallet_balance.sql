@@ -0,0 +1,21 @@
+-- read model of the balances of a user, refreshed in the transaction of every wallet asset change
+CREATE TABLE wallet_balance
+(
+    user_id      VARCHAR(64) PRIMARY KEY,
+    wallet_uuid  UUID,
+    frozen       BOOLEAN                  NOT NULL DEFAULT FALSE,
+    assets       JSONB                    NOT NULL DEFAULT '[]',
+    version      BIGINT                   NOT NULL DEFAULT 0,
+    updated_date TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+INSERT INTO wallet_balance (user_id, wallet_uuid, frozen, assets)
+SELECT wallet.user_id,
+       wallet.uuid,
+       wallet.frozen,
+       COALESCE((SELECT jsonb_agg(jsonb_build_object('name', asset.name,
+                                                     'totalAmount', asset.total_amount,
+                                                     'holdAmount', asset.hold_amount) ORDER BY asset.id)
+                 FROM wallet_asset asset
+                 WHERE asset.wallet_id = wallet.id), '[]')
+FROM wallet;
@@ -0,0 +1,18 @@
+-- one row per bulk call, keyed by the reference id of the caller so a replayed call is not applied twice
+CREATE TABLE wallet_asset_bulk
+(
+    id           BIGSERIAL PRIMARY KEY,
+    uuid         UUID                     NOT NULL,
+    reference_id VARCHAR(128)             NOT NULL,
+    request_hash VARCHAR(64)              NOT NULL,
+    status       VARCHAR(16)              NOT NULL,
+    results      JSONB,
+    version      BIGINT                   NOT NULL DEFAULT 0,
+    created_date TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_date TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    UNIQUE (uuid),
+    UNIQUE (reference_id)
+);
+
+ALTER SEQUENCE wallet_asset_bulk_id_seq INCREMENT BY 50;
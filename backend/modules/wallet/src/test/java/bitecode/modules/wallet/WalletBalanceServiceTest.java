@@ -0,0 +1,64 @@
+package bitecode.modules.wallet;
+
+import bitecode.modules.wallet._config.WalletIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.util.UUID;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.*;
+
+public class WalletBalanceServiceTest extends WalletIntegrationTest {
+
+    @MockitoSpyBean
+    WalletBalanceRepository walletBalanceRepository;
+    @Autowired
+    WalletBalanceService walletBalanceService;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Test
+    public void shouldNotCacheBalanceEvictedWhileLoading() {
+        // given
+        var userId = givenWalletBalance();
+        doAnswer(invocation -> {
+            var walletBalance = invocation.callRealMethod();
+            // a refresh committed after the read
+            walletBalanceService.evict(userId);
+            return walletBalance;
+        }).doCallRealMethod().when(walletBalanceRepository).findById(userId);
+
+        // when
+        var walletDetails = walletBalanceService.findWalletDetails(userId);
+        walletBalanceService.findWalletDetails(userId);
+        walletBalanceService.findWalletDetails(userId);
+
+        // then
+        assertThat(walletDetails.isPresent(), is(true));
+        verify(walletBalanceRepository, times(2)).findById(userId);
+    }
+
+    @Test
+    public void shouldCacheBalanceLoadedWithoutEviction() {
+        // given
+        var userId = givenWalletBalance();
+
+        // when
+        walletBalanceService.findWalletDetails(userId);
+        walletBalanceService.findWalletDetails(userId);
+
+        // then
+        verify(walletBalanceRepository, times(1)).findById(userId);
+    }
+
+    // written directly, so no refresh notification evicts the user during the test
+    private String givenWalletBalance() {
+        var userId = UUID.randomUUID().toString();
+        jdbcTemplate.update("INSERT INTO wallet.wallet_balance (user_id, wallet_uuid) VALUES (?, ?)", userId, UUID.randomUUID());
+        return userId;
+    }
+}
@@ -1,19 +1,42 @@
 package bitecode.modules.wallet;
 
 import bitecode.modules._common.eventsourcing.exception.UnappliedCommandException;
+import bitecode.modules._common.eventsourcing.replay.AggregateReplayEngine;
+import bitecode.modules._common.eventsourcing.replay.AggregateSnapshotRepository;
 import bitecode.modules.wallet._config.WalletIntegrationTest;
+import bitecode.modules.wallet.handler.replay.WalletAssetBalanceProjection;
+import bitecode.modules.wallet.handler.scheduled.WalletAssetHoldSweeper;
 import bitecode.modules.wallet.model.command.AddWalletAssetCommand;
+import bitecode.modules.wallet.model.command.CaptureWalletAssetCommand;
 import bitecode.modules.wallet.model.command.CreateWalletAssetCommand;
+import bitecode.modules.wallet.model.command.HoldWalletAssetCommand;
+import bitecode.modules.wallet.model.command.ReleaseWalletAssetCommand;
 import bitecode.modules.wallet.model.command.SubtractWalletAssetCommand;
+import bitecode.modules.wallet.model.enums.WalletAssetBulkOperation;
+import bitecode.modules.wallet.model.enums.WalletAssetBulkStatus;
+import bitecode.modules.wallet.model.enums.WalletAssetHoldStatus;
+import bitecode.modules.wallet.model.request.BulkWalletAssetRequest;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.validation.Validator;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.client.HttpClientErrorException;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
+import static org.awaitility.Awaitility.await;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -27,7 +50,33 @@ public class WalletEventHandlerTest extends WalletIntegrationTest {
     @Autowired
     WalletAssetEventHandler walletAssetEventHandler;
     @Autowired
+    WalletService walletService;
+    @Autowired
     ApplicationEventPublisher eventPublisher;
+    @Autowired
+    MeterRegistry meterRegistry;
+    @Autowired
+    WalletAssetRepository walletAssetRepository;
+    @Autowired
+    WalletAssetHoldRepository walletAssetHoldRepository;
+    @Autowired
+    WalletAssetHoldSweeper walletAssetHoldSweeper;
+    @Autowired
+    WalletAssetBulkService walletAssetBulkService;
+    @Autowired
+    WalletAssetBulkRepository walletAssetBulkRepository;
+    @Autowired
+    Validator validator;
+    @Autowired
+    WalletBalanceService walletBalanceService;
+    @Autowired
+    WalletAssetBalanceProjection walletAssetBalanceProjection;
+    @Autowired
+    AggregateSnapshotRepository snapshotRepository;
+    @Autowired
+    PlatformTransactionManager transactionManager;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
 
     @Test
     @Transactional
@@ -96,6 +145,33 @@ public class WalletEventHandlerTest extends WalletIntegrationTest {
         assertThat(exception.getMessage(), is("Not enough money"));
     }
 
+    @Test
+    @Transactional
+    public void shouldCountUnappliedCommandsByReason(){
+        //given
+        var subtractEvent = SubtractWalletAssetCommand.builder()
+                .userId(UUID.randomUUID().toString())
+                .currency("DUMMY_CURRENCY")
+                .amount(BigDecimal.valueOf(15))
+                .build();
+        var unappliedBefore = unappliedCount(UnappliedCommandException.Reason.INSUFFICIENT_FUNDS);
+        // when
+        var exception = assertThrows(UnappliedCommandException.class, () -> walletAssetEventHandler.handle(subtractEvent));
+        // then
+        assertThat(exception.getReason(), is(UnappliedCommandException.Reason.INSUFFICIENT_FUNDS));
+        assertThat(unappliedCount(UnappliedCommandException.Reason.INSUFFICIENT_FUNDS), is(unappliedBefore + 1));
+        assertThat(meterRegistry.get("command.handle.phase")
+                .tags("command", "SubtractWalletAssetCommand", "phase", "pre_handle")
+                .timer().count(), greaterThan(0L));
+    }
+
+    private double unappliedCount(UnappliedCommandException.Reason reason) {
+        var counter = meterRegistry.find("command.unapplied")
+                .tags("command", "SubtractWalletAssetCommand", "reason", reason.name())
+                .counter();
+        return counter == null ? 0 : counter.count();
+    }
+
     @Test
     @Transactional
     public void shouldProperlySubtractToZero(){
@@ -205,4 +281,389 @@ public class WalletEventHandlerTest extends WalletIntegrationTest {
         assertThat(dummyAsset2Events.getFirst().getEventData().getClass(), is(CreateWalletAssetCommand.class));
         assertThat(dummyAsset2Events.get(1).getEventData(), equalTo(addEvent1));
     }
+
+    @Test
+    @Transactional
+    public void shouldRebuildWalletAssetBalanceFromEvents(){
+        // given
+        var userId = UUID.randomUUID().toString();
+        var addEvent1 = AddWalletAssetCommand.builder()
+                .userId(userId)
+                .currency("DUMMY_CURRENCY")
+                .amount(BigDecimal.valueOf(15))
+                .build();
+        var addEvent2 = AddWalletAssetCommand.builder()
+                .userId(userId)
+                .currency("DUMMY_CURRENCY")
+                .amount(BigDecimal.valueOf(33.377))
+                .build();
+        var subtractEvent = SubtractWalletAssetCommand.builder()
+                .userId(userId)
+                .currency("DUMMY_CURRENCY")
+                .amount(BigDecimal.valueOf(4))
+                .build();
+        Stream.of(addEvent1, addEvent2, subtractEvent).forEach(walletAssetEventHandler::handle);
+        var walletAsset = walletService.findWalletAsset(userId, "DUMMY_CURRENCY").get();
+
+        // when
+        var replayResult = walletService.rebuildWalletAssetBalance(walletAsset.getId());
+
+        // then
+        assertThat(replayResult.eventCount(), is(4L));
+        assertThat(replayResult.state().totalAmount(), comparesEqualTo(walletAsset.getTotalAmount()));
+        assertThat(replayResult.state().totalAmount(), comparesEqualTo(BigDecimal.valueOf(44.38)));
+    }
+
+    @Test
+    public void shouldReplayEventsInWriteOrderWhenPooledIdsInterleave() {
+        // given
+        var userId = UUID.randomUUID().toString();
+        walletAssetEventHandler.handle(AddWalletAssetCommand.builder()
+                .userId(userId)
+                .currency("DUMMY_CURRENCY")
+                .amount(BigDecimal.TEN)
+                .build());
+        var walletAsset = walletService.findWalletAsset(userId, "DUMMY_CURRENCY").get();
+        // written by a node holding a higher block of pooled ids than the node writing the next event
+        jdbcTemplate.update("UPDATE wallet.wallet_asset_event SET id = id + 1000000000 WHERE wallet_asset_id = ?", walletAsset.getId());
+        var replayEngine = new AggregateReplayEngine(snapshotRepository, objectMapper, transactionManager, 500, 1, 0);
+        replayEngine.replay(walletAssetBalanceProjection, walletAsset.getId());
+        walletAssetEventHandler.handle(AddWalletAssetCommand.builder()
+                .userId(userId)
+                .currency("DUMMY_CURRENCY")
+                .amount(BigDecimal.valueOf(5))
+                .build());
+
+        // when
+        var replayResult = replayEngine.replay(walletAssetBalanceProjection, walletAsset.getId());
+
+        // then
+        assertThat(replayResult.fromSnapshot(), is(true));
+        assertThat(replayResult.eventsReplayed(), is(1L));
+        assertThat(replayResult.eventCount(), is(3L));
+        assertThat(replayResult.state().totalAmount(), comparesEqualTo(BigDecimal.valueOf(15)));
+    }
+
+    @Test
+    public void shouldSerializeConcurrentCommandsForTheSameAsset() {
+        // given
+        var userId = UUID.randomUUID().toString();
+        var addEvents = IntStream.range(0, 50)
+                .mapToObj(i -> AddWalletAssetCommand.builder()
+                        .userId(userId)
+                        .currency("DUMMY_CURRENCY")
+                        .amount(BigDecimal.ONE)
+                        .build())
+                .toList();
+
+        // when
+        addEvents.stream()
+                .map(addEvent -> CompletableFuture.runAsync(() -> walletAssetEventHandler.handle(addEvent)))
+                .toList()
+                .forEach(CompletableFuture::join);
+
+        // then
+        var walletAsset = walletService.findWalletAsset(userId, "DUMMY_CURRENCY").get();
+        assertThat(walletAsset.getTotalAmount(), comparesEqualTo(BigDecimal.valueOf(50)));
+        assertThat(walletAssetEventRepository.findAllByWalletAssetId(walletAsset.getId()).size(), is(51));
+    }
+
+    @Test
+    public void shouldRejectStaleWalletAssetUpdate() {
+        // given
+        var userId = UUID.randomUUID().toString();
+        walletAssetEventHandler.handle(AddWalletAssetCommand.builder()
+                .userId(userId)
+                .currency("DUMMY_CURRENCY")
+                .amount(BigDecimal.TEN)
+                .build());
+        var staleWalletAsset = walletService.findWalletAsset(userId, "DUMMY_CURRENCY").get();
+        walletAssetEventHandler.handle(AddWalletAssetCommand.builder()
+                .userId(userId)
+                .currency("DUMMY_CURRENCY")
+                .amount(BigDecimal.valueOf(5))
+                .build());
+
+        // when
+        staleWalletAsset.setTotalAmount(BigDecimal.ZERO);
+
+        // then
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> walletAssetRepository.save(staleWalletAsset));
+        var walletAsset = walletService.findWalletAsset(userId, "DUMMY_CURRENCY").get();
+        assertThat(walletAsset.getTotalAmount(), comparesEqualTo(BigDecimal.valueOf(15)));
+        assertThat(walletAsset.getVersion(), greaterThan(staleWalletAsset.getVersion()));
+    }
+
+    @Test
+    public void shouldHoldAndPartiallyCaptureWalletAsset() {
+        // given
+        var userId = UUID.randomUUID().toString();
+        walletAssetEventHandler.handle(AddWalletAssetCommand.builder()
+                .userId(userId)
+                .currency("DUMMY_CURRENCY")
+                .amount(BigDecimal.valueOf(100))
+                .build());
+
+        // when
+        walletAssetEventHandler.handle(HoldWalletAssetCommand.builder()
+                .userId(userId)
+                .currency("DUMMY_CURRENCY")
+                .referenceId("order-1")
+                .amount(BigDecimal.valueOf(30))
+                .build());
+        var heldAsset = walletService.findWalletAsset(userId, "DUMMY_CURRENCY").get();
+        walletAssetEventHandler.handle(CaptureWalletAssetCommand.builder()
+                .userId(userId)
+                .currency("DUMMY_CURRENCY")
+                .referenceId("order-1")
+                .amount(BigDecimal.valueOf(25))
+                .build());
+
+        // then
+        assertThat(heldAsset.getTotalAmount(), comparesEqualTo(BigDecimal.valueOf(100)));
+        assertThat(heldAsset.getHoldAmount(), comparesEqualTo(BigDecimal.valueOf(30)));
+        var walletAsset = walletService.findWalletAsset(userId, "DUMMY_CURRENCY").get();
+        assertThat(walletAsset.getTotalAmount(), comparesEqualTo(BigDecimal.valueOf(75)));
+        assertThat(walletAsset.getHoldAmount(), comparesEqualTo(BigDecimal.ZERO));
+        assertThat(walletAssetHoldRepository.existsByUserIdAndAssetNameAndReferenceId(userId, "DUMMY_CURRENCY", "order-1"), is(true));
+        assertThat(walletAssetHoldRepository.findByUserIdAndAssetNameAndReferenceIdAndStatus(userId, "DUMMY_CURRENCY",
+                "order-1", WalletAssetHoldStatus.HELD).isPresent(), is(false));
+        assertThat(walletService.rebuildWalletAssetBalance(walletAsset.getId()).state().totalAmount(),
+                comparesEqualTo(BigDecimal.valueOf(75)));
+    }
+
+    @Test
+    public void shouldReleaseHoldOnceItsTtlExpired() {
+        // given
+        var userId = UUID.randomUUID().toString();
+        walletAssetEventHandler.handle(AddWalletAssetCommand.builder()
+                .userId(userId)
+                .currency("DUMMY_CURRENCY")
+                .amount(BigDecimal.valueOf(50))
+                .build());
+        walletAssetEventHandler.handle(HoldWalletAssetCommand.builder()
+                .userId(userId)
+                .currency("DUMMY_CURRENCY")
+                .referenceId("order-expired")
+                .amount(BigDecimal.valueOf(20))
+                .ttlSeconds(0L)
+                .build());
+        assertThat(walletService.findWalletAsset(userId, "DUMMY_CURRENCY").get().getHoldAmount(),
+                comparesEqualTo(BigDecimal.valueOf(20)));
+
+        // when
+        walletAssetHoldSweeper.sweep();
+
+        // then
+        var walletAsset = walletService.findWalletAsset(userId, "DUMMY_CURRENCY").get();
+        assertThat(walletAsset.getTotalAmount(), comparesEqualTo(BigDecimal.valueOf(50)));
+        assertThat(walletAsset.getHoldAmount(), comparesEqualTo(BigDecimal.ZERO));
+        assertThat(walletAssetHoldRepository.findByUserIdAndAssetNameAndReferenceIdAndStatus(userId, "DUMMY_CURRENCY",
+                "order-expired", WalletAssetHoldStatus.EXPIRED).isPresent(), is(true));
+    }
+
+    @Test
+    public void shouldNotSubtractHeldAmountUntilReleased() {
+        // given
+        var userId = UUID.randomUUID().toString();
+        walletAssetEventHandler.handle(AddWalletAssetCommand.builder()
+                .userId(userId)
+                .currency("DUMMY_CURRENCY")
+                .amount(BigDecimal.valueOf(20))
+                .build());
+        walletAssetEventHandler.handle(HoldWalletAssetCommand.builder()
+                .userId(userId)
+                .currency("DUMMY_CURRENCY")
+                .referenceId("order-2")
+                .amount(BigDecimal.valueOf(15))
+                .build());
+        var subtractEvent = SubtractWalletAssetCommand.builder()
+                .userId(userId)
+                .currency("DUMMY_CURRENCY")
+                .amount(BigDecimal.valueOf(10))
+                .build();
+
+        // when
+        var exception = assertThrows(UnappliedCommandException.class, () -> walletAssetEventHandler.handle(subtractEvent));
+        walletAssetEventHandler.handle(ReleaseWalletAssetCommand.builder()
+                .userId(userId)
+                .currency("DUMMY_CURRENCY")
+                .referenceId("order-2")
+                .amount(BigDecimal.valueOf(15))
+                .build());
+        walletAssetEventHandler.handle(subtractEvent);
+
+        // then
+        assertThat(exception.getReason(), is(UnappliedCommandException.Reason.INSUFFICIENT_FUNDS));
+        var walletAsset = walletService.findWalletAsset(userId, "DUMMY_CURRENCY").get();
+        assertThat(walletAsset.getTotalAmount(), comparesEqualTo(BigDecimal.TEN));
+        assertThat(walletAsset.getHoldAmount(), comparesEqualTo(BigDecimal.ZERO));
+    }
+
+    @Test
+    public void shouldApplyBulkCommandsWithPerItemResults() {
+        // given
+        var userId1 = UUID.randomUUID().toString();
+        var userId2 = UUID.randomUUID().toString();
+        var commands = List.of(
+                AddWalletAssetCommand.builder().userId(userId1).currency("DUMMY_CURRENCY").amount(BigDecimal.TEN).referenceId("bulk-1").build(),
+                AddWalletAssetCommand.builder().userId(userId2).currency("DUMMY_CURRENCY").amount(BigDecimal.valueOf(5.555)).referenceId("bulk-2").build(),
+                SubtractWalletAssetCommand.builder().userId(userId1).currency("DUMMY_CURRENCY").amount(BigDecimal.valueOf(4)).referenceId("bulk-3").build(),
+                SubtractWalletAssetCommand.builder().userId(userId2).currency("DUMMY_CURRENCY").amount(BigDecimal.valueOf(6)).referenceId("bulk-4").build()
+        );
+
+        // when
+        var results = walletAssetBulkService.applyAll(UUID.randomUUID().toString(), commands);
+
+        // then
+        assertThat(results.stream().map(result -> result.referenceId()).toList(), contains("bulk-1", "bulk-2", "bulk-3", "bulk-4"));
+        assertThat(results.stream().map(result -> result.applied()).toList(), contains(true, true, true, false));
+        assertThat(results.get(3).reason(), is(UnappliedCommandException.Reason.INSUFFICIENT_FUNDS.name()));
+
+        var walletAsset1 = walletService.findWalletAsset(userId1, "DUMMY_CURRENCY").get();
+        assertThat(walletAsset1.getTotalAmount(), comparesEqualTo(BigDecimal.valueOf(6)));
+        assertThat(results.get(2).totalAfter(), comparesEqualTo(BigDecimal.valueOf(6)));
+        var walletAsset2 = walletService.findWalletAsset(userId2, "DUMMY_CURRENCY").get();
+        assertThat(walletAsset2.getTotalAmount(), comparesEqualTo(BigDecimal.valueOf(5.56)));
+        assertThat(walletAssetEventRepository.findAllByWalletAssetId(walletAsset1.getId()).size(), is(3));
+        assertThat(walletAssetEventRepository.findAllByWalletAssetId(walletAsset2.getId()).size(), is(2));
+        assertThat(walletService.rebuildWalletAssetBalance(walletAsset1.getId()).state().totalAmount(),
+                comparesEqualTo(walletAsset1.getTotalAmount()));
+    }
+
+    @Test
+    public void shouldApplyValidItemsOfPartiallyUnappliedBulk() {
+        // given
+        var userId = UUID.randomUUID().toString();
+        var commands = List.of(
+                AddWalletAssetCommand.builder().userId(userId).currency("DUMMY_CURRENCY").amount(BigDecimal.TEN).referenceId("partial-1").build(),
+                SubtractWalletAssetCommand.builder().userId(userId).currency("DUMMY_CURRENCY").amount(BigDecimal.valueOf(11)).referenceId("partial-2").build(),
+                SubtractWalletAssetCommand.builder().userId(userId).currency("OTHER_CURRENCY").amount(BigDecimal.ONE).referenceId("partial-3").build(),
+                // same userId+currency concatenation as the first item, but another asset
+                AddWalletAssetCommand.builder().userId(userId + "DUMMY").currency("_CURRENCY").amount(BigDecimal.ONE).referenceId("partial-4").build(),
+                SubtractWalletAssetCommand.builder().userId(userId).currency("DUMMY_CURRENCY").amount(BigDecimal.valueOf(3)).referenceId("partial-5").build()
+        );
+
+        // when
+        var results = walletAssetBulkService.applyAll(UUID.randomUUID().toString(), commands);
+
+        // then
+        assertThat(results.stream().map(result -> result.applied()).toList(), contains(true, false, false, true, true));
+        assertThat(results.get(1).reason(), is(UnappliedCommandException.Reason.INSUFFICIENT_FUNDS.name()));
+        assertThat(results.get(2).reason(), is(UnappliedCommandException.Reason.INSUFFICIENT_FUNDS.name()));
+        assertThat(results.get(4).totalAfter(), comparesEqualTo(BigDecimal.valueOf(7)));
+        assertThat(walletService.findWalletAsset(userId, "DUMMY_CURRENCY").get().getTotalAmount(), comparesEqualTo(BigDecimal.valueOf(7)));
+        assertThat(walletService.findWalletAsset(userId, "OTHER_CURRENCY").get().getTotalAmount(), comparesEqualTo(BigDecimal.ZERO));
+        assertThat(walletService.findWalletAsset(userId + "DUMMY", "_CURRENCY").get().getTotalAmount(), comparesEqualTo(BigDecimal.ONE));
+    }
+
+    @Test
+    public void shouldRejectBulkRequestWithInvalidItem() {
+        // given
+        var validItem = BulkWalletAssetRequest.Item.builder()
+                .operation(WalletAssetBulkOperation.ADD)
+                .userId(UUID.randomUUID().toString())
+                .currency("DUMMY_CURRENCY")
+                .amount(BigDecimal.TEN)
+                .referenceId("invalid-1")
+                .build();
+        var invalidItem = BulkWalletAssetRequest.Item.builder()
+                .operation(WalletAssetBulkOperation.SUBTRACT)
+                .userId(" ")
+                .currency("DUMMY_CURRENCY")
+                .amount(BigDecimal.valueOf(-1))
+                .referenceId("invalid-2")
+                .build();
+        var request = BulkWalletAssetRequest.builder()
+                .referenceId(UUID.randomUUID().toString())
+                .items(List.of(validItem, invalidItem))
+                .build();
+
+        // when
+        var violations = validator.validate(request);
+
+        // then
+        assertThat(violations.stream().map(violation -> violation.getPropertyPath().toString()).toList(),
+                containsInAnyOrder("items[1].userId", "items[1].amount"));
+    }
+
+    @Test
+    public void shouldReturnStoredResultsOnBulkReplay() {
+        // given
+        var referenceId = UUID.randomUUID().toString();
+        var userId = UUID.randomUUID().toString();
+        var commands = List.of(
+                AddWalletAssetCommand.builder().userId(userId).currency("DUMMY_CURRENCY").amount(BigDecimal.TEN).referenceId("replay-1").build(),
+                SubtractWalletAssetCommand.builder().userId(userId).currency("DUMMY_CURRENCY").amount(BigDecimal.valueOf(20)).referenceId("replay-2").build()
+        );
+        var results = walletAssetBulkService.applyAll(referenceId, commands);
+        var walletAsset = walletService.findWalletAsset(userId, "DUMMY_CURRENCY").get();
+
+        // when
+        var replayedResults = walletAssetBulkService.applyAll(referenceId, commands);
+        var exception = assertThrows(HttpClientErrorException.class, () -> walletAssetBulkService.applyAll(referenceId,
+                List.of(AddWalletAssetCommand.builder().userId(userId).currency("DUMMY_CURRENCY").amount(BigDecimal.ONE).referenceId("replay-1").build())));
+
+        // then
+        assertThat(replayedResults.stream().map(result -> result.referenceId()).toList(), contains("replay-1", "replay-2"));
+        assertThat(replayedResults.stream().map(result -> result.applied()).toList(), contains(true, false));
+        assertThat(replayedResults.get(0).totalAfter(), comparesEqualTo(results.get(0).totalAfter()));
+        assertThat(replayedResults.get(1).reason(), is(results.get(1).reason()));
+        assertThat(exception.getStatusCode(), is(HttpStatus.CONFLICT));
+        assertThat(walletAssetBulkRepository.findByReferenceId(referenceId).get().getStatus(), is(WalletAssetBulkStatus.COMPLETED));
+        assertThat(walletService.findWalletAsset(userId, "DUMMY_CURRENCY").get().getTotalAmount(), comparesEqualTo(BigDecimal.TEN));
+        assertThat(walletAssetEventRepository.findAllByWalletAssetId(walletAsset.getId()).size(), is(2));
+    }
+
+    @Test
+    public void shouldRejectReplayOfBulkInProgress() {
+        // given
+        var referenceId = UUID.randomUUID().toString();
+        var userId = UUID.randomUUID().toString();
+        var commands = List.of(
+                AddWalletAssetCommand.builder().userId(userId).currency("DUMMY_CURRENCY").amount(BigDecimal.TEN).referenceId("running-1").build()
+        );
+        walletAssetBulkService.applyAll(referenceId, commands);
+        jdbcTemplate.update("UPDATE wallet.wallet_asset_bulk SET status = 'IN_PROGRESS', results = NULL WHERE reference_id = ?", referenceId);
+
+        // when
+        var exception = assertThrows(HttpClientErrorException.class, () -> walletAssetBulkService.applyAll(referenceId, commands));
+
+        // then
+        assertThat(exception.getStatusCode(), is(HttpStatus.CONFLICT));
+        assertThat(walletService.findWalletAsset(userId, "DUMMY_CURRENCY").get().getTotalAmount(), comparesEqualTo(BigDecimal.TEN));
+    }
+
+    @Test
+    public void shouldRefreshWalletBalanceReadModel() {
+        // given
+        var userId = UUID.randomUUID().toString();
+        walletAssetEventHandler.handle(AddWalletAssetCommand.builder()
+                .userId(userId)
+                .currency("DUMMY_CURRENCY")
+                .amount(BigDecimal.TEN)
+                .build());
+        // refreshed by the outbox relay after the command committed
+        await().atMost(Duration.ofSeconds(5)).until(() -> walletBalanceService.findWalletDetails(userId).isPresent());
+        var walletDetails = walletBalanceService.findWalletDetails(userId).get();
+        assertThat(walletDetails.userId(), is(userId));
+        assertThat(walletDetails.assets().size(), is(1));
+        assertThat(walletDetails.assets().getFirst().holdAmount(), comparesEqualTo(BigDecimal.ZERO));
+
+        // when
+        walletAssetEventHandler.handle(HoldWalletAssetCommand.builder()
+                .userId(userId)
+                .currency("DUMMY_CURRENCY")
+                .referenceId("order-3")
+                .amount(BigDecimal.valueOf(4))
+                .build());
+
+        // then
+        // the cached balance is evicted by the change notification
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> {
+            var asset = walletBalanceService.findWalletDetails(userId).get().assets().getFirst();
+            assertThat(asset.totalAmount(), comparesEqualTo(BigDecimal.TEN));
+            assertThat(asset.holdAmount(), comparesEqualTo(BigDecimal.valueOf(4)));
+        });
+    }
 }
@@ -3,6 +3,7 @@ package companyX;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
@@ -13,7 +14,12 @@ import org.springframework.security.config.annotation.method.configuration.Enabl
 @EnableJpaRepositories(basePackages = {"bitecode.modules", "companyX"})
 @EntityScan(basePackages = {"bitecode.modules", "companyX"})
 public class Application {
+    // startup steps kept for /admin/startup, a full boot records a few thousand
+    private static final int STARTUP_TIMELINE_CAPACITY = 10_000;
+
     public static void main(String[] args) {
-        SpringApplication.run(Application.class, args);
+        var application = new SpringApplication(Application.class);
+        application.setApplicationStartup(new BufferingApplicationStartup(STARTUP_TIMELINE_CAPACITY));
+        application.run(args);
     }
 }